@@ -0,0 +1,133 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+
+
+/**
+ * シートの読み込み中に、セルの値をフォーマットした文字列をキャッシュするクラス。
+ * <p>見出しやラベルの検索、空のセルの判定などで、同じセルに対して何度も{@link CellFormatter#format(Cell)}を呼ぶため、
+ *    読み込み中のシートのセルに限り、フォーマットした結果をセルの位置ごとに保持する。
+ * <p>キャッシュは、{@link #begin(Sheet, CellFormatter, int)}を呼んでから{@link #end()}を呼ぶまでの間、
+ *    同じスレッドの{@link POIUtils#getCellContents(Cell, CellFormatter)}で利用する。
+ *    保持する件数を超えた場合は、最も参照されていないものから破棄する。
+ * <p>キャッシュしている間は、セルの値を変更しない前提とする。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+class CellContentsCache {
+    
+    private static final ThreadLocal<CellContentsCache> CURRENT = new ThreadLocal<>();
+    
+    private final Sheet sheet;
+    
+    private final CellFormatter cellFormatter;
+    
+    /**
+     * 呼び出し前に利用していたキャッシュ。終了時に元に戻す。
+     */
+    private final CellContentsCache previous;
+    
+    /**
+     * フォーマットした文字列
+     * ・key = 行と列のインデックスを組み合わせた値
+     * ・value = フォーマットした文字列
+     */
+    private final Map<Long, String> contentsMap;
+    
+    private CellContentsCache(final Sheet sheet, final CellFormatter cellFormatter, final int maxSize,
+            final CellContentsCache previous) {
+        this.sheet = sheet;
+        this.cellFormatter = cellFormatter;
+        this.previous = previous;
+        this.contentsMap = new LinkedHashMap<Long, String>(16, 0.75f, true) {
+            
+            private static final long serialVersionUID = 1L;
+            
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, String> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+    
+    /**
+     * 現在のスレッドで、シートのセルのキャッシュを開始する。
+     * @param sheet 読み込み中のシート
+     * @param cellFormatter キャッシュする対象のフォーマッタ
+     * @param maxSize 保持する件数の上限。0以下の場合はキャッシュしない。
+     * @return 開始したキャッシュ。キャッシュしない場合はnullを返す。
+     * @throws IllegalArgumentException sheet == null or cellFormatter == null.
+     */
+    static CellContentsCache begin(final Sheet sheet, final CellFormatter cellFormatter, final int maxSize) {
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notNull(cellFormatter, "cellFormatter");
+        
+        if(maxSize <= 0) {
+            return null;
+        }
+        
+        final CellContentsCache cache = new CellContentsCache(sheet, cellFormatter, maxSize, CURRENT.get());
+        CURRENT.set(cache);
+        return cache;
+    }
+    
+    /**
+     * 現在のスレッドのキャッシュを取得する。
+     * @return キャッシュを開始していない場合はnullを返す。
+     */
+    static CellContentsCache current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * キャッシュを終了し、開始前の状態に戻す。
+     */
+    void end() {
+        if(previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+    
+    /**
+     * セルとフォーマッタが、キャッシュの対象かどうか。
+     * @param cell 対象のセル
+     * @param cellFormatter フォーマッタ
+     * @return キャッシュの対象の場合trueを返す。
+     */
+    boolean isTarget(final Cell cell, final CellFormatter cellFormatter) {
+        return this.cellFormatter == cellFormatter && cell.getSheet() == sheet;
+    }
+    
+    /**
+     * セルの値をフォーマットした文字列を取得する。
+     * <p>キャッシュしていない場合は、フォーマットして保持する。
+     * @param cell 対象のセル
+     * @return フォーマットした文字列
+     */
+    String getCellContents(final Cell cell) {
+        final Long key = ((long) cell.getRowIndex() << 32) | cell.getColumnIndex();
+        String contents = contentsMap.get(key);
+        if(contents == null) {
+            contents = cellFormatter.format(cell);
+            contentsMap.put(key, contents);
+        }
+        return contents;
+    }
+    
+    /**
+     * 保持している件数を取得する。
+     * @return
+     */
+    int size() {
+        return contentsMap.size();
+    }
+
+}
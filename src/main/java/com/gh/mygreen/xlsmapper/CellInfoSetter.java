@@ -0,0 +1,339 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.awt.Point;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * Beanにセルの位置と見出しを設定するクラス。
+ * <p>設定先（フィールド「positions」「labels」、setterメソッド、フィールド）は、
+ *    クラスとプロパティごとに1度だけ探して保持し、2回目以降はそれを利用して設定する。
+ * <p>設定先がない場合は、例外の発生やオブジェクトの生成をせずに処理を終える。
+ * <p>インスタンスは、{@link #getInstance(Class)}から取得する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+class CellInfoSetter {
+    
+    /**
+     * クラスごとのインスタンス
+     * ・クラスが不要になったときに一緒に破棄されるよう、{@link ClassValue}で保持する。
+     */
+    private static final ClassValue<CellInfoSetter> INSTANCES = new ClassValue<CellInfoSetter>() {
+        
+        @Override
+        protected CellInfoSetter computeValue(final Class<?> type) {
+            return new CellInfoSetter(type);
+        }
+    };
+    
+    /** 設定先がない場合の情報 */
+    private static final Target NONE = new Target(null, null);
+    
+    private final Class<?> clazz;
+    
+    /** フィールド「Map<String, Point> positions」。定義されていない場合はnull。*/
+    private final Field positionMapField;
+    
+    /** フィールド「Map<String, String> labels」。定義されていない場合はnull。*/
+    private final Field labelMapField;
+    
+    /** プロパティごとの位置の設定先 */
+    private final ConcurrentMap<String, Target> positionTargets = new ConcurrentHashMap<>();
+    
+    /** プロパティごとの位置の設定先（MapColumn形式の場合） */
+    private final ConcurrentMap<String, Target> mapPositionTargets = new ConcurrentHashMap<>();
+    
+    /** プロパティごとの見出しの設定先 */
+    private final ConcurrentMap<String, Target> labelTargets = new ConcurrentHashMap<>();
+    
+    /** プロパティごとの見出しの設定先（MapColumn形式の場合） */
+    private final ConcurrentMap<String, Target> mapLabelTargets = new ConcurrentHashMap<>();
+    
+    private CellInfoSetter(final Class<?> clazz) {
+        this.clazz = clazz;
+        this.positionMapField = getMapField(clazz, "positions");
+        this.labelMapField = getMapField(clazz, "labels");
+    }
+    
+    /**
+     * クラスに対応するインスタンスを取得する。
+     * @param clazz Beanのクラス
+     * @return 作成済みの場合は、そのインスタンスを返す。
+     */
+    static CellInfoSetter getInstance(final Class<?> clazz) {
+        return INSTANCES.get(clazz);
+    }
+    
+    /**
+     * Map型のフィールドを取得する。
+     * @param clazz
+     * @param fieldName
+     * @return 定義されていない場合、Map型でない場合はnullを返す。
+     */
+    private static Field getMapField(final Class<?> clazz, final String fieldName) {
+        
+        final Field field = Utils.getField(clazz, fieldName);
+        if(field == null || !Map.class.isAssignableFrom(field.getType())) {
+            return null;
+        }
+        
+        try {
+            field.setAccessible(true);
+        } catch(SecurityException e) {
+            return null;
+        }
+        
+        return field;
+    }
+    
+    /**
+     * セルの位置を設定する。
+     * @param x 列のインデックス番号
+     * @param y 行のインデックス番号
+     * @param obj 設定対象のオブジェクト
+     * @param fieldName フィールド名
+     */
+    void setPosition(final int x, final int y, final Object obj, final String fieldName) {
+        
+        if(positionMapField != null) {
+            getMap(positionMapField, obj).put(fieldName, new Point(x, y));
+            return;
+        }
+        
+        Target target = positionTargets.get(fieldName);
+        if(target == null) {
+            final String positionFieldName = fieldName + "Position";
+            target = findMethodTarget(positionFieldName, new Class<?>[]{Integer.TYPE, Integer.TYPE}, new Class<?>[]{Point.class});
+            if(target == NONE) {
+                target = findFieldTarget(positionFieldName, false);
+            }
+            positionTargets.putIfAbsent(fieldName, target);
+        }
+        
+        if(target.method != null) {
+            if(target.method.getParameterTypes().length == 2) {
+                invoke(target.method, obj, "fail set position with '%s' method", x, y);
+            } else {
+                invoke(target.method, obj, "fail set position with '%s' method", new Point(x, y));
+            }
+        
+        } else if(target.field != null) {
+            try {
+                target.field.set(obj, new Point(x, y));
+            } catch (IllegalArgumentException | IllegalAccessException e) {
+                throw new RuntimeException(
+                        String.format("fail set position with '%s' field", target.field.getName()),
+                        e);
+            }
+        }
+    
+    }
+    
+    /**
+     * MapColumn形式の場合のセルの位置を設定する。
+     * @param x 列のインデックス番号
+     * @param y 行のインデックス番号
+     * @param obj 設定対象のオブジェクト
+     * @param fieldName フィールド名
+     * @param key マップのキー
+     */
+    void setPositionWithMapColumn(final int x, final int y, final Object obj, final String fieldName, final String key) {
+        
+        if(positionMapField != null) {
+            final String mapKey = String.format("%s[%s]", fieldName, key);
+            getMap(positionMapField, obj).put(mapKey, new Point(x, y));
+            return;
+        }
+        
+        Target target = mapPositionTargets.get(fieldName);
+        if(target == null) {
+            final String positionFieldName = fieldName + "Position";
+            target = findMethodTarget(positionFieldName,
+                    new Class<?>[]{String.class, Integer.TYPE, Integer.TYPE}, new Class<?>[]{String.class, Point.class});
+            if(target == NONE) {
+                target = findFieldTarget(positionFieldName, true);
+            }
+            mapPositionTargets.putIfAbsent(fieldName, target);
+        }
+        
+        if(target.method != null) {
+            if(target.method.getParameterTypes().length == 3) {
+                invoke(target.method, obj, "fail set map position with '%s' method", key, x, y);
+            } else {
+                invoke(target.method, obj, "fail set map position with '%s' method", key, new Point(x, y));
+            }
+        
+        } else if(target.field != null) {
+            getMap(target.field, obj).put(key, new Point(x, y));
+        }
+    
+    }
+    
+    /**
+     * セルの見出しを設定する。
+     * @param label 設定する見出し
+     * @param obj 設定対象のオブジェクト
+     * @param fieldName フィールド名
+     */
+    void setLabel(final String label, final Object obj, final String fieldName) {
+        
+        if(labelMapField != null) {
+            getMap(labelMapField, obj).put(fieldName, label);
+            return;
+        }
+        
+        Target target = labelTargets.get(fieldName);
+        if(target == null) {
+            final String labelFieldName = fieldName + "Label";
+            target = findMethodTarget(labelFieldName, new Class<?>[]{String.class});
+            if(target == NONE) {
+                target = findFieldTarget(labelFieldName, false);
+            }
+            labelTargets.putIfAbsent(fieldName, target);
+        }
+        
+        if(target.method != null) {
+            invoke(target.method, obj, "fail set label with '%s' method", label);
+        
+        } else if(target.field != null) {
+            try {
+                target.field.set(obj, label);
+            } catch (IllegalArgumentException | IllegalAccessException e) {
+                throw new RuntimeException(
+                        String.format("fail set label with '%s' field", target.field.getName()),
+                        e);
+            }
+        }
+    
+    }
+    
+    /**
+     * MapColumn形式の場合のセルの見出しを設定する。
+     * @param label 設定する見出し
+     * @param obj 設定対象のオブジェクト
+     * @param fieldName フィールド名
+     * @param key マップのキー
+     */
+    void setLabelWithMapColumn(final String label, final Object obj, final String fieldName, final String key) {
+        
+        if(labelMapField != null) {
+            final String mapKey = String.format("%s[%s]", fieldName, key);
+            getMap(labelMapField, obj).put(mapKey, label);
+            return;
+        }
+        
+        Target target = mapLabelTargets.get(fieldName);
+        if(target == null) {
+            final String labelFieldName = fieldName + "Label";
+            target = findMethodTarget(labelFieldName, new Class<?>[]{String.class, String.class});
+            if(target == NONE) {
+                target = findFieldTarget(labelFieldName, true);
+            }
+            mapLabelTargets.putIfAbsent(fieldName, target);
+        }
+        
+        if(target.method != null) {
+            invoke(target.method, obj, "fail set label with '%s' method", key, label);
+        
+        } else if(target.field != null) {
+            getMap(target.field, obj).put(key, label);
+        }
+    
+    }
+    
+    /**
+     * 引数の型を順に指定して、setterメソッドを探す。
+     * @param fieldName フィールド名
+     * @param argTypes 引数の型の候補。先に指定したものを優先する。
+     * @return 見つからない場合は{@link #NONE}を返す。
+     */
+    private Target findMethodTarget(final String fieldName, final Class<?>[]... argTypes) {
+        
+        for(Class<?>[] types : argTypes) {
+            final Method method = Utils.getSetter(clazz, fieldName, types);
+            if(method != null) {
+                return new Target(method, null);
+            }
+        }
+        
+        return NONE;
+    }
+    
+    /**
+     * フィールドを探す。
+     * @param fieldName フィールド名
+     * @param mapOnly Map型のフィールドのみを対象とするかどうか。
+     * @return 見つからない場合は{@link #NONE}を返す。
+     */
+    private Target findFieldTarget(final String fieldName, final boolean mapOnly) {
+        
+        final Field field = mapOnly ? getMapField(clazz, fieldName) : Utils.getField(clazz, fieldName);
+        if(field == null) {
+            return NONE;
+        }
+        
+        field.setAccessible(true);
+        return new Target(null, field);
+    }
+    
+    /**
+     * Map型のフィールドの値を取得する。
+     * <p>値がnullの場合は、インスタンスを作成して設定する。
+     * @param field Map型のフィールド
+     * @param obj 対象のオブジェクト
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Map<String, T> getMap(final Field field, final Object obj) {
+        
+        try {
+            Object value = field.get(obj);
+            if(value == null) {
+                value = new HashMap<String, T>();
+                field.set(obj, value);
+            }
+            
+            return (Map<String, T>) value;
+        
+        } catch (IllegalArgumentException | IllegalAccessException e) {
+            throw new RuntimeException(
+                    String.format("fail set '%s' field", field.getName()),
+                    e);
+        }
+    }
+    
+    private static void invoke(final Method method, final Object obj, final String message, final Object... args) {
+        
+        try {
+            method.invoke(obj, args);
+        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+            throw new RuntimeException(String.format(message, method.getName()), e);
+        }
+    }
+    
+    /**
+     * 値の設定先の情報。
+     * <p>メソッドとフィールドのどちらかが設定される。どちらもnullの場合は設定先がない。
+     */
+    private static class Target {
+        
+        private final Method method;
+        
+        private final Field field;
+        
+        private Target(final Method method, final Field field) {
+            this.method = method;
+            this.field = field;
+        }
+    }
+
+}
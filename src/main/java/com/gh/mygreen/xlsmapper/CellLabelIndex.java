@@ -0,0 +1,290 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
+
+
+/**
+ * シート中のセルを、値（ラベル）から検索するための索引。
+ * <p>正規化したセルの値ごとにセルを保持し、{@link Utils#getCell(Sheet, String, int, XlsMapperConfig)}などと同じ結果を、
+ *    シートを繰り返し走査せずに返す。
+ * <p>索引は、検索で必要になった行までを、上から順に1度だけ作成する。
+ *    値が空のセルはラベルとして一致しないため保持せず、存在しないセルも作成しない。
+ * <p>索引の作成後にシートを変更した場合は、その内容は反映されないため、読み込み処理中のみ使用する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class CellLabelIndex {
+    
+    private final Sheet sheet;
+    
+    private final XlsMapperConfig config;
+    
+    /** シートの行数 */
+    private final int maxRow;
+    
+    /** 索引を作成済みの行数 */
+    private int indexedRow;
+    
+    /** 値を持つセル。行、列の順に並ぶ。*/
+    private final List<Entry> entries = new ArrayList<>();
+    
+    /**
+     * 正規化したセルの値ごとのセル
+     * ・key = 正規化したセルの値
+     * ・value = セルの一覧。行、列の順に並ぶ。
+     */
+    private final Map<String, List<Entry>> textMap = new HashMap<>();
+    
+    /**
+     * 索引を作成するシートを指定する。
+     * <p>シートの走査は、初めて検索するときに行う。
+     * @param sheet 対象のシート。
+     * @param config システム設定。
+     * @throws IllegalArgumentException sheet == null or config == null.
+     */
+    public CellLabelIndex(final Sheet sheet, final XlsMapperConfig config) {
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notNull(config, "config");
+        
+        this.sheet = sheet;
+        this.config = config;
+        this.maxRow = POIUtils.getRows(sheet);
+    }
+    
+    /**
+     * 次の1行分の索引を作成する。
+     * @return 全ての行の索引を作成済みの場合はfalseを返す。
+     */
+    private boolean indexNextRow() {
+        
+        if(indexedRow >= maxRow) {
+            return false;
+        }
+        
+        final Row row = sheet.getRow(indexedRow++);
+        if(row == null) {
+            return true;
+        }
+        
+        final int maxCol = row.getLastCellNum();
+        for(int j=0; j < maxCol; j++) {
+            final Cell cell = row.getCell(j);
+            if(cell == null) {
+                continue;
+            }
+            
+            final String text = Utils.normalize(POIUtils.getCellContents(cell, config.getCellFormatter()), config);
+            if(Utils.isEmpty(text)) {
+                continue;
+            }
+            
+            final Entry entry = new Entry(cell, text);
+            entries.add(entry);
+            
+            List<Entry> list = textMap.get(text);
+            if(list == null) {
+                list = new ArrayList<>(1);
+                textMap.put(text, list);
+            }
+            list.add(entry);
+        }
+        
+        return true;
+    }
+    
+    /**
+     * 索引の対象のシートを取得する。
+     * @return
+     */
+    public Sheet getSheet() {
+        return sheet;
+    }
+    
+    /**
+     * 指定したラベル（値を持つ）セルを、列、行の順に検索し、取得する。
+     * <p>{@link Utils#getCell(Sheet, String, int, boolean, XlsMapperConfig)}と同じ結果を返す。
+     * @param label 検索するセルの値
+     * @param from 検索開始位置の行
+     * @param throwableWhenNotFound セルが見つからない場合例外をスローするかどうか。falseの場合、nullを返す。
+     * @return 引数labelで指定した値を持つセル。見つからに場合は、nullを返す。
+     * @throws CellNotFoundException シート中に引数'label'を持つセルが存在しない場合。
+     */
+    public Cell getCell(final String label, final int from, final boolean throwableWhenNotFound) throws CellNotFoundException {
+        ArgUtils.notEmpty(label, "label");
+        ArgUtils.notMin(from, 0, "from");
+        
+        // 列ごとに検索するため、全ての行の索引を作成する
+        while(indexNextRow());
+        
+        Cell found = null;
+        for(Entry entry : findEntries(label, 0)) {
+            if(entry.row < from) {
+                continue;
+            }
+            
+            if(found == null || entry.column < found.getColumnIndex()) {
+                found = entry.cell;
+            }
+        }
+        
+        if(found == null && throwableWhenNotFound) {
+            throw new CellNotFoundException(sheet.getSheetName(), label);
+        }
+        
+        return found;
+    }
+    
+    /**
+     * 指定したラベル（値を持つ）セルを、行、列の順に検索し、取得する。
+     * <p>{@link Utils#getCell(Sheet, String, int, int, boolean, XlsMapperConfig)}と同じ結果を返す。
+     * @param label 検索するセルの値
+     * @param fromCol 検索開始位置の列のインデックス
+     * @param fromRow 検索開始位置の行のインデックス
+     * @param throwableWhenNotFound セルが見つからない場合例外をスローするかどうか。falseの場合、nullを返す。
+     * @return 引数labelで指定した値を持つセル。見つからに場合は、nullを返す。
+     * @throws CellNotFoundException シート中に引数'label'を持つセルが存在しない場合。ただし、引数throwableWhenNotFound=trueの場合のみ。
+     */
+    public Cell getCell(final String label, final int fromCol, final int fromRow,
+            final boolean throwableWhenNotFound) throws CellNotFoundException {
+        ArgUtils.notEmpty(label, "label");
+        ArgUtils.notMin(fromCol, 0, "fromCol");
+        ArgUtils.notMin(fromRow, 0, "fromRow");
+        
+        final Cell found = findCellInRows(label, fromCol, fromRow, null);
+        if(found != null) {
+            return found;
+        }
+        
+        if(throwableWhenNotFound) {
+            throw new CellNotFoundException(sheet.getSheetName(), label);
+        }
+        
+        return null;
+    }
+    
+    /**
+     * 指定したセルよりも右下にある、指定したラベル（値を持つ）セルを検索し、取得する。
+     * <p>{@link Utils#getCell(Sheet, String, Cell, boolean, boolean, XlsMapperConfig)}と同じ結果を返す。
+     * @param label 検索するセルの値
+     * @param after 検索開始位置のセル。nullの場合は、シートの先頭から検索する。
+     * @param includeAfter 引数afterのセルを検索対象に含めるかどうか。
+     * @param throwableWhenNotFound セルが見つからない場合例外をスローするかどうか。falseの場合、nullを返す。
+     * @return 引数labelで指定した値を持つセル。見つからに場合は、nullを返す。
+     * @throws CellNotFoundException シート中に引数'label'を持つセルが存在しない場合。ただし、引数throwableWhenNotFound=trueの場合のみ。
+     */
+    public Cell getCell(final String label, final Cell after, final boolean includeAfter,
+            final boolean throwableWhenNotFound) throws CellNotFoundException {
+        ArgUtils.notEmpty(label, "label");
+        
+        if(after == null) {
+            return getCell(label, 0, 0, throwableWhenNotFound);
+        }
+        
+        final Cell found = findCellInRows(label, after.getColumnIndex(), after.getRowIndex(), includeAfter ? null : after);
+        if(found != null) {
+            return found;
+        }
+        
+        if(throwableWhenNotFound) {
+            throw new CellNotFoundException(sheet.getSheetName(), label);
+        }
+        
+        return null;
+    }
+    
+    /**
+     * 行、列の順に、指定した位置より右下にあるラベルに一致するセルを検索する。
+     * <p>作成済みの索引で見つからない場合は、見つかるまで1行ずつ索引を作成し、追加したセルのみを検索する。
+     * @param label 検索するセルの値
+     * @param fromCol 検索開始位置の列のインデックス
+     * @param fromRow 検索開始位置の行のインデックス
+     * @param excluded 検索対象から除外するセル。除外しない場合はnull。
+     * @return 見つからない場合はnullを返す。
+     */
+    private Cell findCellInRows(final String label, final int fromCol, final int fromRow, final Cell excluded) {
+        
+        int fromIndex = 0;
+        do {
+            for(Entry entry : findEntries(label, fromIndex)) {
+                if(entry.row < fromRow || entry.column < fromCol) {
+                    continue;
+                }
+                
+                if(excluded != null && entry.row == excluded.getRowIndex() && entry.column == excluded.getColumnIndex()) {
+                    continue;
+                }
+                
+                return entry.cell;
+            }
+            
+            fromIndex = entries.size();
+            
+        } while(indexNextRow());
+        
+        return null;
+    }
+    
+    /**
+     * 作成済みの索引から、ラベルに一致するセルの一覧を取得する。
+     * @param label 検索するセルの値
+     * @param fromIndex 検索対象とする索引の開始位置。この位置より前に追加したセルは含めない。
+     * @return 行、列の順に並んだ一覧。
+     */
+    private List<Entry> findEntries(final String label, final int fromIndex) {
+        
+        final LabelMatcher matcher = LabelMatcher.compile(label, config);
+        if(!matcher.isRegex() && fromIndex == 0) {
+            final List<Entry> list = textMap.get(Utils.normalize(label, config));
+            if(list == null) {
+                return Collections.emptyList();
+            }
+            return list;
+        }
+        
+        // 正規表現の場合、または途中から検索する場合は、セルと1つずつ比較する。
+        // 正規表現のコンパイルは、セルごとに行わないよう一度だけ行う。
+        final List<Entry> list = new ArrayList<>();
+        for(Entry entry : entries.subList(fromIndex, entries.size())) {
+            if(matcher.matches(entry.text)) {
+                list.add(entry);
+            }
+        }
+        return list;
+    }
+    
+    /**
+     * 索引の1セル分の情報
+     */
+    private static class Entry {
+        
+        private final Cell cell;
+        
+        private final int row;
+        
+        private final int column;
+        
+        /** 正規化したセルの値 */
+        private final String text;
+        
+        private Entry(final Cell cell, final String text) {
+            this.cell = cell;
+            this.row = cell.getRowIndex();
+            this.column = cell.getColumnIndex();
+            this.text = text;
+        }
+    
+    }
+
+}
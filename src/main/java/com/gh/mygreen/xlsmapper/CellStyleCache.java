@@ -0,0 +1,193 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Workbook;
+
+
+/**
+ * 書き込み時に、元のスタイルから書式などを変更したスタイルをキャッシュするクラス。
+ * <p>セルごとに{@link Workbook#createCellStyle()}でスタイルを作成すると、
+ *    大量のセルを書き込んだときにExcelのスタイルの上限数を超えてしまうため、
+ *    元のスタイルと変更内容が同じ場合は、作成済みのスタイルを共有する。
+ * <p>インスタンスは{@link SavingWorkObject}で保持し、1回の書き込み処理の間だけ利用する。
+ *    {@link #begin()}を呼んでから{@link #end()}を呼ぶまでの間、同じスレッドの{@link #getStyle(Workbook, CellStyle, short)}などで利用する。
+ *    キャッシュを開始していない場合は、呼び出すたびにスタイルを作成する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class CellStyleCache {
+    
+    private static final ThreadLocal<CellStyleCache> CURRENT = new ThreadLocal<>();
+    
+    /**
+     * ブックごとのキャッシュ
+     * ・key = ブック
+     * ・value = 変更内容ごとの作成したスタイルのインデックス
+     */
+    private final Map<Workbook, Map<Key, Short>> styleMaps = new IdentityHashMap<>();
+    
+    /**
+     * 開始前に利用していたキャッシュ。終了時に元に戻す。
+     */
+    private CellStyleCache previous;
+    
+    /**
+     * 現在のスレッドで、キャッシュの利用を開始する。
+     */
+    void begin() {
+        this.previous = CURRENT.get();
+        CURRENT.set(this);
+    }
+    
+    /**
+     * キャッシュの利用を終了し、開始前の状態に戻す。
+     */
+    void end() {
+        if(previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+        this.previous = null;
+    }
+    
+    /**
+     * 書式を変更したスタイルを取得する。
+     * @param workbook スタイルを作成するブック。
+     * @param source 元のスタイル。
+     * @param dataFormat 変更する書式のインデックス。
+     * @return 元のスタイルから書式を変更したスタイル。
+     * @throws IllegalArgumentException workbook == null or source == null.
+     */
+    public static CellStyle getStyle(final Workbook workbook, final CellStyle source, final short dataFormat) {
+        return getStyle(workbook, source, dataFormat, null, null);
+    }
+    
+    /**
+     * 折り返し設定と縮小表示設定を変更したスタイルを取得する。
+     * @param workbook スタイルを作成するブック。
+     * @param source 元のスタイル。
+     * @param wrapText 折り返し設定。nullの場合は変更しない。
+     * @param shrinkToFit 縮小表示設定。nullの場合は変更しない。
+     * @return 元のスタイルから設定を変更したスタイル。元のスタイルと設定が同じ場合は、元のスタイルを返す。
+     * @throws IllegalArgumentException workbook == null or source == null.
+     */
+    public static CellStyle getStyle(final Workbook workbook, final CellStyle source,
+            final Boolean wrapText, final Boolean shrinkToFit) {
+        
+        ArgUtils.notNull(source, "source");
+        
+        if((wrapText == null || wrapText == source.getWrapText())
+                && (shrinkToFit == null || shrinkToFit.equals(POIUtils.getShrinkToFit(source)))) {
+            return source;
+        }
+        
+        return getStyle(workbook, source, null, wrapText, shrinkToFit);
+    }
+    
+    private static CellStyle getStyle(final Workbook workbook, final CellStyle source,
+            final Short dataFormat, final Boolean wrapText, final Boolean shrinkToFit) {
+        
+        ArgUtils.notNull(workbook, "workbook");
+        ArgUtils.notNull(source, "source");
+        
+        final CellStyleCache cache = CURRENT.get();
+        if(cache == null) {
+            return createStyle(workbook, source, dataFormat, wrapText, shrinkToFit);
+        }
+        
+        Map<Key, Short> styleMap = cache.styleMaps.get(workbook);
+        if(styleMap == null) {
+            styleMap = new HashMap<>();
+            cache.styleMaps.put(workbook, styleMap);
+        }
+        
+        final Key key = new Key(source.getIndex(), dataFormat, wrapText, shrinkToFit);
+        final Short index = styleMap.get(key);
+        if(index != null) {
+            return workbook.getCellStyleAt(index);
+        }
+        
+        final CellStyle style = createStyle(workbook, source, dataFormat, wrapText, shrinkToFit);
+        if(style.getIndex() >= 0) {
+            styleMap.put(key, style.getIndex());
+        }
+        
+        return style;
+    }
+    
+    private static CellStyle createStyle(final Workbook workbook, final CellStyle source,
+            final Short dataFormat, final Boolean wrapText, final Boolean shrinkToFit) {
+        
+        final CellStyle style = workbook.createCellStyle();
+        style.cloneStyleFrom(source);
+        if(dataFormat != null) {
+            style.setDataFormat(dataFormat);
+        }
+        
+        if(wrapText != null) {
+            style.setWrapText(wrapText);
+        }
+        
+        if(shrinkToFit != null) {
+            POIUtils.setShrinkToFit(style, shrinkToFit);
+        }
+        
+        return style;
+    }
+    
+    /**
+     * キャッシュのキー。元のスタイルと変更内容の組み合わせ。
+     */
+    private static class Key {
+        
+        private final short sourceIndex;
+        
+        private final Short dataFormat;
+        
+        private final Boolean wrapText;
+        
+        private final Boolean shrinkToFit;
+        
+        private Key(final short sourceIndex, final Short dataFormat, final Boolean wrapText, final Boolean shrinkToFit) {
+            this.sourceIndex = sourceIndex;
+            this.dataFormat = dataFormat;
+            this.wrapText = wrapText;
+            this.shrinkToFit = shrinkToFit;
+        }
+        
+        @Override
+        public int hashCode() {
+            int result = sourceIndex;
+            result = 31 * result + (dataFormat != null ? dataFormat.hashCode() : 0);
+            result = 31 * result + (wrapText != null ? wrapText.hashCode() : 0);
+            result = 31 * result + (shrinkToFit != null ? shrinkToFit.hashCode() : 0);
+            return result;
+        }
+        
+        @Override
+        public boolean equals(final Object obj) {
+            if(this == obj) {
+                return true;
+            }
+            
+            if(!(obj instanceof Key)) {
+                return false;
+            }
+            
+            final Key other = (Key) obj;
+            return sourceIndex == other.sourceIndex
+                    && Utils.equals(dataFormat, other.dataFormat)
+                    && Utils.equals(wrapText, other.wrapText)
+                    && Utils.equals(shrinkToFit, other.shrinkToFit);
+        }
+    
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.gh.mygreen.xlsmapper;
+
+import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+
+
+/**
+ * 読み込み時のエラーの件数が上限を超えたため、処理を中断した場合にスローされる例外クラス。
+ * <p>{@link XlsMapperConfig#setAbortOnBindingErrorLimit(boolean)}で、中断するよう設定した場合にスローされる。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class ErrorLimitExceededException extends XlsMapperException {
+    
+    /** serialVersionUID */
+    private static final long serialVersionUID = 2416335107845829264L;
+    
+    private final SheetBindingErrors errors;
+    
+    /**
+     * 上限までのエラーを保持しているエラー情報を指定するコンストラクタ。
+     * @param errors エラー情報
+     */
+    public ErrorLimitExceededException(final SheetBindingErrors errors) {
+        super(String.format("Abort loading sheet '%s' because the number of errors exceeded the limit. (maxErrors=%d, maxFieldErrors=%d)",
+                errors.getSheetName(), errors.getMaxErrors(), errors.getMaxFieldErrors()));
+        this.errors = errors;
+    }
+    
+    /**
+     * 中断するまでのエラー情報を取得する。
+     * @return
+     */
+    public SheetBindingErrors getErrors() {
+        return errors;
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+
+/**
+ * アノテーションに指定されたラベルと、セルの値を比較するクラス。
+ * <p>{@link Utils#matches(String, String, XlsMapperConfig)}は、比較するたびに正規表現のコンパイルや正規化を行うため、
+ *    ラベルの正規表現や正規化した値は、インスタンスの作成時に1度だけ準備し、セルの値との比較のみを行う。
+ * <p>作成したインスタンスは、ラベルごとに保持して使い回す。
+ *    インスタンスは不変のため、複数のスレッドから利用できる。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class LabelMatcher {
+    
+    /**
+     * 保持するインスタンスの件数の上限。超えた場合は全て破棄する。
+     */
+    private static final int MAX_CACHE_SIZE = 1000;
+    
+    /**
+     * システム設定に従い作成したインスタンス
+     * ・key = ラベル
+     * ・value = 作成済みのインスタンス。システム設定が異なる場合は作成し直す。
+     */
+    private static final Map<String, LabelMatcher> LABEL_CACHE = new ConcurrentHashMap<>();
+    
+    /**
+     * 正規表現のみで比較するインスタンス
+     * ・key = 正規表現
+     * ・value = 作成済みのインスタンス
+     */
+    private static final Map<String, LabelMatcher> REGEX_CACHE = new ConcurrentHashMap<>();
+    
+    /**
+     * 元のラベル
+     */
+    private final String label;
+    
+    /**
+     * 正規表現で比較する場合のパターン。正規表現でない場合はnull。
+     */
+    private final Pattern pattern;
+    
+    /**
+     * 正規表現でない場合の正規化済みのラベル。
+     */
+    private final String normalizedLabel;
+    
+    /**
+     * セルの値を正規化するかどうか。
+     */
+    private final boolean normalize;
+    
+    private LabelMatcher(final String label, final Pattern pattern, final boolean normalize) {
+        this.label = label;
+        this.pattern = pattern;
+        this.normalize = normalize;
+        this.normalizedLabel = (pattern == null && normalize) ? normalize(label) : label;
+    }
+    
+    /**
+     * システム設定に従い、ラベルを比較するインスタンスを取得する。
+     * <p>システム設定で正規表現の比較が有効で、{@literal /<ラベル>/}と指定されている場合は、正規表現で比較する。
+     * @param label アノテーションに指定されているラベル。
+     * @param config システム設定
+     * @return ラベルを比較するインスタンス。
+     * @throws IllegalArgumentException label == null or config == null.
+     */
+    public static LabelMatcher compile(final String label, final XlsMapperConfig config) {
+        ArgUtils.notNull(label, "label");
+        ArgUtils.notNull(config, "config");
+        
+        final boolean regex = config.isRegexLabelText() && label.length() >= 2 && label.startsWith("/") && label.endsWith("/");
+        final boolean normalize = config.isNormalizeLabelText();
+        
+        LabelMatcher matcher = LABEL_CACHE.get(label);
+        if(matcher == null || matcher.isRegex() != regex || matcher.normalize != normalize) {
+            final Pattern pattern = regex ? Pattern.compile(label.substring(1, label.length() - 1)) : null;
+            matcher = new LabelMatcher(label, pattern, normalize);
+            putCache(LABEL_CACHE, label, matcher);
+        }
+        
+        return matcher;
+    }
+    
+    /**
+     * 正規表現のみで比較するインスタンスを取得する。
+     * <p>シート名など、正規化を行わない値の比較に利用する。
+     * @param regex 正規表現
+     * @return ラベルを比較するインスタンス。
+     * @throws IllegalArgumentException regex == null.
+     */
+    public static LabelMatcher compileRegex(final String regex) {
+        ArgUtils.notNull(regex, "regex");
+        
+        LabelMatcher matcher = REGEX_CACHE.get(regex);
+        if(matcher == null) {
+            matcher = new LabelMatcher(regex, Pattern.compile(regex), false);
+            putCache(REGEX_CACHE, regex, matcher);
+        }
+        
+        return matcher;
+    }
+    
+    private static void putCache(final Map<String, LabelMatcher> cache, final String key, final LabelMatcher matcher) {
+        if(cache.size() >= MAX_CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(key, matcher);
+    }
+    
+    /**
+     * セルの値がラベルと一致するかどうか。
+     * @param text セルの値
+     * @return true:ラベルが一致する。
+     */
+    public boolean matches(final String text) {
+        final String value = normalize ? normalize(text) : text;
+        if(pattern != null) {
+            return value != null && pattern.matcher(value).matches();
+        }
+        
+        return normalizedLabel.equals(value);
+    }
+    
+    /**
+     * 元のラベルを取得する。
+     * @return
+     */
+    public String getLabel() {
+        return label;
+    }
+    
+    /**
+     * 正規表現で比較するかどうか。
+     * @return true:正規表現で比較する。
+     */
+    public boolean isRegex() {
+        return pattern != null;
+    }
+    
+    /**
+     * ラベルを正規化する。
+     * <p>前後の空白を除去し、改行を取り除き、連続するタブや空白（全角を含む）を1つの半角空白にする。
+     *    正規表現を使わずに、1度の走査で変換する。
+     * @param text 正規化する値
+     * @return 正規化した値。引数がnullの場合はnullを返す。
+     */
+    static String normalize(final String text) {
+        if(text == null) {
+            return null;
+        }
+        
+        final String trimmed = text.trim();
+        final int length = trimmed.length();
+        
+        StringBuilder sb = null;
+        boolean space = false;
+        for(int i=0; i < length; i++) {
+            final char c = trimmed.charAt(i);
+            if(c == '\n' || c == '\r') {
+                if(sb == null) {
+                    sb = new StringBuilder(length).append(trimmed, 0, i);
+                }
+                continue;
+            }
+            
+            if(c == '\t' || c == ' ' || c == '　') {
+                if(space || c != ' ') {
+                    if(sb == null) {
+                        sb = new StringBuilder(length).append(trimmed, 0, i);
+                    }
+                }
+                
+                if(!space) {
+                    if(sb != null) {
+                        sb.append(' ');
+                    }
+                    space = true;
+                }
+                continue;
+            }
+            
+            space = false;
+            if(sb != null) {
+                sb.append(c);
+            }
+        }
+        
+        return sb == null ? trimmed : sb.toString();
+    }
+
+}
@@ -1,15 +1,21 @@
 package com.gh.mygreen.xlsmapper;
 
 import java.awt.Point;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
 
 import com.gh.mygreen.xlsmapper.cellconvert.TypeBindException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordHandler;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordHandlerRegistry;
 import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReadException;
 import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 
 /**
@@ -25,6 +31,30 @@ public class LoadingWorkObject {
     
     private SheetBindingErrors errors;
     
+    /** エラーの件数が上限を超えたときに、処理を中断するかどうか */
+    private boolean abortOnErrorLimit;
+    
+    /** 読み込み前のエラーの件数の上限 */
+    private int savedMaxErrors;
+    
+    /** 読み込み前のフィールドごとのエラーの件数の上限 */
+    private int savedMaxFieldErrors;
+    
+    /** セルのラベルの索引。必要になった時点で作成する。*/
+    private CellLabelIndex labelIndex;
+    
+    /** 結合セルの索引。必要になった時点で作成する。*/
+    private MergedRegionIndex mergedRegionIndex;
+    
+    /** シートの最大行数と最大列数。必要になった時点で作成する。*/
+    private SheetDimension sheetDimension;
+    
+    /** レコードのクラスごとのライフサイクルのメソッド */
+    private final Map<Class<?>, RecordLifeCycle> recordLifeCycles = new HashMap<>();
+    
+    /** 表のレコードを1件ずつ処理するハンドラ。読み込みごとに指定する。*/
+    private RecordHandlerRegistry recordHandlerRegistry;
+    
     public AnnotationReader getAnnoReader() {
         return annoReader;
     }
@@ -49,15 +79,185 @@ public class LoadingWorkObject {
         this.errors = errors;
     }
     
-    public void addTypeBindError(final TypeBindException e, final Point position, final String fieldName, final String label) {
-        final Map<String, Object> vars = new LinkedHashMap<>(e.getMessageVars());
-        vars.put("validatedValue", e.getTargetValue());
+    /**
+     * 表のレコードを1件ずつ処理するハンドラの管理クラスを取得する。
+     * @since 1.5
+     * @return 指定されていない場合はnullを返す。
+     */
+    public RecordHandlerRegistry getRecordHandlerRegistry() {
+        return recordHandlerRegistry;
+    }
+    
+    /**
+     * 表のレコードを1件ずつ処理するハンドラの管理クラスを設定する。
+     * @since 1.5
+     * @param recordHandlerRegistry 表のレコードを1件ずつ処理するハンドラの管理クラス。指定しない場合はnull。
+     */
+    public void setRecordHandlerRegistry(RecordHandlerRegistry recordHandlerRegistry) {
+        this.recordHandlerRegistry = recordHandlerRegistry;
+    }
+    
+    /**
+     * 表のレコードを1件ずつ処理するハンドラを取得する。
+     * @since 1.5
+     * @param beanClass レコードのフィールドを持つBeanのクラス。
+     * @param fieldName アノテーションが付与されているフィールド名。
+     * @return ハンドラが登録されていない場合はnullを返す。
+     */
+    public <R> RecordHandler<R> getRecordHandler(final Class<?> beanClass, final String fieldName) {
+        if(recordHandlerRegistry == null) {
+            return null;
+        }
+        return recordHandlerRegistry.getHandler(beanClass, fieldName);
+    }
+    
+    /**
+     * 設定に従い、エラーの件数の上限を設定する。
+     * <p>上限が設定されていない場合は、エラー情報に設定済みの上限をそのまま利用する。
+     * <p>シートの読み込みが終わったら、{@link #restoreErrorLimits()}で元の上限に戻す。
+     * @since 1.5
+     * @param config システム設定
+     */
+    public void setupErrorLimits(final XlsMapperConfig config) {
+        this.savedMaxErrors = errors.getMaxErrors();
+        this.savedMaxFieldErrors = errors.getMaxFieldErrors();
+        
+        if(config.getMaxBindingErrors() > 0) {
+            errors.setMaxErrors(config.getMaxBindingErrors());
+        }
+        
+        if(config.getMaxBindingErrorsPerField() > 0) {
+            errors.setMaxFieldErrors(config.getMaxBindingErrorsPerField());
+        }
+        
+        this.abortOnErrorLimit = config.isAbortOnBindingErrorLimit();
+    }
+    
+    /**
+     * {@link #setupErrorLimits(XlsMapperConfig)}で設定する前の、エラーの件数の上限に戻す。
+     * <p>読み込み後に、呼び出し元が入力値の検証などでエラーを追加する場合に、読み込み用の上限が残らないようにする。
+     * @since 1.5
+     */
+    public void restoreErrorLimits() {
+        errors.setMaxErrors(savedMaxErrors);
+        errors.setMaxFieldErrors(savedMaxFieldErrors);
+        this.abortOnErrorLimit = false;
+    }
+    
+    /**
+     * エラーの件数が上限を超え、処理を中断するよう設定されている場合は、例外をスローする。
+     * @since 1.5
+     * @throws ErrorLimitExceededException エラーの件数が上限を超え、処理を中断するよう設定されている場合。
+     */
+    public void checkErrorLimit() throws ErrorLimitExceededException {
+        if(abortOnErrorLimit && errors.hasOverflowErrors()) {
+            throw new ErrorLimitExceededException(errors);
+        }
+    }
+    
+    /**
+     * ライフサイクルのコールバック用のメソッドを実行する。
+     * <p>メソッドの中でエラー情報にエラーを追加した場合も、{@link #checkErrorLimit()}で件数の上限を確認する。
+     * @since 1.5
+     * @param processObj 実行対象の処理が埋め込まれているオブジェクト。
+     * @param method 実行対象のメソッド情報
+     * @param beanObj 処理対象のBeanオブジェクト。
+     * @param sheet シート情報
+     * @param config 共通設定
+     * @throws XlsMapperException メソッドの実行に失敗した場合、またはエラーの件数が上限を超えて処理を中断する場合。
+     */
+    public void invokeNeedProcessMethod(final Object processObj, final Method method, final Object beanObj,
+            final Sheet sheet, final XlsMapperConfig config) throws XlsMapperException {
+        Utils.invokeNeedProcessMethod(processObj, method, beanObj, sheet, config, errors);
+        checkErrorLimit();
+    }
+    
+    /**
+     * シートの結合セルの索引を取得する。
+     * <p>初めて呼ばれたときに作成し、以降は同じシートに対しては作成済みの索引を返す。
+     * @since 1.5
+     * @param sheet 対象のシート
+     * @return 結合セルの索引
+     */
+    public MergedRegionIndex getMergedRegionIndex(final Sheet sheet) {
+        if(mergedRegionIndex == null || mergedRegionIndex.getSheet() != sheet) {
+            this.mergedRegionIndex = new MergedRegionIndex(sheet);
+        }
+        return mergedRegionIndex;
+    }
+    
+    /**
+     * シートのセルのラベルの索引を取得する。
+     * <p>初めて呼ばれたときに作成し、以降は同じシートに対しては作成済みの索引を返す。
+     * @since 1.5
+     * @param sheet 対象のシート
+     * @param config システム設定
+     * @return セルのラベルの索引
+     */
+    public CellLabelIndex getLabelIndex(final Sheet sheet, final XlsMapperConfig config) {
+        if(labelIndex == null || labelIndex.getSheet() != sheet) {
+            this.labelIndex = new CellLabelIndex(sheet, config);
+        }
+        return labelIndex;
+    }
+    
+    /**
+     * シートの最大行数と最大列数を取得する。
+     * <p>初めて呼ばれたときに作成し、以降は同じシートに対しては作成済みのインスタンスを返す。
+     * @since 1.5
+     * @param sheet 対象のシート
+     * @return シートの最大行数と最大列数
+     */
+    public SheetDimension getSheetDimension(final Sheet sheet) {
+        if(sheetDimension == null || sheetDimension.getSheet() != sheet) {
+            this.sheetDimension = new SheetDimension(sheet);
+        }
+        return sheetDimension;
+    }
+    
+    /**
+     * レコードのクラスのライフサイクルのメソッドを取得する。
+     * <p>初めて呼ばれたときに作成し、以降は同じクラスに対しては作成済みのインスタンスを返す。
+     * @since 1.5
+     * @param recordClass レコードのクラス
+     * @param config システム設定
+     * @return ライフサイクルのメソッド
+     * @throws AnnotationReadException アノテーションの読み込みに失敗した場合。
+     */
+    public RecordLifeCycle getRecordLifeCycle(final Class<?> recordClass, final XlsMapperConfig config) throws AnnotationReadException {
+        RecordLifeCycle lifeCycle = recordLifeCycles.get(recordClass);
+        if(lifeCycle == null) {
+            lifeCycle = RecordLifeCycle.createForLoading(recordClass, annoReader, config);
+            recordLifeCycles.put(recordClass, lifeCycle);
+        }
+        return lifeCycle;
+    }
+    
+    /**
+     * 型変換エラーを追加する。
+     * @param e 型変換エラー
+     * @param position セルの位置
+     * @param fieldName フィールド名
+     * @param label セルの見出し
+     * @throws ErrorLimitExceededException エラーの件数が上限を超え、処理を中断するよう設定されている場合。
+     */
+    public void addTypeBindError(final TypeBindException e, final Point position, final String fieldName, final String label)
+            throws ErrorLimitExceededException {
+        
+        // 上限を超える場合は、エラーの情報を作成しない。
+        if(!errors.checkOverflowFieldError(fieldName)) {
+            final Map<String, Object> vars = new LinkedHashMap<>(e.getMessageVars());
+            vars.put("validatedValue", e.getTargetValue());
+            
+            this.errors.rejectSheetTypeBind(fieldName, e.getTargetValue(), e.getBindClass(), vars,
+                    position, label);
+        }
         
-        this.errors.rejectSheetTypeBind(fieldName, e.getTargetValue(), e.getBindClass(), vars,
-                position, label);
+        checkErrorLimit();
     }
     
-    public void addTypeBindError(final TypeBindException e, final Cell cell, final String fieldName, final String label) {
+    public void addTypeBindError(final TypeBindException e, final Cell cell, final String fieldName, final String label)
+            throws ErrorLimitExceededException {
         addTypeBindError(e, new Point(cell.getColumnIndex(), cell.getRowIndex()), fieldName, label);
     }
 }
@@ -0,0 +1,392 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+
+/**
+ * シートの結合セルの情報を、行ごとに振り分けて保持する索引。
+ * <p>{@link POIUtils#getMergedRegion(Sheet, int, int)}のように、全ての結合情報を走査せずに、
+ *    指定したセルを含む結合範囲を取得する。
+ * <p>結合の追加/解除、行の挿入/削除は、このクラスのメソッドを経由して行うと索引にも反映される。
+ *    行をずらした場合は、POIと同じ規則で、ずれた結合範囲のみを索引の中で移動する。
+ *    このクラスを経由せずにシートの結合を変更した場合は、{@link #invalidate()}を呼び、次回の検索時に索引を作成し直す。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class MergedRegionIndex {
+    
+    private final Sheet sheet;
+    
+    /**
+     * シートと同じ順番で並べた結合範囲
+     * ・シート上の位置を特定して解除するために使用する。
+     * ・nullの場合は、次回の検索時に作成する。
+     */
+    private List<CellRangeAddress> regions;
+    
+    /**
+     * 行ごとの結合範囲
+     * ・key = 行のインデックス
+     * ・value = その行を含む結合範囲
+     * ・nullの場合は、次回の検索時に作成する。
+     */
+    private TreeMap<Integer, List<CellRangeAddress>> rowMap;
+    
+    /**
+     * シートを指定してインスタンスを作成する。
+     * <p>索引は、初めて検索したときに作成する。
+     * @param sheet 対象のシート。
+     * @throws IllegalArgumentException sheet == null.
+     */
+    public MergedRegionIndex(final Sheet sheet) {
+        ArgUtils.notNull(sheet, "sheet");
+        this.sheet = sheet;
+    }
+    
+    /**
+     * 索引の対象のシートを取得する。
+     * @return
+     */
+    public Sheet getSheet() {
+        return sheet;
+    }
+    
+    /**
+     * 指定したセルのアドレスの結合情報を取得する。
+     * <p>{@link POIUtils#getMergedRegion(Sheet, int, int)}と同じ結果を返す。
+     * @param rowIdx 行のインデックス
+     * @param colIdx 列のインデックス
+     * @return 結合していない場合nullを返す。
+     */
+    public CellRangeAddress getMergedRegion(final int rowIdx, final int colIdx) {
+        
+        final List<CellRangeAddress> list = getRowMap().get(rowIdx);
+        if(list == null) {
+            return null;
+        }
+        
+        for(CellRangeAddress range : list) {
+            if(range.isInRange(rowIdx, colIdx)) {
+                return range;
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * 指定した範囲のセルを結合し、索引に追加する。
+     * @see POIUtils#mergeCells(Sheet, int, int, int, int)
+     * @param startCol
+     * @param startRow
+     * @param endCol
+     * @param endRow
+     * @return 結合した範囲
+     */
+    public CellRangeAddress mergeCells(int startCol, int startRow, int endCol, int endRow) {
+        
+        final CellRangeAddress range = POIUtils.mergeCells(sheet, startCol, startRow, endCol, endRow);
+        if(rowMap != null) {
+            add(range);
+        }
+        return range;
+    }
+    
+    /**
+     * 結合範囲をシートに追加し、索引に追加する。
+     * @param range 結合する範囲
+     * @throws IllegalArgumentException range == null.
+     */
+    public void addMergedRegion(final CellRangeAddress range) {
+        ArgUtils.notNull(range, "range");
+        
+        sheet.addMergedRegion(range);
+        if(rowMap != null) {
+            add(range);
+        }
+    }
+    
+    /**
+     * 指定した範囲の結合を解除し、索引から削除する。
+     * <p>解除する結合は、索引から探すため、シートの全ての結合情報を走査しない。
+     * @see POIUtils#removeMergedRange(Sheet, CellRangeAddress)
+     * @param mergedRange 解除する範囲
+     * @return 引数で指定した結合が見つからない場合はfalseを返す。
+     * @throws IllegalArgumentException mergedRange == null.
+     */
+    public boolean removeMergedRange(final CellRangeAddress mergedRange) {
+        ArgUtils.notNull(mergedRange, "mergedRange");
+        
+        final List<CellRangeAddress> list = getRowMap().get(mergedRange.getFirstRow());
+        if(list == null) {
+            return false;
+        }
+        
+        for(CellRangeAddress range : list) {
+            if(!POIUtils.equalsRange(range, mergedRange)) {
+                continue;
+            }
+            
+            final int position = indexOf(range);
+            if(!isSamePosition(range, position)) {
+                // シートの結合を直接変更した場合
+                invalidate();
+                return POIUtils.removeMergedRange(sheet, mergedRange);
+            }
+            
+            removeAt(range, position);
+            return true;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * 指定した行以降に掛かる結合を全て解除し、索引から削除する。
+     * @param rowIndex 行のインデックス。この行以降に掛かる結合を解除する。
+     */
+    public void removeMergedRegionsFrom(final int rowIndex) {
+        
+        getRowMap();
+        
+        if(regions.size() != sheet.getNumMergedRegions()) {
+            // シートの結合を直接変更した場合
+            invalidate();
+            removeMergedRegionsFromSheet(rowIndex);
+            return;
+        }
+        
+        for(int i=regions.size()-1; i >= 0; i--) {
+            final CellRangeAddress range = regions.get(i);
+            if(range.getLastRow() < rowIndex) {
+                continue;
+            }
+            
+            if(!isSamePosition(range, i)) {
+                // シートの結合を直接変更した場合
+                invalidate();
+                removeMergedRegionsFromSheet(rowIndex);
+                return;
+            }
+            
+            removeAt(range, i);
+        }
+    }
+    
+    /**
+     * 索引を使用せずに、シートを走査して指定した行以降に掛かる結合を解除する。
+     * @param rowIndex 行のインデックス
+     */
+    private void removeMergedRegionsFromSheet(final int rowIndex) {
+        
+        for(int i=sheet.getNumMergedRegions()-1; i >= 0; i--) {
+            if(sheet.getMergedRegion(i).getLastRow() >= rowIndex) {
+                sheet.removeMergedRegion(i);
+            }
+        }
+    }
+    
+    /**
+     * 索引の結合範囲が、シート上の同じ位置にあるかどうか。
+     * @param range 索引の結合範囲
+     * @param position シート上の並び順での位置
+     * @return 索引とシートが一致している場合trueを返す。
+     */
+    private boolean isSamePosition(final CellRangeAddress range, final int position) {
+        
+        if(position < 0 || position >= sheet.getNumMergedRegions()) {
+            return false;
+        }
+        
+        return POIUtils.equalsRange(sheet.getMergedRegion(position), range);
+    }
+    
+    /**
+     * 指定した位置の結合を、シートと索引から削除する。
+     * @param range 索引の結合範囲
+     * @param position シート上の並び順での位置
+     */
+    private void removeAt(final CellRangeAddress range, final int position) {
+        
+        sheet.removeMergedRegion(position);
+        regions.remove(position);
+        remove(range);
+    }
+    
+    /**
+     * 指定した位置に行を1行挿入し、ずれた結合範囲を索引の中で移動する。
+     * @see POIUtils#insertRow(Sheet, int)
+     * @param rowIndex 挿入する位置の行番号
+     */
+    public void insertRow(final int rowIndex) {
+        
+        final int lastRow = sheet.getLastRowNum();
+        POIUtils.insertRow(sheet, rowIndex);
+        
+        if(lastRow >= rowIndex) {
+            shiftRegions(rowIndex, lastRow+1, 1);
+        }
+    }
+    
+    /**
+     * 指定した位置に複数の行をまとめて挿入し、ずれた結合範囲を索引の中で移動する。
+     * @see POIUtils#insertRows(Sheet, int, int)
+     * @param rowIndex 挿入する位置の行番号
+     * @param count 挿入する行数
+     */
+    public void insertRows(final int rowIndex, final int count) {
+        
+        final int lastRow = sheet.getLastRowNum();
+        POIUtils.insertRows(sheet, rowIndex, count);
+        
+        if(lastRow >= rowIndex) {
+            shiftRegions(rowIndex, lastRow, count);
+        }
+    }
+    
+    /**
+     * 指定した位置から複数の行をまとめて削除し、ずれた結合範囲を索引の中で移動する。
+     * @see POIUtils#removeRows(Sheet, int, int)
+     * @param rowIndex 削除する開始位置の行番号
+     * @param count 削除する行数
+     */
+    public void removeRows(final int rowIndex, final int count) {
+        
+        final int lastRow = sheet.getLastRowNum();
+        POIUtils.removeRows(sheet, rowIndex, count);
+        
+        if(rowIndex + count <= lastRow) {
+            shiftRegions(rowIndex + count, lastRow, -count);
+        }
+    }
+    
+    /**
+     * {@link Sheet#shiftRows(int, int, int)}で行をずらしたときの結合範囲の移動を、索引に反映する。
+     * <p>POIと同じく、ずらした行に掛かる結合範囲のうち、範囲の前後の行（1列目）を含まないものを移動し、
+     *    シート上の並び順では末尾に移す。
+     * @param startRow ずらした開始行
+     * @param endRow ずらした終了行
+     * @param n ずらした行数
+     */
+    private void shiftRegions(final int startRow, final int endRow, final int n) {
+        
+        if(rowMap == null) {
+            // 索引を作成していない場合は、次回の検索時にシートから作成する。
+            return;
+        }
+        
+        final List<CellRangeAddress> shifted = new ArrayList<>();
+        for(Iterator<CellRangeAddress> itr = regions.iterator(); itr.hasNext();) {
+            final CellRangeAddress range = itr.next();
+            if(range.getLastRow() < startRow || range.getFirstRow() > endRow) {
+                continue;
+            }
+            
+            if(range.isInRange(startRow-1, 0) || range.isInRange(endRow+1, 0)) {
+                continue;
+            }
+            
+            itr.remove();
+            remove(range);
+            shifted.add(range);
+        }
+        
+        for(CellRangeAddress range : shifted) {
+            add(new CellRangeAddress(range.getFirstRow() + n, range.getLastRow() + n,
+                    range.getFirstColumn(), range.getLastColumn()));
+        }
+    }
+    
+    /**
+     * 索引を破棄し、次回の検索時にシートから作成し直す。
+     * <p>このクラスを経由せずに、シートの結合や行を変更した場合に呼び出す。
+     */
+    public void invalidate() {
+        this.regions = null;
+        this.rowMap = null;
+    }
+    
+    private TreeMap<Integer, List<CellRangeAddress>> getRowMap() {
+        
+        if(rowMap == null) {
+            final int num = sheet.getNumMergedRegions();
+            this.regions = new ArrayList<>(num);
+            this.rowMap = new TreeMap<>();
+            for(int i=0; i < num; i++) {
+                add(sheet.getMergedRegion(i));
+            }
+        }
+        
+        return rowMap;
+    }
+    
+    /**
+     * シート上の並び順での位置を取得する。
+     * @param range 索引の結合範囲
+     * @return 見つからない場合は-1を返す。
+     */
+    private int indexOf(final CellRangeAddress range) {
+        
+        for(int i=0; i < regions.size(); i++) {
+            if(regions.get(i) == range) {
+                return i;
+            }
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * 結合範囲を、シート上の並び順の末尾として索引に追加する。
+     * <p>シートによっては、行をずらしたときに保持している結合範囲のインスタンスを直接書き換えるため、コピーを保持する。
+     * @param range 追加する結合範囲
+     */
+    private void add(final CellRangeAddress range) {
+        
+        final CellRangeAddress copied = range.copy();
+        regions.add(copied);
+        put(copied);
+    }
+    
+    private void put(final CellRangeAddress range) {
+        
+        for(int r=range.getFirstRow(); r <= range.getLastRow(); r++) {
+            List<CellRangeAddress> list = rowMap.get(r);
+            if(list == null) {
+                list = new ArrayList<>(1);
+                rowMap.put(r, list);
+            }
+            list.add(range);
+        }
+    }
+    
+    private void remove(final CellRangeAddress range) {
+        
+        for(int r=range.getFirstRow(); r <= range.getLastRow(); r++) {
+            final List<CellRangeAddress> list = rowMap.get(r);
+            if(list == null) {
+                continue;
+            }
+            
+            for(Iterator<CellRangeAddress> itr = list.iterator(); itr.hasNext();) {
+                if(itr.next() == range) {
+                    itr.remove();
+                    break;
+                }
+            }
+            
+            if(list.isEmpty()) {
+                rowMap.remove(r);
+            }
+        }
+    }
+    
+}
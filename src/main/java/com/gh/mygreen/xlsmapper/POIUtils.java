@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.poi.hssf.model.InternalSheet;
+import org.apache.poi.hssf.model.InternalWorkbook;
 import org.apache.poi.hssf.record.DVRecord;
 import org.apache.poi.hssf.record.ExtendedFormatRecord;
 import org.apache.poi.hssf.record.Record;
@@ -17,6 +18,7 @@ import org.apache.poi.hssf.record.aggregates.DataValidityTable;
 import org.apache.poi.hssf.record.aggregates.RecordAggregate.RecordVisitor;
 import org.apache.poi.hssf.usermodel.HSSFCellStyle;
 import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.DataValidation;
@@ -33,10 +35,12 @@ import org.apache.poi.ss.util.CellRangeAddressList;
 import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.apache.poi.xssf.usermodel.extensions.XSSFCellAlignment;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCellAlignment;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTDataValidation;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTDataValidations;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbook;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorksheet;
 
 import com.gh.mygreen.xlsmapper.cellconvert.LinkType;
@@ -264,6 +268,7 @@ public class POIUtils {
     
     /**
      * フォーマッターを指定してセルの値を取得する
+     * <p>シートの読み込み中は、フォーマットした結果をセルごとにキャッシュしたものを返す。
      * 
      * @param cell
      * @param cellFormatter 
@@ -273,6 +278,11 @@ public class POIUtils {
         ArgUtils.notNull(cell, "cell");
         ArgUtils.notNull(cellFormatter, "cellFormatter");
         
+        final CellContentsCache cache = CellContentsCache.current();
+        if(cache != null && cache.isTarget(cell, cellFormatter)) {
+            return cache.getCellContents(cell);
+        }
+        
         return cellFormatter.format(cell);
         
     }
@@ -319,6 +329,40 @@ public class POIUtils {
         
     }
     
+    /**
+     * ワークブックの日付が1904年始まりかどうか判定する。
+     * <p>数式を評価した結果の数値を日付に変換するときに利用する。
+     * @since 1.5
+     * @param workbook ワークブック
+     * @return 1904年始まりの場合、trueを返す。
+     * @throws IllegalArgumentException {@literal workbook == null.}
+     */
+    public static boolean isDate1904(final Workbook workbook) {
+        ArgUtils.notNull(workbook, "workbook");
+        
+        if(workbook instanceof HSSFWorkbook) {
+            // POI-3.11では、内部のワークブックを取得するメソッドが公開されていないため、リフレクションで取得する。
+            for(String methodName : new String[]{"getInternalWorkbook", "getWorkbook"}) {
+                try {
+                    final Method method = HSSFWorkbook.class.getDeclaredMethod(methodName);
+                    method.setAccessible(true);
+                    final InternalWorkbook internalWorkbook = (InternalWorkbook) method.invoke(workbook);
+                    return internalWorkbook.isUsing1904DateWindowing();
+                    
+                } catch (Exception e) {}
+            }
+            
+            return false;
+            
+        } else if(workbook instanceof XSSFWorkbook) {
+            final CTWorkbook ctWorkbook = ((XSSFWorkbook) workbook).getCTWorkbook();
+            return ctWorkbook.isSetWorkbookPr() && ctWorkbook.getWorkbookPr().getDate1904();
+            
+        }
+        
+        return false;
+    }
+    
     /**
      * セルに設定されている書式を取得する。
      * @since 1.1
@@ -403,13 +447,10 @@ public class POIUtils {
         ArgUtils.notNull(sheet, "sheet");
         ArgUtils.notNull(mergedRange, "mergedRange");
         
-        final String mergedAddress = mergedRange.formatAsString(sheet.getSheetName(), true);
-        
         final int num = sheet.getNumMergedRegions();
         for(int i=0; i < num; i ++) {
             final CellRangeAddress range = sheet.getMergedRegion(i);
-            final String rangeAddress = range.formatAsString(sheet.getSheetName(), true);
-            if(rangeAddress.equals(mergedAddress)) {
+            if(equalsRange(range, mergedRange)) {
                 sheet.removeMergedRegion(i);
                 return true;
             }
@@ -418,6 +459,23 @@ public class POIUtils {
         return false;
     }
     
+    /**
+     * 2つの範囲が同じ位置を指しているかどうか判定する。
+     * @since 1.5
+     * @param range1
+     * @param range2
+     * @return 開始位置と終了位置の行、列が全て等しい場合trueを返す。
+     */
+    public static boolean equalsRange(final CellRangeAddress range1, final CellRangeAddress range2) {
+        ArgUtils.notNull(range1, "range1");
+        ArgUtils.notNull(range2, "range2");
+        
+        return range1.getFirstRow() == range2.getFirstRow()
+                && range1.getLastRow() == range2.getLastRow()
+                && range1.getFirstColumn() == range2.getFirstColumn()
+                && range1.getLastColumn() == range2.getLastColumn();
+    }
+    
     /**
      * 指定した行の下に行を1行追加する
      * @param sheet
@@ -440,6 +498,63 @@ public class POIUtils {
         return sheet.createRow(rowIndex);
     }
     
+    /**
+     * 指定した行から、複数の行をまとめて追加する。
+     * <p>{@link #insertRow(Sheet, int)}を繰り返し呼ぶ場合と異なり、既存の行は1回だけずらす。
+     * @since 1.5
+     * @param sheet
+     * @param rowIndex 追加する位置の行番号
+     * @param count 追加する行数
+     */
+    public static void insertRows(final Sheet sheet, final int rowIndex, final int count) {
+        
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notMin(rowIndex, 0, "rowIndex");
+        ArgUtils.notMin(count, 1, "count");
+        
+        // 最終行を取得する
+        final int lastRow = sheet.getLastRowNum();
+        if(lastRow >= rowIndex) {
+            sheet.shiftRows(rowIndex, lastRow, count);
+        }
+        
+        for(int i=0; i < count; i++) {
+            sheet.createRow(rowIndex + i);
+        }
+    }
+    
+    /**
+     * 指定した行から、複数の行をまとめて削除する。
+     * <p>削除した行は上に詰める。{@link #removeRow(Sheet, int)}を繰り返し呼ぶ場合と異なり、既存の行は1回だけずらす。
+     * <p>{@link #removeRow(Sheet, int)}は、データが何もない行（{@link Sheet#getRow(int)}がnull）の場合は何もしないが、
+     *    このメソッドでは、データが何もない行も削除する行数に含めて上に詰める。
+     * @since 1.5
+     * @param sheet
+     * @param rowIndex 削除する開始位置の行番号
+     * @param count 削除する行数
+     */
+    public static void removeRows(final Sheet sheet, final int rowIndex, final int count) {
+        
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notMin(rowIndex, 0, "rowIndex");
+        ArgUtils.notMin(count, 1, "count");
+        
+        for(int i=0; i < count; i++) {
+            final Row row = sheet.getRow(rowIndex + i);
+            if(row != null) {
+                sheet.removeRow(row);
+            }
+        }
+        
+        // 上に行をずらす
+        final int lastRow = sheet.getLastRowNum();
+        if(rowIndex + count > lastRow) {
+            return;
+        }
+        
+        sheet.shiftRows(rowIndex + count, lastRow, -count);
+    }
+    
     /**
      * 指定した行を削除する。
      * <p>削除した行は上に詰める。
@@ -474,6 +589,7 @@ public class POIUtils {
     
     /**
      * セルの折り返し設定を有効にする
+     * <p>セルのスタイルは直接変更せず、{@link CellStyleCache}から取得した設定済みのスタイルを設定する。
      * @param cell
      * @param forceWrapText trueの場合有効にする。falseの場合は変更しない。
      */
@@ -485,15 +601,13 @@ public class POIUtils {
             return;
         }
         
-        final CellStyle style = cell.getCellStyle();
-        style.setWrapText(true);
-        setCellStyleWithShrinkToFit(cell, style, false);
-        
+        final CellStyle style = CellStyleCache.getStyle(cell.getSheet().getWorkbook(), cell.getCellStyle(), true, false);
         cell.setCellStyle(style);
     }
     
     /**
      * セルの縮小表示設定を有効にする。
+     * <p>セルのスタイルは直接変更せず、{@link CellStyleCache}から取得した設定済みのスタイルを設定する。
      * @param cell
      * @param forceShrinkToFit trueの場合有効にする。falseの場合は変更しない。
      */
@@ -505,15 +619,13 @@ public class POIUtils {
             return;
         }
         
-        final CellStyle style = cell.getCellStyle();
-        
-        style.setWrapText(false);
-        setCellStyleWithShrinkToFit(cell, style, true);
+        final CellStyle style = CellStyleCache.getStyle(cell.getSheet().getWorkbook(), cell.getCellStyle(), false, true);
+        cell.setCellStyle(style);
     }
     
     /**
      * セルの縮小表示設定を変更する。
-     * <p>POI-3.9以前の場合は、リフレクションで強制的に変更する。
+     * <p>引数で指定したスタイルは変更せず、縮小表示設定を変更したスタイルを{@link CellStyleCache}から取得して設定する。
      * @param cell 変更対象のセル
      * @param style 縮小表示設定を行うStyle
      * @param shrinkToFit
@@ -523,16 +635,52 @@ public class POIUtils {
         ArgUtils.notNull(cell, "cell");
         ArgUtils.notNull(style, "style");
         
+        cell.setCellStyle(CellStyleCache.getStyle(cell.getSheet().getWorkbook(), style, null, shrinkToFit));
+    }
+    
+    /**
+     * スタイルの縮小表示設定を取得する。
+     * @since 1.5
+     * @param style 取得対象のスタイル
+     * @return 縮小表示設定。POI-3.9以前などで取得できない場合はnullを返す。
+     */
+    public static Boolean getShrinkToFit(final CellStyle style) {
+        
+        ArgUtils.notNull(style, "style");
+        
+        if(AVAILABLE_METHOD_CELL_SHRINK_TO_FIT) {
+            try {
+                //POI-3.10以降
+                final Method method = style.getClass().getMethod("getShrinkToFit");
+                method.setAccessible(true);
+                return (Boolean) method.invoke(style);
+            
+            } catch (Exception e) {}
+        }
+        
+        return null;
+    }
+    
+    /**
+     * スタイルの縮小表示設定を変更する。
+     * <p>POI-3.9以前の場合は、リフレクションで強制的に変更する。
+     * @since 1.5
+     * @param style 変更対象のスタイル
+     * @param shrinkToFit
+     * @return 変更できた場合trueを返す。
+     */
+    public static boolean setShrinkToFit(final CellStyle style, final boolean shrinkToFit) {
+        
+        ArgUtils.notNull(style, "style");
+        
         if(AVAILABLE_METHOD_CELL_SHRINK_TO_FIT) {
             try {
                 //POI-3.10以降
                 final Method method = style.getClass().getMethod("setShrinkToFit", boolean.class);
                 method.setAccessible(true);
-                method.invoke(style, true);
+                method.invoke(style, shrinkToFit);
                 
-                cell.setCellStyle(style);
-                
-                return;
+                return true;
                 
             } catch (Exception e) {}
         }
@@ -546,8 +694,7 @@ public class POIUtils {
                 ExtendedFormatRecord record = (ExtendedFormatRecord) field.get(style);
                 record.setShrinkToFit(shrinkToFit);
                 
-                cell.setCellStyle(style);
-                return;
+                return true;
             } catch (Exception e ) { }
             
         } else if(style instanceof XSSFCellStyle) {
@@ -563,12 +710,12 @@ public class POIUtils {
                 
                 alignment2.setShrinkToFit(shrinkToFit);
                 
-                cell.setCellStyle(style);
-                return;
+                return true;
             } catch (Exception e ) { }
             
         }
         
+        return false;
     }
     
     /**
@@ -0,0 +1,186 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.gh.mygreen.xlsmapper.annotation.XlsListener;
+import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
+import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReadException;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+
+
+/**
+ * 表のレコードなど、繰り返しマッピングするクラスのライフサイクルのメソッドを保持するクラス。
+ * <p>レコードごとにクラスとリスナークラスのメソッドを走査すると、同じ結果を得るためにリフレクションとアノテーションの取得を
+ *    レコードの件数分繰り返すため、クラスごとに1度だけ走査して保持する。
+ * <p>アノテーション{@link XlsListener}で指定されたリスナークラスのインスタンスも、クラスごとに1つ作成して使い回す。
+ *    インスタンスは、{@link LoadingWorkObject#getRecordLifeCycle(Class, XlsMapperConfig)}、
+ *    {@link SavingWorkObject#getRecordLifeCycle(Class, XlsMapperConfig)}から取得する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class RecordLifeCycle {
+    
+    /** マッピング対象のクラス */
+    private final Class<?> recordClass;
+    
+    /** リスナークラスのインスタンス。指定されていない場合はnull。*/
+    private final Object listener;
+    
+    /** リスナークラスの前処理用のメソッド */
+    private final List<Method> listenerPreMethods;
+    
+    /** リスナークラスの後処理用のメソッド */
+    private final List<Method> listenerPostMethods;
+    
+    /** マッピング対象のクラスの前処理用のメソッド */
+    private final List<Method> preMethods;
+    
+    /** マッピング対象のクラスの後処理用のメソッド */
+    private final List<Method> postMethods;
+    
+    private RecordLifeCycle(final Class<?> recordClass, final Object listener,
+            final List<Method> listenerPreMethods, final List<Method> listenerPostMethods,
+            final List<Method> preMethods, final List<Method> postMethods) {
+        this.recordClass = recordClass;
+        this.listener = listener;
+        this.listenerPreMethods = Collections.unmodifiableList(listenerPreMethods);
+        this.listenerPostMethods = Collections.unmodifiableList(listenerPostMethods);
+        this.preMethods = Collections.unmodifiableList(preMethods);
+        this.postMethods = Collections.unmodifiableList(postMethods);
+    }
+    
+    /**
+     * 読み込み用のライフサイクルのメソッドを走査する。
+     * @param recordClass マッピング対象のクラス。
+     * @param annoReader アノテーションの情報を取得するクラス。
+     * @param config システム設定。リスナークラスのインスタンスを作成する際に利用する。
+     * @return 作成したインスタンス。
+     * @throws AnnotationReadException アノテーションの読み込みに失敗した場合。
+     */
+    public static RecordLifeCycle createForLoading(final Class<?> recordClass, final AnnotationReader annoReader,
+            final XlsMapperConfig config) throws AnnotationReadException {
+        return create(recordClass, annoReader, config, XlsPreLoad.class, XlsPostLoad.class);
+    }
+    
+    /**
+     * 書き込み用のライフサイクルのメソッドを走査する。
+     * @param recordClass マッピング対象のクラス。
+     * @param annoReader アノテーションの情報を取得するクラス。
+     * @param config システム設定。リスナークラスのインスタンスを作成する際に利用する。
+     * @return 作成したインスタンス。
+     * @throws AnnotationReadException アノテーションの読み込みに失敗した場合。
+     */
+    public static RecordLifeCycle createForSaving(final Class<?> recordClass, final AnnotationReader annoReader,
+            final XlsMapperConfig config) throws AnnotationReadException {
+        return create(recordClass, annoReader, config, XlsPreSave.class, XlsPostSave.class);
+    }
+    
+    private static RecordLifeCycle create(final Class<?> recordClass, final AnnotationReader annoReader,
+            final XlsMapperConfig config, final Class<? extends Annotation> preAnnoClass,
+            final Class<? extends Annotation> postAnnoClass) throws AnnotationReadException {
+        
+        ArgUtils.notNull(recordClass, "recordClass");
+        ArgUtils.notNull(annoReader, "annoReader");
+        ArgUtils.notNull(config, "config");
+        
+        // リスナークラスの処理
+        Object listener = null;
+        final List<Method> listenerPreMethods = new ArrayList<>();
+        final List<Method> listenerPostMethods = new ArrayList<>();
+        
+        final XlsListener listenerAnno = annoReader.getAnnotation(recordClass, XlsListener.class);
+        if(listenerAnno != null) {
+            listener = config.createBean(listenerAnno.listenerClass());
+            for(Method method : listenerAnno.listenerClass().getMethods()) {
+                if(annoReader.getAnnotation(listenerAnno.listenerClass(), method, preAnnoClass) != null) {
+                    listenerPreMethods.add(method);
+                }
+                
+                if(annoReader.getAnnotation(listenerAnno.listenerClass(), method, postAnnoClass) != null) {
+                    listenerPostMethods.add(method);
+                }
+            }
+        }
+        
+        // マッピング対象のクラスの処理
+        final List<Method> preMethods = new ArrayList<>();
+        final List<Method> postMethods = new ArrayList<>();
+        for(Method method : recordClass.getMethods()) {
+            if(annoReader.getAnnotation(recordClass, method, preAnnoClass) != null) {
+                preMethods.add(method);
+            }
+            
+            if(annoReader.getAnnotation(recordClass, method, postAnnoClass) != null) {
+                postMethods.add(method);
+            }
+        }
+        
+        return new RecordLifeCycle(recordClass, listener, listenerPreMethods, listenerPostMethods, preMethods, postMethods);
+    }
+    
+    /**
+     * マッピング対象のクラスを取得する。
+     * @return
+     */
+    public Class<?> getRecordClass() {
+        return recordClass;
+    }
+    
+    /**
+     * アノテーション{@link XlsListener}で指定されたリスナークラスのインスタンスを取得する。
+     * @return 指定されていない場合はnullを返す。
+     */
+    public Object getListener() {
+        return listener;
+    }
+    
+    /**
+     * リスナークラスの前処理用のメソッドを取得する。
+     * @return 変更できないリスト。
+     */
+    public List<Method> getListenerPreMethods() {
+        return listenerPreMethods;
+    }
+    
+    /**
+     * リスナークラスの後処理用のメソッドを取得する。
+     * @return 変更できないリスト。
+     */
+    public List<Method> getListenerPostMethods() {
+        return listenerPostMethods;
+    }
+    
+    /**
+     * マッピング対象のクラスの前処理用のメソッドを取得する。
+     * @return 変更できないリスト。
+     */
+    public List<Method> getPreMethods() {
+        return preMethods;
+    }
+    
+    /**
+     * リスナークラス、またはマッピング対象のクラスに後処理用のメソッドがあるかどうか。
+     * @return 後処理用のメソッドがある場合trueを返す。
+     */
+    public boolean hasPostMethods() {
+        return !listenerPostMethods.isEmpty() || !postMethods.isEmpty();
+    }
+    
+    /**
+     * マッピング対象のクラスの後処理用のメソッドを取得する。
+     * @return 変更できないリスト。
+     */
+    public List<Method> getPostMethods() {
+        return postMethods;
+    }
+
+}
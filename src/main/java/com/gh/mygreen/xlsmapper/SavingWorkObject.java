@@ -2,12 +2,16 @@ package com.gh.mygreen.xlsmapper;
 
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
 
 import com.gh.mygreen.xlsmapper.cellconvert.TypeBindException;
 import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReadException;
 import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 
 /**
@@ -22,6 +26,18 @@ public class SavingWorkObject {
     
     private SheetBindingErrors errors;
     
+    /** 結合セルの索引。必要になった時点で作成する。*/
+    private MergedRegionIndex mergedRegionIndex;
+    
+    /** シートの最大行数と最大列数。必要になった時点で作成する。*/
+    private SheetDimension sheetDimension;
+    
+    /** レコードのクラスごとのライフサイクルのメソッド */
+    private final Map<Class<?>, RecordLifeCycle> recordLifeCycles = new HashMap<>();
+    
+    /** 書式などを変更したスタイルのキャッシュ */
+    private CellStyleCache cellStyleCache = new CellStyleCache();
+    
     public AnnotationReader getAnnoReader() {
         return annoReader;
     }
@@ -46,6 +62,71 @@ public class SavingWorkObject {
         this.errors = errors;
     }
     
+    /**
+     * シートの結合セルの索引を取得する。
+     * <p>初めて呼ばれたときに作成し、以降は同じシートに対しては作成済みの索引を返す。
+     * @since 1.5
+     * @param sheet 対象のシート
+     * @return 結合セルの索引
+     */
+    public MergedRegionIndex getMergedRegionIndex(final Sheet sheet) {
+        if(mergedRegionIndex == null || mergedRegionIndex.getSheet() != sheet) {
+            this.mergedRegionIndex = new MergedRegionIndex(sheet);
+        }
+        return mergedRegionIndex;
+    }
+    
+    /**
+     * シートの最大行数と最大列数を取得する。
+     * <p>初めて呼ばれたときに作成し、以降は同じシートに対しては作成済みのインスタンスを返す。
+     * @since 1.5
+     * @param sheet 対象のシート
+     * @return シートの最大行数と最大列数
+     */
+    public SheetDimension getSheetDimension(final Sheet sheet) {
+        if(sheetDimension == null || sheetDimension.getSheet() != sheet) {
+            this.sheetDimension = new SheetDimension(sheet);
+        }
+        return sheetDimension;
+    }
+    
+    /**
+     * レコードのクラスのライフサイクルのメソッドを取得する。
+     * <p>初めて呼ばれたときに作成し、以降は同じクラスに対しては作成済みのインスタンスを返す。
+     * @since 1.5
+     * @param recordClass レコードのクラス
+     * @param config システム設定
+     * @return ライフサイクルのメソッド
+     * @throws AnnotationReadException アノテーションの読み込みに失敗した場合。
+     */
+    public RecordLifeCycle getRecordLifeCycle(final Class<?> recordClass, final XlsMapperConfig config) throws AnnotationReadException {
+        RecordLifeCycle lifeCycle = recordLifeCycles.get(recordClass);
+        if(lifeCycle == null) {
+            lifeCycle = RecordLifeCycle.createForSaving(recordClass, annoReader, config);
+            recordLifeCycles.put(recordClass, lifeCycle);
+        }
+        return lifeCycle;
+    }
+    
+    /**
+     * 書式などを変更したスタイルのキャッシュを取得する。
+     * @since 1.5
+     * @return
+     */
+    public CellStyleCache getCellStyleCache() {
+        return cellStyleCache;
+    }
+    
+    /**
+     * 書式などを変更したスタイルのキャッシュを設定する。
+     * <p>同じブックの複数のシートに書き込む場合に、キャッシュを共有するために利用する。
+     * @since 1.5
+     * @param cellStyleCache
+     */
+    public void setCellStyleCache(CellStyleCache cellStyleCache) {
+        this.cellStyleCache = cellStyleCache;
+    }
+    
     public void addTypeBindError(final TypeBindException e, final Point position, final String fieldName, final String label) {
         this.errors.rejectSheetTypeBind(fieldName, e.getTargetValue(), e.getBindClass(),
                 position, label);
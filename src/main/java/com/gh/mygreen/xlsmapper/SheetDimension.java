@@ -0,0 +1,85 @@
+package com.gh.mygreen.xlsmapper;
+
+import org.apache.poi.ss.usermodel.Sheet;
+
+
+/**
+ * シートの最大行数と最大列数を保持するクラス。
+ * <p>{@link POIUtils#getColumns(Sheet)}は、シートの全ての行を走査するため、
+ *    表のレコードの読み込み中など繰り返し参照する場合は、初めて参照したときの値を保持して使い回す。
+ * <p>行の挿入/削除などで列数が変わる可能性がある場合は、{@link #invalidate()}を呼び、次回の参照時に計算し直す。
+ *    セルを書き込んで列数が増える場合は、{@link #extendColumns(int)}で反映する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class SheetDimension {
+    
+    private final Sheet sheet;
+    
+    /**
+     * 最大列数。負の値の場合は、次回の参照時に計算する。
+     */
+    private int columns = -1;
+    
+    /**
+     * シートを指定してインスタンスを作成する。
+     * <p>列数は、初めて参照したときに計算する。
+     * @param sheet 対象のシート。
+     * @throws IllegalArgumentException sheet == null.
+     */
+    public SheetDimension(final Sheet sheet) {
+        ArgUtils.notNull(sheet, "sheet");
+        this.sheet = sheet;
+    }
+    
+    /**
+     * 対象のシートを取得する。
+     * @return
+     */
+    public Sheet getSheet() {
+        return sheet;
+    }
+    
+    /**
+     * シートの最大列数を取得する。
+     * <p>{@link POIUtils#getColumns(Sheet)}と同じ値を返す。
+     * @return 最大列数
+     */
+    public int getColumns() {
+        if(columns < 0) {
+            this.columns = POIUtils.getColumns(sheet);
+        }
+        return columns;
+    }
+    
+    /**
+     * シートの最大行数を取得する。
+     * <p>{@link POIUtils#getRows(Sheet)}と同じ値を返す。
+     *    シートが保持している最終行から求めるため、計算済みの値は保持しない。
+     * @return 最大行数
+     */
+    public int getRows() {
+        return POIUtils.getRows(sheet);
+    }
+    
+    /**
+     * セルを書き込んだ後の列数を反映する。
+     * <p>保持している列数よりも大きい場合のみ反映する。
+     * @param columnSize 書き込んだ列を含む列数
+     */
+    public void extendColumns(final int columnSize) {
+        if(columns >= 0 && columnSize > columns) {
+            this.columns = columnSize;
+        }
+    }
+    
+    /**
+     * 保持している列数を破棄し、次回の参照時に計算し直す。
+     */
+    public void invalidate() {
+        this.columns = -1;
+    }
+
+}
@@ -4,7 +4,6 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -59,11 +58,11 @@ public class SheetFinder {
             
         } else if(sheetAnno.regex().length() > 0) {
             // シート名（正規表現）をもとにして、取得する。
-            final Pattern pattern = Pattern.compile(sheetAnno.regex());
+            final LabelMatcher matcher = LabelMatcher.compileRegex(sheetAnno.regex());
             final List<Sheet> matches = new ArrayList<>();
             for(int i=0; i < workbook.getNumberOfSheets(); i++) {
                 final Sheet xlsSheet = workbook.getSheetAt(i);
-                if(pattern.matcher(xlsSheet.getSheetName()).matches()) {
+                if(matcher.matches(xlsSheet.getSheetName())) {
                     matches.add(xlsSheet);
                 }
             }
@@ -117,11 +116,11 @@ public class SheetFinder {
                 sheetNameValue = sheetNameField.getValue(beanObj).toString();
             }
             
-            final Pattern pattern = Pattern.compile(sheetAnno.regex());
+            final LabelMatcher matcher = LabelMatcher.compileRegex(sheetAnno.regex());
             final List<Sheet> matches = new ArrayList<>();
             for(int i=0; i < workbook.getNumberOfSheets(); i++) {
                 final Sheet xlsSheet = workbook.getSheetAt(i);
-                if(pattern.matcher(xlsSheet.getSheetName()).matches()) {
+                if(matcher.matches(xlsSheet.getSheetName())) {
                     
                     // オブジェクト中の@XslSheetNameで値が設定されている場合、Excelファイル中の一致するシートを元にする比較する
                     if(Utils.isNotEmpty(sheetNameValue) && xlsSheet.getSheetName().equals(sheetNameValue)) {
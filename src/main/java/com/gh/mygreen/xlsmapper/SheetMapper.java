@@ -0,0 +1,40 @@
+package com.gh.mygreen.xlsmapper;
+
+/**
+ * シートにマッピングするクラスの、マッピング情報を組み立てるクラス。
+ * <p>アノテーションプロセッサ{@link com.gh.mygreen.xlsmapper.processor.XlsSheetProcessor}が、
+ *    コンパイル時に「マッピング対象のクラスのバイナリ名 + '{@value #CLASS_NAME_SUFFIX}'」という名前で実装クラスを生成する。
+ *    ネストしたクラスの場合は、「Sample$Nested_XlsMapper」のように、「$」を含む名前のトップレベルのクラスになる。
+ * <p>{@link XlsLoader}、{@link XlsSaver}は、{@link SheetMappingDescriptor}を作成するときに実装クラスを利用し、
+ *    クラスの全てのフィールドとメソッドを走査せずに、アノテーションが付与されたメンバーのみを登録する。
+ *    private以外のフィールドとSetter/Getterメソッドは、リフレクションを介さずに直接値を取得/設定する。
+ * <p>実装クラスが存在しない場合や、XMLでアノテーションを定義している場合は、従来通りリフレクションで全てのメンバーを走査する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public interface SheetMapper {
+    
+    /**
+     * 生成するクラス名の接尾語
+     */
+    String CLASS_NAME_SUFFIX = "_XlsMapper";
+    
+    /**
+     * マッピング対象のクラスを取得する。
+     * @return
+     */
+    Class<?> getBeanClass();
+    
+    /**
+     * アノテーションが付与されたメンバーを登録する。
+     * <p>読み込み用と書き込み用のどちらのマッピング情報を作成する場合も呼ばれる。
+     * @param builder マッピング情報を組み立てるクラス。
+     * @throws ReflectiveOperationException メンバーが見つからない場合。
+     *         その場合は、リフレクションで全てのメンバーを走査する。
+     * @throws XlsMapperException アノテーションの読み込みに失敗した場合。
+     */
+    void describe(SheetMappingDescriptor.Builder builder) throws ReflectiveOperationException, XlsMapperException;
+    
+}
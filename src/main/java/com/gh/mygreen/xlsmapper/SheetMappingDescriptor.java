@@ -0,0 +1,403 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gh.mygreen.xlsmapper.annotation.XlsListener;
+import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
+import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldProcessor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldProcessorRegstry;
+import com.gh.mygreen.xlsmapper.fieldprocessor.PropertyAccessor;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+
+
+/**
+ * シートにマッピングするクラスの、マッピング情報を保持するクラス。
+ * <p>クラスのフィールドやメソッドの走査結果を保持し、読み込み/書き込みのたびにリフレクションで走査することを避ける。
+ * <p>インスタンスは不変であり、複数のスレッドから共有できる。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class SheetMappingDescriptor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SheetMappingDescriptor.class);
+    
+    /** マッピング対象のクラス */
+    private final Class<?> beanClass;
+    
+    /** リスナークラス。指定されていない場合はnull。*/
+    private final Class<?> listenerClass;
+    
+    /** リスナークラスの前処理用のメソッド */
+    private final List<Method> listenerPreMethods;
+    
+    /** リスナークラスの後処理用のメソッド */
+    private final List<Method> listenerPostMethods;
+    
+    /** マッピング対象のクラスの前処理用のメソッド */
+    private final List<Method> preMethods;
+    
+    /** マッピング対象のクラスの後処理用のメソッド */
+    private final List<Method> postMethods;
+    
+    /** 処理順に並び替えたプロパティの情報 */
+    private final List<FieldAdaptorProxy> adaptorProxies;
+    
+    private SheetMappingDescriptor(final Class<?> beanClass, final Class<?> listenerClass,
+            final List<Method> listenerPreMethods, final List<Method> listenerPostMethods,
+            final List<Method> preMethods, final List<Method> postMethods,
+            final List<FieldAdaptorProxy> adaptorProxies) {
+        this.beanClass = beanClass;
+        this.listenerClass = listenerClass;
+        this.listenerPreMethods = Collections.unmodifiableList(listenerPreMethods);
+        this.listenerPostMethods = Collections.unmodifiableList(listenerPostMethods);
+        this.preMethods = Collections.unmodifiableList(preMethods);
+        this.postMethods = Collections.unmodifiableList(postMethods);
+        this.adaptorProxies = Collections.unmodifiableList(adaptorProxies);
+    }
+    
+    /**
+     * 読み込み用のマッピング情報を作成する。
+     * <p>XMLでアノテーションを定義しておらず、{@link SheetMapper}の実装クラスがある場合は、それを利用して作成する。
+     * @param clazz マッピング対象のクラス。
+     * @param annoReader アノテーションの情報を取得するクラス。
+     * @param registry アノテーションに対する処理クラスの管理クラス。
+     * @return 作成したマッピング情報。
+     * @throws XlsMapperException アノテーションの読み込みに失敗した場合。
+     */
+    public static SheetMappingDescriptor createForLoading(final Class<?> clazz, final AnnotationReader annoReader,
+            final FieldProcessorRegstry registry) throws XlsMapperException {
+        
+        ArgUtils.notNull(clazz, "clazz");
+        ArgUtils.notNull(annoReader, "annoReader");
+        ArgUtils.notNull(registry, "registry");
+        
+        final Builder builder = new Builder(clazz, annoReader, registry, true);
+        describe(builder);
+        return builder.build();
+    }
+    
+    /**
+     * 書き込み用のマッピング情報を作成する。
+     * <p>XMLでアノテーションを定義しておらず、{@link SheetMapper}の実装クラスがある場合は、それを利用して作成する。
+     * @param clazz マッピング対象のクラス。
+     * @param annoReader アノテーションの情報を取得するクラス。
+     * @param registry アノテーションに対する処理クラスの管理クラス。
+     * @return 作成したマッピング情報。
+     * @throws XlsMapperException アノテーションの読み込みに失敗した場合。
+     */
+    public static SheetMappingDescriptor createForSaving(final Class<?> clazz, final AnnotationReader annoReader,
+            final FieldProcessorRegstry registry) throws XlsMapperException {
+        
+        ArgUtils.notNull(clazz, "clazz");
+        ArgUtils.notNull(annoReader, "annoReader");
+        ArgUtils.notNull(registry, "registry");
+        
+        final Builder builder = new Builder(clazz, annoReader, registry, false);
+        describe(builder);
+        return builder.build();
+    }
+    
+    /**
+     * マッピング対象のクラスのメンバーを登録する。
+     * <p>{@link SheetMapper}の実装クラスがある場合は、アノテーションが付与されたメンバーのみを登録する。
+     *    ない場合は、リフレクションで全てのメンバーを走査する。
+     * @param builder
+     * @throws XlsMapperException
+     */
+    private static void describe(final Builder builder) throws XlsMapperException {
+        
+        final Class<?> clazz = builder.clazz;
+        
+        // XMLの定義は、アノテーションのないメンバーにも付与できるため、全てのメンバーを走査する。
+        final SheetMapper mapper = builder.annoReader.getXmlInfo() == null ? findMapper(clazz) : null;
+        if(mapper != null) {
+            try {
+                mapper.describe(builder);
+                return;
+                
+            } catch(ReflectiveOperationException e) {
+                logger.warn(String.format("fail describe with '%s'. so scan all members of '%s'.",
+                        mapper.getClass().getName(), clazz.getName()), e);
+                builder.clear();
+            }
+        }
+        
+        // public メソッドの処理
+        for(Method method : clazz.getMethods()) {
+            builder.method(method);
+        }
+        
+        // public / private / protected / default フィールドの処理
+        for(Field field : clazz.getDeclaredFields()) {
+            builder.field(field);
+        }
+    }
+    
+    /**
+     * アノテーションプロセッサで生成した{@link SheetMapper}の実装クラスのインスタンスを取得する。
+     * @param clazz マッピング対象のクラス。
+     * @return 実装クラスが存在しない場合はnullを返す。
+     */
+    private static SheetMapper findMapper(final Class<?> clazz) {
+        
+        final String mapperName = clazz.getName() + SheetMapper.CLASS_NAME_SUFFIX;
+        try {
+            final Class<?> mapperClass = Class.forName(mapperName, true, clazz.getClassLoader());
+            if(!SheetMapper.class.isAssignableFrom(mapperClass)) {
+                return null;
+            }
+            
+            final SheetMapper mapper = (SheetMapper) mapperClass.newInstance();
+            return mapper.getBeanClass() == clazz ? mapper : null;
+            
+        } catch(ClassNotFoundException e) {
+            return null;
+            
+        } catch(InstantiationException | IllegalAccessException | LinkageError e) {
+            logger.warn(String.format("fail create instance of '%s'.", mapperName), e);
+            return null;
+        }
+    }
+    
+    /**
+     * マッピング対象のクラスを取得する。
+     * @return
+     */
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+    
+    /**
+     * アノテーション{@link XlsListener}で指定されたリスナークラスを取得する。
+     * @return 指定されていない場合はnullを返す。
+     */
+    public Class<?> getListenerClass() {
+        return listenerClass;
+    }
+    
+    /**
+     * リスナークラスの前処理用のメソッドを取得する。
+     * @return 変更できないリスト。
+     */
+    public List<Method> getListenerPreMethods() {
+        return listenerPreMethods;
+    }
+    
+    /**
+     * リスナークラスの後処理用のメソッドを取得する。
+     * @return 変更できないリスト。
+     */
+    public List<Method> getListenerPostMethods() {
+        return listenerPostMethods;
+    }
+    
+    /**
+     * マッピング対象のクラスの前処理用のメソッドを取得する。
+     * @return 変更できないリスト。
+     */
+    public List<Method> getPreMethods() {
+        return preMethods;
+    }
+    
+    /**
+     * マッピング対象のクラスの後処理用のメソッドを取得する。
+     * @return 変更できないリスト。
+     */
+    public List<Method> getPostMethods() {
+        return postMethods;
+    }
+    
+    /**
+     * 処理順に並び替えたプロパティの情報を取得する。
+     * @return 変更できないリスト。
+     */
+    public List<FieldAdaptorProxy> getAdaptorProxies() {
+        return adaptorProxies;
+    }
+    
+    /**
+     * マッピング情報を組み立てるクラス。
+     * <p>{@link SheetMapper}の実装クラスと、リフレクションでメンバーを走査する場合の両方で利用する。
+     *
+     * @since 1.5
+     */
+    public static class Builder {
+        
+        private final Class<?> clazz;
+        
+        private final AnnotationReader annoReader;
+        
+        private final FieldProcessorRegstry registry;
+        
+        /** 読み込み用かどうか */
+        private final boolean loading;
+        
+        private final List<FieldAdaptorProxy> adaptorProxies = new ArrayList<>();
+        
+        private final List<Method> preMethods = new ArrayList<>();
+        
+        private final List<Method> postMethods = new ArrayList<>();
+        
+        private Builder(final Class<?> clazz, final AnnotationReader annoReader, final FieldProcessorRegstry registry,
+                final boolean loading) {
+            this.clazz = clazz;
+            this.annoReader = annoReader;
+            this.registry = registry;
+            this.loading = loading;
+        }
+        
+        /**
+         * publicメソッドを登録する。
+         * <p>前処理、後処理用のメソッドと、setter/getterメソッドを処理する。
+         * @param method マッピング対象のクラスのpublicメソッド。
+         * @return 自身のインスタンス。
+         * @throws XlsMapperException アノテーションの読み込みに失敗した場合。
+         */
+        public Builder method(final Method method) throws XlsMapperException {
+            return method(method, null);
+        }
+        
+        /**
+         * 値の取得/設定を行うクラスを指定して、publicメソッドを登録する。
+         * @param method マッピング対象のクラスのpublicメソッド。
+         * @param accessor setter/getterメソッドの場合に、値の取得/設定を行うクラス。nullの場合は、MethodHandleなどを利用する。
+         * @return 自身のインスタンス。
+         * @throws XlsMapperException アノテーションの読み込みに失敗した場合。
+         */
+        @SuppressWarnings("rawtypes")
+        public Builder method(final Method method, final PropertyAccessor accessor) throws XlsMapperException {
+            
+            method.setAccessible(true);
+            
+            final Class<? extends Annotation> preAnnoClass = loading ? XlsPreLoad.class : XlsPreSave.class;
+            if(annoReader.getAnnotation(clazz, method, preAnnoClass) != null) {
+                preMethods.add(method);
+            }
+            
+            for(Annotation anno : annoReader.getAnnotations(clazz, method)) {
+                final FieldProcessor processor = getProcessor(anno);
+                final boolean property = loading ? Utils.isSetterMethod(method)
+                        : (Utils.isGetterMethod(method) || Utils.isBooleanGetterMethod(method));
+                if(property && processor != null) {
+                    final FieldAdaptor adaptor = new FieldAdaptor(clazz, method, annoReader, accessor);
+                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
+                
+                } else if(loading ? anno instanceof XlsPostLoad : anno instanceof XlsPostSave) {
+                    postMethods.add(method);
+                }
+            }
+            
+            return this;
+        }
+        
+        /**
+         * フィールドを登録する。
+         * @param field マッピング対象のクラスに宣言されているフィールド。
+         * @return 自身のインスタンス。
+         * @throws XlsMapperException アノテーションの読み込みに失敗した場合。
+         */
+        public Builder field(final Field field) throws XlsMapperException {
+            return field(field, null);
+        }
+        
+        /**
+         * 値の取得/設定を行うクラスを指定して、フィールドを登録する。
+         * @param field マッピング対象のクラスに宣言されているフィールド。
+         * @param accessor 値の取得/設定を行うクラス。nullの場合は、MethodHandleなどを利用する。
+         * @return 自身のインスタンス。
+         * @throws XlsMapperException アノテーションの読み込みに失敗した場合。
+         */
+        @SuppressWarnings("rawtypes")
+        public Builder field(final Field field, final PropertyAccessor accessor) throws XlsMapperException {
+            
+            field.setAccessible(true);
+            final FieldAdaptor adaptor = new FieldAdaptor(clazz, field, annoReader, accessor);
+            
+            // メソッドと重複している場合は排除する。
+            if(adaptorProxies.contains(adaptor)) {
+                return this;
+            }
+            
+            for(Annotation anno : annoReader.getAnnotations(clazz, field)) {
+                final FieldProcessor processor = getProcessor(anno);
+                if(processor != null) {
+                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
+                }
+            }
+            
+            return this;
+        }
+        
+        /**
+         * アノテーションに対する処理クラスを取得する。
+         * @param anno
+         * @return 処理クラスが登録されていない場合はnullを返す。
+         */
+        @SuppressWarnings("rawtypes")
+        private FieldProcessor getProcessor(final Annotation anno) {
+            if(loading) {
+                return registry.getLoadingProcessor(anno);
+            } else {
+                return registry.getSavingProcessor(anno);
+            }
+        }
+        
+        /**
+         * 登録したメンバーを破棄する。
+         */
+        private void clear() {
+            adaptorProxies.clear();
+            preMethods.clear();
+            postMethods.clear();
+        }
+        
+        /**
+         * 登録したメンバーから、マッピング情報を作成する。
+         * @return
+         * @throws XlsMapperException アノテーションの読み込みに失敗した場合。
+         */
+        private SheetMappingDescriptor build() throws XlsMapperException {
+            
+            // 処理順に並び替える
+            Collections.sort(adaptorProxies, loading ? HintOrderComparator.createForLoading() : HintOrderComparator.createForSaving());
+            
+            // リスナークラスの処理
+            final Class<? extends Annotation> preAnnoClass = loading ? XlsPreLoad.class : XlsPreSave.class;
+            final Class<? extends Annotation> postAnnoClass = loading ? XlsPostLoad.class : XlsPostSave.class;
+            
+            final XlsListener listenerAnno = annoReader.getAnnotation(clazz, XlsListener.class);
+            final List<Method> listenerPreMethods = new ArrayList<>();
+            final List<Method> listenerPostMethods = new ArrayList<>();
+            if(listenerAnno != null) {
+                for(Method method : listenerAnno.listenerClass().getMethods()) {
+                    if(annoReader.getAnnotation(listenerAnno.listenerClass(), method, preAnnoClass) != null) {
+                        listenerPreMethods.add(method);
+                    }
+                    
+                    if(annoReader.getAnnotation(listenerAnno.listenerClass(), method, postAnnoClass) != null) {
+                        listenerPostMethods.add(method);
+                    }
+                }
+            }
+            
+            return new SheetMappingDescriptor(clazz, listenerAnno != null ? listenerAnno.listenerClass() : null,
+                    listenerPreMethods, listenerPostMethods, preMethods, postMethods, adaptorProxies);
+        }
+    
+    }
+
+}
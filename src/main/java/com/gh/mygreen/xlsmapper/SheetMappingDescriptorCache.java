@@ -0,0 +1,128 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldProcessorRegstry;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+import com.gh.mygreen.xlsmapper.xml.XmlMapping;
+import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
+
+
+/**
+ * {@link SheetMappingDescriptor}をキャッシュするクラス。
+ * <p>クラスとXMLによるアノテーションの定義の組み合わせごとに保持する。
+ *    XMLの定義は、{@link XmlInfo}のインスタンスごとに保持し、インスタンスが参照されなくなると破棄する。
+ *    そのため、{@link XmlMapping}で事前に組み立てた定義を使い回す場合にキャッシュを利用する。
+ *    {@link XlsLoader#load(java.io.InputStream, Class, java.io.InputStream)}などで、
+ *    呼び出しごとにXMLを読み込む場合は、呼び出しごとに作成する。
+ * <p>{@link FieldProcessorRegstry}に処理クラスを追加した場合は、{@link #clear()}でキャッシュを破棄する必要がある。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class SheetMappingDescriptorCache {
+    
+    /** XMLの定義がない場合の情報 */
+    private final Entry annotationEntry = new Entry();
+    
+    /**
+     * XMLの定義がある場合の情報
+     * ・key = XMLの定義。{@link XmlInfo}はequalsを実装していないため、インスタンスごとに保持する。
+     * ・value = キャッシュ情報
+     */
+    private final Map<XmlInfo, Entry> xmlEntries = new WeakHashMap<>();
+    
+    /**
+     * 読み込み用のマッピング情報を取得する。
+     * <p>キャッシュに存在しない場合は作成する。
+     * @param clazz マッピング対象のクラス。
+     * @param annoReader アノテーションの情報を取得するクラス。
+     * @param registry アノテーションに対する処理クラスの管理クラス。
+     * @return マッピング情報。
+     * @throws XlsMapperException マッピング情報の作成に失敗した場合。
+     */
+    public SheetMappingDescriptor getLoadingDescriptor(final Class<?> clazz, final AnnotationReader annoReader,
+            final FieldProcessorRegstry registry) throws XlsMapperException {
+        
+        final Entry entry = getEntry(annoReader);
+        SheetMappingDescriptor descriptor = entry.loadingMap.get(clazz);
+        if(descriptor == null) {
+            descriptor = SheetMappingDescriptor.createForLoading(clazz, annoReader, registry);
+            final SheetMappingDescriptor existing = entry.loadingMap.putIfAbsent(clazz, descriptor);
+            if(existing != null) {
+                descriptor = existing;
+            }
+        }
+        
+        return descriptor;
+    }
+    
+    /**
+     * 書き込み用のマッピング情報を取得する。
+     * <p>キャッシュに存在しない場合は作成する。
+     * @param clazz マッピング対象のクラス。
+     * @param annoReader アノテーションの情報を取得するクラス。
+     * @param registry アノテーションに対する処理クラスの管理クラス。
+     * @return マッピング情報。
+     * @throws XlsMapperException マッピング情報の作成に失敗した場合。
+     */
+    public SheetMappingDescriptor getSavingDescriptor(final Class<?> clazz, final AnnotationReader annoReader,
+            final FieldProcessorRegstry registry) throws XlsMapperException {
+        
+        final Entry entry = getEntry(annoReader);
+        SheetMappingDescriptor descriptor = entry.savingMap.get(clazz);
+        if(descriptor == null) {
+            descriptor = SheetMappingDescriptor.createForSaving(clazz, annoReader, registry);
+            final SheetMappingDescriptor existing = entry.savingMap.putIfAbsent(clazz, descriptor);
+            if(existing != null) {
+                descriptor = existing;
+            }
+        }
+        
+        return descriptor;
+    }
+    
+    /**
+     * キャッシュしている情報を全て破棄する。
+     */
+    public void clear() {
+        annotationEntry.loadingMap.clear();
+        annotationEntry.savingMap.clear();
+        synchronized(xmlEntries) {
+            xmlEntries.clear();
+        }
+    }
+    
+    private Entry getEntry(final AnnotationReader annoReader) {
+        
+        final XmlInfo xmlInfo = annoReader.getXmlInfo();
+        if(xmlInfo == null) {
+            return annotationEntry;
+        }
+        
+        synchronized(xmlEntries) {
+            Entry entry = xmlEntries.get(xmlInfo);
+            if(entry == null) {
+                entry = new Entry();
+                xmlEntries.put(xmlInfo, entry);
+            }
+            return entry;
+        }
+    }
+    
+    /**
+     * XMLの定義ごとのキャッシュ情報
+     */
+    private static class Entry {
+        
+        private final ConcurrentMap<Class<?>, SheetMappingDescriptor> loadingMap = new ConcurrentHashMap<>();
+        
+        private final ConcurrentMap<Class<?>, SheetMappingDescriptor> savingMap = new ConcurrentHashMap<>();
+    
+    }
+
+}
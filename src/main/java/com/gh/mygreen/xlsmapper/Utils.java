@@ -8,7 +8,6 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -244,6 +243,7 @@ public class Utils {
     /**
      * システム設定に従いラベルを比較する。
      * <p>正規表現や正規化を行い指定する。
+     * <p>同じラベルで繰り返し比較する場合は、{@link LabelMatcher#compile(String, XlsMapperConfig)}で作成したインスタンスを使う。
      * 
      * @since 1.1
      * @param text1 セルのラベル
@@ -253,11 +253,7 @@ public class Utils {
      * @return true:ラベルが一致する。
      */
     public static boolean matches(final String text1, final String text2, final XlsMapperConfig config){
-        if(config.isRegexLabelText() && text2.startsWith("/") && text2.endsWith("/")){
-            return normalize(text1, config).matches(text2.substring(1, text2.length() - 1));
-        } else {
-            return normalize(text1, config).equals(normalize(text2, config));
-        }
+        return LabelMatcher.compile(text2, config).matches(text1);
     }
     
     /**
@@ -267,9 +263,9 @@ public class Utils {
      * @param config システム設定
      * @return true:ラベルが一致する。
      */
-    private static String normalize(final String text, final XlsMapperConfig config){
+    static String normalize(final String text, final XlsMapperConfig config){
         if(text != null && config.isNormalizeLabelText()){
-            return text.trim().replaceAll("[\n\r]", "").replaceAll("[\t 　]+", " ");
+            return LabelMatcher.normalize(text);
         }
         return text;
     }
@@ -412,85 +408,14 @@ public class Utils {
      * セルの位置を設定する。
      * <p>「set + 'フィールド名' + Position」のsetterか「'フィールド名' + Position」というフィールド名で決める。
      * <p>フィールド「Map<String, Point> positions」に、設定する。
+     * <p>設定先は、クラスとフィールドごとに1度だけ探して保持する。
      * @param x 列のインデックス番号
      * @param y 行のインデックス番号
      * @param obj メソッドが定義されているオブジェクト
      * @param fieldName フィールド名
      */
-    @SuppressWarnings("unchecked")
     public static void setPosition(final int x, final int y, final Object obj, final String fieldName) {
-        
-        final Class<?> clazz = obj.getClass();
-        final String positionFieldName = fieldName + "Position";
-        
-        // フィールド positionsの場合
-        final String positionMapFieldName = "positions";
-        try {
-            Field positionMapField  = clazz.getDeclaredField(positionMapFieldName);
-            positionMapField.setAccessible(true);
-            if(Map.class.isAssignableFrom(positionMapField.getType())) {
-                Object positionMapValue = positionMapField.get(obj);
-                if(positionMapValue == null) {
-                    positionMapValue = new HashMap<String, Point>();
-                    positionMapField.set(obj, positionMapValue);
-                }
-                
-                ((Map<String, Point>) positionMapValue).put(fieldName, new Point(x, y));
-                return;
-            }
-        } catch (NoSuchFieldException | SecurityException e) {
-            // フィールドが見つからない場合は何もしない。
-            
-            
-        } catch (IllegalArgumentException | IllegalAccessException e) {
-            throw new RuntimeException(
-                    String.format("fail set '%s' field", positionMapFieldName), 
-                    e);
-        }
-        
-        
-        // メソッドの場合(引数が int, intの場合)
-        final Method positionMethod1 = getSetter(clazz, positionFieldName, Integer.TYPE, Integer.TYPE);
-        if(positionMethod1 != null) {
-            try {
-                positionMethod1.invoke(obj, x, y);
-                return;
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw new RuntimeException(
-                        String.format("fail set position with '%s' method", positionMethod1.getName()),
-                        e);
-            }
-            
-        }
-        
-        // メソッドの場合(引数が Pointの場合)
-        final Method positionMethod2 = getSetter(clazz, positionFieldName, Point.class);
-        if(positionMethod2 != null) {
-            try {
-                positionMethod2.invoke(obj, new Point(x, y));
-                return;
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw new RuntimeException(
-                        String.format("fail set position with '%s' method", positionMethod2.getName()),
-                        e);
-            }
-            
-        }
-        
-        // フィールドの場合
-        final Field positionField = getField(clazz, positionFieldName);
-        if(positionField != null) {
-            try {
-                positionField.setAccessible(true);
-                positionField.set(obj, new Point(x, y));
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                throw new RuntimeException(
-                        String.format("fail set position with '%s' field", positionField.getName()),
-                        e);
-            }
-        }
-        
-        
+        CellInfoSetter.getInstance(obj.getClass()).setPosition(x, y, obj, fieldName);
     }
     
     /**
@@ -585,156 +510,21 @@ public class Utils {
      * @param fieldName フィールド名
      * @param key
      */
-    @SuppressWarnings("unchecked")
     public static void setPositionWithMapColumn(final int x, final int y, final Object obj, final String fieldName, final String key) {
-        
-        final Class<?> clazz = obj.getClass();
-        final String positionFieldName = fieldName + "Position";
-        
-        // フィールド positionsの場合
-        final String positionMapFieldName = "positions";
-        try {
-            Field positionMapField  = clazz.getDeclaredField(positionMapFieldName);
-            positionMapField.setAccessible(true);
-            if(Map.class.isAssignableFrom(positionMapField.getType())) {
-                Object positionMapValue = positionMapField.get(obj);
-                if(positionMapValue == null) {
-                    positionMapValue = new HashMap<String, Point>();
-                    positionMapField.set(obj, positionMapValue);
-                }
-                
-                final String mapKey = String.format("%s[%s]", fieldName, key);
-                ((Map<String, Point>) positionMapValue).put(mapKey, new Point(x, y));
-                return;
-            }
-        } catch (NoSuchFieldException | SecurityException e) {
-            // フィールドが見つからない場合は何もしない。
-            
-            
-        } catch (IllegalArgumentException | IllegalAccessException e) {
-            throw new RuntimeException(
-                    String.format("fail set '%s' field", positionMapFieldName), 
-                    e);
-        }
-        
-        // メソッドの場合(引数が String, int, intの場合)
-        final Method positionMethod1 = getSetter(clazz, positionFieldName, String.class, Integer.TYPE, Integer.TYPE);
-        if(positionMethod1 != null) {
-            try {
-                positionMethod1.invoke(obj, key, x, y);
-                return;
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw new RuntimeException(
-                        String.format("fail set map position with '%s' method", positionMethod1.getName()),
-                        e);
-            }
-            
-        }
-        
-        // メソッドの場合(引数が String, Pointの場合)
-        final Method positionMethod2 = getSetter(clazz, positionFieldName, String.class, Point.class);
-        if(positionMethod2 != null) {
-            try {
-                positionMethod2.invoke(obj, key, new Point(x, y));
-                return;
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw new RuntimeException(
-                        String.format("fail set map position with '%s' method", positionMethod2.getName()),
-                        e);
-            }
-            
-        }
-        
-        // フィールドの場合(Map<String, Point>)の場合
-        final Field positionField = getField(clazz, positionFieldName);
-        if(positionField != null) {
-            try {
-                positionField.setAccessible(true);
-                if(Map.class.isAssignableFrom(positionField.getType())) {
-                    Object positionValue = positionField.get(obj);
-                    if(positionValue == null) {
-                        positionValue = new HashMap<String, Point>();
-                        positionField.set(obj, positionValue);
-                    }
-                    
-                    ((Map<String, Point>) positionValue).put(key, new Point(x, y));
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                throw new RuntimeException(
-                        String.format("fail set position with '%s' field", positionField.getName()),
-                        e);
-            }
-        }
-        
-        
+        CellInfoSetter.getInstance(obj.getClass()).setPositionWithMapColumn(x, y, obj, fieldName, key);
     }
     
     /**
      * セルの見出しを設定する。
      * <p>「set + 'フィールド名' + Label」のsetterか「'フィールド名' + Label」というフィールド名で決める。
      * <p>フィールド「Map<String, String> labels」に、設定する。
+     * <p>設定先は、クラスとフィールドごとに1度だけ探して保持する。
      * @param label 設定する見出し
      * @param obj メソッドが定義されているオブジェクト
      * @param fieldName フィールド名
      */
-    @SuppressWarnings("unchecked")
     public static void setLabel(final String label, final Object obj, final String fieldName) {
-        
-        final Class<?> clazz = obj.getClass();
-        final String labelFieldName = fieldName + "Label";
-        
-        // フィールド labelsの場合
-        final String labelMapFieldName = "labels";
-        try {
-            Field labelMapField  = clazz.getDeclaredField(labelMapFieldName);
-            labelMapField.setAccessible(true);
-            if(Map.class.isAssignableFrom(labelMapField.getType())) {
-                Object labelMapValue = labelMapField.get(obj);
-                if(labelMapValue == null) {
-                    labelMapValue = new HashMap<String, Point>();
-                    labelMapField.set(obj, labelMapValue);
-                }
-                
-                ((Map<String, String>) labelMapValue).put(fieldName, label);
-                return;
-            }
-        } catch (NoSuchFieldException | SecurityException e) {
-            // フィールドが見つからない場合は何もしない。
-            
-        } catch (IllegalArgumentException | IllegalAccessException e) {
-            throw new RuntimeException(
-                    String.format("fail set '%s' field", labelMapFieldName), 
-                    e);
-        }
-        
-        // メソッドの場合(引数が String の場合)
-        final Method labelMethod1 = getSetter(clazz, labelFieldName, String.class);
-        if(labelMethod1 != null) {
-            try {
-                labelMethod1.invoke(obj, label);
-                return;
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw new RuntimeException(
-                        String.format("fail set label with '%s' method", labelMethod1.getName()),
-                        e);
-            }
-            
-        }
-        
-        // フィールドの場合
-        final Field labelField = getField(clazz, labelFieldName);
-        if(labelField != null) {
-            try {
-                labelField.setAccessible(true);
-                labelField.set(obj, label);
-                return;
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                throw new RuntimeException(
-                        String.format("fail set label with '%s' field", labelField.getName()),
-                        e);
-            }
-        }
-        
+        CellInfoSetter.getInstance(obj.getClass()).setLabel(label, obj, fieldName);
     }
     
     /**
@@ -825,74 +615,8 @@ public class Utils {
      * @param fieldName フィールド名
      * @param key
      */
-    @SuppressWarnings("unchecked")
     public static void setLabelWithMapColumn(final String label, final Object obj, final String fieldName, final String key) {
-        
-        final Class<?> clazz = obj.getClass();
-        final String labelFieldName = fieldName + "Label";
-        
-        // フィールド labelsの場合
-        final String labelMapFieldName = "labels";
-        try {
-            Field labelMapField  = clazz.getDeclaredField(labelMapFieldName);
-            labelMapField.setAccessible(true);
-            if(Map.class.isAssignableFrom(labelMapField.getType())) {
-                Object labelMapValue = labelMapField.get(obj);
-                if(labelMapValue == null) {
-                    labelMapValue = new HashMap<String, String>();
-                    labelMapField.set(obj, labelMapValue);
-                }
-                
-                final String mapKey = String.format("%s[%s]", fieldName, key);
-                ((Map<String, String>) labelMapValue).put(mapKey, label);
-                return;
-            }
-        } catch (NoSuchFieldException | SecurityException e) {
-            // フィールドが見つからない場合は何もしない。
-            
-        } catch (IllegalArgumentException | IllegalAccessException e) {
-            throw new RuntimeException(
-                    String.format("fail set '%s' field", labelMapFieldName), 
-                    e);
-        }
-        
-        // メソッドの場合(引数が String, String の場合)
-        final Method labelMethod1 = getSetter(clazz, labelFieldName, String.class, String.class);
-        if(labelMethod1 != null) {
-            try {
-                labelMethod1.invoke(obj, key, label);
-                return;
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw new RuntimeException(
-                        String.format("fail set label with '%s' method", labelMethod1.getName()),
-                        e);
-            }
-            
-        }
-        
-        // フィールドの場合
-        final Field labelField = getField(clazz, labelFieldName);
-        if(labelField != null) {
-            try {
-                labelField.setAccessible(true);
-                
-                if(Map.class.isAssignableFrom(labelField.getType())) {
-                    Object labelValue = labelField.get(obj);
-                    if(labelValue == null) {
-                        labelValue = new HashMap<String, Point>();
-                        labelField.set(obj, labelValue);
-                    }
-                    
-                    ((Map<String, String>) labelValue).put(key, label);
-                }
-                return;
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                throw new RuntimeException(
-                        String.format("fail set label with '%s' field", labelField.getName()),
-                        e);
-            }
-        }
-        
+        CellInfoSetter.getInstance(obj.getClass()).setLabelWithMapColumn(label, obj, fieldName, key);
     }
     
     /**
@@ -1048,12 +772,13 @@ public class Utils {
         ArgUtils.notMin(from, 0, "from");
         ArgUtils.notNull(config, "config");
         
+        final LabelMatcher matcher = LabelMatcher.compile(label, config);
         final int rows = POIUtils.getColumns(sheet);
         for(int i=0; i < rows; i++) {
             final Cell[] columns = POIUtils.getColumn(sheet, i);
             for(int j=from; j < columns.length; j++) {
                 final String cellValue = POIUtils.getCellContents(columns[j], config.getCellFormatter());
-                if(matches(cellValue, label, config)) {
+                if(matcher.matches(cellValue)) {
                     return columns[j];
                 }
                 
@@ -1104,6 +829,7 @@ public class Utils {
         ArgUtils.notMin(fromRow, 0, "fromRow");
         ArgUtils.notNull(config, "config");
         
+        final LabelMatcher matcher = LabelMatcher.compile(label, config);
         final int maxRow = POIUtils.getRows(sheet);
         for(int i=fromRow; i < maxRow; i++) {
             final Row row = sheet.getRow(i);
@@ -1115,7 +841,7 @@ public class Utils {
             for(int j=fromCol; j < maxCol; j++) {
                 final Cell cell = row.getCell(j, Row.CREATE_NULL_AS_BLANK);
                 final String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
-                if(matches(cellValue, label, config)) {
+                if(matcher.matches(cellValue)) {
                     return cell;
                 }
             }
@@ -1179,6 +905,7 @@ public class Utils {
         int columnStart = after.getColumnIndex();
         int rowStart = after.getRowIndex();
         
+        final LabelMatcher matcher = LabelMatcher.compile(label, config);
         final int maxRow = POIUtils.getRows(sheet);
         for(int i=rowStart; i < maxRow; i++) {
             final Row row = sheet.getRow(i);
@@ -1195,7 +922,7 @@ public class Utils {
                 
                 final Cell cell = row.getCell(j, Row.CREATE_NULL_AS_BLANK);
                 final String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
-                if(matches(cellValue, label, config)) {
+                if(matcher.matches(cellValue)) {
                     return cell;
                 }
             }
@@ -2,13 +2,18 @@ package com.gh.mygreen.xlsmapper;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -17,22 +22,18 @@ import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.gh.mygreen.xlsmapper.annotation.XlsListener;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
 import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
-import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
-import com.gh.mygreen.xlsmapper.fieldprocessor.LoadingFieldProcessor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordHandlerRegistry;
 import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
 import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 import com.gh.mygreen.xlsmapper.xml.XmlIO;
-import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
+import com.gh.mygreen.xlsmapper.xml.XmlMapping;
 
 
 /**
  * ExcelのシートをJavaBeanにマッピングするクラス。
  * 
- * @version 1.3
+ * @version 1.5
  * @author T.TSUCHIE
  *
  */
@@ -42,6 +43,9 @@ public class XlsLoader {
     
     private XlsMapperConfig config;
     
+    /** 事前に組み立てたXMLの定義 */
+    private XmlMapping xmlMapping;
+    
     public XlsLoader(final XlsMapperConfig config) {
         this.config = config;
     }
@@ -125,14 +129,105 @@ public class XlsLoader {
         ArgUtils.notNull(xlsIn, "xlsIn");
         ArgUtils.notNull(clazz, "clazz");
         
-        XmlInfo xmlInfo = null;
-        if(xmlIn != null) {
-            xmlInfo = XmlIO.load(xmlIn);
-        }
+        return load(createWorkbook(xlsIn), clazz, xmlIn, errors);
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * <p>表のレコードは、引数で指定したハンドラに1件ずつ渡す。
+     * @since 1.5
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @param handlers 表のレコードを1件ずつ処理するハンドラ。指定しない場合は、nullを指定する。
+     * @return
+     * @throws XlsMapperException 
+     * @throws IOException 
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final InputStream xlsIn, final Class<P> clazz, final InputStream xmlIn, 
+            final SheetBindingErrors errors, final RecordHandlerRegistry handlers)
+            throws XlsMapperException, IOException {
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        ArgUtils.notNull(clazz, "clazz");
+        
+        return load(createWorkbook(xlsIn), clazz, xmlIn, errors, handlers);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * <p>同じExcelファイルを複数のクラスにマッピングする場合に、ファイルの解析を1回で済ませることができる。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @return
+     * @throws XlsMapperException 
+     * @throws IllegalArgumentException book == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final Workbook book, final Class<P> clazz) throws XlsMapperException {
+        return load(book, clazz, null, null);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * <p>同じExcelファイルを複数のクラスにマッピングする場合に、ファイルの解析を1回で済ませることができる。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return
+     * @throws XlsMapperException 
+     * @throws IllegalArgumentException book == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final Workbook book, final Class<P> clazz, final SheetBindingErrors errors) throws XlsMapperException {
+        return load(book, clazz, null, errors);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * <p>同じExcelファイルを複数のクラスにマッピングする場合に、ファイルの解析を1回で済ませることができる。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return
+     * @throws XlsMapperException 
+     * @throws IllegalArgumentException book == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final Workbook book, final Class<P> clazz, final InputStream xmlIn, 
+            final SheetBindingErrors errors) throws XlsMapperException {
+        return load(book, clazz, xmlIn, errors, null);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * <p>表のレコードは、引数で指定したハンドラに1件ずつ渡す。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @param handlers 表のレコードを1件ずつ処理するハンドラ。指定しない場合は、nullを指定する。
+     * @return
+     * @throws XlsMapperException 
+     * @throws IllegalArgumentException book == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final Workbook book, final Class<P> clazz, final InputStream xmlIn, 
+            final SheetBindingErrors errors, final RecordHandlerRegistry handlers) throws XlsMapperException {
+        ArgUtils.notNull(book, "book");
+        ArgUtils.notNull(clazz, "clazz");
         
         final LoadingWorkObject work = new LoadingWorkObject();
+        work.setRecordHandlerRegistry(handlers);
         
-        final AnnotationReader annoReader = new AnnotationReader(xmlInfo);
+        final AnnotationReader annoReader = createAnnotationReader(xmlIn);
         work.setAnnoReader(annoReader);
         
         if(errors != null) {
@@ -146,14 +241,6 @@ public class XlsLoader {
             throw new AnnotationInvalidException("Cannot finld annoation '@XlsSheet'", sheetAnno);
         }
         
-        final Workbook book;
-        try {
-            book = WorkbookFactory.create(xlsIn);
-            
-        } catch (InvalidFormatException e) {
-            throw new XlsMapperException("fail load Excel File", e);
-        }
-        
         try {
             final Sheet[] xlsSheet = config.getSheetFinder().findForLoading(book, sheetAnno, annoReader, clazz);
             return loadSheet(xlsSheet[0], clazz, work);
@@ -225,19 +312,59 @@ public class XlsLoader {
      * @throws XlsMapperException 
      * @throws IOException 
      */
-    @SuppressWarnings("unchecked")
     public <P> P[] loadMultiple(final InputStream xlsIn, final Class<P> clazz, final InputStream xmlIn,
             final SheetBindingErrorsContainer errorsContainer) throws XlsMapperException, IOException {
         
         ArgUtils.notNull(xlsIn, "xlsIn");
         ArgUtils.notNull(clazz, "clazz");
         
-        XmlInfo xmlInfo = null;
-        if(xmlIn != null) {
-            xmlInfo = XmlIO.load(xmlIn);
-        }
+        return loadMultiple(createWorkbook(xlsIn), clazz, xmlIn, errorsContainer);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルの複数シートを読み込み、任意のクラスにマップする。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @return
+     * @throws XlsMapperException 
+     */
+    public <P> P[] loadMultiple(final Workbook book, final Class<P> clazz) throws XlsMapperException {
+        return loadMultiple(book, clazz, null, null);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルの複数シートを読み込み、任意のクラスにマップする。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param errorsContainer マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return
+     * @throws XlsMapperException 
+     */
+    public <P> P[] loadMultiple(final Workbook book, final Class<P> clazz,
+            final SheetBindingErrorsContainer errorsContainer) throws XlsMapperException {
+        return loadMultiple(book, clazz, null, errorsContainer);
+    }
+    
+    /**
+     * XMLによるマッピングを指定し、読み込み済みのExcelファイルの複数シートを読み込み、任意のクラスにマップする。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @param errorsContainer マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return
+     * @throws XlsMapperException 
+     */
+    @SuppressWarnings("unchecked")
+    public <P> P[] loadMultiple(final Workbook book, final Class<P> clazz, final InputStream xmlIn,
+            final SheetBindingErrorsContainer errorsContainer) throws XlsMapperException {
+        
+        ArgUtils.notNull(book, "book");
+        ArgUtils.notNull(clazz, "clazz");
         
-        final AnnotationReader annoReader = new AnnotationReader(xmlInfo);
+        final AnnotationReader annoReader = createAnnotationReader(xmlIn);
         
         final XlsSheet sheetAnno = clazz.getAnnotation(XlsSheet.class);
         if(sheetAnno == null) {
@@ -251,26 +378,14 @@ public class XlsLoader {
             container = new SheetBindingErrorsContainer(clazz);
         }
         
-        final Workbook book;
-        try {
-            book = WorkbookFactory.create(xlsIn);
-            
-        } catch (InvalidFormatException e) {
-            throw new XlsMapperException("fail load Excel File", e);
-        }
-        
-        final List<P> list = new ArrayList<P>();
+        final List<SheetLoadingTask> tasks = new ArrayList<>();
         
         if(sheetAnno.number() == -1 && sheetAnno.name().isEmpty() && sheetAnno.regex().isEmpty()) {
             // 読み込むシートの条件が指定されていない場合、全て読み込む
             int sheetNum = book.getNumberOfSheets();
             for(int i=0; i < sheetNum; i++) {
                 final Sheet sheet = book.getSheetAt(i);
-                
-                final LoadingWorkObject work = new LoadingWorkObject();
-                work.setAnnoReader(annoReader);
-                work.setErrors(container.findBindingResult(i));
-                list.add(loadSheet(sheet, clazz, work));
+                tasks.add(new SheetLoadingTask(sheet, clazz, annoReader, container.findBindingResult(i)));
             }
             
         } else {
@@ -278,11 +393,7 @@ public class XlsLoader {
             try {
                 final Sheet[] xlsSheet = config.getSheetFinder().findForLoading(book, sheetAnno, annoReader, clazz);
                 for(Sheet sheet : xlsSheet) {
-                    
-                    final LoadingWorkObject work = new LoadingWorkObject();
-                    work.setAnnoReader(annoReader);
-                    work.setErrors(container.findBindingResult(list.size()));
-                    list.add(loadSheet(sheet, clazz, work));
+                    tasks.add(new SheetLoadingTask(sheet, clazz, annoReader, container.findBindingResult(tasks.size())));
                 }
                 
             } catch(SheetNotFoundException e) {
@@ -295,6 +406,7 @@ public class XlsLoader {
             
         }
         
+        final List<Object> list = loadSheets(tasks);
         return list.toArray((P[])Array.newInstance(clazz, list.size()));
     }
     
@@ -317,12 +429,63 @@ public class XlsLoader {
         ArgUtils.notNull(xlsIn, "xlsIn");
         ArgUtils.notEmpty(classes, "clazz");
         
-        XmlInfo xmlInfo = null;
-        if(xmlIn != null) {
-            xmlInfo = XmlIO.load(xmlIn);
+        final Workbook book;
+        try {
+            book = createWorkbook(xlsIn);
+        
+        } catch (IOException e) {
+            throw new XlsMapperException("fail load Excel File", e);
         }
         
-        final AnnotationReader annoReader = new AnnotationReader(xmlInfo);
+        return loadMultiple(book, classes, xmlIn, errorsContainer);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルのシートを、それぞれのクラスにマップする。
+     * <p>ファイルの解析は1回で済み、同じワークブックを複数のクラスで共有する。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param classes マッピング先のクラスタイプ。
+     * @return
+     * @throws XlsMapperException 
+     */
+    public Object[] loadMultiple(final Workbook book, final Class<?>[] classes) throws XlsMapperException {
+        return loadMultiple(book, classes, null, null);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルのシートを、それぞれのクラスにマップする。
+     * <p>ファイルの解析は1回で済み、同じワークブックを複数のクラスで共有する。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param classes マッピング先のクラスタイプ。
+     * @param errorsContainer マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return
+     * @throws XlsMapperException 
+     */
+    public Object[] loadMultiple(final Workbook book, final Class<?>[] classes,
+            final SheetBindingErrorsContainer errorsContainer) throws XlsMapperException {
+        return loadMultiple(book, classes, null, errorsContainer);
+    }
+    
+    /**
+     * XMLによるマッピングを指定し、読み込み済みのExcelファイルのシートを、それぞれのクラスにマップする。
+     * <p>ファイルの解析は1回で済み、同じワークブックを複数のクラスで共有する。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param classes マッピング先のクラスタイプ。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @param errorsContainer マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return
+     * @throws XlsMapperException 
+     */
+    public Object[] loadMultiple(final Workbook book, final Class<?>[] classes, final InputStream xmlIn,
+            SheetBindingErrorsContainer errorsContainer) throws XlsMapperException {
+        
+        ArgUtils.notNull(book, "book");
+        ArgUtils.notEmpty(classes, "clazz");
+        
+        final AnnotationReader annoReader = createAnnotationReader(xmlIn);
         
         final SheetBindingErrorsContainer container;
         if(errorsContainer != null) {
@@ -331,15 +494,7 @@ public class XlsLoader {
             container = new SheetBindingErrorsContainer(classes);
         }
         
-        final Workbook book;
-        try {
-            book = WorkbookFactory.create(xlsIn);
-            
-        } catch (InvalidFormatException | IOException e) {
-            throw new XlsMapperException("fail load Excel File", e);
-        }
-        
-        final List<Object> list = new ArrayList<Object>();
+        final List<SheetLoadingTask> tasks = new ArrayList<>();
         for(Class<?> clazz : classes) {
             final XlsSheet sheetAnno = clazz.getAnnotation(XlsSheet.class);
             if(sheetAnno == null) {
@@ -349,11 +504,7 @@ public class XlsLoader {
             try {
                 final Sheet[] xlsSheet = config.getSheetFinder().findForLoading(book, sheetAnno, annoReader, clazz);
                 for(Sheet sheet : xlsSheet) {
-                    
-                    final LoadingWorkObject work = new LoadingWorkObject();
-                    work.setAnnoReader(annoReader);
-                    work.setErrors(container.findBindingResult(list.size()));
-                    list.add(loadSheet(sheet, clazz, work));
+                    tasks.add(new SheetLoadingTask(sheet, clazz, annoReader, container.findBindingResult(tasks.size())));
                     
                 } 
             } catch(SheetNotFoundException ex){
@@ -365,7 +516,149 @@ public class XlsLoader {
             
         }
         
-        return list.toArray();
+        return loadSheets(tasks).toArray();
+    }
+    
+    /**
+     * 複数のシートを読み込む。
+     * <p>{@link XlsMapperConfig#getLoadingExecutor()}が設定されている場合は、シートごとに並列に読み込む。
+     *    同じシートに対するタスクは、同じスレッドで順番に読み込むため、同時に処理されることはない。
+     *    戻り値の順番は、引数で指定したタスクの順番と同じになる。
+     * @since 1.5
+     * @param tasks シートの読み込み処理
+     * @return 読み込んだオブジェクト
+     * @throws XlsMapperException 
+     */
+    private List<Object> loadSheets(final List<SheetLoadingTask> tasks) throws XlsMapperException {
+        
+        final List<Object> list = new ArrayList<>(tasks.size());
+        
+        // 同じシートのタスクをまとめる
+        final Map<Sheet, List<SheetLoadingTask>> sheetTasks = new LinkedHashMap<>();
+        for(SheetLoadingTask task : tasks) {
+            List<SheetLoadingTask> group = sheetTasks.get(task.sheet);
+            if(group == null) {
+                group = new ArrayList<>();
+                sheetTasks.put(task.sheet, group);
+            }
+            group.add(task);
+        }
+        
+        final ExecutorService executor = config.getLoadingExecutor();
+        if(executor == null || sheetTasks.size() <= 1) {
+            for(SheetLoadingTask task : tasks) {
+                list.add(task.call());
+            }
+            return list;
+        }
+        
+        final Map<Sheet, Future<List<Object>>> futures = new LinkedHashMap<>();
+        try {
+            for(Map.Entry<Sheet, List<SheetLoadingTask>> entry : sheetTasks.entrySet()) {
+                futures.put(entry.getKey(), executor.submit(new SheetLoadingGroup(entry.getValue())));
+            }
+            
+            final Map<Sheet, Iterator<Object>> results = new HashMap<>();
+            for(Map.Entry<Sheet, Future<List<Object>>> entry : futures.entrySet()) {
+                results.put(entry.getKey(), entry.getValue().get().iterator());
+            }
+            
+            for(SheetLoadingTask task : tasks) {
+                list.add(results.get(task.sheet).next());
+            }
+        
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new XlsMapperException("interrupted loading sheets.", e);
+        
+        } catch(ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if(cause instanceof XlsMapperException) {
+                throw (XlsMapperException) cause;
+            } else if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new XlsMapperException("fail load sheets.", cause);
+        
+        } finally {
+            // エラー時は、残りの処理を中断する
+            for(Future<List<Object>> future : futures.values()) {
+                future.cancel(true);
+            }
+        }
+        
+        return list;
+    }
+    
+    /**
+     * 同じシートに対する読み込み処理を、順番に実行する。
+     * @since 1.5
+     */
+    private static class SheetLoadingGroup implements Callable<List<Object>> {
+        
+        private final List<SheetLoadingTask> tasks;
+        
+        SheetLoadingGroup(final List<SheetLoadingTask> tasks) {
+            this.tasks = tasks;
+        }
+        
+        @Override
+        public List<Object> call() throws XlsMapperException {
+            final List<Object> list = new ArrayList<>(tasks.size());
+            for(SheetLoadingTask task : tasks) {
+                list.add(task.call());
+            }
+            return list;
+        }
+        
+    }
+    
+    /**
+     * 1シート分の読み込み処理。
+     * <p>シートごとに、個別の{@link LoadingWorkObject}を持つ。
+     * @since 1.5
+     */
+    private class SheetLoadingTask implements Callable<Object> {
+        
+        private final Sheet sheet;
+        
+        private final Class<?> clazz;
+        
+        private final LoadingWorkObject work;
+        
+        SheetLoadingTask(final Sheet sheet, final Class<?> clazz, final AnnotationReader annoReader,
+                final SheetBindingErrors errors) {
+            this.sheet = sheet;
+            this.clazz = clazz;
+            
+            this.work = new LoadingWorkObject();
+            work.setAnnoReader(annoReader);
+            work.setErrors(errors);
+        }
+        
+        @Override
+        public Object call() throws XlsMapperException {
+            return loadSheet(sheet, clazz, work);
+        }
+    
+    }
+    
+    /**
+     * Excelファイルを読み込み、ワークブックを作成する。
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @return
+     * @throws XlsMapperException ファイルの形式が不正な場合。
+     * @throws IOException 
+     */
+    private Workbook createWorkbook(final InputStream xlsIn) throws XlsMapperException, IOException {
+        try {
+            return WorkbookFactory.create(xlsIn);
+        
+        } catch (InvalidFormatException e) {
+            throw new XlsMapperException("fail load Excel File", e);
+        }
     }
     
     /**
@@ -377,98 +670,89 @@ public class XlsLoader {
      * @throws Exception 
      * 
      */
-    @SuppressWarnings({"rawtypes"})
     private <P> P loadSheet(final Sheet sheet, final Class<P> clazz, final LoadingWorkObject work) throws XlsMapperException {
         
         // 値の読み込み対象のJavaBeanオブジェクトの作成
         final P beanObj = config.createBean(clazz);
         
         work.getErrors().setSheetName(sheet.getSheetName());
+        work.setupErrorLimits(config);
         
-        final List<FieldAdaptorProxy> adaptorProxies = new ArrayList<>();
-        
-        // リスナークラスの@PreLoadd用メソッドの実行
-        final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(beanObj.getClass(), XlsListener.class);
-        if(listenerAnno != null) {
-            Object listenerObj = config.createBean(listenerAnno.listenerClass());
-            for(Method method : listenerObj.getClass().getMethods()) {
-                final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreLoad.class);
-                if(preProcessAnno != null) {
-                    Utils.invokeNeedProcessMethod(listenerObj, method, beanObj, sheet, config, work.getErrors());
+        try {
+            final SheetMappingDescriptor descriptor = config.getMappingDescriptorCache().getLoadingDescriptor(
+                    clazz, work.getAnnoReader(), config.getFieldProcessorRegistry());
+            
+            // リスナークラスの@PreLoadd用メソッドの実行
+            if(descriptor.getListenerClass() != null) {
+                Object listenerObj = config.createBean(descriptor.getListenerClass());
+                for(Method method : descriptor.getListenerPreMethods()) {
+                    work.invokeNeedProcessMethod(listenerObj, method, beanObj, sheet, config);
                 }
+                
             }
             
-        }
-        
-        // @PreLoad用のメソッドの実行
-        for(Method method : clazz.getMethods()) {
+            // @PreLoad用のメソッドの実行
+            for(Method method : descriptor.getPreMethods()) {
+                work.invokeNeedProcessMethod(beanObj, method, beanObj, sheet, config);
+            }
             
-            final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(beanObj.getClass(), method, XlsPreLoad.class);
-            if(preProcessAnno != null) {
-                Utils.invokeNeedProcessMethod(beanObj, method, beanObj, sheet, config, work.getErrors());
+            // @PostLoad用のメソッドの取得
+            for(Method method : descriptor.getPostMethods()) {
+                work.addNeedPostProcess(new NeedProcess(beanObj, beanObj, method));
             }
-        }
-        
-        // public メソッドの処理
-        for(Method method : clazz.getMethods()) {
-            method.setAccessible(true);
             
-            for(Annotation anno : work.getAnnoReader().getAnnotations(clazz, method)) {
-                final LoadingFieldProcessor processor = config.getFieldProcessorRegistry().getLoadingProcessor(anno);
-                if(Utils.isSetterMethod(method) && processor != null) {
-                    final FieldAdaptor adaptor = new FieldAdaptor(clazz, method, work.getAnnoReader());
-                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
-                    
-                } else if(anno instanceof XlsPostLoad) {
-                    work.addNeedPostProcess(new NeedProcess(beanObj, beanObj, method));
+            // 順番を並び替えて保存処理を実行する
+            // 同じセルを何度もフォーマットしないよう、処理中はセルの値をキャッシュする。
+            final CellContentsCache contentsCache = CellContentsCache.begin(sheet, config.getCellFormatter(), config.getCellContentsCacheSize());
+            try {
+                for(FieldAdaptorProxy adaptorProxy : descriptor.getAdaptorProxies()) {
+                    adaptorProxy.loadProcess(sheet, beanObj, config, work);
+                }
+            } finally {
+                if(contentsCache != null) {
+                    contentsCache.end();
                 }
             }
             
-        }
-        
-        // public / private / protected / default フィールドの処理
-        for(Field field : clazz.getDeclaredFields()) {
-            
-            field.setAccessible(true);
-            final FieldAdaptor adaptor = new FieldAdaptor(clazz, field, work.getAnnoReader());
-            
-            // メソッドを重複している場合は排除する。
-            if(adaptorProxies.contains(adaptor)) {
-                continue;
+            // リスナークラスの@PostLoadの取得
+            if(descriptor.getListenerClass() != null) {
+                Object listenerObj = config.createBean(descriptor.getListenerClass());
+                for(Method method : descriptor.getListenerPostMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(beanObj, listenerObj, method));
+                }
+                
             }
             
-            for(Annotation anno : work.getAnnoReader().getAnnotations(clazz, field)) {
-                final LoadingFieldProcessor processor = config.getFieldProcessorRegistry().getLoadingProcessor(anno);
-                if(processor != null) {
-                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
-                }
+            //@PostLoadが付与されているメソッドの実行
+            for(NeedProcess need : work.getNeedPostProcesses()) {
+                work.invokeNeedProcessMethod(need.getProcess(), need.getMethod(), need.getTarget(), sheet, config);
             }
+            
+            return beanObj;
+        } finally {
+            // 読み込み用のエラーの件数の上限を、呼び出し元の設定に戻す。
+            work.restoreErrorLimits();
         }
+    }
+    
+    /**
+     * アノテーションの情報を取得するクラスを作成する。
+     * @since 1.5
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。
+     * @return xmlInがnullで、{@link #setXmlMapping(XmlMapping)}で設定している場合は、その情報を利用する。
+     * @throws XlsMapperException XMLの読み込みに失敗した場合。
+     */
+    private AnnotationReader createAnnotationReader(final InputStream xmlIn) throws XlsMapperException {
         
-        // 順番を並び替えて保存処理を実行する
-        Collections.sort(adaptorProxies, HintOrderComparator.createForLoading());
-        for(FieldAdaptorProxy adaptorProxy : adaptorProxies) {
-            adaptorProxy.loadProcess(sheet, beanObj, config, work);
-        }
+        if(xmlIn != null) {
+            return new AnnotationReader(XmlIO.load(xmlIn));
         
-        // リスナークラスの@PostLoadの取得
-        if(listenerAnno != null) {
-            Object listenerObj = config.createBean(listenerAnno.listenerClass());
-            for(Method method : listenerObj.getClass().getMethods()) {
-                final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostLoad.class);
-                if(postProcessAnno != null) {
-                    work.addNeedPostProcess(new NeedProcess(beanObj, listenerObj, method));
-                }
-            }
-            
-        }
+        } else if(xmlMapping != null) {
+            return xmlMapping.getAnnotationReader();
         
-        //@PostLoadが付与されているメソッドの実行
-        for(NeedProcess need : work.getNeedPostProcesses()) {
-            Utils.invokeNeedProcessMethod(need.getProcess(), need.getMethod(), need.getTarget(), sheet, config, work.getErrors());
+        } else {
+            return new AnnotationReader(null);
         }
-        
-        return beanObj;
     }
     
     public XlsMapperConfig getConfig() {
@@ -479,4 +763,23 @@ public class XlsLoader {
         this.config = config;
     }
     
+    /**
+     * 事前に組み立てたXMLの定義を取得する。
+     * @since 1.5
+     * @return 設定されていない場合はnullを返す。
+     */
+    public XmlMapping getXmlMapping() {
+        return xmlMapping;
+    }
+    
+    /**
+     * 事前に組み立てたXMLの定義を設定する。
+     * <p>XMLファイルの入力を指定せずに処理する場合に利用する。
+     * @since 1.5
+     * @param xmlMapping 事前に組み立てたXMLの定義。利用しない場合はnullを指定する。
+     */
+    public void setXmlMapping(XmlMapping xmlMapping) {
+        this.xmlMapping = xmlMapping;
+    }
+
 }
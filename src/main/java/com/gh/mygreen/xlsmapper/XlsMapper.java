@@ -4,12 +4,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import org.apache.poi.ss.usermodel.Workbook;
+
 import com.gh.mygreen.xlsmapper.annotation.OverRecordOperate;
 import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
 import com.gh.mygreen.xlsmapper.annotation.XlsDateConverter;
 import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
 import com.gh.mygreen.xlsmapper.annotation.XlsLabelledCell;
 import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordHandlerRegistry;
 import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
 
 
@@ -254,6 +257,26 @@ public class XlsMapper {
         return loader.load(xlsIn, clazz, xmlIn, errors);
     }
     
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * <p>表のレコードは、引数で指定したハンドラに1件ずつ渡す。
+     * @since 1.5
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param xmlIn XMLによる定義を必要としない場合は、nullを指定する。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @param handlers 表のレコードを1件ずつ処理するハンドラ。指定しない場合は、nullを指定する。
+     * @return
+     * @throws XlsMapperException 
+     * @throws IOException 
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final InputStream xlsIn, final Class<P> clazz, final InputStream xmlIn, final SheetBindingErrors errors,
+            final RecordHandlerRegistry handlers) throws XlsMapperException, IOException {
+        return loader.load(xlsIn, clazz, xmlIn, errors, handlers);
+    }
+    
     /**
      * Excelファイルの複数シートを読み込み、任意のクラスにマップする。
      * @param xlsIn
@@ -326,6 +349,134 @@ public class XlsMapper {
         return loader.loadMultiple(xlsIn, classes, xmlIn, errorsContainer);
     }
     
+    /**
+     * 読み込み済みのExcelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * <p>同じExcelファイルを複数のクラスにマッピングする場合に、ファイルの解析を1回で済ませることができる。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @return
+     * @throws XlsMapperException 
+     * @throws IllegalArgumentException book == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final Workbook book, final Class<P> clazz) throws XlsMapperException {
+        return loader.load(book, clazz);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return
+     * @throws XlsMapperException 
+     * @throws IllegalArgumentException book == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final Workbook book, final Class<P> clazz, final SheetBindingErrors errors) throws XlsMapperException {
+        return loader.load(book, clazz, errors);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * @since 1.5
+     * @param book 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param xmlIn XMLによる定義を必要としない場合は、nullを指定する。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return
+     * @throws XlsMapperException 
+     * @throws IllegalArgumentException book == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final Workbook book, final Class<P> clazz, final InputStream xmlIn, final SheetBindingErrors errors) throws XlsMapperException {
+        return loader.load(book, clazz, xmlIn, errors);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルの複数シートを読み込み、任意のクラスにマップする。
+     * @since 1.5
+     * @param book
+     * @param clazz
+     * @return
+     * @throws XlsMapperException 
+     */
+    public <P> P[] loadMultiple(final Workbook book, final Class<P> clazz) throws XlsMapperException {
+        return loader.loadMultiple(book, clazz);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルの複数シートを読み込み、任意のクラスにマップする。
+     * @since 1.5
+     * @param book
+     * @param clazz
+     * @param errorsContainer
+     * @return
+     * @throws XlsMapperException 
+     */
+    public <P> P[] loadMultiple(final Workbook book, final Class<P> clazz,
+            final SheetBindingErrorsContainer errorsContainer) throws XlsMapperException {
+        return loader.loadMultiple(book, clazz, errorsContainer);
+    }
+    
+    /**
+     * XMLによるマッピングを指定し、読み込み済みのExcelファイルの複数シートを読み込み、任意のクラスにマップする。
+     * @since 1.5
+     * @param book
+     * @param clazz
+     * @param xmlIn
+     * @param errorsContainer
+     * @return
+     * @throws XlsMapperException 
+     */
+    public <P> P[] loadMultiple(final Workbook book, final Class<P> clazz, final InputStream xmlIn,
+            final SheetBindingErrorsContainer errorsContainer) throws XlsMapperException {
+        return loader.loadMultiple(book, clazz, xmlIn, errorsContainer);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルのシートを、それぞれのクラスにマップする。
+     * @since 1.5
+     * @param book
+     * @param classes
+     * @return
+     * @throws XlsMapperException 
+     */
+    public Object[] loadMultiple(final Workbook book, final Class<?>[] classes) throws XlsMapperException {
+        return loader.loadMultiple(book, classes);
+    }
+    
+    /**
+     * 読み込み済みのExcelファイルのシートを、それぞれのクラスにマップする。
+     * @since 1.5
+     * @param book
+     * @param classes
+     * @param errorsContainer
+     * @return
+     * @throws XlsMapperException 
+     */
+    public Object[] loadMultiple(final Workbook book, final Class<?>[] classes,
+            final SheetBindingErrorsContainer errorsContainer) throws XlsMapperException {
+        return loader.loadMultiple(book, classes, errorsContainer);
+    }
+    
+    /**
+     * XMLによるマッピングを指定し、読み込み済みのExcelファイルのシートを、それぞれのクラスにマップする。
+     * @since 1.5
+     * @param book
+     * @param classes
+     * @param xmlIn
+     * @param errorsContainer
+     * @return
+     * @throws XlsMapperException 
+     */
+    public Object[] loadMultiple(final Workbook book, final Class<?>[] classes, final InputStream xmlIn,
+            final SheetBindingErrorsContainer errorsContainer) throws XlsMapperException {
+        return loader.loadMultiple(book, classes, xmlIn, errorsContainer);
+    }
+    
     /**
      * JavaのオブジェクトをExeclファイルに出力する。
      * <p>出力するファイルは、引数で指定した雛形となるテンプレート用のExcelファイルをもとに出力する。
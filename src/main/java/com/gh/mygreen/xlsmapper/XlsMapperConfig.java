@@ -1,17 +1,22 @@
 package com.gh.mygreen.xlsmapper;
 
+import java.util.concurrent.ExecutorService;
+
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
 import com.gh.mygreen.xlsmapper.annotation.XlsArrayConverter;
 import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
 import com.gh.mygreen.xlsmapper.cellconvert.CellConverterRegistry;
 import com.gh.mygreen.xlsmapper.cellconvert.DefaultItemConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.ItemConverter;
 import com.gh.mygreen.xlsmapper.fieldprocessor.FieldProcessorRegstry;
+import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
 
 
 /**
  * マッピングする際の設定などを保持するクラス。
  * 
- * @version 1.1
+ * @version 1.5
  * @author T.TSUCHIE
  *
  */
@@ -57,6 +62,27 @@ public class XlsMapperConfig {
     /** 単純なクラスオブジェクトの変換するクラス */
     private ItemConverter<?> itemConverter = new DefaultItemConverter();
     
+    /** クラスごとのマッピング情報のキャッシュ */
+    private SheetMappingDescriptorCache mappingDescriptorCache = new SheetMappingDescriptorCache();
+    
+    /** 複数のシートを並列に読み込むときのスレッドプール */
+    private ExecutorService loadingExecutor;
+    
+    /** ストリーミングで書き込むときに、メモリ上に保持する行数 */
+    private int streamingWindowSize = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+    
+    /** 読み込み中にセルの値をフォーマットした文字列をキャッシュする件数。標準ではキャッシュしない。 */
+    private int cellContentsCacheSize = 0;
+    
+    /** 読み込み時に保持するエラーの件数の上限 */
+    private int maxBindingErrors = 0;
+    
+    /** 読み込み時にフィールドごとに保持するエラーの件数の上限 */
+    private int maxBindingErrorsPerField = 0;
+    
+    /** 読み込み時のエラーの件数が上限を超えたときに、処理を中断するかどうか */
+    private boolean abortOnBindingErrorLimit = false;
+    
     public XlsMapperConfig() {
     }
     
@@ -283,6 +309,7 @@ public class XlsMapperConfig {
      */
     public XlsMapperConfig setFieldProcessorRegistry(FieldProcessorRegstry fieldProcessorRegistry) {
         this.fieldProcessorRegistry = fieldProcessorRegistry;
+        this.mappingDescriptorCache.clear();
         return this;
     }
     
@@ -349,4 +376,168 @@ public class XlsMapperConfig {
         return this;
     }
     
+    /**
+     * 複数のシートを読み込むときに利用するスレッドプールを取得します。
+     * @since 1.5
+     * @return 設定されていない場合は、nullを返す。
+     */
+    public ExecutorService getLoadingExecutor() {
+        return loadingExecutor;
+    }
+    
+    /**
+     * 複数のシートを読み込むときに利用するスレッドプールを設定します。
+     * <p>設定すると、{@link XlsLoader#loadMultiple(java.io.InputStream, Class)}などで、シートごとに並列に読み込みます。
+     *    読み込んだ結果の順番と、エラー情報の順番は、並列に読み込まない場合と同じになります。
+     * <p>1つのシートは1つのスレッドでのみ処理し、{@link XlsLoader#loadMultiple(java.io.InputStream, Class[])}で
+     *    同じシートを複数回読み込む場合も、同じスレッドで順番に処理します。
+     *    数式は、評価するたびに作成する評価器で評価し、評価結果はセルに書き戻しません。
+     *    他のシートを参照する数式も評価しますが、共有するワークブックは変更しません。
+     * <p>{@link #getCellFormatter()}は、各スレッドで共有します。
+     *    標準の{@link DefaultCellFormatter}は、書式の解析結果を並列に参照できるため、同期をとらずに利用します。
+     *    独自のフォーマッタやコンバータ、リスナーなどを登録している場合は、それらがスレッドセーフである必要があります。
+     * <p>スレッドプールの終了は、呼び出し元で行ってください。
+     * @since 1.5
+     * @param loadingExecutor スレッドプール。nullの場合は、並列に読み込まない。
+     * @return 自身のインスタンス
+     */
+    public XlsMapperConfig setLoadingExecutor(ExecutorService loadingExecutor) {
+        this.loadingExecutor = loadingExecutor;
+        return this;
+    }
+    
+    /**
+     * クラスごとのマッピング情報のキャッシュを取得します。
+     * @since 1.5
+     * @return
+     */
+    public SheetMappingDescriptorCache getMappingDescriptorCache() {
+        return mappingDescriptorCache;
+    }
+    
+    /**
+     * クラスごとのマッピング情報のキャッシュを設定します。
+     * @since 1.5
+     * @param mappingDescriptorCache クラスごとのマッピング情報のキャッシュ
+     * @return 自身のインスタンス
+     */
+    public XlsMapperConfig setMappingDescriptorCache(SheetMappingDescriptorCache mappingDescriptorCache) {
+        this.mappingDescriptorCache = mappingDescriptorCache;
+        return this;
+    }
+    
+    /**
+     * ストリーミングで書き込むときに、メモリ上に保持する行数を取得します。
+     * @since 1.5
+     * @return {@link XlsStreamingSaver}で利用する行数。
+     */
+    public int getStreamingWindowSize() {
+        return streamingWindowSize;
+    }
+    
+    /**
+     * ストリーミングで書き込むときに、メモリ上に保持する行数を設定します。
+     * <p>{@link XlsStreamingSaver}で書き込むときに、この行数を超えた行は一時ファイルに書き出します。
+     * @since 1.5
+     * @param streamingWindowSize メモリ上に保持する行数。1以上の値を指定します。
+     * @return 自身のインスタンス
+     * @throws IllegalArgumentException streamingWindowSize &lt; 1.
+     */
+    public XlsMapperConfig setStreamingWindowSize(int streamingWindowSize) {
+        ArgUtils.notMin(streamingWindowSize, 1, "streamingWindowSize");
+        this.streamingWindowSize = streamingWindowSize;
+        return this;
+    }
+    
+    /**
+     * 読み込み中に、セルの値をフォーマットした文字列をキャッシュする件数を取得します。
+     * @since 1.5
+     * @return キャッシュする件数。0以下の場合はキャッシュしない。初期値は0。
+     */
+    public int getCellContentsCacheSize() {
+        return cellContentsCacheSize;
+    }
+    
+    /**
+     * 読み込み中に、セルの値をフォーマットした文字列をキャッシュする件数を設定します。
+     * <p>{@link XlsLoader}でシートを読み込む間、同じセルを何度もフォーマットしないよう、セルごとに結果を保持します。
+     *    件数を超えた場合は、最も参照されていないものから破棄します。
+     * <p>キャッシュは読み込み中にセルの値が変更されないことを前提とするため、初期値は0（キャッシュしない）です。
+     *    独自のコンバータやリスナーなどで、読み込み中にセルの値を変更する場合は、キャッシュを有効にしないでください。
+     * @since 1.5
+     * @param cellContentsCacheSize キャッシュする件数。0以下の場合はキャッシュしない。
+     * @return 自身のインスタンス
+     */
+    public XlsMapperConfig setCellContentsCacheSize(int cellContentsCacheSize) {
+        this.cellContentsCacheSize = cellContentsCacheSize;
+        return this;
+    }
+    
+    /**
+     * 読み込み時に、シートごとに保持するエラーの件数の上限を取得します。
+     * @since 1.5
+     * @return 0以下の場合は制限しない。初期値は、'0'です。
+     */
+    public int getMaxBindingErrors() {
+        return maxBindingErrors;
+    }
+    
+    /**
+     * 読み込み時に、シートごとに保持するエラーの件数の上限を設定します。
+     * <p>{@link #setContinueTypeBindFailure(boolean)}で型変換エラーが発生しても処理を続ける場合に、
+     *    大量のエラーを保持してメモリが不足しないよう制限します。
+     *    上限を超えたエラーは保持せず、{@link SheetBindingErrors#getOverflowErrorCount()}で件数のみを数えます。
+     * @since 1.5
+     * @param maxBindingErrors 0以下の場合は制限しない。
+     * @return 自身のインスタンス
+     */
+    public XlsMapperConfig setMaxBindingErrors(int maxBindingErrors) {
+        this.maxBindingErrors = maxBindingErrors;
+        return this;
+    }
+    
+    /**
+     * 読み込み時に、フィールドごとに保持するエラーの件数の上限を取得します。
+     * @since 1.5
+     * @return 0以下の場合は制限しない。初期値は、'0'です。
+     */
+    public int getMaxBindingErrorsPerField() {
+        return maxBindingErrorsPerField;
+    }
+    
+    /**
+     * 読み込み時に、フィールドごとに保持するエラーの件数の上限を設定します。
+     * <p>フィールドは、レコードのインデックスなどを除いたパスで区別します。
+     *    そのため、表の同じ列のエラーは、レコードが異なっても同じフィールドとして数えます。
+     * @since 1.5
+     * @param maxBindingErrorsPerField 0以下の場合は制限しない。
+     * @return 自身のインスタンス
+     */
+    public XlsMapperConfig setMaxBindingErrorsPerField(int maxBindingErrorsPerField) {
+        this.maxBindingErrorsPerField = maxBindingErrorsPerField;
+        return this;
+    }
+    
+    /**
+     * 読み込み時のエラーの件数が上限を超えたときに、処理を中断するかどうか。
+     * @since 1.5
+     * @return 初期値は、'false'です。
+     */
+    public boolean isAbortOnBindingErrorLimit() {
+        return abortOnBindingErrorLimit;
+    }
+    
+    /**
+     * 読み込み時のエラーの件数が上限を超えたときに、処理を中断するかどうか設定します。
+     * <p>'true'の場合、型変換エラーが上限を超えた時点で{@link ErrorLimitExceededException}をスローします。
+     *    'false'の場合は処理を続け、上限を超えたエラーは件数のみを数えます。
+     * @since 1.5
+     * @param abortOnBindingErrorLimit 初期値は、'false'です。
+     * @return 自身のインスタンス
+     */
+    public XlsMapperConfig setAbortOnBindingErrorLimit(boolean abortOnBindingErrorLimit) {
+        this.abortOnBindingErrorLimit = abortOnBindingErrorLimit;
+        return this;
+    }
+
 }
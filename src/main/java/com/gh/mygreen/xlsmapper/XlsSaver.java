@@ -3,11 +3,8 @@ package com.gh.mygreen.xlsmapper;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
@@ -17,22 +14,17 @@ import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.gh.mygreen.xlsmapper.annotation.XlsListener;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
 import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
-import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
-import com.gh.mygreen.xlsmapper.fieldprocessor.SavingFieldProcessor;
 import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
 import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
 import com.gh.mygreen.xlsmapper.xml.XmlIO;
-import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
+import com.gh.mygreen.xlsmapper.xml.XmlMapping;
 
 
 /**
  * JavaBeanをExcelのシートにマッピングし出力するクラス。
  * 
- * @version 1.1
+ * @version 1.5
  * @author T.TSUCHIE
  *
  */
@@ -42,6 +34,9 @@ public class XlsSaver {
     
     private XlsMapperConfig config;
     
+    /** 事前に組み立てたXMLの定義 */
+    private XmlMapping xmlMapping;
+    
     public XlsSaver(XlsMapperConfig config) {
         this.config = config;
     }
@@ -83,13 +78,7 @@ public class XlsSaver {
         ArgUtils.notNull(xlsOut, "xlsOut");
         ArgUtils.notNull(beanObj, "beanObj");
         
-        // Xmls情報の出力
-        XmlInfo xmlInfo = null;
-        if(xmlIn != null) {
-            xmlInfo = XmlIO.load(xmlIn);
-        }
-        
-        final AnnotationReader annoReader = new AnnotationReader(xmlInfo);
+        final AnnotationReader annoReader = createAnnotationReader(xmlIn);
         final SavingWorkObject work = new SavingWorkObject();
         work.setAnnoReader(annoReader);
         
@@ -109,6 +98,7 @@ public class XlsSaver {
             throw new AnnotationInvalidException("Cannot finld annoation '@XlsSheet'", sheetAnno);
         }
         
+        work.getCellStyleCache().begin();
         try {
             final Sheet[] xlsSheet = config.getSheetFinder().findForSaving(book, sheetAnno, annoReader, beanObj);
             saveSheet(xlsSheet[0], beanObj, work);
@@ -119,6 +109,8 @@ public class XlsSaver {
             } else {
                 throw e;
             }
+        } finally {
+            work.getCellStyleCache().end();
         }
         
         book.write(xlsOut);
@@ -157,15 +149,9 @@ public class XlsSaver {
         ArgUtils.notNull(xlsOut, "xlsOut");
         ArgUtils.notEmpty(beanObjs, "beanObjs");
         
-        // Xmls情報の出力
-        XmlInfo xmlInfo = null;
-        if(xmlIn != null) {
-            xmlInfo = XmlIO.load(xmlIn);
-        }
-        
         final SheetBindingErrorsContainer errorsContainer = new SheetBindingErrorsContainer(getObjectNames(beanObjs));
         
-        final AnnotationReader annoReader = new AnnotationReader(xmlInfo);
+        final AnnotationReader annoReader = createAnnotationReader(xmlIn);
         final Workbook book;
         try {
             book = WorkbookFactory.create(templateXlsIn);
@@ -174,30 +160,38 @@ public class XlsSaver {
             throw new XlsMapperException("fail load template Excel File", e);
         }
         
-        for(int i=0; i < beanObjs.length; i++) {
-            final Object beanObj = beanObjs[i];
-            final Class<?> clazz = beanObj.getClass();
-            
-            final XlsSheet sheetAnno = clazz.getAnnotation(XlsSheet.class);
-            if(sheetAnno == null) {
-                throw new AnnotationInvalidException("Cannot finld annoation '@XlsSheet'", sheetAnno);
-            }
-            
-            final SavingWorkObject work = new SavingWorkObject();
-            work.setAnnoReader(annoReader);
-            
-            try {
-                final Sheet[] xlsSheet = config.getSheetFinder().findForSaving(book, sheetAnno, annoReader, beanObj);
-                work.setErrors(errorsContainer.findBindingResult(i));
-                saveSheet(xlsSheet[0], beanObj, work);
-            } catch(SheetNotFoundException e) {
-                if(config.isIgnoreSheetNotFound()){
-                    logger.warn("skip saving by not-found sheet.", e);
-                    continue;
-                } else {
-                    throw e;
+        // スタイルのキャッシュは、同じブックのシート間で共有する
+        final CellStyleCache cellStyleCache = new CellStyleCache();
+        cellStyleCache.begin();
+        try {
+            for(int i=0; i < beanObjs.length; i++) {
+                final Object beanObj = beanObjs[i];
+                final Class<?> clazz = beanObj.getClass();
+                
+                final XlsSheet sheetAnno = clazz.getAnnotation(XlsSheet.class);
+                if(sheetAnno == null) {
+                    throw new AnnotationInvalidException("Cannot finld annoation '@XlsSheet'", sheetAnno);
+                }
+                
+                final SavingWorkObject work = new SavingWorkObject();
+                work.setAnnoReader(annoReader);
+                work.setCellStyleCache(cellStyleCache);
+                
+                try {
+                    final Sheet[] xlsSheet = config.getSheetFinder().findForSaving(book, sheetAnno, annoReader, beanObj);
+                    work.setErrors(errorsContainer.findBindingResult(i));
+                    saveSheet(xlsSheet[0], beanObj, work);
+                } catch(SheetNotFoundException e) {
+                    if(config.isIgnoreSheetNotFound()){
+                        logger.warn("skip saving by not-found sheet.", e);
+                        continue;
+                    } else {
+                        throw e;
+                    }
                 }
             }
+        } finally {
+            cellStyleCache.end();
         }
         
         book.write(xlsOut);
@@ -219,7 +213,6 @@ public class XlsSaver {
      * @param work
      * @throws XlsMapperException 
      */
-    @SuppressWarnings({"rawtypes"})
     private void saveSheet(final Sheet sheet, final Object beanObj,
             final SavingWorkObject work) throws XlsMapperException {
         
@@ -227,79 +220,38 @@ public class XlsSaver {
         
         work.getErrors().setSheetName(sheet.getSheetName());
         
+        final SheetMappingDescriptor descriptor = config.getMappingDescriptorCache().getSavingDescriptor(
+                clazz, work.getAnnoReader(), config.getFieldProcessorRegistry());
+        
         // リスナークラスの@PreSave用メソッドの実行
-        final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(beanObj.getClass(), XlsListener.class);
-        if(listenerAnno != null) {
-            Object listenerObj = config.createBean(listenerAnno.listenerClass());
-            for(Method method : listenerObj.getClass().getMethods()) {
-                final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreSave.class);
-                if(preProcessAnno != null) {
+        if(descriptor.getListenerClass() != null) {
+            Object listenerObj = config.createBean(descriptor.getListenerClass());
+            for(Method method : descriptor.getListenerPreMethods()) {
                     Utils.invokeNeedProcessMethod(listenerObj, method, beanObj, sheet, config, work.getErrors());
-                }
             }
             
         }
         
-        // @PreSave用のメソッドの取得と実行
-        for(Method method : clazz.getMethods()) {
-            
-            final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(beanObj.getClass(), method, XlsPreSave.class);
-            if(preProcessAnno != null) {
+        // @PreSave用のメソッドの実行
+        for(Method method : descriptor.getPreMethods()) {
                 Utils.invokeNeedProcessMethod(beanObj, method, beanObj, sheet, config, work.getErrors());
             }
-        }
-        
-        final List<FieldAdaptorProxy> adaptorProxies = new ArrayList<>();
         
-        // public メソッドの処理
-        for(Method method : clazz.getMethods()) {
-            method.setAccessible(true);
-            for(Annotation anno : work.getAnnoReader().getAnnotations(clazz, method)) {
-                final SavingFieldProcessor processor = config.getFieldProcessorRegistry().getSavingProcessor(anno);
-                if((Utils.isGetterMethod(method) || Utils.isBooleanGetterMethod(method))&& processor != null) {
-                    final FieldAdaptor adaptor = new FieldAdaptor(clazz, method, work.getAnnoReader());
-                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
-                    
-                } else if(anno instanceof XlsPostSave) {
+        // @PostSave用のメソッドの取得
+        for(Method method : descriptor.getPostMethods()) {
                     work.addNeedPostProcess(new NeedProcess(beanObj, beanObj, method));
-                }
-            }
-        }
-        
-        // public / private/ protected /default フィールドの処理
-        for(Field field : clazz.getDeclaredFields()) {
-            
-            field.setAccessible(true);
-            final FieldAdaptor adaptor = new FieldAdaptor(clazz, field, work.getAnnoReader());
-            
-            //メソッドと重複している場合は排除する
-            if(adaptorProxies.contains(adaptor)) {
-                continue;
-            }
-            
-            for(Annotation anno : work.getAnnoReader().getAnnotations(clazz, field)) {
-                final SavingFieldProcessor processor = config.getFieldProcessorRegistry().getSavingProcessor(anno);
-                if(processor != null) {
-                    adaptorProxies.add(new FieldAdaptorProxy(anno, processor, adaptor));
-                }
-            }
-            
         }
         
         // 順番を並び替えて保存処理を実行する
-        Collections.sort(adaptorProxies, HintOrderComparator.createForSaving());
-        for(FieldAdaptorProxy adaptorProxy : adaptorProxies) {
+        for(FieldAdaptorProxy adaptorProxy : descriptor.getAdaptorProxies()) {
             adaptorProxy.saveProcess(sheet, beanObj, config, work);
         }
         
         // リスナークラスの@PostSaveの取得
-        if(listenerAnno != null) {
-            Object listenerObj = config.createBean(listenerAnno.listenerClass());
-            for(Method method : listenerObj.getClass().getMethods()) {
-                final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostSave.class);
-                if(postProcessAnno != null) {
+        if(descriptor.getListenerClass() != null) {
+            Object listenerObj = config.createBean(descriptor.getListenerClass());
+            for(Method method : descriptor.getListenerPostMethods()) {
                     work.addNeedPostProcess(new NeedProcess(beanObj, listenerObj, method));
-                }
             }
             
         }
@@ -311,6 +263,26 @@ public class XlsSaver {
         
     }
     
+    /**
+     * アノテーションの情報を取得するクラスを作成する。
+     * @since 1.5
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。
+     * @return xmlInがnullで、{@link #setXmlMapping(XmlMapping)}で設定している場合は、その情報を利用する。
+     * @throws XlsMapperException XMLの読み込みに失敗した場合。
+     */
+    private AnnotationReader createAnnotationReader(final InputStream xmlIn) throws XlsMapperException {
+        
+        if(xmlIn != null) {
+            return new AnnotationReader(XmlIO.load(xmlIn));
+        
+        } else if(xmlMapping != null) {
+            return xmlMapping.getAnnotationReader();
+        
+        } else {
+            return new AnnotationReader(null);
+        }
+    }
+    
     public XlsMapperConfig getConfig() {
         return config;
     }
@@ -319,4 +291,23 @@ public class XlsSaver {
         this.config = config;
     }
     
+    /**
+     * 事前に組み立てたXMLの定義を取得する。
+     * @since 1.5
+     * @return 設定されていない場合はnullを返す。
+     */
+    public XmlMapping getXmlMapping() {
+        return xmlMapping;
+    }
+    
+    /**
+     * 事前に組み立てたXMLの定義を設定する。
+     * <p>XMLファイルの入力を指定せずに処理する場合に利用する。
+     * @since 1.5
+     * @param xmlMapping 事前に組み立てたXMLの定義。利用しない場合はnullを指定する。
+     */
+    public void setXmlMapping(XmlMapping xmlMapping) {
+        this.xmlMapping = xmlMapping;
+    }
+
 }
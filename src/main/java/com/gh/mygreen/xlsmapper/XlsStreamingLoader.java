@@ -0,0 +1,1671 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.awt.Point;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import com.gh.mygreen.xlsmapper.annotation.LabelledCellType;
+import com.gh.mygreen.xlsmapper.annotation.RecordTerminal;
+import com.gh.mygreen.xlsmapper.annotation.XlsCell;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.annotation.XlsConverter;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsIsEmpty;
+import com.gh.mygreen.xlsmapper.annotation.XlsLabelledCell;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheetName;
+import com.gh.mygreen.xlsmapper.cellconvert.CellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.ConversionException;
+import com.gh.mygreen.xlsmapper.cellconvert.DefaultCellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.TypeBindException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordHandler;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordHandlerRegistry;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordHeader;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordsProcessorUtil;
+import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReadException;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+import com.gh.mygreen.xlsmapper.xml.XmlIO;
+import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
+
+
+/**
+ * XSSF形式（*.xlsx）のExcelファイルを、SAXによるイベント処理で読み込み、JavaBeanにマッピングするクラス。
+ * <p>{@link XlsLoader}と異なり、ワークブック全体のオブジェクトを構築せずに、シートを先頭行から1度だけ走査する。
+ *    そのため、{@link #load(File, Class)}などでファイルを指定した場合は、シートの行数に関わらず、ほぼ一定のメモリで読み込むことができる。
+ *    ストリームを指定した場合は、ZIP形式のファイルの各エントリを展開してメモリ上に保持するため、
+ *    シートの大きさに応じたメモリが必要となる。
+ * <p>ただし、処理できるアノテーションは次のものに限られる。
+ *    これら以外の読み込み用のアノテーションが付与されている場合は、例外{@link AnnotationInvalidException}をスローする。
+ * <ul>
+ *   <li>{@link XlsSheetName}</li>
+ *   <li>{@link XlsCell}</li>
+ *   <li>{@link XlsLabelledCell}</li>
+ *   <li>{@link XlsHorizontalRecords}。ただし、レコードのクラスには{@link XlsColumn}のみ利用でき、属性{@link XlsColumn#merged()}は利用できない。</li>
+ * </ul>
+ * <p>また、次の点が{@link XlsLoader}と異なる。
+ * <ul>
+ *   <li>結合セルの情報はシートの末尾に定義されているため、見出しなどの結合セルは考慮しない。</li>
+ *   <li>ラベルの検索は行方向に走査するため、同じラベルを持つセルが複数ある場合は、異なるセルが見つかる場合がある。</li>
+ *   <li>セルの書式は、表示形式と罫線のみを引き継ぐ。</li>
+ *   <li>アノテーション{@link XlsSheet#regex()}で複数のシートが一致する場合は、初めに見つかったシートを読み込む。</li>
+ * </ul>
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class XlsStreamingLoader {
+    
+    private static final Logger logger = LoggerFactory.getLogger(XlsStreamingLoader.class);
+    
+    private XlsMapperConfig config;
+    
+    public XlsStreamingLoader(final XlsMapperConfig config) {
+        this.config = config;
+    }
+    
+    public XlsStreamingLoader() {
+        this(new XlsMapperConfig());
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz マッピング先のクラスタイプ。
+     * @return シートが見つからず、設定によりスキップした場合はnullを返す。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final InputStream xlsIn, final Class<P> clazz) throws XlsMapperException, IOException {
+        
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        ArgUtils.notNull(clazz, "clazz");
+        
+        return load(xlsIn, clazz, null, null);
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @return シートが見つからず、設定によりスキップした場合はnullを返す。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final InputStream xlsIn, final Class<P> clazz, final InputStream xmlIn) throws XlsMapperException, IOException {
+        
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        ArgUtils.notNull(clazz, "clazz");
+        
+        return load(xlsIn, clazz, xmlIn, null);
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return シートが見つからず、設定によりスキップした場合はnullを返す。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final InputStream xlsIn, final Class<P> clazz, final SheetBindingErrors errors) throws XlsMapperException, IOException {
+        
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        ArgUtils.notNull(clazz, "clazz");
+        
+        return load(xlsIn, clazz, null, errors);
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * <p>ストリームから読み込む場合は、シートのXMLを展開してメモリ上に保持するため、一定のメモリでは読み込めない。
+     *    大きなファイルを読み込む場合は、{@link #load(File, Class, InputStream, SheetBindingErrors)}を利用する。
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return シートが見つからず、設定によりスキップした場合はnullを返す。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final InputStream xlsIn, final Class<P> clazz, final InputStream xmlIn,
+            final SheetBindingErrors errors) throws XlsMapperException, IOException {
+        return load(xlsIn, clazz, xmlIn, errors, null);
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * <p>表のレコードは、引数で指定したハンドラに1件ずつ渡す。
+     * @since 1.5
+     * @param xlsIn 読み込みもとのExcelファイルのストリーム。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @param handlers 表のレコードを1件ずつ処理するハンドラ。指定しない場合は、nullを指定する。
+     * @return シートが見つからず、設定によりスキップした場合はnullを返す。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsIn == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final InputStream xlsIn, final Class<P> clazz, final InputStream xmlIn,
+            final SheetBindingErrors errors, final RecordHandlerRegistry handlers) throws XlsMapperException, IOException {
+        
+        ArgUtils.notNull(xlsIn, "xlsIn");
+        ArgUtils.notNull(clazz, "clazz");
+        
+        final OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(xlsIn);
+        } catch (InvalidFormatException e) {
+            throw new XlsMapperException("fail load Excel File", e);
+        }
+        
+        return load(pkg, clazz, xmlIn, errors, handlers);
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * <p>ファイルから必要なエントリのみを順に展開するため、シートの行数に関わらず、ほぼ一定のメモリで読み込む。
+     * @param xlsFile 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @return シートが見つからず、設定によりスキップした場合はnullを返す。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsFile == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final File xlsFile, final Class<P> clazz) throws XlsMapperException, IOException {
+        
+        ArgUtils.notNull(xlsFile, "xlsFile");
+        ArgUtils.notNull(clazz, "clazz");
+        
+        return load(xlsFile, clazz, null, null);
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * <p>ファイルから必要なエントリのみを順に展開するため、シートの行数に関わらず、ほぼ一定のメモリで読み込む。
+     * @param xlsFile 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @return シートが見つからず、設定によりスキップした場合はnullを返す。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsFile == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final File xlsFile, final Class<P> clazz, final InputStream xmlIn,
+            final SheetBindingErrors errors) throws XlsMapperException, IOException {
+        return load(xlsFile, clazz, xmlIn, errors, null);
+    }
+    
+    /**
+     * Excelファイルの１シートを読み込み、任意のクラスにマッピングする。
+     * <p>ファイルから必要なエントリのみを順に展開するため、シートの行数に関わらず、ほぼ一定のメモリで読み込む。
+     * <p>表のレコードは、引数で指定したハンドラに1件ずつ渡す。
+     * @since 1.5
+     * @param xlsFile 読み込みもとのExcelファイル。
+     * @param clazz マッピング先のクラスタイプ。
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @param errors マッピング時のエラー情報。指定しない場合は、nulを指定する。
+     * @param handlers 表のレコードを1件ずつ処理するハンドラ。指定しない場合は、nullを指定する。
+     * @return シートが見つからず、設定によりスキップした場合はnullを返す。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException xlsFile == null.
+     * @throws IllegalArgumentException clazz == null.
+     */
+    public <P> P load(final File xlsFile, final Class<P> clazz, final InputStream xmlIn,
+            final SheetBindingErrors errors, final RecordHandlerRegistry handlers) throws XlsMapperException, IOException {
+        
+        ArgUtils.notNull(xlsFile, "xlsFile");
+        ArgUtils.notNull(clazz, "clazz");
+        
+        final OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(xlsFile, PackageAccess.READ);
+        } catch (InvalidFormatException e) {
+            throw new XlsMapperException("fail load Excel File", e);
+        }
+        
+        return load(pkg, clazz, xmlIn, errors, handlers);
+    }
+    
+    private <P> P load(final OPCPackage pkg, final Class<P> clazz, final InputStream xmlIn,
+            final SheetBindingErrors errors, final RecordHandlerRegistry handlers) throws XlsMapperException, IOException {
+        
+        try {
+            XmlInfo xmlInfo = null;
+            if(xmlIn != null) {
+                xmlInfo = XmlIO.load(xmlIn);
+            }
+            
+            final LoadingWorkObject work = new LoadingWorkObject();
+            work.setRecordHandlerRegistry(handlers);
+            
+            final AnnotationReader annoReader = new AnnotationReader(xmlInfo);
+            work.setAnnoReader(annoReader);
+            
+            if(errors != null) {
+                work.setErrors(errors);
+            } else {
+                work.setErrors(new SheetBindingErrors(clazz));
+            }
+            
+            final XlsSheet sheetAnno = clazz.getAnnotation(XlsSheet.class);
+            if(sheetAnno == null) {
+                throw new AnnotationInvalidException("Cannot finld annoation '@XlsSheet'", sheetAnno);
+            }
+            
+            final XSSFReader reader = new XSSFReader(pkg);
+            final SheetSource source = findSheet(reader, sheetAnno);
+            try {
+                return loadSheet(reader, source, clazz, work);
+            } finally {
+                source.in.close();
+            }
+        
+        } catch(SheetNotFoundException e) {
+            if(config.isIgnoreSheetNotFound()){
+                logger.warn("skip loading by not-found sheet.", e);
+                return null;
+            } else {
+                throw e;
+            }
+        
+        } catch(OpenXML4JException e) {
+            throw new XlsMapperException("fail load Excel File", e);
+        
+        } finally {
+            // 読み込み専用のため、変更を破棄して閉じる。
+            pkg.revert();
+        }
+    }
+    
+    /**
+     * 読み込み対象のシートの情報。
+     */
+    private static class SheetSource {
+        
+        final String name;
+        
+        final InputStream in;
+        
+        SheetSource(final String name, final InputStream in) {
+            this.name = name;
+            this.in = in;
+        }
+    }
+    
+    /**
+     * アノテーション{@link XlsSheet}の設定値に従い、読み込むシートを取得する。
+     * <p>{@link SheetFinder#findForLoading(org.apache.poi.ss.usermodel.Workbook, XlsSheet, AnnotationReader, Class)}と同じ条件で検索する。
+     * @param reader
+     * @param sheetAnno
+     * @return
+     * @throws SheetNotFoundException 該当のシートが見つからない場合。
+     * @throws AnnotationInvalidException アノテーションの使用方法が不正な場合
+     */
+    private SheetSource findSheet(final XSSFReader reader, final XlsSheet sheetAnno)
+            throws XlsMapperException, IOException, OpenXML4JException {
+        
+        Pattern pattern = null;
+        if(sheetAnno.name().length() == 0 && sheetAnno.number() < 0) {
+            if(sheetAnno.regex().length() == 0) {
+                throw new AnnotationInvalidException("@XlsSheet requires name or number or regex parameter.", sheetAnno);
+            }
+            pattern = Pattern.compile(sheetAnno.regex());
+        }
+        
+        final XSSFReader.SheetIterator itr = (XSSFReader.SheetIterator) reader.getSheetsData();
+        int index = 0;
+        while(itr.hasNext()) {
+            final InputStream in = itr.next();
+            final String sheetName = itr.getSheetName();
+            
+            final boolean matched;
+            if(sheetAnno.name().length() > 0) {
+                matched = sheetAnno.name().equals(sheetName);
+            } else if(sheetAnno.number() >= 0) {
+                matched = sheetAnno.number() == index;
+            } else {
+                matched = pattern.matcher(sheetName).matches();
+            }
+            
+            if(matched) {
+                return new SheetSource(sheetName, in);
+            }
+            
+            in.close();
+            index++;
+        }
+        
+        if(sheetAnno.name().length() > 0) {
+            throw new SheetNotFoundException(sheetAnno.name());
+        } else if(sheetAnno.number() >= 0) {
+            throw new SheetNotFoundException(sheetAnno.number(), index);
+        } else {
+            throw new SheetNotFoundException(sheetAnno.regex());
+        }
+    }
+    
+    /**
+     * シートを読み込み、任意のクラスにマッピングする。
+     * @param reader
+     * @param source 読み込み対象のシート
+     * @param clazz マッピング先のクラスタイプ。
+     * @param work
+     * @return
+     * @throws XlsMapperException
+     */
+    private <P> P loadSheet(final XSSFReader reader, final SheetSource source, final Class<P> clazz,
+            final LoadingWorkObject work) throws XlsMapperException, IOException, OpenXML4JException {
+        
+        // 値の読み込み対象のJavaBeanオブジェクトの作成
+        final P beanObj = config.createBean(clazz);
+        
+        work.getErrors().setSheetName(source.name);
+        work.setupErrorLimits(config);
+        
+        try {
+            // セルの値を変換するための作業用のシート。処理中の行のみを保持する。
+            final XSSFWorkbook scratchBook = new XSSFWorkbook();
+            final Sheet sheet = scratchBook.createSheet(source.name);
+            
+            final SheetMappingDescriptor descriptor = config.getMappingDescriptorCache().getLoadingDescriptor(
+                    clazz, work.getAnnoReader(), config.getFieldProcessorRegistry());
+            
+            // リスナークラスの@PreLoadd用メソッドの実行
+            if(descriptor.getListenerClass() != null) {
+                Object listenerObj = config.createBean(descriptor.getListenerClass());
+                for(Method method : descriptor.getListenerPreMethods()) {
+                    work.invokeNeedProcessMethod(listenerObj, method, beanObj, sheet, config);
+                }
+                
+            }
+            
+            // @PreLoad用のメソッドの実行
+            for(Method method : descriptor.getPreMethods()) {
+                work.invokeNeedProcessMethod(beanObj, method, beanObj, sheet, config);
+            }
+            
+            // @PostLoad用のメソッドの取得
+            for(Method method : descriptor.getPostMethods()) {
+                work.addNeedPostProcess(new NeedProcess(beanObj, beanObj, method));
+            }
+            
+            final List<StreamingBinding> bindings = new ArrayList<>();
+            for(FieldAdaptorProxy adaptorProxy : descriptor.getAdaptorProxies()) {
+                addBinding(bindings, adaptorProxy.getAnnotation(), adaptorProxy.getAdaptor(), beanObj, sheet, work);
+            }
+            
+            // シートを先頭行から走査し、マッピングする。
+            if(!bindings.isEmpty()) {
+                final StylesTable styles = reader.getStylesTable();
+                final List<String> sharedStrings = readSharedStrings(reader.getSharedStringsData());
+                
+                final SheetHandler handler = new SheetHandler(sheet, styles, sharedStrings, bindings);
+                try {
+                    // 外部エンティティの参照やエンティティの展開を制限したパーサを利用する。
+                    final XMLReader xmlReader = SAXHelper.newXMLReader();
+                    xmlReader.setContentHandler(handler);
+                    xmlReader.parse(new InputSource(source.in));
+                
+                } catch(StopParsingException e) {
+                    // 全てのマッピングが完了したため、以降の行は読み込まない。
+                
+                } catch(SAXException e) {
+                    if(e.getException() instanceof XlsMapperException) {
+                        throw (XlsMapperException) e.getException();
+                    }
+                    throw new XlsMapperException(String.format("fail parse sheet '%s'.", source.name), e);
+                
+                } catch(ParserConfigurationException e) {
+                    throw new XlsMapperException(String.format("fail parse sheet '%s'.", source.name), e);
+                }
+                
+                for(StreamingBinding binding : bindings) {
+                    binding.finish();
+                }
+            }
+            
+            // リスナークラスの@PostLoadの取得
+            if(descriptor.getListenerClass() != null) {
+                Object listenerObj = config.createBean(descriptor.getListenerClass());
+                for(Method method : descriptor.getListenerPostMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(beanObj, listenerObj, method));
+                }
+                
+            }
+            
+            //@PostLoadが付与されているメソッドの実行
+            for(NeedProcess need : work.getNeedPostProcesses()) {
+                work.invokeNeedProcessMethod(need.getProcess(), need.getMethod(), need.getTarget(), sheet, config);
+            }
+            
+            return beanObj;
+        } finally {
+            // 読み込み用のエラーの件数の上限を、呼び出し元の設定に戻す。
+            work.restoreErrorLimits();
+        }
+    }
+    
+    /**
+     * アノテーションに対応するマッピング処理を追加する。
+     * <p>シート名は、シートを走査する前に設定する。
+     * @throws AnnotationInvalidException ストリーミングでの読み込みに対応していないアノテーションの場合。
+     */
+    private void addBinding(final List<StreamingBinding> bindings, final Annotation anno, final FieldAdaptor adaptor,
+            final Object beanObj, final Sheet sheet, final LoadingWorkObject work) throws XlsMapperException {
+        
+        if(anno instanceof XlsSheetName) {
+            adaptor.setValue(beanObj, sheet.getSheetName());
+        
+        } else if(anno instanceof XlsCell) {
+            bindings.add(new CellBinding((XlsCell) anno, adaptor, beanObj, sheet, work));
+        
+        } else if(anno instanceof XlsLabelledCell) {
+            bindings.add(new LabelledCellBinding((XlsLabelledCell) anno, adaptor, beanObj, sheet, work));
+        
+        } else if(anno instanceof XlsHorizontalRecords) {
+            bindings.add(new HorizontalRecordsBinding((XlsHorizontalRecords) anno, adaptor, beanObj, sheet, work));
+        
+        } else {
+            throw new AnnotationInvalidException(
+                    String.format("With '%s', annotation '@%s' is not supported in streaming loading.",
+                            adaptor.getNameWithClass(), anno.annotationType().getSimpleName()),
+                    anno);
+        }
+    
+    }
+    
+    /**
+     * 読み込み時用のConveterを取得する。
+     * <p>{@link com.gh.mygreen.xlsmapper.fieldprocessor.AbstractFieldProcessor}と同じく、
+     *    アノテーション「{@link XlsConverter#converterClass()}」が設定されていた場合を考慮する。
+     * @param adaptor フィールド情報
+     * @return
+     * @throws XlsMapperException Converterが見つからない場合。
+     */
+    private CellConverter<?> getLoadingCellConverter(final FieldAdaptor adaptor) throws XlsMapperException {
+        
+        final XlsConverter converterAnno = adaptor.getLoadingAnnotation(XlsConverter.class);
+        if(converterAnno != null && !converterAnno.converterClass().equals(DefaultCellConverter.class)) {
+            return config.createBean(converterAnno.converterClass());
+        }
+        
+        final CellConverter<?> converter = config.getConverterRegistry().getConverter(adaptor.getTargetClass());
+        if(converter == null) {
+            throw new ConversionException(
+                    String.format("not found CellConverter for type '%s'.", adaptor.getTargetClass().getName()),
+                    adaptor.getTargetClass());
+        }
+        
+        return converter;
+    }
+    
+    /**
+     * 共有文字列のテーブルを読み込む。
+     * <p>ふりがな（要素'rPh'）は除外する。
+     * @param in 共有文字列のテーブル。存在しない場合はnull。
+     * @return インデックス順の文字列
+     */
+    private List<String> readSharedStrings(final InputStream in) throws XlsMapperException, IOException {
+        
+        final List<String> strings = new ArrayList<>();
+        if(in == null) {
+            return strings;
+        }
+        
+        try {
+            // 外部エンティティの参照やエンティティの展開を制限したパーサを利用する。
+            final XMLReader xmlReader = SAXHelper.newXMLReader();
+            xmlReader.setContentHandler(new DefaultHandler() {
+                
+                private final StringBuilder text = new StringBuilder();
+                
+                private boolean inText;
+                
+                private int phoneticDepth;
+                
+                @Override
+                public void startElement(final String uri, final String localName, final String qName, final Attributes attributes) {
+                    if("si".equals(localName)) {
+                        text.setLength(0);
+                    } else if("rPh".equals(localName)) {
+                        phoneticDepth++;
+                    } else if("t".equals(localName) && phoneticDepth == 0) {
+                        inText = true;
+                    }
+                }
+                
+                @Override
+                public void endElement(final String uri, final String localName, final String qName) {
+                    if("si".equals(localName)) {
+                        strings.add(text.toString());
+                    } else if("rPh".equals(localName)) {
+                        phoneticDepth--;
+                    } else if("t".equals(localName)) {
+                        inText = false;
+                    }
+                }
+                
+                @Override
+                public void characters(final char[] ch, final int start, final int length) {
+                    if(inText) {
+                        text.append(ch, start, length);
+                    }
+                }
+            });
+            xmlReader.parse(new InputSource(in));
+        
+        } catch(ParserConfigurationException | SAXException e) {
+            throw new XlsMapperException("fail parse shared strings.", e);
+        
+        } finally {
+            in.close();
+        }
+        
+        return strings;
+    }
+    
+    /**
+     * 全てのマッピングが完了し、シートの走査を中断するときにスローする例外。
+     */
+    private static class StopParsingException extends SAXException {
+        
+        /** serialVersionUID */
+        private static final long serialVersionUID = 1L;
+        
+        StopParsingException() {
+            super("stop parsing.");
+        }
+    }
+    
+    /**
+     * シートのXMLを走査し、1行ずつ作業用のシートに展開して、マッピング処理に渡すハンドラ。
+     * <p>1行の処理が終わると、作業用のシートから行を削除する。
+     */
+    private static class SheetHandler extends DefaultHandler {
+        
+        private final Sheet sheet;
+        
+        private final StylesTable styles;
+        
+        private final List<String> sharedStrings;
+        
+        private final List<StreamingBinding> bindings;
+        
+        /**
+         * 元のシートのスタイルのインデックスと、作業用のシートのスタイルの対応
+         */
+        private final Map<Integer, CellStyle> styleCache = new HashMap<>();
+        
+        private final StringBuilder value = new StringBuilder();
+        
+        private Row currentRow;
+        
+        private int lastRowIndex = -1;
+        
+        private int nextColumnIndex;
+        
+        private int cellColumnIndex;
+        
+        private String cellType;
+        
+        private int cellStyleIndex;
+        
+        private boolean inValue;
+        
+        private boolean inInlineString;
+        
+        private int phoneticDepth;
+        
+        SheetHandler(final Sheet sheet, final StylesTable styles, final List<String> sharedStrings,
+                final List<StreamingBinding> bindings) {
+            this.sheet = sheet;
+            this.styles = styles;
+            this.sharedStrings = sharedStrings;
+            this.bindings = bindings;
+        }
+        
+        @Override
+        public void startElement(final String uri, final String localName, final String qName, final Attributes attributes)
+                throws SAXException {
+            
+            if("row".equals(localName)) {
+                final String ref = attributes.getValue("r");
+                final int rowIndex = (ref != null ? Integer.parseInt(ref) - 1 : lastRowIndex + 1);
+                
+                // 間の空行を、処理を待っているものがあれば補完する。
+                for(int i=lastRowIndex+1; i < rowIndex; i++) {
+                    if(isAwaiting(i)) {
+                        final Row blankRow = sheet.createRow(i);
+                        dispatch(blankRow);
+                        sheet.removeRow(blankRow);
+                    }
+                }
+                
+                currentRow = sheet.createRow(rowIndex);
+                nextColumnIndex = 0;
+            
+            } else if("c".equals(localName)) {
+                final String ref = attributes.getValue("r");
+                cellColumnIndex = (ref != null ? new CellReference(ref).getCol() : nextColumnIndex);
+                cellType = attributes.getValue("t");
+                
+                final String style = attributes.getValue("s");
+                cellStyleIndex = (style != null ? Integer.parseInt(style) : -1);
+                value.setLength(0);
+            
+            } else if("v".equals(localName)) {
+                inValue = true;
+            
+            } else if("is".equals(localName)) {
+                inInlineString = true;
+            
+            } else if("rPh".equals(localName)) {
+                phoneticDepth++;
+            
+            } else if("t".equals(localName) && inInlineString && phoneticDepth == 0) {
+                inValue = true;
+            }
+        }
+        
+        @Override
+        public void endElement(final String uri, final String localName, final String qName) throws SAXException {
+            
+            if("v".equals(localName) || "t".equals(localName)) {
+                inValue = false;
+            
+            } else if("is".equals(localName)) {
+                inInlineString = false;
+            
+            } else if("rPh".equals(localName)) {
+                phoneticDepth--;
+            
+            } else if("c".equals(localName)) {
+                createCell();
+                nextColumnIndex = cellColumnIndex + 1;
+            
+            } else if("row".equals(localName)) {
+                dispatch(currentRow);
+                lastRowIndex = currentRow.getRowNum();
+                sheet.removeRow(currentRow);
+                currentRow = null;
+                
+                if(isCompleted()) {
+                    throw new StopParsingException();
+                }
+            }
+        }
+        
+        @Override
+        public void characters(final char[] ch, final int start, final int length) throws SAXException {
+            if(inValue) {
+                value.append(ch, start, length);
+            }
+        }
+        
+        /**
+         * 読み込んだセルの値を、作業用のシートのセルとして作成する。
+         */
+        private void createCell() {
+            
+            final Cell cell = currentRow.createCell(cellColumnIndex);
+            if(cellStyleIndex >= 0) {
+                cell.setCellStyle(getCellStyle(cellStyleIndex));
+            }
+            
+            final String text = value.toString();
+            if("s".equals(cellType)) {
+                if(!text.isEmpty()) {
+                    cell.setCellValue(sharedStrings.get(Integer.parseInt(text)));
+                }
+            
+            } else if("inlineStr".equals(cellType) || "str".equals(cellType)) {
+                cell.setCellValue(text);
+            
+            } else if("b".equals(cellType)) {
+                if(!text.isEmpty()) {
+                    cell.setCellValue("1".equals(text) || "true".equalsIgnoreCase(text));
+                }
+            
+            } else if("e".equals(cellType)) {
+                try {
+                    cell.setCellErrorValue(FormulaError.forString(text).getCode());
+                } catch(IllegalArgumentException e) {
+                    cell.setCellValue(text);
+                }
+            
+            } else if(!text.isEmpty()) {
+                cell.setCellValue(Double.parseDouble(text));
+            }
+        
+        }
+        
+        /**
+         * 元のシートのスタイルに対応する作業用のスタイルを取得する。
+         * <p>変換処理で参照する表示形式と罫線のみを引き継ぐ。
+         * @param index 元のシートのスタイルのインデックス
+         * @return
+         */
+        private CellStyle getCellStyle(final int index) {
+            
+            CellStyle style = styleCache.get(index);
+            if(style != null) {
+                return style;
+            }
+            
+            final XSSFCellStyle orgStyle = styles.getStyleAt(index);
+            final Sheet scratchSheet = sheet;
+            style = scratchSheet.getWorkbook().createCellStyle();
+            if(orgStyle != null) {
+                style.setDataFormat(scratchSheet.getWorkbook().createDataFormat().getFormat(orgStyle.getDataFormatString()));
+                style.setBorderTop(orgStyle.getBorderTop());
+                style.setBorderBottom(orgStyle.getBorderBottom());
+                style.setBorderLeft(orgStyle.getBorderLeft());
+                style.setBorderRight(orgStyle.getBorderRight());
+            }
+            
+            styleCache.put(index, style);
+            return style;
+        }
+        
+        private boolean isAwaiting(final int rowIndex) {
+            for(StreamingBinding binding : bindings) {
+                if(!binding.completed && binding.isAwaiting(rowIndex)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private boolean isCompleted() {
+            for(StreamingBinding binding : bindings) {
+                if(!binding.completed) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private void dispatch(final Row row) throws SAXException {
+            for(StreamingBinding binding : bindings) {
+                if(binding.completed) {
+                    continue;
+                }
+                
+                try {
+                    binding.processRow(row);
+                } catch(XlsMapperException e) {
+                    throw new SAXException(e);
+                }
+            }
+        }
+    
+    }
+    
+    /**
+     * 1つのフィールドに対する、シートを走査しながらのマッピング処理。
+     */
+    private static abstract class StreamingBinding {
+        
+        /**
+         * マッピングが完了したかどうか。
+         */
+        boolean completed;
+        
+        /**
+         * 指定した行の読み込みを待っているかどうか。
+         * <p>シート上に存在しない行でも、trueを返した場合は空の行として{@link #processRow(Row)}が呼ばれる。
+         * @param rowIndex 行番号（0から始まる）
+         * @return
+         */
+        abstract boolean isAwaiting(int rowIndex);
+        
+        /**
+         * 1行分のセルを処理する。
+         * @param row 作業用のシートの行
+         * @throws XlsMapperException
+         */
+        abstract void processRow(Row row) throws XlsMapperException;
+        
+        /**
+         * シートの走査が終わったときに、未完了のマッピングを処理する。
+         * @throws XlsMapperException
+         */
+        abstract void finish() throws XlsMapperException;
+    
+    }
+    
+    /**
+     * アノテーション{@link XlsCell}のマッピング処理。
+     */
+    private class CellBinding extends StreamingBinding {
+        
+        private final FieldAdaptor adaptor;
+        
+        private final Object beanObj;
+        
+        private final Sheet sheet;
+        
+        private final LoadingWorkObject work;
+        
+        private final Point position;
+        
+        CellBinding(final XlsCell anno, final FieldAdaptor adaptor, final Object beanObj, final Sheet sheet,
+                final LoadingWorkObject work) throws AnnotationInvalidException {
+            this.adaptor = adaptor;
+            this.beanObj = beanObj;
+            this.sheet = sheet;
+            this.work = work;
+            
+            if(Utils.isNotEmpty(anno.address())) {
+                this.position = Utils.parseCellAddress(anno.address());
+                if(position == null) {
+                    throw new AnnotationInvalidException("@XlsCell attribute 'address' cannot be valid address.", anno);
+                }
+            
+            } else {
+                if(anno.row() < 0 || anno.column() < 0) {
+                    throw new AnnotationInvalidException(
+                            String.format("@XlsCell#column or row sould be greater than or equal zero. (column=%d, row=%d)",
+                                    anno.column(), anno.row()), anno);
+                }
+                this.position = new Point(anno.column(), anno.row());
+            }
+        }
+        
+        @Override
+        boolean isAwaiting(final int rowIndex) {
+            return rowIndex == position.y;
+        }
+        
+        @Override
+        void processRow(final Row row) throws XlsMapperException {
+            if(row.getRowNum() == position.y) {
+                bind(row.getCell(position.x, Row.CREATE_NULL_AS_BLANK));
+            }
+        }
+        
+        @Override
+        void finish() throws XlsMapperException {
+            if(!completed) {
+                bind(POIUtils.getCell(sheet, position.x, position.y));
+            }
+        }
+        
+        private void bind(final Cell cell) throws XlsMapperException {
+            completed = true;
+            
+            Utils.setPosition(position.x, position.y, beanObj, adaptor.getName());
+            
+            final CellConverter<?> converter = getLoadingCellConverter(adaptor);
+            try {
+                final Object value = converter.toObject(cell, adaptor, config);
+                adaptor.setValue(beanObj, value);
+            } catch(TypeBindException e) {
+                work.addTypeBindError(e, position, adaptor.getName(), null);
+                if(!config.isContinueTypeBindFailure()) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    /**
+     * アノテーション{@link XlsLabelledCell}のマッピング処理。
+     */
+    private class LabelledCellBinding extends StreamingBinding {
+        
+        private final XlsLabelledCell anno;
+        
+        private final FieldAdaptor adaptor;
+        
+        private final Object beanObj;
+        
+        private final Sheet sheet;
+        
+        private final LoadingWorkObject work;
+        
+        private final int range;
+        
+        /**
+         * 見出しのセルの位置。属性headerLabelを指定した場合のみ。
+         */
+        private Point headerPosition;
+        
+        /**
+         * ラベルのセルの位置。ラベルで指定した場合、見つかるまではnull。
+         */
+        private Point labelPosition;
+        
+        private String labelText;
+        
+        /**
+         * 見出しのラベルと比較するインスタンス
+         */
+        private final LabelMatcher headerLabelMatcher;
+        
+        /**
+         * ラベルと比較するインスタンス
+         */
+        private final LabelMatcher labelMatcher;
+        
+        LabelledCellBinding(final XlsLabelledCell anno, final FieldAdaptor adaptor, final Object beanObj, final Sheet sheet,
+                final LoadingWorkObject work) throws AnnotationInvalidException {
+            this.anno = anno;
+            this.adaptor = adaptor;
+            this.beanObj = beanObj;
+            this.sheet = sheet;
+            this.work = work;
+            this.range = anno.range() < 1 ? 1 : anno.range();
+            this.headerLabelMatcher = LabelMatcher.compile(anno.headerLabel(), config);
+            this.labelMatcher = LabelMatcher.compile(anno.label(), config);
+            
+            if(Utils.isNotEmpty(anno.labelAddress())) {
+                this.labelPosition = Utils.parseCellAddress(anno.labelAddress());
+                if(labelPosition == null) {
+                    throw new AnnotationInvalidException(
+                            String.format("@XlsLabelledCell#labelAddress is wrong cell address '%s'.", anno.labelAddress()), anno);
+                }
+            
+            } else if(Utils.isEmpty(anno.label())) {
+                // column, rowのアドレスを直接指定の場合
+                if(anno.labelColumn() < 0 || anno.labelRow() < 0) {
+                    throw new AnnotationInvalidException(
+                            String.format("@XlsLabelledCell#labelColumn or labelRow should be greater than or equal zero. (labelColumn=%d, labelRow=%d)",
+                                    anno.labelColumn(), anno.labelRow()), anno);
+                }
+                this.labelPosition = new Point(anno.labelColumn(), anno.labelRow());
+            }
+        }
+        
+        @Override
+        boolean isAwaiting(final int rowIndex) {
+            if(labelPosition == null) {
+                return false;
+            }
+            
+            if(rowIndex == labelPosition.y) {
+                return true;
+            }
+            
+            if(anno.type() == LabelledCellType.Bottom) {
+                final int index = rowIndex - labelPosition.y - anno.skip() - 1;
+                return index >= 0 && index < range;
+            }
+            
+            return false;
+        }
+        
+        @Override
+        void processRow(final Row row) throws XlsMapperException {
+            
+            final int rowIndex = row.getRowNum();
+            if(labelPosition == null) {
+                findLabel(row);
+                if(labelPosition == null) {
+                    return;
+                }
+            }
+            
+            if(rowIndex == labelPosition.y) {
+                labelText = POIUtils.getCellContents(row.getCell(labelPosition.x, Row.CREATE_NULL_AS_BLANK), config.getCellFormatter());
+                
+                if(anno.type() == LabelledCellType.Left || anno.type() == LabelledCellType.Right) {
+                    final Point targetPosition = new Point();
+                    Cell targetCell = null;
+                    for(int i=0; i < range; i++) {
+                        final int index = anno.skip() + i +1;
+                        targetPosition.x = (anno.type() == LabelledCellType.Left ? labelPosition.x - index : labelPosition.x + index);
+                        targetPosition.y = rowIndex;
+                        targetCell = row.getCell(targetPosition.x, Row.CREATE_NULL_AS_BLANK);
+                        
+                        if(POIUtils.getCellContents(targetCell, config.getCellFormatter()).length() > 0) {
+                            break;
+                        }
+                    }
+                    
+                    bind(targetCell, targetPosition);
+                }
+            
+            } else if(anno.type() == LabelledCellType.Bottom && rowIndex > labelPosition.y) {
+                final int index = rowIndex - labelPosition.y - anno.skip() - 1;
+                if(index < 0 || index >= range) {
+                    return;
+                }
+                
+                final Cell targetCell = row.getCell(labelPosition.x, Row.CREATE_NULL_AS_BLANK);
+                if(POIUtils.getCellContents(targetCell, config.getCellFormatter()).length() > 0 || index == range - 1) {
+                    bind(targetCell, new Point(labelPosition.x, rowIndex));
+                }
+            }
+        
+        }
+        
+        /**
+         * ラベルのセルを検索する。
+         * <p>属性headerLabelが指定されている場合は、見出しのセルを見つけた後、その次の行以降から検索する。
+         */
+        private void findLabel(final Row row) {
+            
+            if(Utils.isNotEmpty(anno.headerLabel()) && headerPosition == null) {
+                final Cell headerCell = findCell(row, headerLabelMatcher, 0);
+                if(headerCell != null) {
+                    headerPosition = new Point(headerCell.getColumnIndex(), headerCell.getRowIndex());
+                }
+                return;
+            }
+            
+            final Cell labelCell = findCell(row, labelMatcher, headerPosition != null ? headerPosition.x : 0);
+            if(labelCell != null) {
+                labelPosition = new Point(labelCell.getColumnIndex(), labelCell.getRowIndex());
+            }
+        }
+        
+        @Override
+        void finish() throws XlsMapperException {
+            if(completed) {
+                return;
+            }
+            
+            if(labelPosition == null) {
+                if(anno.optional()) {
+                    completed = true;
+                    return;
+                }
+                
+                final String label = (Utils.isNotEmpty(anno.headerLabel()) && headerPosition == null) ? anno.headerLabel() : anno.label();
+                throw new CellNotFoundException(sheet.getSheetName(), label);
+            }
+            
+            // シートの末尾を超えている場合は、空のセルとして扱う。
+            final Point targetPosition;
+            final int index = anno.skip() + range;
+            if(anno.type() == LabelledCellType.Left) {
+                targetPosition = new Point(labelPosition.x - index, labelPosition.y);
+            } else if(anno.type() == LabelledCellType.Right) {
+                targetPosition = new Point(labelPosition.x + index, labelPosition.y);
+            } else {
+                targetPosition = new Point(labelPosition.x, labelPosition.y + index);
+            }
+            
+            bind(POIUtils.getCell(sheet, targetPosition), targetPosition);
+        }
+        
+        private void bind(final Cell targetCell, final Point position) throws XlsMapperException {
+            completed = true;
+            
+            Utils.setPosition(position.x, position.y, beanObj, adaptor.getName());
+            Utils.setLabel(labelText == null ? "" : labelText, beanObj, adaptor.getName());
+            
+            final CellConverter<?> converter = getLoadingCellConverter(adaptor);
+            try {
+                final Object value = converter.toObject(targetCell, adaptor, config);
+                adaptor.setValue(beanObj, value);
+            } catch(TypeBindException e) {
+                work.addTypeBindError(e, position, adaptor.getName(), labelText);
+                if(!config.isContinueTypeBindFailure()) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    /**
+     * 表のマッピング処理の状態
+     */
+    private static enum RecordsState {
+        /** 表の見出しのラベルを検索中 */
+        FindLabel,
+        /** 見出しの行を待っている */
+        WaitHeader,
+        /** レコードを読み込み中 */
+        ReadRecord,
+        ;
+    }
+    
+    /**
+     * アノテーション{@link XlsHorizontalRecords}のマッピング処理。
+     */
+    private class HorizontalRecordsBinding extends StreamingBinding {
+        
+        private final XlsHorizontalRecords anno;
+        
+        private final FieldAdaptor adaptor;
+        
+        private final Object beanObj;
+        
+        private final Sheet sheet;
+        
+        private final LoadingWorkObject work;
+        
+        private final Class<?> recordClass;
+        
+        private final RecordTerminal terminal;
+        
+        /**
+         * 終端のラベルと比較するインスタンス。終端のラベルの指定がない場合はnull。
+         */
+        private final LabelMatcher terminateMatcher;
+        
+        /**
+         * 表の見出しのラベルと比較するインスタンス。
+         */
+        private final LabelMatcher tableLabelMatcher;
+        
+        /**
+         * レコードが空かどうか判定するメソッド。空のレコードを無視しない場合や、メソッドがない場合はnull。
+         */
+        private final Method isEmptyMethod;
+        
+        private final List<Object> result = new ArrayList<>();
+        
+        /**
+         * レコードを1件ずつ処理するハンドラ。登録されていない場合はnull。
+         */
+        private final RecordHandler<Object> handler;
+        
+        private int recordIndex;
+        
+        private final List<RecordHeader> headers = new ArrayList<>();
+        
+        /**
+         * 見出しごとのマッピング対象のプロパティ
+         */
+        private final List<List<FieldAdaptor>> headerProperties = new ArrayList<>();
+        
+        private RecordsState state;
+        
+        private String tableLabelText;
+        
+        private int initColumn;
+        
+        private int headerRow;
+        
+        private int recordRow;
+        
+        private int startHeaderIndex;
+        
+        HorizontalRecordsBinding(final XlsHorizontalRecords anno, final FieldAdaptor adaptor, final Object beanObj,
+                final Sheet sheet, final LoadingWorkObject work) throws XlsMapperException {
+            this.anno = anno;
+            this.adaptor = adaptor;
+            this.beanObj = beanObj;
+            this.sheet = sheet;
+            this.work = work;
+            this.terminal = anno.terminal() == null ? RecordTerminal.Empty : anno.terminal();
+            this.terminateMatcher = anno.terminateLabel().isEmpty() ? null : LabelMatcher.compile(anno.terminateLabel(), config);
+            this.tableLabelMatcher = LabelMatcher.compile(anno.tableLabel(), config);
+            this.handler = work.getRecordHandler(beanObj.getClass(), adaptor.getName());
+            
+            final Class<?> clazz = adaptor.getTargetClass();
+            if(!Collection.class.isAssignableFrom(clazz) && !clazz.isArray()) {
+                throw new AnnotationInvalidException(
+                        String.format("With '%s', '@XlsHorizontalRecords' should only granted Collection(List/Set) or Array. : %s",
+                                adaptor.getNameWithClass(), clazz.getName()),
+                                anno);
+            }
+            
+            Class<?> recordClass = anno.recordClass();
+            if(recordClass == Object.class) {
+                recordClass = adaptor.getLoadingGenericClassType();
+            }
+            this.recordClass = recordClass;
+            
+            checkRecordClass();
+            
+            this.isEmptyMethod = anno.ignoreEmptyRecord() ? findIsEmptyMethod(recordClass, work.getAnnoReader()) : null;
+            
+            // get table starting position
+            if(Utils.isNotEmpty(anno.headerAddress())) {
+                final Point address = Utils.parseCellAddress(anno.headerAddress());
+                if(address == null) {
+                    throw new AnnotationInvalidException(
+                            String.format("With '%s, @XlsHorizontalRecords#headerAddress is wrong cell address '%s'.",
+                                    adaptor.getNameWithClass(), anno.headerAddress()), anno);
+                }
+                
+                this.initColumn = address.x;
+                this.headerRow = address.y;
+                this.state = RecordsState.WaitHeader;
+            
+            } else if(Utils.isNotEmpty(anno.tableLabel())) {
+                this.state = RecordsState.FindLabel;
+            
+            } else {
+                // column, rowのアドレスを直接指定の場合
+                if(anno.headerColumn() < 0 || anno.headerRow() < 0) {
+                    throw new AnnotationInvalidException(
+                            String.format("With '%s', @XlsHorizontalRecors#headerColumn or headerRow should be greater than or equal zero. (headerColumn=%d, headerRow=%d)",
+                                    adaptor.getNameWithClass(), anno.headerColumn(), anno.headerRow()), anno);
+                }
+                
+                this.initColumn = anno.headerColumn();
+                this.headerRow = anno.headerRow();
+                this.state = RecordsState.WaitHeader;
+            }
+        
+        }
+        
+        /**
+         * レコードのクラスが、ストリーミングでの読み込みに対応しているかチェックする。
+         * @throws AnnotationInvalidException 対応していないアノテーションが付与されている場合。
+         */
+        private void checkRecordClass() throws AnnotationInvalidException {
+            
+            final AnnotationReader annoReader = work.getAnnoReader();
+            if(!Utils.getLoadingMapColumnProperties(recordClass, annoReader).isEmpty()
+                    || !Utils.getLoadingNestedRecordsProperties(recordClass, annoReader).isEmpty()) {
+                throw new AnnotationInvalidException(
+                        String.format("With '%s', record class '%s' should only granted '@XlsColumn' in streaming loading.",
+                                adaptor.getNameWithClass(), recordClass.getName()),
+                        anno);
+            }
+            
+            for(FieldAdaptor property : Utils.getLoadingColumnProperties(recordClass, null, annoReader, config)) {
+                final XlsColumn column = property.getLoadingAnnotation(XlsColumn.class);
+                if(column.merged()) {
+                    throw new AnnotationInvalidException(
+                            String.format("With '%s', '@XlsColumn#merged' is not supported in streaming loading.",
+                                    property.getNameWithClass()),
+                            column);
+                }
+            }
+        }
+        
+        @Override
+        boolean isAwaiting(final int rowIndex) {
+            if(state == RecordsState.WaitHeader) {
+                return rowIndex == headerRow;
+            } else if(state == RecordsState.ReadRecord) {
+                return rowIndex == recordRow;
+            }
+            return false;
+        }
+        
+        @Override
+        void processRow(final Row row) throws XlsMapperException {
+            
+            final int rowIndex = row.getRowNum();
+            if(state == RecordsState.FindLabel) {
+                final Cell labelCell = findCell(row, tableLabelMatcher, 0);
+                if(labelCell == null) {
+                    return;
+                }
+                
+                tableLabelText = POIUtils.getCellContents(labelCell, config.getCellFormatter());
+                initColumn = labelCell.getColumnIndex();
+                headerRow = labelCell.getRowIndex() + anno.bottom();
+                state = RecordsState.WaitHeader;
+            }
+            
+            if(state == RecordsState.WaitHeader && rowIndex == headerRow) {
+                loadHeaders(row);
+                recordRow = headerRow + anno.headerBottom();
+                state = RecordsState.ReadRecord;
+            }
+            
+            if(state == RecordsState.ReadRecord && rowIndex == recordRow) {
+                loadRecord(row);
+                recordRow++;
+            }
+        
+        }
+        
+        /**
+         * 見出しの行を読み込む。
+         */
+        private void loadHeaders(final Row row) throws XlsMapperException {
+            
+            int hColumn = initColumn;
+            int rangeCount = 1;
+            while(true) {
+                Cell cell = row.getCell(hColumn, Row.CREATE_NULL_AS_BLANK);
+                
+                while(POIUtils.isEmptyCellContents(cell, config.getCellFormatter()) && rangeCount < anno.range()) {
+                    cell = row.getCell(hColumn + rangeCount, Row.CREATE_NULL_AS_BLANK);
+                    rangeCount++;
+                }
+                
+                final String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
+                if(Utils.isEmpty(cellValue)){
+                    break;
+                }
+                
+                headers.add(new RecordHeader(cellValue, cell.getColumnIndex() - initColumn));
+                hColumn = hColumn + rangeCount;
+                rangeCount = 1;
+                
+                if(anno.headerLimit() > 0 && headers.size() >= anno.headerLimit()){
+                    break;
+                }
+            }
+            
+            prepareHeaders();
+        }
+        
+        /**
+         * 見出しに対するプロパティの対応を準備する。
+         */
+        private void prepareHeaders() throws XlsMapperException {
+            
+            // Check for columns
+            RecordsProcessorUtil.checkColumns(sheet, recordClass, headers, work.getAnnoReader(), config);
+            
+            startHeaderIndex = -1;
+            for(int i=0; i < headers.size(); i++) {
+                final List<FieldAdaptor> properties = Utils.getLoadingColumnProperties(
+                        recordClass, headers.get(i).getLabel(), work.getAnnoReader(), config);
+                headerProperties.add(properties);
+                
+                if(startHeaderIndex < 0 && !properties.isEmpty()) {
+                    startHeaderIndex = i;
+                }
+            }
+            
+            if(startHeaderIndex < 0) {
+                startHeaderIndex = 0;
+            }
+        }
+        
+        /**
+         * 1レコード分を読み込む。終端の行の場合は、マッピングを完了する。
+         */
+        private void loadRecord(final Row row) throws XlsMapperException {
+            
+            // find end of the table
+            boolean emptyFlag = true;
+            for(int i=0; i < headers.size(); i++) {
+                final Cell cell = row.getCell(initColumn + headers.get(i).getInterval(), Row.CREATE_NULL_AS_BLANK);
+                if(!POIUtils.isEmptyCellContents(cell, config.getCellFormatter())){
+                    emptyFlag = false;
+                }
+                
+                if(terminal == RecordTerminal.Border && i == startHeaderIndex){
+                    final CellStyle format = cell.getCellStyle();
+                    if(format != null && !(format.getBorderLeft() == CellStyle.BORDER_NONE)){
+                        emptyFlag = false;
+                    } else {
+                        emptyFlag = true;
+                        break;
+                    }
+                }
+                
+                if(terminateMatcher != null){
+                    if(terminateMatcher.matches(POIUtils.getCellContents(cell, config.getCellFormatter()))){
+                        emptyFlag = true;
+                        break;
+                    }
+                }
+            }
+            
+            if(emptyFlag) {
+                complete();
+                return;
+            }
+            
+            // recordは、マッピング先のオブジェクトのインスタンス。
+            final Object record = config.createBean(recordClass);
+            
+            // パスの位置の変更
+            work.getErrors().pushNestedPath(adaptor.getName(), recordIndex);
+            
+            // execute PreProcess listener
+            final RecordLifeCycle lifeCycle = work.getRecordLifeCycle(record.getClass(), config);
+            for(Method method : lifeCycle.getListenerPreMethods()) {
+                work.invokeNeedProcessMethod(lifeCycle.getListener(), method, record, sheet, config);
+            }
+            
+            // execute PreProcess method
+            for(Method method : lifeCycle.getPreMethods()) {
+                work.invokeNeedProcessMethod(record, method, record, sheet, config);
+            }
+            
+            // mapping from Excel columns to Object properties.
+            for(int i=0; i < headers.size(); i++) {
+                final RecordHeader headerInfo = headers.get(i);
+                final int hColumn = initColumn + headerInfo.getInterval();
+                
+                for(FieldAdaptor property : headerProperties.get(i)) {
+                    final XlsColumn column = property.getLoadingAnnotation(XlsColumn.class);
+                    final Cell valueCell = row.getCell(hColumn + Math.max(column.headerMerged(), 0), Row.CREATE_NULL_AS_BLANK);
+                    
+                    // set for value
+                    Utils.setPosition(valueCell.getColumnIndex(), valueCell.getRowIndex(), record, property.getName());
+                    Utils.setLabel(headerInfo.getLabel(), record, property.getName());
+                    final CellConverter<?> converter = getLoadingCellConverter(property);
+                    try {
+                        final Object value = converter.toObject(valueCell, property, config);
+                        property.setValue(record, value);
+                    } catch(TypeBindException e) {
+                        work.addTypeBindError(e, valueCell, property.getName(), headerInfo.getLabel());
+                        if(!config.isContinueTypeBindFailure()) {
+                            throw e;
+                        }
+                    }
+                }
+            }
+            
+            final boolean added = !anno.ignoreEmptyRecord() || !isEmptyRecord(record, isEmptyMethod);
+            if(added && handler == null) {
+                result.add(record);
+            }
+            
+            if(handler != null) {
+                // ハンドラに渡す前に実行する
+                for(Method method : lifeCycle.getListenerPostMethods()) {
+                    work.invokeNeedProcessMethod(lifeCycle.getListener(), method, record, sheet, config);
+                }
+                
+                for(Method method : lifeCycle.getPostMethods()) {
+                    work.invokeNeedProcessMethod(record, method, record, sheet, config);
+                }
+                
+            } else {
+                // set PostProcess listener
+                for(Method method : lifeCycle.getListenerPostMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, lifeCycle.getListener(), method));
+                }
+                
+                // set PostProcess method
+                for(Method method : lifeCycle.getPostMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, record, method));
+                }
+            }
+            
+            if(added) {
+                if(handler != null) {
+                    handler.handle(record, recordIndex, work.getErrors());
+                }
+                recordIndex++;
+            }
+            
+            // パスの位置の変更
+            work.getErrors().popNestedPath();
+        }
+        
+        @Override
+        void finish() throws XlsMapperException {
+            if(completed) {
+                return;
+            }
+            
+            if(state == RecordsState.FindLabel) {
+                if(anno.optional()) {
+                    completed = true;
+                    return;
+                }
+                throw new CellNotFoundException(sheet.getSheetName(), anno.tableLabel());
+            }
+            
+            if(state == RecordsState.WaitHeader) {
+                // 見出しの行がシートの末尾を超えている場合
+                prepareHeaders();
+            }
+            
+            complete();
+        }
+        
+        /**
+         * 読み込んだレコードをフィールドに設定し、マッピングを完了する。
+         */
+        private void complete() {
+            completed = true;
+            
+            if(tableLabelText != null) {
+                Utils.setLabel(tableLabelText, beanObj, adaptor.getName());
+            }
+            
+            if(handler != null) {
+                // レコードはハンドラで処理済み
+                return;
+            }
+            
+            final Class<?> clazz = adaptor.getTargetClass();
+            if(Collection.class.isAssignableFrom(clazz)) {
+                @SuppressWarnings({"unchecked", "rawtypes"})
+                Collection<?> collection = Utils.convertListToCollection(result, (Class<Collection>)clazz, config.getBeanFactory());
+                adaptor.setValue(beanObj, collection);
+            
+            } else {
+                final Object array = Array.newInstance(recordClass, result.size());
+                for(int i=0; i < result.size(); i++) {
+                    Array.set(array, i, result.get(i));
+                }
+                
+                adaptor.setValue(beanObj, array);
+            }
+        }
+    
+    }
+    
+    /**
+     * 行の中から、指定したラベルを持つセルを検索する。
+     * @param row 検索対象の行
+     * @param matcher 検索するセルの値と比較するインスタンス
+     * @param fromColumn 検索開始位置の列
+     * @return 見つからない場合はnullを返す。
+     */
+    private Cell findCell(final Row row, final LabelMatcher matcher, final int fromColumn) {
+        
+        for(Cell cell : row) {
+            if(cell.getColumnIndex() < fromColumn) {
+                continue;
+            }
+            
+            final String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
+            if(matcher.matches(cellValue)) {
+                return cell;
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * レコードの値が空かどうか判定するメソッドを取得する。
+     * <p>アノテーション<code>@XlsIsEmpty</code>が付与されたメソッドを、レコードのクラスごとに1度だけ検索する。
+     * @param recordClass レコードのクラス
+     * @param annoReader
+     * @return アノテーションがない場合はnullを返す。
+     * @throws AnnotationReadException
+     */
+    private Method findIsEmptyMethod(final Class<?> recordClass, final AnnotationReader annoReader) throws AnnotationReadException {
+        
+        for(Method method : recordClass.getMethods()) {
+            if(annoReader.getAnnotation(recordClass, method, XlsIsEmpty.class) != null) {
+                method.setAccessible(true);
+                return method;
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * レコードの値が空かどうか判定する。
+     * <p>アノテーション<code>@XlsIsEmpty</code>のメソッドで判定を行う。
+     * @param record
+     * @param isEmptyMethod {@link #findIsEmptyMethod(Class, AnnotationReader)}で取得したメソッド
+     * @return メソッドがない場合はfalseを返す。
+     * @throws AnnotationInvalidException
+     */
+    private boolean isEmptyRecord(final Object record, final Method isEmptyMethod) throws AnnotationInvalidException {
+        
+        if(isEmptyMethod == null) {
+            // メソッドが見つからない場合。
+            return false;
+        }
+        
+        try {
+            return (boolean) isEmptyMethod.invoke(record);
+        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+            throw new AnnotationInvalidException(
+                    String.format("@XlsIsEmpty should be appended method that no args and returning boolean type."),
+                    isEmptyMethod.getAnnotation(XlsIsEmpty.class));
+        }
+    }
+    
+    public XlsMapperConfig getConfig() {
+        return config;
+    }
+    
+    public void setConfig(XlsMapperConfig config) {
+        this.config = config;
+    }
+
+}
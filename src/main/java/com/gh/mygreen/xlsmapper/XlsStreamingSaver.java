@@ -0,0 +1,682 @@
+package com.gh.mygreen.xlsmapper;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gh.mygreen.xlsmapper.annotation.XlsCell;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.annotation.XlsConverter;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsLabelledCell;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheetName;
+import com.gh.mygreen.xlsmapper.cellconvert.CellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.ConversionException;
+import com.gh.mygreen.xlsmapper.cellconvert.DefaultCellConverter;
+import com.gh.mygreen.xlsmapper.cellconvert.TypeBindException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordHeader;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordsProcessorUtil;
+import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+import com.gh.mygreen.xlsmapper.xml.XmlIO;
+import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
+
+
+/**
+ * JavaBeanをXSSF形式（*.xlsx）のExcelのシートに、ストリーミングで出力するクラス。
+ * <p>{@link XlsSaver}と異なり、表のレコードの行は、{@link SXSSFWorkbook}により一定の行数ごとに一時ファイルに書き出す。
+ *    そのため、レコードの件数に関わらず、ほぼ一定のメモリで書き込むことができる。
+ *    メモリ上に保持する行数は、{@link XlsMapperConfig#setStreamingWindowSize(int)}で設定する。
+ * <p>ただし、処理できるアノテーションは次のものに限られる。
+ *    これら以外の書き込み用のアノテーションが付与されている場合は、例外{@link AnnotationInvalidException}をスローする。
+ * <ul>
+ *   <li>{@link XlsSheetName}</li>
+ *   <li>{@link XlsCell}</li>
+ *   <li>{@link XlsLabelledCell}</li>
+ *   <li>{@link XlsHorizontalRecords}。1シートにつき1つのみ利用できる。
+ *       また、レコードのクラスには{@link XlsColumn}のみ利用でき、属性{@link XlsColumn#merged()}は利用できない。</li>
+ * </ul>
+ * <p>また、次の点が{@link XlsSaver}と異なる。
+ * <ul>
+ *   <li>表の見出しより上の行は、テンプレートのまま保持する。</li>
+ *   <li>表のレコードの行は、テンプレートのレコードの1行目の書式を引き継ぎ、レコードの件数分を追加する。
+ *       そのため、属性{@link XlsHorizontalRecords#overRecord()}、{@link XlsHorizontalRecords#remainedRecord()}は無視する。</li>
+ *   <li>テンプレートの表のレコード以降の行は、出力しない。</li>
+ *   <li>入力規則、名前の範囲、コメントの補正は行わない。</li>
+ * </ul>
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class XlsStreamingSaver {
+    
+    private static final Logger logger = LoggerFactory.getLogger(XlsStreamingSaver.class);
+    
+    private XlsMapperConfig config;
+    
+    public XlsStreamingSaver(final XlsMapperConfig config) {
+        this.config = config;
+    }
+    
+    public XlsStreamingSaver() {
+        this(new XlsMapperConfig());
+    }
+    
+    /**
+     * JavaのオブジェクトをExeclファイルに出力する。
+     * <p>出力するファイルは、引数で指定した雛形となるテンプレート用のExcelファイルをもとに出力する。
+     * @param templateXlsIn 雛形となるExcelファイルの入力
+     * @param xlsOut 出力
+     * @param beanObj 書き込むオブジェクト
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException templateXlsIn == null or xlsOut == null or beanObj == null.
+     */
+    public void save(final InputStream templateXlsIn, final OutputStream xlsOut, final Object beanObj) throws XlsMapperException, IOException {
+        ArgUtils.notNull(templateXlsIn, "templateXlsIn");
+        ArgUtils.notNull(xlsOut, "xlsOut");
+        ArgUtils.notNull(beanObj, "beanObj");
+        
+        save(templateXlsIn, xlsOut, beanObj, null);
+    }
+    
+    /**
+     * XMLによるマッピングを指定して、JavaのオブジェクトをExcelファイルに出力する。
+     * @param templateXlsIn 雛形となるExcelファイルの入力
+     * @param xlsOut 出力
+     * @param beanObj 書き込むオブジェクト
+     * @param xmlIn アノテーションの定義をしているXMLファイルの入力。指定しない場合は、nullを指定する。
+     * @throws XlsMapperException
+     * @throws IOException
+     * @throws IllegalArgumentException templateXlsIn == null or xlsOut == null or beanObj == null.
+     */
+    public void save(final InputStream templateXlsIn, final OutputStream xlsOut, final Object beanObj, final InputStream xmlIn)
+            throws XlsMapperException, IOException {
+        
+        ArgUtils.notNull(templateXlsIn, "templateXlsIn");
+        ArgUtils.notNull(xlsOut, "xlsOut");
+        ArgUtils.notNull(beanObj, "beanObj");
+        
+        XmlInfo xmlInfo = null;
+        if(xmlIn != null) {
+            xmlInfo = XmlIO.load(xmlIn);
+        }
+        
+        final AnnotationReader annoReader = new AnnotationReader(xmlInfo);
+        final SavingWorkObject work = new SavingWorkObject();
+        work.setAnnoReader(annoReader);
+        
+        work.setErrors(new SheetBindingErrors(beanObj.getClass()));
+        
+        final Workbook book;
+        try {
+            book = WorkbookFactory.create(templateXlsIn);
+        
+        } catch (InvalidFormatException | IOException e) {
+            throw new XlsMapperException("fail load template Excel File", e);
+        }
+        
+        if(!(book instanceof XSSFWorkbook)) {
+            throw new XlsMapperException("streaming saving supports only XSSF(*.xlsx) template Excel File.");
+        }
+        
+        final Class<?> clazz = beanObj.getClass();
+        final XlsSheet sheetAnno = clazz.getAnnotation(XlsSheet.class);
+        if(sheetAnno == null) {
+            throw new AnnotationInvalidException("Cannot finld annoation '@XlsSheet'", sheetAnno);
+        }
+        
+        final Sheet sheet;
+        try {
+            sheet = config.getSheetFinder().findForSaving(book, sheetAnno, annoReader, beanObj)[0];
+        } catch(SheetNotFoundException e) {
+            if(config.isIgnoreSheetNotFound()){
+                logger.warn("skip saving by not-found sheet.", e);
+                return;
+            } else {
+                throw e;
+            }
+        }
+        
+        final SXSSFWorkbook streamingBook;
+        work.getCellStyleCache().begin();
+        try {
+            streamingBook = saveSheet((XSSFWorkbook) book, sheet, beanObj, work);
+        } finally {
+            work.getCellStyleCache().end();
+        }
+        
+        try {
+            streamingBook.write(xlsOut);
+        } finally {
+            // 一時ファイルの削除
+            streamingBook.dispose();
+        }
+    }
+    
+    /**
+     * 任意のクラスのオブジェクトを、Excelシートにマッピングする。
+     * <p>表以外のセルはテンプレートのシートに書き込み、表のレコードはストリーミング用のシートに書き込む。
+     * @param book テンプレートのブック
+     * @param sheet 書き込み対象のテンプレートのシート
+     * @param beanObj 書き込むオブジェクト
+     * @param work
+     * @return 書き込んだストリーミング用のブック
+     * @throws XlsMapperException
+     */
+    private SXSSFWorkbook saveSheet(final XSSFWorkbook book, final Sheet sheet, final Object beanObj,
+            final SavingWorkObject work) throws XlsMapperException, IOException {
+        
+        final Class<?> clazz = beanObj.getClass();
+        
+        work.getErrors().setSheetName(sheet.getSheetName());
+        
+        final SheetMappingDescriptor descriptor = config.getMappingDescriptorCache().getSavingDescriptor(
+                clazz, work.getAnnoReader(), config.getFieldProcessorRegistry());
+        
+        // リスナークラスの@PreSave用メソッドの実行
+        if(descriptor.getListenerClass() != null) {
+            Object listenerObj = config.createBean(descriptor.getListenerClass());
+            for(Method method : descriptor.getListenerPreMethods()) {
+                Utils.invokeNeedProcessMethod(listenerObj, method, beanObj, sheet, config, work.getErrors());
+            }
+        
+        }
+        
+        // @PreSave用のメソッドの実行
+        for(Method method : descriptor.getPreMethods()) {
+            Utils.invokeNeedProcessMethod(beanObj, method, beanObj, sheet, config, work.getErrors());
+        }
+        
+        // @PostSave用のメソッドの取得
+        for(Method method : descriptor.getPostMethods()) {
+            work.addNeedPostProcess(new NeedProcess(beanObj, beanObj, method));
+        }
+        
+        // 表以外は、テンプレートのシートに書き込む。
+        FieldAdaptorProxy recordsProxy = null;
+        for(FieldAdaptorProxy adaptorProxy : descriptor.getAdaptorProxies()) {
+            final Annotation anno = adaptorProxy.getAnnotation();
+            if(anno instanceof XlsSheetName || anno instanceof XlsCell || anno instanceof XlsLabelledCell) {
+                adaptorProxy.saveProcess(sheet, beanObj, config, work);
+            
+            } else if(anno instanceof XlsHorizontalRecords && recordsProxy == null) {
+                recordsProxy = adaptorProxy;
+            
+            } else {
+                throw new AnnotationInvalidException(
+                        String.format("With '%s', annotation '@%s' is not supported in streaming saving.",
+                                adaptorProxy.getAdaptor().getNameWithClass(), anno.annotationType().getSimpleName()),
+                        anno);
+            }
+        }
+        
+        final RecordsWriter recordsWriter;
+        if(recordsProxy != null) {
+            recordsWriter = new RecordsWriter((XlsHorizontalRecords) recordsProxy.getAnnotation(), recordsProxy.getAdaptor(),
+                    beanObj, sheet, work);
+            recordsWriter.prepare();
+        } else {
+            recordsWriter = null;
+        }
+        
+        // テンプレートのシートの既存の行は、そのままメモリ上に保持される。
+        final SXSSFWorkbook streamingBook = new SXSSFWorkbook(book, config.getStreamingWindowSize());
+        final Sheet streamingSheet = streamingBook.getSheet(sheet.getSheetName());
+        
+        try {
+            if(recordsWriter != null) {
+                recordsWriter.write(streamingSheet);
+            }
+            
+            // リスナークラスの@PostSaveの取得
+            if(descriptor.getListenerClass() != null) {
+                Object listenerObj = config.createBean(descriptor.getListenerClass());
+                for(Method method : descriptor.getListenerPostMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(beanObj, listenerObj, method));
+                }
+            
+            }
+            
+            //@PostSaveが付与されているメソッドの実行
+            for(NeedProcess need : work.getNeedPostProcesses()) {
+                Utils.invokeNeedProcessMethod(need.getProcess(), need.getMethod(), need.getTarget(), streamingSheet, config, work.getErrors());
+            }
+        
+        } catch(XlsMapperException | RuntimeException e) {
+            streamingBook.dispose();
+            throw e;
+        }
+        
+        return streamingBook;
+    }
+    
+    /**
+     * 書き込み時用のConveterを取得する。
+     * <p>{@link com.gh.mygreen.xlsmapper.fieldprocessor.AbstractFieldProcessor}と同じく、
+     *    アノテーション「{@link XlsConverter#converterClass()}」が設定されていた場合を考慮する。
+     * @param adaptor フィールド情報
+     * @return
+     * @throws XlsMapperException Converterが見つからない場合。
+     */
+    private CellConverter<?> getSavingCellConverter(final FieldAdaptor adaptor) throws XlsMapperException {
+        
+        final XlsConverter converterAnno = adaptor.getSavingAnnotation(XlsConverter.class);
+        if(converterAnno != null && !converterAnno.converterClass().equals(DefaultCellConverter.class)) {
+            return config.createBean(converterAnno.converterClass());
+        }
+        
+        final CellConverter<?> converter = config.getConverterRegistry().getConverter(adaptor.getTargetClass());
+        if(converter == null) {
+            throw new ConversionException(
+                    String.format("not found CellConverter for type '%s'.", adaptor.getTargetClass().getName()),
+                    adaptor.getTargetClass());
+        }
+        
+        return converter;
+    }
+    
+    /**
+     * アノテーション{@link XlsHorizontalRecords}のレコードを、ストリーミング用のシートに書き込むクラス。
+     */
+    private class RecordsWriter {
+        
+        private final XlsHorizontalRecords anno;
+        
+        private final FieldAdaptor adaptor;
+        
+        private final Object beanObj;
+        
+        private final Sheet sheet;
+        
+        private final SavingWorkObject work;
+        
+        private final Class<?> recordClass;
+        
+        private final List<RecordHeader> headers = new ArrayList<>();
+        
+        /**
+         * 見出しごとのマッピング対象のプロパティ
+         */
+        private final List<List<FieldAdaptor>> headerProperties = new ArrayList<>();
+        
+        /**
+         * プロパティごとの書き込み用のConverter。
+         * ・{@link XlsConverter}で指定したConverterのインスタンスを、セルごとに作成しないように保持する。
+         */
+        private final Map<FieldAdaptor, CellConverter<Object>> converters = new HashMap<>();
+        
+        /**
+         * レコードの列ごとの書式。テンプレートのレコードの1行目から取得する。
+         */
+        private final Map<Integer, CellStyle> columnStyles = new TreeMap<>();
+        
+        /**
+         * テンプレートのレコードの1行目の高さ。行が存在しない場合は負の値。
+         */
+        private short rowHeight = -1;
+        
+        private int initColumn;
+        
+        private int recordRow;
+        
+        /**
+         * 書き込むレコード。テンプレートのシートが見つからない場合など書き込まないときはnull。
+         */
+        private List<Object> records;
+        
+        RecordsWriter(final XlsHorizontalRecords anno, final FieldAdaptor adaptor, final Object beanObj,
+                final Sheet sheet, final SavingWorkObject work) throws XlsMapperException {
+            this.anno = anno;
+            this.adaptor = adaptor;
+            this.beanObj = beanObj;
+            this.sheet = sheet;
+            this.work = work;
+            
+            Class<?> recordClass = anno.recordClass();
+            if(recordClass == Object.class) {
+                recordClass = adaptor.getSavingGenericClassType();
+            }
+            this.recordClass = recordClass;
+            
+            checkRecordClass();
+        }
+        
+        /**
+         * レコードのクラスが、ストリーミングでの書き込みに対応しているかチェックする。
+         * @throws AnnotationInvalidException 対応していないアノテーションが付与されている場合。
+         */
+        private void checkRecordClass() throws AnnotationInvalidException {
+            
+            final AnnotationReader annoReader = work.getAnnoReader();
+            if(!Utils.getSavingMapColumnProperties(recordClass, annoReader).isEmpty()
+                    || !Utils.getSavingNestedRecordsProperties(recordClass, annoReader).isEmpty()) {
+                throw new AnnotationInvalidException(
+                        String.format("With '%s', record class '%s' should only granted '@XlsColumn' in streaming saving.",
+                                adaptor.getNameWithClass(), recordClass.getName()),
+                        anno);
+            }
+            
+            for(FieldAdaptor property : Utils.getSavingColumnProperties(recordClass, null, annoReader, config)) {
+                final XlsColumn column = property.getSavingAnnotation(XlsColumn.class);
+                if(column.merged()) {
+                    throw new AnnotationInvalidException(
+                            String.format("With '%s', '@XlsColumn#merged' is not supported in streaming saving.",
+                                    property.getNameWithClass()),
+                            column);
+                }
+            }
+        }
+        
+        /**
+         * テンプレートのシートから見出しとレコードの書式を取得し、レコードの行以降を削除する。
+         * <p>{@link SXSSFWorkbook}では、既存の行よりも下の行にしか追加できないため、レコードの書き込みの前に行う。
+         */
+        @SuppressWarnings("unchecked")
+        void prepare() throws XlsMapperException {
+            
+            // ラベルの設定
+            if(Utils.isNotEmpty(anno.tableLabel())) {
+                try {
+                    final Cell tableLabelCell = Utils.getCell(sheet, anno.tableLabel(), 0, config);
+                    Utils.setLabel(POIUtils.getCellContents(tableLabelCell, config.getCellFormatter()), beanObj, adaptor.getName());
+                } catch(CellNotFoundException e) {
+                
+                }
+            }
+            
+            final Class<?> clazz = adaptor.getTargetClass();
+            final Object result = adaptor.getValue(beanObj);
+            if(Collection.class.isAssignableFrom(clazz)) {
+                final Collection<Object> value = (result == null ? new ArrayList<Object>() : (Collection<Object>) result);
+                this.records = Utils.convertCollectionToList(value);
+            
+            } else if(clazz.isArray()) {
+                this.records = (result == null ? new ArrayList<Object>() : Arrays.asList((Object[]) result));
+            
+            } else {
+                throw new AnnotationInvalidException(
+                        String.format("With '%s', annotation '@XlsHorizontalRecords' should only granted Collection(List/Set) or array. : %s",
+                                adaptor.getNameWithClass(), clazz.getName()),
+                                anno);
+            }
+            
+            final Point initPosition = getHeaderPosition();
+            if(initPosition == null) {
+                this.records = null;
+                return;
+            }
+            
+            this.initColumn = initPosition.x;
+            final int headerRow = initPosition.y;
+            
+            loadHeaders(headerRow);
+            
+            this.recordRow = headerRow + anno.headerBottom();
+            
+            // テンプレートのレコードの1行目の書式を取得する。
+            final Row templateRow = sheet.getRow(recordRow);
+            if(templateRow != null) {
+                this.rowHeight = templateRow.getHeight();
+                for(Cell cell : templateRow) {
+                    columnStyles.put(cell.getColumnIndex(), cell.getCellStyle());
+                }
+            }
+            
+            removeTemplateRows();
+        }
+        
+        /**
+         * 表の見出しの位置を取得する。
+         * @return 見出しが見つからず、省略可能な場合はnullを返す。
+         */
+        private Point getHeaderPosition() throws XlsMapperException {
+            
+            if(Utils.isNotEmpty(anno.headerAddress())) {
+                final Point address = Utils.parseCellAddress(anno.headerAddress());
+                if(address == null) {
+                    throw new AnnotationInvalidException(
+                            String.format("With '%s, @XlsHorizontalRecords#headerAddress is wrong cell address '%s'.",
+                                    adaptor.getNameWithClass(), anno.headerAddress()), anno);
+                }
+                
+                return address;
+            
+            } else if(Utils.isNotEmpty(anno.tableLabel())) {
+                try {
+                    final Cell labelCell = Utils.getCell(sheet, anno.tableLabel(), 0, 0, config);
+                    return new Point(labelCell.getColumnIndex(), labelCell.getRowIndex() + anno.bottom());
+                
+                } catch(CellNotFoundException ex) {
+                    if(anno.optional()) {
+                        return null;
+                    } else {
+                        throw ex;
+                    }
+                }
+            
+            } else {
+                // column, rowのアドレスを直接指定の場合
+                if(anno.headerColumn() < 0 || anno.headerRow() < 0) {
+                    throw new AnnotationInvalidException(
+                            String.format("With '%s', @XlsHorizontalRecors#headerColumn or headerRow should be greater than or equal zero. (headerColumn=%d, headerRow=%d)",
+                                    adaptor.getNameWithClass(), anno.headerColumn(), anno.headerRow()), anno);
+                }
+                
+                return new Point(anno.headerColumn(), anno.headerRow());
+            }
+        }
+        
+        /**
+         * 見出しの行を読み込み、見出しに対するプロパティの対応を準備する。
+         */
+        private void loadHeaders(final int headerRow) throws XlsMapperException {
+            
+            final MergedRegionIndex mergedIndex = work.getMergedRegionIndex(sheet);
+            
+            int hColumn = initColumn;
+            int rangeCount = 1;
+            while(true) {
+                Cell cell = POIUtils.getCell(sheet, hColumn, headerRow);
+                while(POIUtils.isEmptyCellContents(cell, config.getCellFormatter()) && rangeCount < anno.range()) {
+                    cell = POIUtils.getCell(sheet, hColumn + rangeCount, headerRow);
+                    rangeCount++;
+                }
+                
+                final String cellValue = POIUtils.getCellContents(cell, config.getCellFormatter());
+                if(Utils.isEmpty(cellValue)){
+                    break;
+                }
+                
+                headers.add(new RecordHeader(cellValue, cell.getColumnIndex() - initColumn));
+                hColumn = hColumn + rangeCount;
+                rangeCount = 1;
+                
+                // 結合しているセルの場合は、はじめのセルだけ取得して、後は結合分スキップする。
+                final CellRangeAddress mergedRange = mergedIndex.getMergedRegion(cell.getRowIndex(), cell.getColumnIndex());
+                if(mergedRange != null) {
+                    hColumn = hColumn + (mergedRange.getLastColumn() - mergedRange.getFirstColumn());
+                }
+                
+                if(anno.headerLimit() > 0 && headers.size() >= anno.headerLimit()){
+                    break;
+                }
+            }
+            
+            // Check for columns
+            RecordsProcessorUtil.checkColumns(sheet, recordClass, headers, work.getAnnoReader(), config);
+            
+            for(RecordHeader header : headers) {
+                headerProperties.add(Utils.getSavingColumnProperties(recordClass, header.getLabel(), work.getAnnoReader(), config));
+            }
+        }
+        
+        /**
+         * テンプレートのレコードの行以降を、結合セルも含めて削除する。
+         */
+        private void removeTemplateRows() {
+            
+            work.getMergedRegionIndex(sheet).removeMergedRegionsFrom(recordRow);
+            
+            for(int i=sheet.getLastRowNum(); i >= recordRow; i--) {
+                final Row row = sheet.getRow(i);
+                if(row != null) {
+                    sheet.removeRow(row);
+                }
+            }
+        }
+        
+        /**
+         * レコードを1件ずつ、ストリーミング用のシートに書き込む。
+         * @param streamingSheet 書き込み先のシート
+         */
+        void write(final Sheet streamingSheet) throws XlsMapperException {
+            
+            if(records == null) {
+                return;
+            }
+            
+            for(int r=0; r < records.size(); r++) {
+                final Object record = records.get(r);
+                final int rowIndex = recordRow + r;
+                
+                // パスの位置の変更
+                work.getErrors().pushNestedPath(adaptor.getName(), r);
+                
+                final Row row = streamingSheet.createRow(rowIndex);
+                if(rowHeight >= 0) {
+                    row.setHeight(rowHeight);
+                }
+                
+                for(Map.Entry<Integer, CellStyle> entry : columnStyles.entrySet()) {
+                    row.createCell(entry.getKey()).setCellStyle(entry.getValue());
+                }
+                
+                if(record == null) {
+                    work.getErrors().popNestedPath();
+                    continue;
+                }
+                
+                final RecordLifeCycle lifeCycle = work.getRecordLifeCycle(record.getClass(), config);
+                
+                // execute PreProcess/ listner
+                for(Method method : lifeCycle.getListenerPreMethods()) {
+                    Utils.invokeNeedProcessMethod(lifeCycle.getListener(), method, record, streamingSheet, config, work.getErrors());
+                }
+                
+                // execute PreProcess method
+                for(Method method : lifeCycle.getPreMethods()) {
+                    Utils.invokeNeedProcessMethod(record, method, record, streamingSheet, config, work.getErrors());
+                }
+                
+                for(int i=0; i < headers.size(); i++) {
+                    final RecordHeader headerInfo = headers.get(i);
+                    
+                    // mapping from Object properties to Excel columns.
+                    for(FieldAdaptor property : getProperties(record.getClass(), i)) {
+                        final XlsColumn column = property.getSavingAnnotation(XlsColumn.class);
+                        final int valueColumn = initColumn + headerInfo.getInterval() + Math.max(column.headerMerged(), 0);
+                        
+                        Utils.setPosition(valueColumn, rowIndex, record, property.getName());
+                        Utils.setLabel(headerInfo.getLabel(), record, property.getName());
+                        
+                        final CellConverter<Object> converter = getConverter(property);
+                        try {
+                            converter.toCell(property, property.getValue(record), streamingSheet, valueColumn, rowIndex, config);
+                        } catch(TypeBindException e) {
+                            work.addTypeBindError(e, new Point(valueColumn, rowIndex), property.getName(), headerInfo.getLabel());
+                            if(!config.isContinueTypeBindFailure()) {
+                                throw e;
+                            }
+                        }
+                    }
+                }
+                
+                // @XlsPostSaveが無いレコードは、書き込んだ後に参照を保持しない。
+                if(lifeCycle.hasPostMethods()) {
+                    // set PostProcess listener
+                    for(Method method : lifeCycle.getListenerPostMethods()) {
+                        work.addNeedPostProcess(new NeedProcess(record, lifeCycle.getListener(), method));
+                    }
+                    
+                    // set PostProcess method
+                    for(Method method : lifeCycle.getPostMethods()) {
+                        work.addNeedPostProcess(new NeedProcess(record, record, method));
+                    }
+                }
+                
+                // パスの位置の変更
+                work.getErrors().popNestedPath();
+            }
+        
+        }
+        
+        /**
+         * プロパティに対する書き込み用のConverterを取得する。
+         * <p>初めて取得したConverterは、書き込みが終わるまで保持して使い回す。
+         * @param property プロパティ
+         * @return
+         * @throws XlsMapperException Converterが見つからない場合。
+         */
+        @SuppressWarnings("unchecked")
+        private CellConverter<Object> getConverter(final FieldAdaptor property) throws XlsMapperException {
+            
+            CellConverter<Object> converter = converters.get(property);
+            if(converter == null) {
+                converter = (CellConverter<Object>) getSavingCellConverter(property);
+                converters.put(property, converter);
+            }
+            
+            return converter;
+        }
+        
+        /**
+         * 見出しに対するプロパティを取得する。
+         * <p>宣言されたレコードのクラスと異なる場合は、その都度取得する。
+         */
+        private List<FieldAdaptor> getProperties(final Class<?> clazz, final int headerIndex) {
+            if(clazz.equals(recordClass)) {
+                return headerProperties.get(headerIndex);
+            }
+            
+            return Utils.getSavingColumnProperties(clazz, headers.get(headerIndex).getLabel(), work.getAnnoReader(), config);
+        }
+    
+    }
+    
+    public XlsMapperConfig getConfig() {
+        return config;
+    }
+    
+    public void setConfig(XlsMapperConfig config) {
+        this.config = config;
+    }
+
+}
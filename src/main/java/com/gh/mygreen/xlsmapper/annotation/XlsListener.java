@@ -27,6 +27,11 @@ import com.gh.mygreen.xlsmapper.XlsMapperConfig;
  * <p>インスタンスは、システム設定{@link XlsMapperConfig#getBeanFactory()}経由で作成されるため、
  *   SpringFrameworkのコンテナからインスタンスを取得することもできます。
  * </p>
+ * <p>レコードクラスに指定したリスナーのインスタンスは、1シートの読み込み/書き込みの間、
+ *   同じクラスの全てのレコードで共有されます。
+ *   バージョン1.4以前は、レコードを処理するたびにインスタンスを作成していたため、
+ *   リスナークラスのフィールドに状態を持たせる場合は注意してください。
+ * </p>
  * 
  * 
  * <pre class="highlight"><code class="java">
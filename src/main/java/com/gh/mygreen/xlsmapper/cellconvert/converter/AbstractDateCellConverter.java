@@ -11,12 +11,15 @@ import java.util.Map;
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellValue;
 import org.apache.poi.ss.usermodel.CreationHelper;
+import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 
 import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.CellStyleCache;
 import com.gh.mygreen.xlsmapper.POIUtils;
 import com.gh.mygreen.xlsmapper.Utils;
 import com.gh.mygreen.xlsmapper.XlsMapperConfig;
@@ -64,14 +67,24 @@ public abstract class AbstractDateCellConverter<T extends Date> extends Abstract
             resultValue = convertDate(cell.getDateCellValue());
             
         } else if(cell.getCellType() == Cell.CELL_TYPE_FORMULA) {
-            // 式を評価して再帰的に処理する。
+            // 式を評価する。
+            // 並列に読み込んでいる他のシートと共有するワークブックを変更しないよう、評価結果はセルに書き戻さない。
             final Workbook workbook = cell.getSheet().getWorkbook();
             final CreationHelper helper = workbook.getCreationHelper();
             final FormulaEvaluator evaluator = helper.createFormulaEvaluator();
             try {
-                // 再帰的に処理する
-                final Cell evalCell = evaluator.evaluateInCell(cell);
-                return toObject(evalCell, adaptor, config);
+                final CellValue evalValue = evaluator.evaluate(cell);
+                if(evalValue.getCellType() == Cell.CELL_TYPE_NUMERIC) {
+                    resultValue = convertDate(DateUtil.getJavaDate(evalValue.getNumberValue(), POIUtils.isDate1904(workbook)));
+                    
+                } else {
+                    String cellValue = evalValue.getCellType() == Cell.CELL_TYPE_STRING ?
+                            evalValue.getStringValue() : evalValue.formatAsString();
+                    cellValue = Utils.trim(cellValue, converterAnno);
+                    if(Utils.isNotEmpty(cellValue)) {
+                        resultValue = parseDate(cellValue, createDateFormat(anno));
+                    }
+                }
                 
             } catch(Exception e) {
                 throw newTypeBindException(e, cell, adaptor, cell)
@@ -257,18 +270,16 @@ public abstract class AbstractDateCellConverter<T extends Date> extends Abstract
         if(Utils.isNotEmpty(anno.excelPattern()) && !POIUtils.getCellFormatPattern(cell).equalsIgnoreCase(anno.excelPattern())) {
             
             // 既にCell中に書式が設定され、それが異なる場合
-            CellStyle style = sheet.getWorkbook().createCellStyle();
-            style.cloneStyleFrom(cell.getCellStyle());
-            style.setDataFormat(POIUtils.getDataFormatIndex(sheet, anno.excelPattern()));
+            final CellStyle style = CellStyleCache.getStyle(sheet.getWorkbook(), cell.getCellStyle(),
+                    POIUtils.getDataFormatIndex(sheet, anno.excelPattern()));
             cell.setCellStyle(style);
             
         } else if(Utils.isEmpty(anno.excelPattern()) && POIUtils.getCellFormatPattern(cell).isEmpty()) {
             
             // アノテーションの書式が指定されておらず、セルの書式が空の場合
             // 標準の書式を設定する。
-            CellStyle style = sheet.getWorkbook().createCellStyle();
-            style.cloneStyleFrom(cell.getCellStyle());
-            style.setDataFormat(POIUtils.getDataFormatIndex(sheet, getDefaultExcelPattern()));
+            final CellStyle style = CellStyleCache.getStyle(sheet.getWorkbook(), cell.getCellStyle(),
+                    POIUtils.getDataFormatIndex(sheet, getDefaultExcelPattern()));
             cell.setCellStyle(style);
             
         }
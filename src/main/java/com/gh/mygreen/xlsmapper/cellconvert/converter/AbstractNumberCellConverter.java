@@ -16,11 +16,13 @@ import java.util.Map;
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellValue;
 import org.apache.poi.ss.usermodel.CreationHelper;
 import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 
+import com.gh.mygreen.xlsmapper.CellStyleCache;
 import com.gh.mygreen.xlsmapper.POIUtils;
 import com.gh.mygreen.xlsmapper.Utils;
 import com.gh.mygreen.xlsmapper.XlsMapperConfig;
@@ -77,14 +79,24 @@ public abstract class AbstractNumberCellConverter<T extends Number> extends Abst
             }
             
         } else if(cell.getCellType() == Cell.CELL_TYPE_FORMULA) {
-            // 式を評価して再帰的に処理する。
+            // 式を評価する。
+            // 並列に読み込んでいる他のシートと共有するワークブックを変更しないよう、評価結果はセルに書き戻さない。
             final Workbook workbook = cell.getSheet().getWorkbook();
             final CreationHelper helper = workbook.getCreationHelper();
             final FormulaEvaluator evaluator = helper.createFormulaEvaluator();
             try {
-                // 再帰的に処理する
-                final Cell evalCell = evaluator.evaluateInCell(cell);
-                return toObject(evalCell, adaptor, config);
+                final CellValue evalValue = evaluator.evaluate(cell);
+                if(evalValue.getCellType() == Cell.CELL_TYPE_NUMERIC) {
+                    resultValue = convertNumber(evalValue.getNumberValue(), createMathContext(anno));
+                    
+                } else {
+                    String cellValue = evalValue.getCellType() == Cell.CELL_TYPE_STRING ?
+                            evalValue.getStringValue() : evalValue.formatAsString();
+                    cellValue = Utils.trim(cellValue, converterAnno);
+                    if(Utils.isNotEmpty(cellValue)) {
+                        resultValue = parseNumber(cellValue, createNumberFormat(anno), createMathContext(anno));
+                    }
+                }
                 
             } catch(Exception e) {
                 throw newTypeBindException(e, cell, adaptor, cell)
@@ -376,9 +388,8 @@ public abstract class AbstractNumberCellConverter<T extends Number> extends Abst
         if(Utils.isNotEmpty(anno.excelPattern()) && !POIUtils.getCellFormatPattern(cell).equalsIgnoreCase(anno.excelPattern())) {
             
             // 既にCell中に書式が設定され、それが異なる場合
-            CellStyle style = sheet.getWorkbook().createCellStyle();
-            style.cloneStyleFrom(cell.getCellStyle());
-            style.setDataFormat(POIUtils.getDataFormatIndex(sheet, anno.excelPattern()));
+            final CellStyle style = CellStyleCache.getStyle(sheet.getWorkbook(), cell.getCellStyle(),
+                    POIUtils.getDataFormatIndex(sheet, anno.excelPattern()));
             cell.setCellStyle(style);
             
         }
@@ -6,8 +6,10 @@ import java.util.Calendar;
 import java.util.Date;
 
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Sheet;
 
+import com.gh.mygreen.xlsmapper.CellStyleCache;
 import com.gh.mygreen.xlsmapper.POIUtils;
 import com.gh.mygreen.xlsmapper.Utils;
 import com.gh.mygreen.xlsmapper.XlsMapperConfig;
@@ -89,7 +91,10 @@ public class CalendarCellConverter extends AbstractCellConverter<Calendar> {
         
         // セルの書式の設定
         if(Utils.isNotEmpty(anno.javaPattern())) {
-            cell.getCellStyle().setDataFormat(POIUtils.getDataFormatIndex(sheet, anno.javaPattern()));
+            // 他のセルと共有しているスタイルは変更しない
+            final CellStyle style = CellStyleCache.getStyle(sheet.getWorkbook(), cell.getCellStyle(),
+                    POIUtils.getDataFormatIndex(sheet, anno.javaPattern()));
+            cell.setCellStyle(style);
         }
         
         if(value != null) {
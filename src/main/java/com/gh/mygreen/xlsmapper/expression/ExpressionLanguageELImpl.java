@@ -1,13 +1,28 @@
 package com.gh.mygreen.xlsmapper.expression;
 
+import java.beans.FeatureDescriptor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Formatter;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.el.BeanNameResolver;
+import javax.el.ArrayELResolver;
+import javax.el.BeanELResolver;
+import javax.el.CompositeELResolver;
+import javax.el.ELContext;
 import javax.el.ELException;
-import javax.el.ELProcessor;
+import javax.el.ELResolver;
+import javax.el.ExpressionFactory;
+import javax.el.FunctionMapper;
+import javax.el.ListELResolver;
+import javax.el.MapELResolver;
+import javax.el.ResourceBundleELResolver;
+import javax.el.StaticFieldELResolver;
+import javax.el.ValueExpression;
+import javax.el.VariableMapper;
 
 import org.hibernate.validator.internal.engine.messageinterpolation.el.RootResolver;
 import org.slf4j.Logger;
@@ -20,12 +35,44 @@ import com.github.mygreen.expression.el.FormatterWrapper;
 /**
  * 標準のEL式を使用するための実装。
  * <p>利用する際には、ELのライブラリが必要です。
+ * <p>解析した式（{@link ValueExpression}）は、式ごとに{@link ObjectCache}にキャッシュする。
+ *    式中の変数は評価ごとに作成する軽量な{@link ELContext}から参照するため、
+ *    同じ式を繰り返し評価する場合は、解析とELの環境の作成を省くことができる。
+ *
+ * @version 1.5
+ * @author T.TSUCHIE
  * 
  */
 public class ExpressionLanguageELImpl implements ExpressionLanguage {
     
     private static final Logger logger = LoggerFactory.getLogger(ExpressionLanguageELImpl.class);
     
+    /** 関数を定義しないためのFunctionMapper */
+    private static final FunctionMapper EMPTY_FUNCTION_MAPPER = new FunctionMapper() {
+        
+        @Override
+        public Method resolveFunction(final String prefix, final String localName) {
+            return null;
+        }
+    };
+    
+    /**
+     * 変数を解析時に束縛しないためのVariableMapper。
+     * ・変数は評価時に{@link VariablesELResolver}から参照する。
+     */
+    private static final VariableMapper EMPTY_VARIABLE_MAPPER = new VariableMapper() {
+        
+        @Override
+        public ValueExpression resolveVariable(final String variable) {
+            return null;
+        }
+        
+        @Override
+        public ValueExpression setVariable(final String variable, final ValueExpression expression) {
+            throw new UnsupportedOperationException("not support setting variable.");
+        }
+    };
+    
     /** EL3.xが使用可能かどうか */
     boolean availabledEl3;
     {
@@ -37,6 +84,19 @@ public class ExpressionLanguageELImpl implements ExpressionLanguage {
         }
     }
     
+    /**
+     * 解析した式のキャッシュ
+     * ・key = 式
+     * ・value = 解析した式
+     */
+    private final ObjectCache<String, ValueExpression> expressionCache = new ObjectCache<String, ValueExpression>();
+    
+    private volatile ExpressionFactory expressionFactory;
+    
+    private volatile ELResolver el3Resolver;
+    
+    private volatile ELResolver el2Resolver;
+    
     /**
      * {@inheritDoc}
      */
@@ -62,30 +122,29 @@ public class ExpressionLanguageELImpl implements ExpressionLanguage {
      */
     Object evaluateWithEL3(final String expression, final Map<String, ?> values) {
         
-        try {
-            final ELProcessor elProc = new ELProcessor();
+        ELResolver resolver = el3Resolver;
+        if(resolver == null) {
+            final ExpressionFactory factory = getExpressionFactory();
             
-            final Map<String, Object> beans = new HashMap<String, Object>();
-            for (final Entry<String, ? > entry : values.entrySet()) {
-                if(isFormatter(entry.getKey(), entry.getValue())) {
-                    // Formatterの場合は、ラップクラスを設定する。
-                    beans.put(entry.getKey(), new FormatterWrapper((Formatter) entry.getValue()));
-                } else {
-                    beans.put(entry.getKey(), entry.getValue());
-                }
+            // EL3.xの標準のELContext(StandardELContext)と同じ順で登録する。
+            final CompositeELResolver composite = new CompositeELResolver();
+            composite.add(new VariablesELResolver());
+            final ELResolver streamResolver = factory.getStreamELResolver();
+            if(streamResolver != null) {
+                composite.add(streamResolver);
             }
+            composite.add(new StaticFieldELResolver());
+            composite.add(new MapELResolver());
+            composite.add(new ResourceBundleELResolver());
+            composite.add(new ListELResolver());
+            composite.add(new ArrayELResolver());
+            composite.add(new BeanELResolver());
             
-            elProc.getELManager().addBeanNameResolver(new LocalBeanNameResolver(beans));
-            
-            if(logger.isDebugEnabled()) {
-                logger.debug("Evaluating EL expression: {}", expression);
-            }
-            
-            return elProc.eval(expression);
-        
-        } catch (final ELException ex){
-            throw new ExpressionEvaluationException(String.format("Evaluating [%s] script with EL failed.", expression), ex);
+            resolver = composite;
+            this.el3Resolver = resolver;
         }
+        
+        return evaluateWithCache(expression, values, resolver);
     }
     
     /**
@@ -96,26 +155,90 @@ public class ExpressionLanguageELImpl implements ExpressionLanguage {
      */
     Object evaluateWithEL2(final String expression, final Map<String, ?> values) {
         
-        try {
-            final com.github.mygreen.expression.el.ELProcessor elProc = new com.github.mygreen.expression.el.ELProcessor();
+        ELResolver resolver = el2Resolver;
+        if(resolver == null) {
+            // standalone-elのELContextと同じ順で登録する。
+            // ・Formatter#formatの可変長引数は、VariablesELResolverで処理する。
+            final CompositeELResolver composite = new CompositeELResolver();
+            composite.add(new VariablesELResolver());
+            composite.add(new ArrayELResolver(false));
+            composite.add(new ListELResolver(false));
+            composite.add(new MapELResolver(false));
+            composite.add(new ResourceBundleELResolver());
+            composite.add(new BeanELResolver(false));
             
+            resolver = composite;
+            this.el2Resolver = resolver;
+        }
+        
+        return evaluateWithCache(expression, values, resolver);
+    
+    }
+    
+    /**
+     * キャッシュした式を利用して評価する。
+     * @param expression 式
+     * @param values 式中の変数
+     * @param resolver 評価に利用するResolver
+     * @return 評価した結果
+     */
+    private Object evaluateWithCache(final String expression, final Map<String, ?> values, final ELResolver resolver) {
+        
+        try {
+            final Map<String, Object> variables = new HashMap<String, Object>(values.size());
             for (final Entry<String, ? > entry : values.entrySet()) {
                 if(isFormatter(entry.getKey(), entry.getValue())) {
-                    elProc.setVariable(entry.getKey(), new FormatterWrapper((Formatter) entry.getValue()));
+                    // Formatterの場合は、ラップクラスを設定する。
+                    variables.put(entry.getKey(), new FormatterWrapper((Formatter) entry.getValue()));
                 } else {
-                    elProc.setVariable(entry.getKey(), entry.getValue());
+                    variables.put(entry.getKey(), entry.getValue());
                 }
             }
             
+            final ExpressionFactory factory = getExpressionFactory();
+            final VariablesELContext context = new VariablesELContext(factory, resolver, variables);
+            
             if(logger.isDebugEnabled()) {
                 logger.debug("Evaluating EL expression: {}", expression);
             }
             
-            return elProc.eval(expression);        
+            ValueExpression valueExpression = expressionCache.get(expression);
+            if(valueExpression == null) {
+                valueExpression = factory.createValueExpression(context, "${" + expression + "}", Object.class);
+                expressionCache.put(expression, valueExpression);
+            }
+            
+            return valueExpression.getValue(context);
+        
         } catch (final ELException ex){
             throw new ExpressionEvaluationException(String.format("Evaluating [%s] script with EL failed.", expression), ex);
         }
+    }
+    
+    /**
+     * {@link ExpressionFactory}を取得する。
+     * <p>ELのライブラリが無い環境でもインスタンスを作成できるよう、初めて評価するときに作成する。
+     * @return
+     */
+    private ExpressionFactory getExpressionFactory() {
+        
+        ExpressionFactory factory = expressionFactory;
+        if(factory == null) {
+            factory = ExpressionFactory.newInstance();
+            this.expressionFactory = factory;
+        }
         
+        return factory;
+    }
+    
+    /**
+     * 解析した式のキャッシュを取得する。
+     * <p>キャッシュのヒット率などの統計情報の確認に利用する。
+     * @since 1.5
+     * @return
+     */
+    public ObjectCache<String, ValueExpression> getExpressionCache() {
+        return expressionCache;
     }
     
     /**
@@ -137,32 +260,121 @@ public class ExpressionLanguageELImpl implements ExpressionLanguage {
     }
     
     /**
-     * EL3.0用の式中の変数のResolver。
+     * 評価ごとに作成する、式中の変数を保持するELContext。
+     * <p>Resolverなどは共有のインスタンスを利用し、変数のみを保持する。
+     *
+     */
+    private static class VariablesELContext extends ELContext {
+        
+        private final ELResolver resolver;
+        
+        public VariablesELContext(final ExpressionFactory factory, final ELResolver resolver, final Map<String, Object> variables) {
+            this.resolver = resolver;
+            putContext(ExpressionFactory.class, factory);
+            putContext(VariablesELResolver.class, variables);
+        }
+        
+        @Override
+        public ELResolver getELResolver() {
+            return resolver;
+        }
+        
+        @Override
+        public FunctionMapper getFunctionMapper() {
+            return EMPTY_FUNCTION_MAPPER;
+        }
+        
+        @Override
+        public VariableMapper getVariableMapper() {
+            return EMPTY_VARIABLE_MAPPER;
+        }
+    
+    }
+    
+    /**
+     * 式中の変数のResolver。
+     * ・変数は、{@link VariablesELContext}に保持しているものを参照する。
      * ・存在しない場合はnullを返す。
+     * ・EL2.xでも可変長引数を渡せるよう、{@link FormatterWrapper#format(String, Object...)}の呼び出しを処理する。
      *
      */
-    private class LocalBeanNameResolver extends BeanNameResolver {
+    private static class VariablesELResolver extends ELResolver {
         
-        private final Map<String, Object> map;
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> getVariables(final ELContext context, final Object base, final Object property) {
+            if(base != null || !(property instanceof String)) {
+                return null;
+            }
         
-        public LocalBeanNameResolver(final Map<String, ?> map) {
-            this.map = new HashMap<>(map);
+            return (Map<String, Object>) context.getContext(VariablesELResolver.class);
         }
         
         @Override
-        public boolean isNameResolved(final String beanName){
-            // 存在しない場合はnullを返すように、必ずtrueを設定する。
-            return true;
+        public Object getValue(final ELContext context, final Object base, final Object property) {
+            final Map<String, Object> variables = getVariables(context, base, property);
+            if(variables == null) {
+                return null;
+            }
+            
+            // 存在しない場合はnullを返すように、必ず解決済みとする。
+            context.setPropertyResolved(true);
+            return variables.get(property);
+        }
+        
+        @Override
+        public Class<?> getType(final ELContext context, final Object base, final Object property) {
+            final Map<String, Object> variables = getVariables(context, base, property);
+            if(variables == null) {
+                return null;
+            }
+            
+            context.setPropertyResolved(true);
+            return Object.class;
+        }
+        
+        @Override
+        public void setValue(final ELContext context, final Object base, final Object property, final Object value) {
+            final Map<String, Object> variables = getVariables(context, base, property);
+            if(variables == null) {
+                return;
+            }
+            
+            context.setPropertyResolved(true);
+            variables.put((String) property, value);
+        }
+        
+        @Override
+        public boolean isReadOnly(final ELContext context, final Object base, final Object property) {
+            final Map<String, Object> variables = getVariables(context, base, property);
+            if(variables == null) {
+                return false;
+            }
+            
+            context.setPropertyResolved(true);
+            return false;
+        }
+        
+        @Override
+        public Object invoke(final ELContext context, final Object base, final Object method,
+                final Class<?>[] paramTypes, final Object[] params) {
+            
+            if(!(base instanceof FormatterWrapper) || !"format".equals(method)
+                    || params == null || params.length == 0 || !(params[0] instanceof String)) {
+                return null;
+            }
+            
+            context.setPropertyResolved(true);
+            return ((FormatterWrapper) base).format((String) params[0], Arrays.copyOfRange(params, 1, params.length));
         }
         
         @Override
-        public Object getBean(final String beanName){
-            return map.get( beanName );
+        public Iterator<FeatureDescriptor> getFeatureDescriptors(final ELContext context, final Object base) {
+            return null;
         }
         
         @Override
-        public void setBeanValue(String beanName, Object value){
-            map.put(beanName, value );
+        public Class<?> getCommonPropertyType(final ELContext context, final Object base) {
+            return base == null ? String.class : null;
         }
 
     }
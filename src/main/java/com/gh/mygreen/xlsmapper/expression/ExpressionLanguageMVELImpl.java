@@ -13,6 +13,9 @@ import com.gh.mygreen.xlsmapper.ArgUtils;
  * 式言語「MVEL」の実装。
  * <p>利用する際には、MVEL2.xのライブラリが必要です。
  * 
+ * <p>コンパイルした式は、{@link ObjectCache}にキャッシュする。
+ * 
+ * @version 1.5
  * @author T.TSUCHIE
  *
  */
@@ -20,8 +23,23 @@ public class ExpressionLanguageMVELImpl implements ExpressionLanguage {
     
     private static final Logger logger = LoggerFactory.getLogger(ExpressionLanguageMVELImpl.class);
     
+    /**
+     * コンパイルした式のキャッシュ
+     * ・key = 式
+     * ・value = コンパイルした式
+     */
     private final ObjectCache<String, Object> expressionCache = new ObjectCache<String, Object>();
     
+    /**
+     * コンパイルした式のキャッシュを取得する。
+     * <p>キャッシュのヒット率などの統計情報の確認に利用する。
+     * @since 1.5
+     * @return
+     */
+    public ObjectCache<String, Object> getExpressionCache() {
+        return expressionCache;
+    }
+    
     @Override
     public Object evaluate(final String expression, final Map<String, ?> values) {
         
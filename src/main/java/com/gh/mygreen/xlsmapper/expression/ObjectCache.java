@@ -1,62 +1,230 @@
 package com.gh.mygreen.xlsmapper.expression;
 
-import java.lang.ref.SoftReference;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 
+/**
+ * 式のオブジェクトなどを保持する、サイズの上限があるキャッシュ。
+ * <p>上限を超えた場合は、最も長い間参照されていないものから破棄する(LRU)。
+ * <p>複数のスレッドから利用できる。キーのハッシュ値ごとに領域を分割してロックするため、
+ *    異なる領域へのアクセスは互いにブロックしない。
+ * <p>ヒット数、ミス数、破棄した数の統計情報を取得できる。
+ * <p>キーにはnullも指定できる。
+ *
+ * @version 1.5
+ * @author T.TSUCHIE
+ *
+ * @param <K> キーのタイプ
+ * @param <V> 値のタイプ
+ */
 public class ObjectCache<K, V> {
     
-    private final Map<K, SoftReference<V>> map = new HashMap<K, SoftReference<V>>();
+    /** 標準の保持する件数の上限 */
+    public static final int DEFAULT_MAX_SIZE = 1000;
     
-    private final LinkedList<V> objectsLastAccessed = new LinkedList<V>();
-    private final int objectsToKeepCount;
+    /** 領域を分割する数 */
+    private static final int SEGMENT_COUNT = 16;
+    
+    /** 領域を分割しない場合の、件数の上限の目安 */
+    private static final int MIN_SIZE_FOR_SEGMENTS = 64;
+    
+    private final List<Segment<K, V>> segments;
+    
+    private final int maxSize;
+    
+    private final AtomicLong hitCount = new AtomicLong();
+    
+    private final AtomicLong missCount = new AtomicLong();
+    
+    private final AtomicLong evictionCount = new AtomicLong();
     
     /**
-     * Creates a new cache keeping all objects.
+     * 保持する件数の上限を{@link #DEFAULT_MAX_SIZE}としてインスタンスを作成する。
      */
     public ObjectCache() {
-        this.objectsToKeepCount = -1;
+        this(DEFAULT_MAX_SIZE);
     }
     
     /**
-     * @param maxObjectsToKeep the number of cached objects that should stay in memory when GC 
-     * starts removing SoftReferences to free memory 
+     * 保持する件数の上限を指定してインスタンスを作成する。
+     * @param maxObjectsToKeep 保持する件数の上限。0以下の場合は、{@link #DEFAULT_MAX_SIZE}とする。
      */
     public ObjectCache(final int maxObjectsToKeep) {
-        this.objectsToKeepCount = maxObjectsToKeep;
+        this.maxSize = maxObjectsToKeep > 0 ? maxObjectsToKeep : DEFAULT_MAX_SIZE;
+        
+        // 件数が少ない場合は、LRUの順序を厳密に保つため分割しない。
+        final int segmentCount = maxSize < MIN_SIZE_FOR_SEGMENTS ? 1 : SEGMENT_COUNT;
+        final int segmentSize = (maxSize + segmentCount - 1) / segmentCount;
+        
+        this.segments = new ArrayList<>(segmentCount);
+        for(int i=0; i < segmentCount; i++) {
+            segments.add(new Segment<K, V>(segmentSize, evictionCount));
+        }
     }
     
-    public void compact() {
-        for (final Map.Entry<K, SoftReference<V>> entry : map.entrySet()) {
-            final SoftReference<V> ref = entry.getValue();
-            if (ref.get() == null) map.remove(entry.getKey());
+    /**
+     * キーを保持する領域を取得する。
+     * <p>キーがnullの場合は、先頭の領域とする。
+     */
+    private Segment<K, V> segmentFor(final Object key) {
+        if(key == null) {
+            return segments.get(0);
         }
+        
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments.get((h & 0x7fffffff) % segments.size());
     }
     
+    /**
+     * キーに対する値を保持しているかどうか。
+     * <p>統計情報と参照順には影響しない。
+     * @param key キー
+     * @return true:保持している場合。
+     */
     public boolean contains(final K key) {
-        return map.containsKey(key);
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized(segment) {
+            return segment.containsKey(key);
+        }
     }
     
+    /**
+     * キーに対する値を取得する。
+     * @param key キー
+     * @return 保持していない場合はnullを返す。
+     */
     public V get(final K key) {
-        final SoftReference<V> softReference = map.get(key);
-        if (softReference != null) {
-            final V value = softReference.get();
-            if (value == null) {
-                map.remove(key);
-            } else if (objectsToKeepCount > 0 && value != objectsLastAccessed.getFirst()) {
-                objectsLastAccessed.remove(value);
-                objectsLastAccessed.addFirst(value);
-                if (objectsLastAccessed.size() > objectsToKeepCount) objectsLastAccessed.removeLast();
-            }
-            return softReference.get();
+        final Segment<K, V> segment = segmentFor(key);
+        final V value;
+        synchronized(segment) {
+            value = segment.get(key);
         }
-        return null;
+        
+        if(value == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        
+        return value;
     }
     
+    /**
+     * 値を保持する。
+     * <p>件数の上限を超える場合は、最も長い間参照されていない値を破棄する。
+     * @param key キー
+     * @param value 値
+     */
     public void put(final K key, final V value) {
-        map.remove(key);
-        map.put(key, new SoftReference<V>(value));
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized(segment) {
+            segment.put(key, value);
+        }
+    }
+    
+    /**
+     * 保持している値を全て破棄する。
+     * <p>統計情報はリセットしない。
+     */
+    public void clear() {
+        for(Segment<K, V> segment : segments) {
+            synchronized(segment) {
+                segment.clear();
+            }
+        }
+    }
+    
+    /**
+     * 保持している件数を取得する。
+     * @return
+     */
+    public int size() {
+        int size = 0;
+        for(Segment<K, V> segment : segments) {
+            synchronized(segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+    
+    /**
+     * 保持する件数の上限を取得する。
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    /**
+     * {@link #get(Object)}で値を取得できた回数を取得する。
+     * @return
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+    
+    /**
+     * {@link #get(Object)}で値を取得できなかった回数を取得する。
+     * @return
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+    
+    /**
+     * 件数の上限を超えたために破棄した回数を取得する。
+     * @return
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+    
+    /**
+     * 参照されなくなった値を破棄する。
+     * @deprecated 値は強参照で保持し、件数の上限で破棄するため何もしない。
+     */
+    @Deprecated
+    public void compact() {
+        // 何もしない
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("ObjectCache [size=%d, maxSize=%d, hitCount=%d, missCount=%d, evictionCount=%d]",
+                size(), maxSize, getHitCount(), getMissCount(), getEvictionCount());
+    }
+    
+    /**
+     * 分割した領域。参照順に並ぶ{@link LinkedHashMap}で、LRUを実現する。
+     * <p>呼び出し元で、インスタンスに対して同期をとる必要がある。
+     */
+    private static class Segment<K, V> extends LinkedHashMap<K, V> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final int maxSize;
+        
+        private final AtomicLong evictionCount;
+        
+        private Segment(final int maxSize, final AtomicLong evictionCount) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+            this.evictionCount = evictionCount;
+        }
+        
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+            if(size() > maxSize) {
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
     }
 }
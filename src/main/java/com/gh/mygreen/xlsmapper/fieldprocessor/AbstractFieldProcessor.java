@@ -15,7 +15,7 @@ import com.gh.mygreen.xlsmapper.cellconvert.DefaultCellConverter;
  * 各種アノテーションを処理するためのクラスの抽象クラス。
  * <p>通常はこのクラスを継承して作成する。
  * 
- * @version 1.0
+ * @version 1.5
  * @author T.TSUCHIE
  *
  */
@@ -89,4 +89,50 @@ public abstract class AbstractFieldProcessor<A extends Annotation> implements Lo
         
         return converter;
     }
+    
+    /**
+     * 読み込み時用の表の列のConveterを取得する。
+     * <p>初めて取得したConverterは、引数bindingに保持して使い回す。
+     * 
+     * @since 1.5
+     * @param binding 見出しに対応するプロパティの情報
+     * @param converterResolver Converterを登録しているクラス。
+     * @param config XlsMapperの設定クラス。Converterクラスのインスタンスを生成する際に利用する。
+     * @return
+     * @throws XlsMapperException Converterが見つからない場合。
+     */
+    protected CellConverter<?> getLoadingCellConverter(final ColumnBindingPlan.ColumnBinding binding,
+            final CellConverterRegistry converterResolver, final XlsMapperConfig config) throws XlsMapperException {
+        
+        CellConverter<?> converter = binding.getConverter();
+        if(converter == null) {
+            converter = getLoadingCellConverter(binding.getProperty(), converterResolver, config);
+            binding.setConverter(converter);
+        }
+        
+        return converter;
+    }
+    
+    /**
+     * 書き込み時用の表の列のConveterを取得する。
+     * <p>初めて取得したConverterは、引数bindingに保持して使い回す。
+     * 
+     * @since 1.5
+     * @param binding 見出しに対応するプロパティの情報
+     * @param converterResolver Converterを登録しているクラス。
+     * @param config XlsMapperの設定クラス。Converterクラスのインスタンスを生成する際に利用する。
+     * @return
+     * @throws XlsMapperException Converterが見つからない場合。
+     */
+    protected CellConverter<?> getSavingCellConverter(final ColumnBindingPlan.ColumnBinding binding,
+            final CellConverterRegistry converterResolver, final XlsMapperConfig config) throws XlsMapperException {
+        
+        CellConverter<?> converter = binding.getConverter();
+        if(converter == null) {
+            converter = getSavingCellConverter(binding.getProperty(), converterResolver, config);
+            binding.setConverter(converter);
+        }
+        
+        return converter;
+    }
 }
@@ -0,0 +1,185 @@
+package com.gh.mygreen.xlsmapper.fieldprocessor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.gh.mygreen.xlsmapper.ArgUtils;
+import com.gh.mygreen.xlsmapper.Utils;
+import com.gh.mygreen.xlsmapper.XlsMapperConfig;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.cellconvert.CellConverter;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+
+
+/**
+ * 表の見出しと、レコードのプロパティの対応付けを保持するクラス。
+ * <p>レコードごとに見出しに対応するプロパティを探すと、リフレクションとアノテーションの取得を
+ *    「レコード数×見出し数」の回数行うため、表ごとに1度だけ対応付けを作成し、各レコードではこれを辿って値をマッピングする。
+ * <p>見出しのインデックスごとに、アノテーション{@link XlsColumn}が付与されたプロパティの情報を保持する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class ColumnBindingPlan {
+    
+    private final Class<?> recordClass;
+    
+    /**
+     * 見出しごとのプロパティの情報
+     * ・index = 見出しのインデックス
+     * ・value = 見出しに対応するプロパティの情報
+     */
+    private final List<List<ColumnBinding>> headerBindings;
+    
+    private ColumnBindingPlan(final Class<?> recordClass, final List<List<ColumnBinding>> headerBindings) {
+        this.recordClass = recordClass;
+        this.headerBindings = headerBindings;
+    }
+    
+    /**
+     * 読み込み時の対応付けを作成する。
+     * @param recordClass レコードのクラス
+     * @param headers 表の見出し情報
+     * @param reader {@link AnnotationReader}のインスタンス
+     * @param config システム設定
+     * @return 作成した対応付け
+     * @throws IllegalArgumentException recordClass == null or headers == null.
+     */
+    public static ColumnBindingPlan createForLoading(final Class<?> recordClass, final List<RecordHeader> headers,
+            final AnnotationReader reader, final XlsMapperConfig config) {
+        
+        ArgUtils.notNull(recordClass, "recordClass");
+        ArgUtils.notNull(headers, "headers");
+        
+        final List<List<ColumnBinding>> headerBindings = new ArrayList<>(headers.size());
+        for(RecordHeader header : headers) {
+            final List<ColumnBinding> bindings = new ArrayList<>();
+            for(FieldAdaptor property : Utils.getLoadingColumnProperties(recordClass, header.getLabel(), reader, config)) {
+                bindings.add(new ColumnBinding(property, property.getLoadingAnnotation(XlsColumn.class)));
+            }
+            headerBindings.add(Collections.unmodifiableList(bindings));
+        }
+        
+        return new ColumnBindingPlan(recordClass, headerBindings);
+    }
+    
+    /**
+     * 書き込み時の対応付けを作成する。
+     * @param recordClass レコードのクラス
+     * @param headers 表の見出し情報
+     * @param reader {@link AnnotationReader}のインスタンス
+     * @param config システム設定
+     * @return 作成した対応付け
+     * @throws IllegalArgumentException recordClass == null or headers == null.
+     */
+    public static ColumnBindingPlan createForSaving(final Class<?> recordClass, final List<RecordHeader> headers,
+            final AnnotationReader reader, final XlsMapperConfig config) {
+        
+        ArgUtils.notNull(recordClass, "recordClass");
+        ArgUtils.notNull(headers, "headers");
+        
+        final List<List<ColumnBinding>> headerBindings = new ArrayList<>(headers.size());
+        for(RecordHeader header : headers) {
+            final List<ColumnBinding> bindings = new ArrayList<>();
+            for(FieldAdaptor property : Utils.getSavingColumnProperties(recordClass, header.getLabel(), reader, config)) {
+                bindings.add(new ColumnBinding(property, property.getSavingAnnotation(XlsColumn.class)));
+            }
+            headerBindings.add(Collections.unmodifiableList(bindings));
+        }
+        
+        return new ColumnBindingPlan(recordClass, headerBindings);
+    }
+    
+    /**
+     * 対応付けを作成したレコードのクラスを取得する。
+     * @return
+     */
+    public Class<?> getRecordClass() {
+        return recordClass;
+    }
+    
+    /**
+     * 指定したレコードのクラスに対して作成した対応付けかどうか。
+     * @param clazz レコードのクラス
+     * @return true:同じクラスに対して作成した場合。
+     */
+    public boolean isTarget(final Class<?> clazz) {
+        return recordClass.equals(clazz);
+    }
+    
+    /**
+     * 見出しに対応するプロパティの情報を取得する。
+     * @param headerIndex 見出しのインデックス
+     * @return 対応するプロパティがない場合は空のリストを返す。
+     */
+    public List<ColumnBinding> getBindings(final int headerIndex) {
+        return headerBindings.get(headerIndex);
+    }
+    
+    /**
+     * プロパティが対応する最初の見出しのインデックスを取得する。
+     * @return 対応する見出しがない場合は0を返す。
+     */
+    public int getStartHeaderIndex() {
+        for(int i=0; i < headerBindings.size(); i++) {
+            if(!headerBindings.get(i).isEmpty()) {
+                return i;
+            }
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * 見出しに対応するプロパティの情報。
+     * <p>Converterは、初めて値をマッピングするときに取得して保持する。
+     */
+    public static class ColumnBinding {
+        
+        private final FieldAdaptor property;
+        
+        private final XlsColumn column;
+        
+        private CellConverter<?> converter;
+        
+        private ColumnBinding(final FieldAdaptor property, final XlsColumn column) {
+            this.property = property;
+            this.column = column;
+        }
+        
+        /**
+         * プロパティの情報を取得する。
+         * @return
+         */
+        public FieldAdaptor getProperty() {
+            return property;
+        }
+        
+        /**
+         * プロパティに付与されているアノテーションを取得する。
+         * @return
+         */
+        public XlsColumn getColumn() {
+            return column;
+        }
+        
+        /**
+         * 保持しているConverterを取得する。
+         * @return まだ取得していない場合はnullを返す。
+         */
+        public CellConverter<?> getConverter() {
+            return converter;
+        }
+        
+        /**
+         * 取得したConverterを保持する。
+         * @param converter
+         */
+        public void setConverter(final CellConverter<?> converter) {
+            this.converter = converter;
+        }
+    }
+
+}
@@ -2,7 +2,6 @@ package com.gh.mygreen.xlsmapper.fieldprocessor;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.Collection;
@@ -54,6 +53,9 @@ public class FieldAdaptor {
     /** 親のクラスタイプ */
     private Class<?> parentClass;
     
+    /** 値の取得/設定を行うクラス。初めて値にアクセスするときに作成する。*/
+    private PropertyAccessor accessor;
+    
     /**
      * フィールド情報を指定して初期化する。
      * @param clazz
@@ -72,6 +74,20 @@ public class FieldAdaptor {
 
     }
     
+    /**
+     * フィールド情報と、値の取得/設定を行うクラスを指定して初期化する。
+     * <p>{@link com.gh.mygreen.xlsmapper.SheetMapper}の実装クラスが、フィールドに直接アクセスする場合に利用する。
+     * @since 1.5
+     * @param clazz
+     * @param field
+     * @param reader 別定義のアノテーション情報（利用しない場合はnullを設定）
+     * @param accessor 値の取得/設定を行うクラス。nullの場合は、MethodHandleなどを利用する。
+     */
+    public FieldAdaptor(final Class<?> clazz, final Field field, final AnnotationReader reader, final PropertyAccessor accessor) {
+        this(clazz, field, reader);
+        this.accessor = accessor;
+    }
+    
     /**
      * フィールド情報を指定して初期化する。
      * @param clazz
@@ -107,6 +123,20 @@ public class FieldAdaptor {
         }
     }
     
+    /**
+     * Getter/Setterメソッド情報と、値の取得/設定を行うクラスを指定して初期化する。
+     * <p>{@link com.gh.mygreen.xlsmapper.SheetMapper}の実装クラスが、Getter/Setterメソッドを直接呼び出す場合に利用する。
+     * @since 1.5
+     * @param clazz
+     * @param method
+     * @param reader 別定義のアノテーション情報（利用しない場合はnullを設定）
+     * @param accessor 値の取得/設定を行うクラス。nullの場合は、MethodHandleなどを利用する。
+     * @throws IllegalStateException setter/getter以外のメソッドを指定した場合。
+     */
+    public FieldAdaptor(final Class<?> clazz, final Method method, final AnnotationReader reader, final PropertyAccessor accessor) {
+        this(clazz, method, reader);
+        this.accessor = accessor;
+    }
     
     /**
      * Getter/Setterメソッド情報を指定して比較する。
@@ -267,6 +297,11 @@ public class FieldAdaptor {
         return true;
     }
     
+    @Override
+    public int hashCode() {
+        return getTargetClass().hashCode() * 31 + getName().hashCode();
+    }
+    
     /**
      * オブジェクトのフィールド値を取得する。
      * @param targetObj
@@ -275,15 +310,7 @@ public class FieldAdaptor {
     public Object getValue(final Object targetObj) {
         ArgUtils.notNull(targetObj, "targetObj");
         
-        try {
-            if(withField) {
-                return targetField.get(targetObj);
-            } else {
-                return targetGetter.invoke(targetObj);
-            }
-        } catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException("fail get field value.");
-        }
+        return getAccessor().get(targetObj);
         
     }
     
@@ -317,16 +344,23 @@ public class FieldAdaptor {
     public void setValue(final Object targetObj, final Object value) {
         ArgUtils.notNull(targetObj, "targetObj");
         
-        try {
+        getAccessor().set(targetObj, value);
+    }
+    
+    /**
+     * 値の取得/設定を行うクラスを取得する。
+     * <p>{@link java.lang.invoke.MethodHandle}を作成できる場合はそれを利用し、できない場合はリフレクションを利用する。
+     * @return
+     */
+    private PropertyAccessor getAccessor() {
+        if(accessor == null) {
             if(withField) {
-                targetField.set(targetObj, value);
+                this.accessor = PropertyAccessor.create(targetField);
             } else {
-                targetSetter.invoke(targetObj, value);
+                this.accessor = PropertyAccessor.create(targetGetter, targetSetter);
             }
-            
-        }catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException("fail get field value.");
         }
+        return accessor;
     }
     
     /**
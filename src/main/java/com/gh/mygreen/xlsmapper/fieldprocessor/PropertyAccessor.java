@@ -0,0 +1,185 @@
+package com.gh.mygreen.xlsmapper.fieldprocessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+
+/**
+ * プロパティの値の取得/設定を行うクラス。
+ * <p>{@link MethodHandle}を作成できる場合は、それを利用してアクセスし、
+ *    作成できない場合は、リフレクション（{@link Field}/{@link Method}）を利用してアクセスする。
+ * <p>MethodHandleは、引数と戻り値の型を{@link Object}に変換した状態で作成して保持するため、
+ *    セルごとのアクセスチェックを省くことができる。
+ * <p>アノテーションプロセッサ{@link com.gh.mygreen.xlsmapper.processor.XlsSheetProcessor}が生成する
+ *    {@link com.gh.mygreen.xlsmapper.SheetMapper}の実装クラスは、private以外のフィールドとSetter/Getterメソッドに直接アクセスする実装を作成する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public abstract class PropertyAccessor {
+    
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    
+    /**
+     * 値を取得する。
+     * @param targetObj 対象のオブジェクト
+     * @return 取得した値
+     * @throws RuntimeException 値の取得に失敗した場合。
+     */
+    public abstract Object get(Object targetObj);
+    
+    /**
+     * 値を設定する。
+     * @param targetObj 対象のオブジェクト
+     * @param value 設定する値
+     * @throws RuntimeException 値の設定に失敗した場合。
+     */
+    public abstract void set(Object targetObj, Object value);
+    
+    /**
+     * フィールドに直接アクセスするインスタンスを作成する。
+     * @param field フィールド。アクセス可能に設定されている必要がある。
+     * @return MethodHandleを作成できない場合は、リフレクションを利用するインスタンスを返す。
+     */
+    static PropertyAccessor create(final Field field) {
+        
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            final MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            final MethodHandle setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            return new HandleAccessor(getter, setter);
+        
+        } catch(IllegalAccessException | RuntimeException e) {
+            return new FieldAccessor(field);
+        }
+    
+    }
+    
+    /**
+     * Getter/Setterメソッドを経由してアクセスするインスタンスを作成する。
+     * @param getter Getterメソッド。存在しない場合はnull。
+     * @param setter Setterメソッド。存在しない場合はnull。
+     * @return MethodHandleを作成できない場合は、リフレクションを利用するインスタンスを返す。
+     */
+    static PropertyAccessor create(final Method getter, final Method setter) {
+        
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            final MethodHandle getterHandle = getter == null ? null : lookup.unreflect(getter).asType(GETTER_TYPE);
+            final MethodHandle setterHandle = setter == null ? null : lookup.unreflect(setter).asType(SETTER_TYPE);
+            return new HandleAccessor(getterHandle, setterHandle);
+        
+        } catch(IllegalAccessException | RuntimeException e) {
+            return new MethodAccessor(getter, setter);
+        }
+    
+    }
+    
+    /**
+     * MethodHandleを利用してアクセスするクラス。
+     */
+    static class HandleAccessor extends PropertyAccessor {
+        
+        private final MethodHandle getter;
+        
+        private final MethodHandle setter;
+        
+        HandleAccessor(final MethodHandle getter, final MethodHandle setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+        
+        @Override
+        public Object get(final Object targetObj) {
+            try {
+                return (Object) getter.invokeExact(targetObj);
+            } catch(Error e) {
+                throw e;
+            } catch(Throwable e) {
+                throw new RuntimeException("fail get field value.", e);
+            }
+        }
+        
+        @Override
+        public void set(final Object targetObj, final Object value) {
+            try {
+                setter.invokeExact(targetObj, value);
+            } catch(Error e) {
+                throw e;
+            } catch(Throwable e) {
+                throw new RuntimeException("fail set field value.", e);
+            }
+        }
+    }
+    
+    /**
+     * リフレクションでフィールドにアクセスするクラス。
+     */
+    static class FieldAccessor extends PropertyAccessor {
+        
+        private final Field field;
+        
+        FieldAccessor(final Field field) {
+            this.field = field;
+        }
+        
+        @Override
+        public Object get(final Object targetObj) {
+            try {
+                return field.get(targetObj);
+            } catch(IllegalArgumentException | IllegalAccessException e) {
+                throw new RuntimeException("fail get field value.", e);
+            }
+        }
+        
+        @Override
+        public void set(final Object targetObj, final Object value) {
+            try {
+                field.set(targetObj, value);
+            } catch(IllegalArgumentException | IllegalAccessException e) {
+                throw new RuntimeException("fail set field value.", e);
+            }
+        }
+    }
+    
+    /**
+     * リフレクションでGetter/Setterメソッドを呼び出すクラス。
+     */
+    static class MethodAccessor extends PropertyAccessor {
+        
+        private final Method getter;
+        
+        private final Method setter;
+        
+        MethodAccessor(final Method getter, final Method setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+        
+        @Override
+        public Object get(final Object targetObj) {
+            try {
+                return getter.invoke(targetObj);
+            } catch(IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
+                throw new RuntimeException("fail get field value.", e);
+            }
+        }
+        
+        @Override
+        public void set(final Object targetObj, final Object value) {
+            try {
+                setter.invoke(targetObj, value);
+            } catch(IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
+                throw new RuntimeException("fail set field value.", e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.gh.mygreen.xlsmapper.fieldprocessor;
+
+import com.gh.mygreen.xlsmapper.XlsMapperException;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+
+
+/**
+ * アノテーション{@link XlsHorizontalRecords}で読み込んだレコードを、1件ずつ受け取るためのインタフェース。
+ * <p>{@link RecordHandlerRegistry}に登録して読み込み時に渡すと、レコードはリストに保持されずに、変換が完了した時点でこのハンドラに渡される。
+ *    そのため、大量のレコードを読み込む場合でも、全てのレコードをメモリ上に保持する必要がない。
+ * <p>ハンドラを登録したフィールドには、値は設定されない。
+ * 
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public interface RecordHandler<R> {
+    
+    /**
+     * 1レコード分の読み込みが完了したときに呼ばれる。
+     * <p>レコードの{@literal @XlsPostLoad}のメソッドは、このメソッドを呼ぶ直前に実行される。
+     * <p>呼ばれるときのエラー情報のパスは、処理中のレコードを指している。
+     * 
+     * @param record 読み込んだレコード。
+     * @param index レコードのインデックス。0から始まる。
+     * @param errors マッピング時のエラー情報。
+     * @throws XlsMapperException 処理を中断する場合にスローする。
+     */
+    void handle(R record, int index, SheetBindingErrors errors) throws XlsMapperException;
+
+}
@@ -0,0 +1,87 @@
+package com.gh.mygreen.xlsmapper.fieldprocessor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.gh.mygreen.xlsmapper.ArgUtils;
+
+
+/**
+ * {@link RecordHandler}を管理するクラス。
+ * <p>レコードを持つBeanのクラスと、そのフィールド名の組み合わせに対してハンドラを登録する。
+ * <p>読み込み処理ごとにインスタンスを作成し、{@link com.gh.mygreen.xlsmapper.XlsLoader#load(java.io.InputStream, Class, java.io.InputStream, com.gh.mygreen.xlsmapper.validation.SheetBindingErrors, RecordHandlerRegistry)}
+ *    などの引数に渡す。
+ * 
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class RecordHandlerRegistry {
+    
+    /**
+     * ハンドラの登録情報
+     * ・key = Beanのクラス。クラスローダが異なる同名のクラスを区別するため、クラス名ではなくクラスをキーとする。
+     * ・value = フィールド名とハンドラのインスタンスのマップ
+     */
+    private final ConcurrentMap<Class<?>, Map<String, RecordHandler<?>>> handlerMap = new ConcurrentHashMap<>();
+    
+    /**
+     * ハンドラを登録する。
+     * @param beanClass レコードのフィールドを持つBeanのクラス。
+     * @param fieldName アノテーションが付与されているフィールド名。
+     * @param handler ハンドラのインスタンス。
+     * @throws IllegalArgumentException beanClass == null or fieldName is empty or handler == null.
+     */
+    public void registerHandler(final Class<?> beanClass, final String fieldName, final RecordHandler<?> handler) {
+        ArgUtils.notNull(beanClass, "beanClass");
+        ArgUtils.notEmpty(fieldName, "fieldName");
+        ArgUtils.notNull(handler, "handler");
+        
+        Map<String, RecordHandler<?>> fieldMap = handlerMap.get(beanClass);
+        if(fieldMap == null) {
+            fieldMap = new ConcurrentHashMap<>();
+            final Map<String, RecordHandler<?>> existing = handlerMap.putIfAbsent(beanClass, fieldMap);
+            if(existing != null) {
+                fieldMap = existing;
+            }
+        }
+        
+        fieldMap.put(fieldName, handler);
+    }
+    
+    /**
+     * 登録されているハンドラを削除する。
+     * @param beanClass レコードのフィールドを持つBeanのクラス。
+     * @param fieldName アノテーションが付与されているフィールド名。
+     */
+    public void unregisterHandler(final Class<?> beanClass, final String fieldName) {
+        ArgUtils.notNull(beanClass, "beanClass");
+        ArgUtils.notEmpty(fieldName, "fieldName");
+        
+        final Map<String, RecordHandler<?>> fieldMap = handlerMap.get(beanClass);
+        if(fieldMap != null) {
+            fieldMap.remove(fieldName);
+        }
+    }
+    
+    /**
+     * ハンドラを取得する。
+     * @param beanClass レコードのフィールドを持つBeanのクラス。
+     * @param fieldName アノテーションが付与されているフィールド名。
+     * @return 見つからない場合はnullを返す。
+     */
+    @SuppressWarnings("unchecked")
+    public <R> RecordHandler<R> getHandler(final Class<?> beanClass, final String fieldName) {
+        ArgUtils.notNull(beanClass, "beanClass");
+        ArgUtils.notEmpty(fieldName, "fieldName");
+        
+        final Map<String, RecordHandler<?>> fieldMap = handlerMap.get(beanClass);
+        if(fieldMap == null) {
+            return null;
+        }
+        
+        return (RecordHandler<R>) fieldMap.get(fieldName);
+    }
+
+}
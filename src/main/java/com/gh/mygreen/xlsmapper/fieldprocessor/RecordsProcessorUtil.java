@@ -8,6 +8,7 @@ import org.apache.poi.ss.usermodel.Sheet;
 
 import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
 import com.gh.mygreen.xlsmapper.ArgUtils;
+import com.gh.mygreen.xlsmapper.LabelMatcher;
 import com.gh.mygreen.xlsmapper.Utils;
 import com.gh.mygreen.xlsmapper.XlsMapperConfig;
 import com.gh.mygreen.xlsmapper.XlsMapperException;
@@ -44,9 +45,10 @@ public class RecordsProcessorUtil {
             
             if(!column.optional()){
                 String columnName = column.columnName();
+                final LabelMatcher matcher = LabelMatcher.compile(columnName, config);
                 boolean find = false;
                 for(RecordHeader info: headers){
-                    if(Utils.matches(info.getLabel(), columnName, config)){
+                    if(matcher.matches(info.getLabel())){
                         find = true;
                         break;
                     }
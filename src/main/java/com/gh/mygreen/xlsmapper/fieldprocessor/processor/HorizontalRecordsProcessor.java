@@ -28,10 +28,15 @@ import org.slf4j.LoggerFactory;
 
 import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
 import com.gh.mygreen.xlsmapper.CellCommentStore;
+import com.gh.mygreen.xlsmapper.CellLabelIndex;
+import com.gh.mygreen.xlsmapper.LabelMatcher;
 import com.gh.mygreen.xlsmapper.LoadingWorkObject;
+import com.gh.mygreen.xlsmapper.MergedRegionIndex;
 import com.gh.mygreen.xlsmapper.NeedProcess;
 import com.gh.mygreen.xlsmapper.POIUtils;
+import com.gh.mygreen.xlsmapper.RecordLifeCycle;
 import com.gh.mygreen.xlsmapper.SavingWorkObject;
+import com.gh.mygreen.xlsmapper.SheetDimension;
 import com.gh.mygreen.xlsmapper.Utils;
 import com.gh.mygreen.xlsmapper.XlsMapperConfig;
 import com.gh.mygreen.xlsmapper.XlsMapperException;
@@ -41,21 +46,19 @@ import com.gh.mygreen.xlsmapper.annotation.RemainedRecordOperate;
 import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
 import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
 import com.gh.mygreen.xlsmapper.annotation.XlsIsEmpty;
-import com.gh.mygreen.xlsmapper.annotation.XlsListener;
 import com.gh.mygreen.xlsmapper.annotation.XlsMapColumns;
 import com.gh.mygreen.xlsmapper.annotation.XlsNestedRecords;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
 import com.gh.mygreen.xlsmapper.cellconvert.CellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.TypeBindException;
 import com.gh.mygreen.xlsmapper.fieldprocessor.AbstractFieldProcessor;
 import com.gh.mygreen.xlsmapper.fieldprocessor.CellAddress;
 import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.ColumnBindingPlan;
+import com.gh.mygreen.xlsmapper.fieldprocessor.ColumnBindingPlan.ColumnBinding;
 import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
 import com.gh.mygreen.xlsmapper.fieldprocessor.MergedRecord;
 import com.gh.mygreen.xlsmapper.fieldprocessor.NestMergedSizeException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.RecordHandler;
 import com.gh.mygreen.xlsmapper.fieldprocessor.RecordHeader;
 import com.gh.mygreen.xlsmapper.fieldprocessor.RecordsProcessorUtil;
 import com.gh.mygreen.xlsmapper.xml.AnnotationReadException;
@@ -81,13 +84,16 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         // ラベルの設定
         if(Utils.isNotEmpty(anno.tableLabel())) {
             try {
-                final Cell tableLabelCell = Utils.getCell(sheet, anno.tableLabel(), 0, config);
+                final Cell tableLabelCell = work.getLabelIndex(sheet, config).getCell(anno.tableLabel(), 0, true);
                 Utils.setLabel(POIUtils.getCellContents(tableLabelCell, config.getCellFormatter()), beansObj, adaptor.getName());
             } catch(CellNotFoundException e) {
                 
             }
         }
         
+        // レコードを1件ずつ処理するハンドラ
+        final RecordHandler<Object> handler = work.getRecordHandler(beansObj.getClass(), adaptor.getName());
+        
         final Class<?> clazz = adaptor.getTargetClass();
         if(Collection.class.isAssignableFrom(clazz)) {
             
@@ -96,8 +102,8 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 recordClass = adaptor.getLoadingGenericClassType();
             }
             
-            List<?> value = loadRecords(sheet, anno, adaptor, recordClass, config, work);
-            if(value != null) {
+            List<?> value = loadRecords(sheet, anno, adaptor, recordClass, config, work, handler);
+            if(value != null && handler == null) {
                 @SuppressWarnings({"unchecked", "rawtypes"})
                 Collection<?> collection = Utils.convertListToCollection(value, (Class<Collection>)clazz, config.getBeanFactory());
                 adaptor.setValue(beansObj, collection);
@@ -110,8 +116,8 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 recordClass = adaptor.getLoadingGenericClassType();
             }
             
-            final List<?> value = loadRecords(sheet, anno, adaptor, recordClass, config, work);
-            if(value != null) {
+            final List<?> value = loadRecords(sheet, anno, adaptor, recordClass, config, work, handler);
+            if(value != null && handler == null) {
                 final Object array = Array.newInstance(recordClass, value.size());
                 for(int i=0; i < value.size(); i++) {
                     Array.set(array, i, value.get(i));
@@ -130,12 +136,13 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
     }
     
     private List<?> loadRecords(final Sheet sheet, XlsHorizontalRecords anno, final FieldAdaptor adaptor, 
-            final Class<?> recordClass, final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
+            final Class<?> recordClass, final XlsMapperConfig config, final LoadingWorkObject work,
+            final RecordHandler<Object> handler) throws XlsMapperException {
         
         RecordsProcessorUtil.checkLoadingNestedRecordClass(recordClass, adaptor, work.getAnnoReader());
         
         // get table starting position
-        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config);
+        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config, work.getLabelIndex(sheet, config));
         if(initPosition == null) {
             return null;
         }
@@ -168,7 +175,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 rangeCount = 1;
                 
                 // 結合しているセルの場合は、はじめのセルだけ取得して、後は結合分スキップする。
-                CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+                CellRangeAddress mergedRange = work.getMergedRegionIndex(sheet).getMergedRegion(cell.getRowIndex(), cell.getColumnIndex());
                 if(mergedRange != null) {
                     hColumn = hColumn + (mergedRange.getLastColumn() - mergedRange.getFirstColumn());
                 }
@@ -185,17 +192,23 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         // データ行の開始位置の調整
         hRow += anno.headerBottom();
         
-        return loadRecords(sheet, headers, anno, new CellAddress(hRow, initColumn), 0, adaptor, recordClass, config, work);
+        return loadRecords(sheet, headers, anno, new CellAddress(hRow, initColumn), 0, adaptor, recordClass, config, work, handler);
         
     }
     
+    /**
+     * レコードを読み込む。
+     * @param handler レコードを1件ずつ処理するハンドラ。nullでない場合は、読み込んだレコードは戻り値のリストに保持しない。
+     */
     private List<?> loadRecords(final Sheet sheet, final List<RecordHeader> headers,
             final XlsHorizontalRecords anno, 
             final CellAddress initPosition, final int parentMergedSize,
             final FieldAdaptor adaptor, final Class<?> recordClass, 
-            final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
+            final XlsMapperConfig config, final LoadingWorkObject work,
+            final RecordHandler<Object> handler) throws XlsMapperException {
         
         final List<Object> result = new ArrayList<>();
+        int recordIndex = 0;
         
         final int initColumn = initPosition.getColumn();
         final int initRow = initPosition.getRow();
@@ -211,10 +224,17 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             terminal = RecordTerminal.Empty;
         }
         
-        final int startHeaderIndex = getStartHeaderIndexForLoading(headers, recordClass, work.getAnnoReader(), config);
+        // 終端のラベルは、セルごとに比較するため事前に準備する。
+        final LabelMatcher terminateMatcher = anno.terminateLabel().isEmpty() ? null : LabelMatcher.compile(anno.terminateLabel(), config);
+        
+        // 見出しとプロパティの対応付けは、表ごとに1度だけ作成する。
+        ColumnBindingPlan bindingPlan = ColumnBindingPlan.createForLoading(recordClass, headers, work.getAnnoReader(), config);
+        final int startHeaderIndex = bindingPlan.getStartHeaderIndex();
+        
+        final SheetDimension dimension = work.getSheetDimension(sheet);
         
         // get records
-        while(hRow < POIUtils.getRows(sheet)){
+        while(hRow < dimension.getRows()){
             
             if(parentMergedSize > 0 && hRow >= maxRow) {
                 // ネストしている処理のとき、最大の処理レコード数をチェックする。
@@ -226,33 +246,28 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             final Object record = config.createBean(recordClass);
             
             // パスの位置の変更
-            work.getErrors().pushNestedPath(adaptor.getName(), result.size());
+            work.getErrors().pushNestedPath(adaptor.getName(), recordIndex);
             
             // execute PreProcess listener
-            final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(record.getClass(), XlsListener.class);
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreLoad.class);
-                    if(preProcessAnno != null) {
-                        Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
-                    }
-                }
+            final RecordLifeCycle lifeCycle = work.getRecordLifeCycle(record.getClass(), config);
+            for(Method method : lifeCycle.getListenerPreMethods()) {
+                work.invokeNeedProcessMethod(lifeCycle.getListener(), method, record, sheet, config);
             }
             
             // execute PreProcess method
-            for(Method method : record.getClass().getMethods()) {
-                final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPreLoad.class);
-                if(preProcessAnno != null) {
-                    Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());
-                }
+            for(Method method : lifeCycle.getPreMethods()) {
+                work.invokeNeedProcessMethod(record, method, record, sheet, config);
             }
             
             final List<MergedRecord> mergedRecords = new ArrayList<>();
             
+            if(!bindingPlan.isTarget(record.getClass())) {
+                bindingPlan = ColumnBindingPlan.createForLoading(record.getClass(), headers, work.getAnnoReader(), config);
+            }
+            
             loadMapColumns(sheet, headers, mergedRecords, new CellAddress(hRow, initColumn), record, config, work);
             
-            for(int i=0; i < headers.size() && hRow < POIUtils.getRows(sheet); i++){
+            for(int i=0; i < headers.size() && hRow < dimension.getRows(); i++){
                 final RecordHeader headerInfo = headers.get(i);
                 int hColumn = initColumn + headerInfo.getInterval();
                 final Cell cell = POIUtils.getCell(sheet, hColumn, hRow);
@@ -272,19 +287,18 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                     }
                 }
                 
-                if(!anno.terminateLabel().equals("")){
-                    if(Utils.matches(POIUtils.getCellContents(cell, config.getCellFormatter()), anno.terminateLabel(), config)){
+                if(terminateMatcher != null){
+                    if(terminateMatcher.matches(POIUtils.getCellContents(cell, config.getCellFormatter()))){
                         emptyFlag = true;
                         break;
                     }
                 }
                 
                 // mapping from Excel columns to Object properties.
-                final List<FieldAdaptor> propeties = Utils.getLoadingColumnProperties(
-                        record.getClass(), headerInfo.getLabel(), work.getAnnoReader(), config);
-                for(FieldAdaptor property : propeties) {
+                for(ColumnBinding binding : bindingPlan.getBindings(i)) {
+                    final FieldAdaptor property = binding.getProperty();
                     Cell valueCell = cell;
-                    final XlsColumn column = property.getLoadingAnnotation(XlsColumn.class);
+                    final XlsColumn column = binding.getColumn();
                     if(column.headerMerged() > 0) {
                         hColumn = hColumn + column.headerMerged();
                         valueCell = POIUtils.getCell(sheet, hColumn, hRow);
@@ -313,7 +327,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                         hColumn = hColumn - column.headerMerged();
                     }
                     
-                    CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, valueCell.getRowIndex(), valueCell.getColumnIndex());
+                    CellRangeAddress mergedRange = work.getMergedRegionIndex(sheet).getMergedRegion(valueCell.getRowIndex(), valueCell.getColumnIndex());
                     if(mergedRange != null) {
                         int mergedSize =  mergedRange.getLastRow() - mergedRange.getFirstRow() + 1;
                         mergedRecords.add(new MergedRecord(headerInfo, mergedRange, mergedSize));
@@ -324,7 +338,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                     // set for value
                     Utils.setPosition(valueCell.getColumnIndex(), valueCell.getRowIndex(), record, property.getName());
                     Utils.setLabel(headerInfo.getLabel(), record, property.getName());
-                    final CellConverter<?> converter = getLoadingCellConverter(property, config.getConverterRegistry(), config);
+                    final CellConverter<?> converter = getLoadingCellConverter(binding, config.getConverterRegistry(), config);
                     try {
                         final Object value = converter.toObject(valueCell, property, config);
                         property.setValue(record, value);
@@ -353,29 +367,38 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 break;
             }
             
-            if(!anno.ignoreEmptyRecord() || !isEmptyRecord(record, work.getAnnoReader())) {
+            final boolean added = !anno.ignoreEmptyRecord() || !isEmptyRecord(record, work.getAnnoReader());
+            if(added && handler == null) {
                 result.add(record);
-                
             }
             
-            // set PostProcess listener
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    
-                    final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostLoad.class);
-                    if(postProcessAnno != null) {
-                        work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
-                    }
+            if(handler != null) {
+                // ハンドラに渡す前に実行する
+                for(Method method : lifeCycle.getListenerPostMethods()) {
+                    work.invokeNeedProcessMethod(lifeCycle.getListener(), method, record, sheet, config);
+                }
+                
+                for(Method method : lifeCycle.getPostMethods()) {
+                    work.invokeNeedProcessMethod(record, method, record, sheet, config);
+                }
+                
+            } else {
+                // set PostProcess listener
+                for(Method method : lifeCycle.getListenerPostMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, lifeCycle.getListener(), method));
+                }
+                
+                // set PostProcess method
+                for(Method method : lifeCycle.getPostMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, record, method));
                 }
             }
             
-            // set PostProcess method
-            for(Method method : record.getClass().getMethods()) {
-                final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPostLoad.class);
-                if(postProcessAnno != null) {
-                    work.addNeedPostProcess(new NeedProcess(record, record, method));
+            if(added) {
+                if(handler != null) {
+                    handler.handle(record, recordIndex, work.getErrors());
                 }
+                recordIndex++;
             }
             
             // パスの位置の変更
@@ -403,7 +426,8 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
      * @throws CellNotFoundException 指定したラベルが見つからない場合。
      */
     private CellAddress getHeaderPosition(final Sheet sheet, final XlsHorizontalRecords anno,
-            final FieldAdaptor adaptor, final XlsMapperConfig config) throws AnnotationInvalidException, CellNotFoundException {
+            final FieldAdaptor adaptor, final XlsMapperConfig config, final CellLabelIndex labelIndex)
+                    throws AnnotationInvalidException, CellNotFoundException {
         
         if(Utils.isNotEmpty(anno.headerAddress())) {
             final Point address = Utils.parseCellAddress(anno.headerAddress());
@@ -417,7 +441,8 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             
         } else if(Utils.isNotEmpty(anno.tableLabel())) {
             try {
-                Cell labelCell = Utils.getCell(sheet, anno.tableLabel(), 0, 0, config);
+                Cell labelCell = labelIndex != null ? labelIndex.getCell(anno.tableLabel(), 0, 0, true)
+                        : Utils.getCell(sheet, anno.tableLabel(), 0, 0, config);
                 int initColumn = labelCell.getColumnIndex();
                 int initRow = labelCell.getRowIndex() + anno.bottom();
                 
@@ -444,36 +469,6 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         
     }
     
-    /**
-     * 表の見出しから、レコードのJavaクラスの定義にあるカラムの定義で初めて見つかるリストのインデックスを取得する。
-     * <p>カラムの定義とは、アノテーション「@XlsColumn」が付与されたもの。
-     * @param headers 表の見出し情報。
-     * @param recordClass アノテーション「@XlsColumn」が定義されたフィールドを持つレコード用のクラス。
-     * @param annoReader {@link AnnotationReader}
-     * @param config システム設定
-     * @return 引数「headers」の該当する要素のインデックス番号。不明な場合は0を返す。
-     */
-    private int getStartHeaderIndexForLoading(final List<RecordHeader> headers, Class<?> recordClass, 
-            final AnnotationReader annoReader, final XlsMapperConfig config) {
-        
-        // レコードクラスが不明の場合、0を返す。
-        if((recordClass == null || recordClass.equals(Object.class))) {
-            return 0;
-        }
-        
-        for(int i=0; i < headers.size(); i++) {
-            RecordHeader headerInfo = headers.get(i);
-            final List<FieldAdaptor> propeties = Utils.getLoadingColumnProperties(
-                    recordClass, headerInfo.getLabel(), annoReader, config);
-            if(!propeties.isEmpty()) {
-                return i;
-            }
-        }
-        
-        return 0;
-        
-    }
-    
     private void loadMapColumns(final Sheet sheet, final List<RecordHeader> headers, final List<MergedRecord> mergedRecords,
             final CellAddress beginPosition, final Object record, final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
         
@@ -512,7 +507,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                     Utils.setPositionWithMapColumn(cell.getColumnIndex(), cell.getRowIndex(), record, property.getName(), headerInfo.getLabel());
                     Utils.setLabelWithMapColumn(headerInfo.getLabel(), record, property.getName(), headerInfo.getLabel());
                     
-                    CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+                    CellRangeAddress mergedRange = work.getMergedRegionIndex(sheet).getMergedRegion(cell.getRowIndex(), cell.getColumnIndex());
                     if(mergedRange != null) {
                         int mergedSize =  mergedRange.getLastRow() - mergedRange.getFirstRow() + 1;
                         mergedRecords.add(new MergedRecord(headerInfo, mergedRange, mergedSize));
@@ -567,7 +562,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                     recordClass = property.getLoadingGenericClassType();
                 }
                 
-                List<?> value = loadRecords(sheet, headers, anno, beginPosition, mergedSize, property, recordClass, config, work);
+                List<?> value = loadRecords(sheet, headers, anno, beginPosition, mergedSize, property, recordClass, config, work, null);
                 if(value != null) {
                     Collection<?> collection = Utils.convertListToCollection(value, (Class<Collection>)clazz, config.getBeanFactory());
                     property.setValue(record, collection);
@@ -587,7 +582,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                     recordClass = property.getLoadingGenericClassType();
                 }
                 
-                List<?> value = loadRecords(sheet, headers, anno, beginPosition, mergedSize, property, recordClass, config, work);
+                List<?> value = loadRecords(sheet, headers, anno, beginPosition, mergedSize, property, recordClass, config, work, null);
                 if(value != null) {
                     final Object array = Array.newInstance(recordClass, value.size());
                     for(int i=0; i < value.size(); i++) {
@@ -610,7 +605,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                     recordClass = property.getTargetClass();
                 }
                 
-                List<?> value = loadRecords(sheet, headers, anno, beginPosition, mergedSize, property, recordClass, config, work);
+                List<?> value = loadRecords(sheet, headers, anno, beginPosition, mergedSize, property, recordClass, config, work, null);
                 if(value != null && !value.isEmpty()) {
                     property.setValue(record, value.get(0));
                 }
@@ -704,7 +699,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         RecordsProcessorUtil.checkSavingNestedRecordClass(recordClass, adaptor, work.getAnnoReader());
         
         // get table starting position
-        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config);
+        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config, null);
         if(initPosition == null) {
             return;
         }
@@ -736,7 +731,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 rangeCount = 1;
                 
                 // 結合しているセルの場合は、はじめのセルだけ取得して、後は結合分スキップする。
-                CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+                CellRangeAddress mergedRange = work.getMergedRegionIndex(sheet).getMergedRegion(cell.getRowIndex(), cell.getColumnIndex());
                 if(mergedRange != null) {
                     hColumn = hColumn + (mergedRange.getLastColumn() - mergedRange.getFirstColumn());
                 }
@@ -769,8 +764,15 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         // データ行の開始位置の調整
         hRow += anno.headerBottom();
         
+        final RowInserter rowInserter = new RowInserter(sheet, work.getMergedRegionIndex(sheet));
         saveRecords(sheet, headers, anno, new CellAddress(hRow, initColumn), new AtomicInteger(0), adaptor, recordClass, result, config,
-                work, mergedRanges, recordOperation, new ArrayList<Integer>());
+                work, mergedRanges, recordOperation, rowInserter);
+        
+        // まとめて挿入した行のうち、使用しなかった行を削除する
+        rowInserter.flush();
+        
+        // 行の挿入/削除により列数が変わる可能性があるため、計算し直す
+        work.getSheetDimension(sheet).invalidate();
         
         // 書き込むデータがない場合は、1行目の終端を操作範囲とする。
         if(result.isEmpty()) {
@@ -797,7 +799,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             final FieldAdaptor adaptor, final Class<?> recordClass, final List<Object> result,
             final XlsMapperConfig config, final SavingWorkObject work,
             final List<CellRangeAddress> mergedRanges, final RecordOperation recordOperation,
-            final List<Integer> inserteRowsIdx) throws XlsMapperException {
+            final RowInserter rowInserter) throws XlsMapperException {
         
         final int initColumn = initPosition.getColumn();
         final int initRow = initPosition.getRow();
@@ -819,11 +821,25 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             terminal = RecordTerminal.Border;
         }
         
+        // 終端のラベルは、セルごとに比較するため事前に準備する。
+        final LabelMatcher terminateMatcher = anno.terminateLabel().isEmpty() ? null : LabelMatcher.compile(anno.terminateLabel(), config);
         
-        final int startHeaderIndex = getStartHeaderIndexForSaving(headers, recordClass, work.getAnnoReader(), config);
+        
+        // 見出しとプロパティの対応付けは、表ごとに1度だけ作成する。
+        ColumnBindingPlan bindingPlan = ColumnBindingPlan.createForSaving(recordClass, headers, work.getAnnoReader(), config);
+        final int startHeaderIndex = bindingPlan.getStartHeaderIndex();
+        
+        /*
+         * 残りの行の削除は、最後にまとめて行う。
+         * ・削除対象の行は連続しているため、開始位置と行数を記憶しておき、削除した後の行として読み替える。
+         */
+        int deleteRowStart = -1;
+        int deleteRowCount = 0;
+        
+        final SheetDimension dimension = work.getSheetDimension(sheet);
         
         // get records
-        for(int r=0; r < POIUtils.getRows(sheet); r++) {
+        for(int r=0; r < dimension.getRows() - deleteRowCount; r++) {
             
             boolean emptyFlag = true;
             
@@ -838,29 +854,24 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             
             if(record != null) {
                 
+                if(!bindingPlan.isTarget(record.getClass())) {
+                    bindingPlan = ColumnBindingPlan.createForSaving(record.getClass(), headers, work.getAnnoReader(), config);
+                }
+                
                 // execute PreProcess/ listner
-                final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(record.getClass(), XlsListener.class);
-                if(listenerAnno != null) {
-                    Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                    for(Method method : listenerObj.getClass().getMethods()) {
-                        final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreSave.class);
-                        if(preProcessAnno != null) {
-                            Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
-                        }
-                    }
+                final RecordLifeCycle lifeCycle = work.getRecordLifeCycle(record.getClass(), config);
+                for(Method method : lifeCycle.getListenerPreMethods()) {
+                    Utils.invokeNeedProcessMethod(lifeCycle.getListener(), method, record, sheet, config, work.getErrors());
                 }
                 
                 // execute PreProcess/PostProcess method
-                for(Method method : record.getClass().getMethods()) {
-                    final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPreSave.class);
-                    if(preProcessAnno != null) {
-                        Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());                    
-                    }
+                for(Method method : lifeCycle.getPreMethods()) {
+                    Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());
                 }
             }
             
             // レコードの各列処理で既に行を追加したかどうかのフラグ。(ネスト先でも参照する)
-            boolean insertRows = inserteRowsIdx.contains(hRow+1);
+            boolean insertRows = rowInserter.isInsertedRow(hRow+1);
             
             // レコードの各列処理で既に行を削除したかどうかのフラグ。
             boolean deleteRows = false;
@@ -873,7 +884,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             for(int i=0; i < headers.size(); i++) {
                 final RecordHeader headerInfo = headers.get(i);
                 int hColumn = initColumn + headerInfo.getInterval();
-                final Cell cell = POIUtils.getCell(sheet, hColumn, hRow);
+                final Cell cell = POIUtils.getCell(sheet, hColumn, hRow + deleteRowCount);
                 
                 // find end of the table
                 if(!POIUtils.isEmptyCellContents(cell, config.getCellFormatter())){
@@ -890,8 +901,8 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                     }
                 }
                 
-                if(!anno.terminateLabel().equals("")){
-                    if(Utils.matches(POIUtils.getCellContents(cell, config.getCellFormatter()), anno.terminateLabel(), config)){
+                if(terminateMatcher != null){
+                    if(terminateMatcher.matches(POIUtils.getCellContents(cell, config.getCellFormatter()))){
                         emptyFlag = true;
 //                            break;
                     }
@@ -899,11 +910,10 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 
                 // mapping from Excel columns to Object properties.
                 if(record != null) {
-                    final List<FieldAdaptor> propeties = Utils.getSavingColumnProperties(
-                            record.getClass(), headerInfo.getLabel(), work.getAnnoReader(), config);
-                    for(FieldAdaptor property : propeties) {
+                    for(ColumnBinding binding : bindingPlan.getBindings(i)) {
+                        final FieldAdaptor property = binding.getProperty();
                         Cell valueCell = cell;
-                        final XlsColumn column = property.getSavingAnnotation(XlsColumn.class);
+                        final XlsColumn column = binding.getColumn();
                         
                         //TODO: マージを考慮する必要はないかも
                         if(column.headerMerged() > 0) {
@@ -950,11 +960,10 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                             } else if(anno.overRecord().equals(OverRecordOperate.Insert)) {
                                 // すでに他の列の処理に対して行を追加している場合は行の追加は行わない。
                                 if(!insertRows) {
-                                    // 行を下に追加する
-                                    POIUtils.insertRow(sheet, valueCell.getRowIndex()+1);
+                                    // 行を下に追加する。残りのレコード分の行はまとめて追加する。
+                                    rowInserter.insertRow(valueCell.getRowIndex()+1, result.size() - r);
                                     insertRows = true;
                                     recordOperation.incrementInsertRecord();
-                                    inserteRowsIdx.add(valueCell.getRowIndex()+1);
                                     
                                     if(logger.isDebugEnabled()) {
                                         logger.debug("insert row : sheet name=[{}], row index=[{}]", sheet.getSheetName(), valueCell.getRowIndex()+1);
@@ -974,7 +983,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                         // set for cell value
                         Utils.setPosition(valueCell.getColumnIndex(), valueCell.getRowIndex(), record, property.getName());
                         Utils.setLabel(headerInfo.getLabel(), record, property.getName());
-                        final CellConverter converter = getSavingCellConverter(property, config.getConverterRegistry(), config);
+                        final CellConverter converter = getSavingCellConverter(binding, config.getConverterRegistry(), config);
                         try {
                             converter.toCell(property, property.getValue(record), sheet, valueCell.getColumnIndex(), valueCell.getRowIndex(), config);
                         } catch(TypeBindException e) {
@@ -988,7 +997,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                         
                         // セルをマージする
                         if(column.merged() && (r > 0) && config.isMergeCellOnSave()) {
-                            processSavingMergedCell(valueCell, sheet, mergedRanges, config);
+                            processSavingMergedCell(valueCell, sheet, mergedRanges, config, work.getMergedRegionIndex(sheet));
                         }
                     }
                 }
@@ -1013,7 +1022,12 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                             
                         } else if(!deleteRows) {
                             // すでに他の列の処理に対して行を削除している場合は行の削除は行わない。
-                            final Row row = POIUtils.removeRow(sheet, hRow);
+                            // 削除対象として記憶し、以降は次の行を参照する。
+                            final Row row = sheet.getRow(hRow + deleteRowCount);
+                            if(deleteRowStart < 0) {
+                                deleteRowStart = hRow;
+                            }
+                            deleteRowCount++;
                             deleteRows = true;
                             
                             if(row != null) {
@@ -1037,32 +1051,21 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             int skipSize = 0;
             if(record != null) {
                 skipSize = saveNestedRecords(sheet, headers, valueCellPositions, anno, new CellAddress(hRow, initColumn), record,
-                        config, work, mergedRanges, recordOperation, inserteRowsIdx);
+                        config, work, mergedRanges, recordOperation, rowInserter);
                 nestedRecordSize.addAndGet(skipSize);
             }
             
             if(record != null) {
                 
                 // set PostProcess listener
-                final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(record.getClass(), XlsListener.class);
-                if(listenerAnno != null) {
-                    Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                    for(Method method : listenerObj.getClass().getMethods()) {
-                        
-                        final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostSave.class);
-                        if(postProcessAnno != null) {
-                            work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
-                        }
-                    }
+                final RecordLifeCycle lifeCycle = work.getRecordLifeCycle(record.getClass(), config);
+                for(Method method : lifeCycle.getListenerPostMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, lifeCycle.getListener(), method));
                 }
                 
                 // set PostProcess method
-                for(Method method : record.getClass().getMethods()) {
-                    
-                    final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPostSave.class);
-                    if(postProcessAnno != null) {
-                        work.addNeedPostProcess(new NeedProcess(record, record, method));
-                    }
+                for(Method method : lifeCycle.getPostMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, record, method));
                 }
                 
             }
@@ -1088,37 +1091,11 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             }
         }
         
-        
-    }
-    
-    /**
-     * 表の見出しから、レコードのJavaクラスの定義にあるカラムの定義で初めて見つかるリストのインデックスを取得する。
-     * ・カラムの定義とは、アノテーション「@XlsColumn」が付与されたもの。
-     * @param headers 表の見出し情報。
-     * @param recordClass アノテーション「@XlsColumn」が定義されたフィールドを持つレコード用のクラス。
-     * @param annoReader AnnotationReader
-     * @param config システム設定
-     * @return 引数「headers」の該当する要素のインデックス番号。不明な場合は、0を返す。
-     */
-    private int getStartHeaderIndexForSaving(final List<RecordHeader> headers, Class<?> recordClass,
-            final AnnotationReader annoReader, final XlsMapperConfig config) {
-        
-        // レコードクラスが不明の場合、0を返す。
-        if((recordClass == null || recordClass.equals(Object.class))) {
-            return 0;
+        // 削除対象の行をまとめて削除する
+        if(deleteRowCount > 0) {
+            work.getMergedRegionIndex(sheet).removeRows(deleteRowStart, deleteRowCount);
         }
         
-        for(int i=0; i < headers.size(); i++) {
-            RecordHeader headerInfo = headers.get(i);
-            final List<FieldAdaptor> propeties = Utils.getSavingColumnProperties(
-                    recordClass, headerInfo.getLabel(), annoReader, config);
-            if(!propeties.isEmpty()) {
-                return i;
-            }
-        }
-        
-        return 0;
-        
     }
     
     /**
@@ -1130,7 +1107,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
      * @return
      */
     private boolean processSavingMergedCell(final Cell currentCell, final Sheet sheet,
-            final List<CellRangeAddress> mergedRanges, final XlsMapperConfig config) {
+            final List<CellRangeAddress> mergedRanges, final XlsMapperConfig config, final MergedRegionIndex mergedIndex) {
         
         final int row = currentCell.getRowIndex();
         final int column = currentCell.getColumnIndex();
@@ -1171,10 +1148,10 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
         if(currentMergedRange != null) {
             startRow = currentMergedRange.getFirstRow();
             mergedRanges.remove(currentMergedRange);
-            POIUtils.removeMergedRange(sheet, currentMergedRange);
+            mergedIndex.removeMergedRange(currentMergedRange);
         }
         
-        final CellRangeAddress newRange = POIUtils.mergeCells(sheet, column, startRow, column, row);
+        final CellRangeAddress newRange = mergedIndex.mergeCells(column, startRow, column, row);
         mergedRanges.add(newRange);
         return true;
         
@@ -1286,7 +1263,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             final Object record,
             final XlsMapperConfig config, final SavingWorkObject work,
             final List<CellRangeAddress> mergedRanges, final RecordOperation recordOperation,
-            final List<Integer> insertRowsIdx) throws XlsMapperException {
+            final RowInserter rowInserter) throws XlsMapperException {
         
         int skipSize = 0;
         
@@ -1312,7 +1289,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 final List<Object> list = Utils.convertCollectionToList(value);
                 final AtomicInteger nestedRecordSize = new AtomicInteger(0);
                 saveRecords(sheet, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
-                        config, work, mergedRanges, recordOperation, insertRowsIdx);
+                        config, work, mergedRanges, recordOperation, rowInserter);
                 
                 if(skipSize < list.size()) {
                     if(nestedRecordSize.get() > 0) {
@@ -1322,7 +1299,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                     }
                 }
                 
-                processSavingNestedMergedRecord(sheet, skipSize, valueCellPositions);
+                processSavingNestedMergedRecord(sheet, skipSize, valueCellPositions, work.getMergedRegionIndex(sheet));
                 
             } else if(clazz.isArray()) {
                 
@@ -1342,7 +1319,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 final List<Object> list = Arrays.asList(value);
                 final AtomicInteger nestedRecordSize = new AtomicInteger(0);
                 saveRecords(sheet, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
-                        config, work, mergedRanges, recordOperation, insertRowsIdx);
+                        config, work, mergedRanges, recordOperation, rowInserter);
                 
                 if(nestedRecordSize.get() > 0) {
                     skipSize = nestedRecordSize.get() - skipSize;
@@ -1350,7 +1327,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                     skipSize = list.size();
                 }
                 
-                processSavingNestedMergedRecord(sheet, skipSize, valueCellPositions);
+                processSavingNestedMergedRecord(sheet, skipSize, valueCellPositions, work.getMergedRegionIndex(sheet));
                 
             } else {
                 
@@ -1369,7 +1346,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
                 List<Object> list = Arrays.asList(value);
                 final AtomicInteger nestedRecordSize = new AtomicInteger(0);
                 saveRecords(sheet, headers, anno, beginPositoin, nestedRecordSize, property, recordClass, list,
-                        config, work, mergedRanges, recordOperation, insertRowsIdx);
+                        config, work, mergedRanges, recordOperation, rowInserter);
                 
                 if(nestedRecordSize.get() > 0) {
                     skipSize = nestedRecordSize.get() - skipSize;
@@ -1390,7 +1367,7 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
      * @param valueCellPositions 結合する開始位置のセルのアドレス
      */
     private void processSavingNestedMergedRecord(final Sheet sheet, final int mergedSize,
-            final List<CellAddress> valueCellPositions) {
+            final List<CellAddress> valueCellPositions, final MergedRegionIndex mergedIndex) {
         
         // ネストした場合、上のセルのスタイルをコピーして、結合する
         for(CellAddress position : valueCellPositions) {
@@ -1414,13 +1391,13 @@ public class HorizontalRecordsProcessor extends AbstractFieldProcessor<XlsHorizo
             
             // 既に結合済みのセルがある場合、外す。
             for(int rowIdx=range.getFirstRow(); rowIdx <= range.getLastRow(); rowIdx++) {
-                CellRangeAddress r = POIUtils.getMergedRegion(sheet, rowIdx, position.getColumn());
+                CellRangeAddress r = mergedIndex.getMergedRegion(rowIdx, position.getColumn());
                 if(r != null) {
-                    POIUtils.removeMergedRange(sheet, r);
+                    mergedIndex.removeMergedRange(r);
                 }
             }
             
-            sheet.addMergedRegion(range);
+            mergedIndex.addMergedRegion(range);
         }
         
     }
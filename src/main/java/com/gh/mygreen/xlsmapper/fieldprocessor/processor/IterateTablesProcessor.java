@@ -15,6 +15,7 @@ import com.gh.mygreen.xlsmapper.FieldAdaptorProxy;
 import com.gh.mygreen.xlsmapper.HintOrderComparator;
 import com.gh.mygreen.xlsmapper.LoadingWorkObject;
 import com.gh.mygreen.xlsmapper.NeedProcess;
+import com.gh.mygreen.xlsmapper.RecordLifeCycle;
 import com.gh.mygreen.xlsmapper.SavingWorkObject;
 import com.gh.mygreen.xlsmapper.Utils;
 import com.gh.mygreen.xlsmapper.XlsMapperConfig;
@@ -24,11 +25,6 @@ import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecordsForIterateTables;
 import com.gh.mygreen.xlsmapper.annotation.XlsIterateTables;
 import com.gh.mygreen.xlsmapper.annotation.XlsLabelledCell;
 import com.gh.mygreen.xlsmapper.annotation.XlsLabelledCellForIterateTable;
-import com.gh.mygreen.xlsmapper.annotation.XlsListener;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
 import com.gh.mygreen.xlsmapper.fieldprocessor.AbstractFieldProcessor;
 import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
 import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
@@ -99,7 +95,7 @@ public class IterateTablesProcessor extends AbstractFieldProcessor<XlsIterateTab
         Cell currentCell = null;
         
         final String label = iterateTablesAnno.tableLabel();
-        currentCell = Utils.getCell(sheet, label, after, false, !iterateTablesAnno.optional(), config);
+        currentCell = work.getLabelIndex(sheet, config).getCell(label, after, false, !iterateTablesAnno.optional());
         
         while(currentCell != null) {
             // 1 table object instance
@@ -109,23 +105,14 @@ public class IterateTablesProcessor extends AbstractFieldProcessor<XlsIterateTab
             work.getErrors().pushNestedPath(adaptor.getName(), resultTableList.size());
             
             // execute PreProcess listener
-            final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(tableObj.getClass(), XlsListener.class);
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreLoad.class);
-                    if(preProcessAnno != null) {
-                        Utils.invokeNeedProcessMethod(listenerObj, method, tableObj, sheet, config, work.getErrors());
-                    }
-                }
+            final RecordLifeCycle lifeCycle = work.getRecordLifeCycle(tableObj.getClass(), config);
+            for(Method method : lifeCycle.getListenerPreMethods()) {
+                work.invokeNeedProcessMethod(lifeCycle.getListener(), method, tableObj, sheet, config);
             }
             
             // execute PreProcess method
-            for(Method method : tableObj.getClass().getMethods()) {
-                final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(tableObj.getClass(), method, XlsPreLoad.class);
-                if(preProcessAnno != null) {
-                    Utils.invokeNeedProcessMethod(tableObj, method, tableObj, sheet, config, work.getErrors());                    
-                }
+            for(Method method : lifeCycle.getPreMethods()) {
+                    work.invokeNeedProcessMethod(tableObj, method, tableObj, sheet, config);
             }
             
             // process single label.
@@ -140,25 +127,16 @@ public class IterateTablesProcessor extends AbstractFieldProcessor<XlsIterateTab
             
             resultTableList.add(tableObj);
             after = currentCell;
-            currentCell = Utils.getCell(sheet, label, after, false, false, config);
+            currentCell = work.getLabelIndex(sheet, config).getCell(label, after, false, false);
             
             // set PostProcess listener
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostLoad.class);
-                    if(postProcessAnno != null) {
-                        work.addNeedPostProcess(new NeedProcess(tableObj, listenerObj, method));
-                    }
-                }
+            for(Method method : lifeCycle.getListenerPostMethods()) {
+                work.addNeedPostProcess(new NeedProcess(tableObj, lifeCycle.getListener(), method));
             }
             
             // set PostProcess method
-            for(Method method : tableObj.getClass().getMethods()) {
-                final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(tableObj.getClass(), method, XlsPostLoad.class);
-                if(postProcessAnno != null) {
+            for(Method method : lifeCycle.getPostMethods()) {
                     work.addNeedPostProcess(new NeedProcess(tableObj, tableObj, method));
-                }
             }
             
             // パスの位置の変更
@@ -190,7 +168,7 @@ public class IterateTablesProcessor extends AbstractFieldProcessor<XlsIterateTab
             
             Cell titleCell = null;
             try {
-                titleCell = Utils.getCell(sheet, ann.label(), headerCell, config);
+                titleCell = work.getLabelIndex(sheet, config).getCell(ann.label(), headerCell, false, true);
             } catch (CellNotFoundException e) {
                 if (ann.optional()) {
                     continue;
@@ -325,23 +303,14 @@ public class IterateTablesProcessor extends AbstractFieldProcessor<XlsIterateTab
             work.getErrors().pushNestedPath(adaptor.getName(), i);
             
             // execute PreProcess listener
-            final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(tableObj.getClass(), XlsListener.class);
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreSave.class);
-                    if(preProcessAnno != null) {
-                        Utils.invokeNeedProcessMethod(listenerObj, method, tableObj, sheet, config, work.getErrors());
-                    }
-                }
+            final RecordLifeCycle lifeCycle = work.getRecordLifeCycle(tableObj.getClass(), config);
+            for(Method method : lifeCycle.getListenerPreMethods()) {
+                Utils.invokeNeedProcessMethod(lifeCycle.getListener(), method, tableObj, sheet, config, work.getErrors());
             }
             
             // execute PreProcess method
-            for(Method method : tableObj.getClass().getMethods()) {
-                final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(tableObj.getClass(), method, XlsPreSave.class);
-                if(preProcessAnno != null) {
+            for(Method method : lifeCycle.getPreMethods()) {
                     Utils.invokeNeedProcessMethod(tableObj, method, tableObj, sheet, config, work.getErrors());                    
-                }
             }
             
             currentCell = Utils.getCell(sheet, label, after, false, !iterateTablesAnno.optional(), config);
@@ -365,22 +334,13 @@ public class IterateTablesProcessor extends AbstractFieldProcessor<XlsIterateTab
             after = currentCell;
             
             // set PostProcess listener
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostSave.class);
-                    if(postProcessAnno != null) {
-                        work.addNeedPostProcess(new NeedProcess(tableObj, listenerObj, method));
-                    }
-                }
+            for(Method method : lifeCycle.getListenerPostMethods()) {
+                work.addNeedPostProcess(new NeedProcess(tableObj, lifeCycle.getListener(), method));
             }
             
             // set PreProcess method
-            for(Method method : tableObj.getClass().getMethods()) {
-                final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(tableObj.getClass(), method, XlsPostSave.class);
-                if(postProcessAnno != null) {
+            for(Method method : lifeCycle.getPostMethods()) {
                     work.addNeedPostProcess(new NeedProcess(tableObj, tableObj, method));
-                }
             }
             
             // パスの位置の変更
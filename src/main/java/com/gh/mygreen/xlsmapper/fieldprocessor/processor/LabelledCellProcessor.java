@@ -6,6 +6,7 @@ import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Sheet;
 
 import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.CellLabelIndex;
 import com.gh.mygreen.xlsmapper.LoadingWorkObject;
 import com.gh.mygreen.xlsmapper.POIUtils;
 import com.gh.mygreen.xlsmapper.SavingWorkObject;
@@ -33,7 +34,7 @@ public class LabelledCellProcessor extends AbstractFieldProcessor<XlsLabelledCel
     public void loadProcess(final Sheet sheet, final Object beansObj, final XlsLabelledCell anno,
             final FieldAdaptor adaptor, final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
         
-        final FindInfo info = findCell(sheet, anno, config);
+        final FindInfo info = findCell(sheet, anno, config, work.getLabelIndex(sheet, config));
         if(info == null) {
             /*
              * ラベル用のセルが見つからない場合
@@ -62,10 +63,14 @@ public class LabelledCellProcessor extends AbstractFieldProcessor<XlsLabelledCel
         String label;
     }
     
-    private FindInfo findCell(final Sheet sheet, final XlsLabelledCell anno, final XlsMapperConfig config)
-            throws XlsMapperException {
+    /**
+     * 値が設定されているセルを検索する。
+     * @param labelIndex セルのラベルの索引。nullの場合は、シートを走査して検索する。
+     */
+    private FindInfo findCell(final Sheet sheet, final XlsLabelledCell anno, final XlsMapperConfig config,
+            final CellLabelIndex labelIndex) throws XlsMapperException {
         
-        final Point labelPosition = getLabelPosition(sheet, anno, config);
+        final Point labelPosition = getLabelPosition(sheet, anno, config, labelIndex);
         if(labelPosition == null) {
             return null;
         }
@@ -113,7 +118,8 @@ public class LabelledCellProcessor extends AbstractFieldProcessor<XlsLabelledCel
         return info;
     }
     
-    private Point getLabelPosition(final Sheet sheet, final XlsLabelledCell anno, final XlsMapperConfig config) throws XlsMapperException {
+    private Point getLabelPosition(final Sheet sheet, final XlsLabelledCell anno, final XlsMapperConfig config,
+            final CellLabelIndex labelIndex) throws XlsMapperException {
         
         if(Utils.isNotEmpty(anno.labelAddress())) {
             final Point address = Utils.parseCellAddress(anno.labelAddress());
@@ -126,14 +132,17 @@ public class LabelledCellProcessor extends AbstractFieldProcessor<XlsLabelledCel
         } else if(Utils.isNotEmpty(anno.label())) {
             try {
                 if(Utils.isNotEmpty(anno.headerLabel())){
-                    Cell headerCell = Utils.getCell(sheet, anno.headerLabel(), 0, 0, config);
-                    Cell labelCell = Utils.getCell(sheet, anno.label(), headerCell.getColumnIndex(), headerCell.getRowIndex() + 1, config);
+                    Cell headerCell = labelIndex != null ? labelIndex.getCell(anno.headerLabel(), 0, 0, true)
+                            : Utils.getCell(sheet, anno.headerLabel(), 0, 0, config);
+                    Cell labelCell = labelIndex != null ? labelIndex.getCell(anno.label(), headerCell.getColumnIndex(), headerCell.getRowIndex() + 1, true)
+                            : Utils.getCell(sheet, anno.label(), headerCell.getColumnIndex(), headerCell.getRowIndex() + 1, config);
                     int column = labelCell.getColumnIndex();
                     int row = labelCell.getRowIndex();
                     return new Point(column, row);
                     
                 } else {
-                    Cell labelCell = Utils.getCell(sheet, anno.label(), 0, config);
+                    Cell labelCell = labelIndex != null ? labelIndex.getCell(anno.label(), 0, true)
+                            : Utils.getCell(sheet, anno.label(), 0, config);
                     int column = labelCell.getColumnIndex();
                     int row = labelCell.getRowIndex();
                     return new Point(column, row);
@@ -163,7 +172,7 @@ public class LabelledCellProcessor extends AbstractFieldProcessor<XlsLabelledCel
     public void saveProcess(final Sheet sheet, final Object targetObj, final XlsLabelledCell anno, final FieldAdaptor adaptor,
             final XlsMapperConfig config, final SavingWorkObject work) throws XlsMapperException {
         
-        final FindInfo info = findCell(sheet, anno, config);
+        final FindInfo info = findCell(sheet, anno, config, null);
         if(info == null) {
             /*
              * ラベル用のセルが見つからない場合
@@ -0,0 +1,126 @@
+package com.gh.mygreen.xlsmapper.fieldprocessor.processor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.poi.ss.usermodel.Sheet;
+
+import com.gh.mygreen.xlsmapper.ArgUtils;
+import com.gh.mygreen.xlsmapper.MergedRegionIndex;
+
+
+/**
+ * レコードの書き込み時に、行の挿入をまとめて行うクラス。
+ * <p>行を1行ずつ挿入すると、そのたびに下の行を全てずらすため、
+ *    初めて挿入するときに、これから必要になる見込みの行数分の空行をまとめて挿入しておく。
+ *    以降の挿入は、まとめて挿入した空行を順に使用する。
+ * <p>使用しなかった空行は、{@link #flush()}で削除し、1行ずつ挿入した場合と同じ状態に戻す。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class RowInserter {
+    
+    private final Sheet sheet;
+    
+    private final MergedRegionIndex mergedIndex;
+    
+    /** 挿入した行のインデックス */
+    private final Set<Integer> insertedRows = new HashSet<>();
+    
+    /** まとめて挿入した空行の開始位置 */
+    private int reservedStart = -1;
+    
+    /** まとめて挿入した空行の数 */
+    private int reservedSize = 0;
+    
+    /** まとめて挿入した空行のうち、使用した数 */
+    private int usedSize = 0;
+    
+    /**
+     *
+     * @param sheet 行を挿入するシート
+     * @param mergedIndex 行の挿入/削除に使用する結合セルの索引
+     * @throws IllegalArgumentException sheet == null or mergedIndex == null.
+     */
+    public RowInserter(final Sheet sheet, final MergedRegionIndex mergedIndex) {
+        ArgUtils.notNull(sheet, "sheet");
+        ArgUtils.notNull(mergedIndex, "mergedIndex");
+        
+        this.sheet = sheet;
+        this.mergedIndex = mergedIndex;
+    }
+    
+    /**
+     * 指定した位置に行を1行挿入する。
+     * <p>まとめて挿入した空行の続きの位置の場合は、既存の行をずらさずに空行を使用する。
+     * <p>それ以外の位置の場合は、使用していない空行を{@link #flush()}で削除してから挿入する。
+     *    使用していない空行よりも下の位置を指定した場合は、削除した空行の分だけ上にずれた位置に挿入する。
+     * @param rowIndex 挿入する位置の行番号。使用していない空行を含む、現在のシート上の行番号。
+     * @param expectedSize 今回を含めて、これから挿入する見込みの行数。
+     * @return 実際に挿入した位置の行番号。使用していない空行よりも下の位置を指定した場合は、指定した行番号と異なる。
+     */
+    public int insertRow(final int rowIndex, final int expectedSize) {
+        
+        if(usedSize < reservedSize && rowIndex == reservedStart + usedSize) {
+            insertedRows.add(rowIndex);
+            usedSize++;
+            return rowIndex;
+        }
+        
+        // 空行を削除すると下の行が上にずれるため、削除後の行番号に補正する。
+        final int unusedStart = reservedStart + usedSize;
+        final int unusedEnd = reservedStart + reservedSize;
+        final int insertIndex;
+        if(usedSize < reservedSize && rowIndex > unusedStart) {
+            insertIndex = rowIndex >= unusedEnd ? rowIndex - (unusedEnd - unusedStart) : unusedStart;
+        } else {
+            insertIndex = rowIndex;
+        }
+        
+        // 見込みの行数が足りなかった場合は、前回よりも少なくならないように確保する。
+        final int size = Math.max(expectedSize, reservedSize);
+        flush();
+        
+        insertedRows.add(insertIndex);
+        
+        if(sheet.getLastRowNum() < insertIndex) {
+            // データが定義されている範囲外の場合は、ずらす必要がない。
+            mergedIndex.insertRow(insertIndex);
+            return insertIndex;
+        }
+        
+        mergedIndex.insertRows(insertIndex, Math.max(size, 1));
+        
+        this.reservedStart = insertIndex;
+        this.reservedSize = Math.max(size, 1);
+        this.usedSize = 1;
+        
+        return insertIndex;
+    }
+    
+    /**
+     * 指定した行が、挿入した行かどうか。
+     * @param rowIndex 行番号
+     * @return 挿入した行の場合trueを返す。
+     */
+    public boolean isInsertedRow(final int rowIndex) {
+        return insertedRows.contains(rowIndex);
+    }
+    
+    /**
+     * まとめて挿入した空行のうち、使用しなかった行を削除する。
+     */
+    public void flush() {
+        
+        if(usedSize < reservedSize) {
+            mergedIndex.removeRows(reservedStart + usedSize, reservedSize - usedSize);
+        }
+        
+        this.reservedStart = -1;
+        this.reservedSize = 0;
+        this.usedSize = 0;
+    }
+
+}
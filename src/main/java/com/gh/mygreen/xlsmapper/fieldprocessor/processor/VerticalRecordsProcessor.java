@@ -24,10 +24,15 @@ import org.apache.poi.ss.util.CellRangeAddressList;
 import org.apache.poi.ss.util.CellReference;
 
 import com.gh.mygreen.xlsmapper.AnnotationInvalidException;
+import com.gh.mygreen.xlsmapper.CellLabelIndex;
+import com.gh.mygreen.xlsmapper.LabelMatcher;
 import com.gh.mygreen.xlsmapper.LoadingWorkObject;
+import com.gh.mygreen.xlsmapper.MergedRegionIndex;
 import com.gh.mygreen.xlsmapper.NeedProcess;
 import com.gh.mygreen.xlsmapper.POIUtils;
+import com.gh.mygreen.xlsmapper.RecordLifeCycle;
 import com.gh.mygreen.xlsmapper.SavingWorkObject;
+import com.gh.mygreen.xlsmapper.SheetDimension;
 import com.gh.mygreen.xlsmapper.Utils;
 import com.gh.mygreen.xlsmapper.XlsMapperConfig;
 import com.gh.mygreen.xlsmapper.XlsMapperException;
@@ -36,19 +41,16 @@ import com.gh.mygreen.xlsmapper.annotation.RecordTerminal;
 import com.gh.mygreen.xlsmapper.annotation.RemainedRecordOperate;
 import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
 import com.gh.mygreen.xlsmapper.annotation.XlsIsEmpty;
-import com.gh.mygreen.xlsmapper.annotation.XlsListener;
 import com.gh.mygreen.xlsmapper.annotation.XlsMapColumns;
 import com.gh.mygreen.xlsmapper.annotation.XlsNestedRecords;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
-import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
 import com.gh.mygreen.xlsmapper.annotation.XlsVerticalRecords;
 import com.gh.mygreen.xlsmapper.cellconvert.CellConverter;
 import com.gh.mygreen.xlsmapper.cellconvert.TypeBindException;
 import com.gh.mygreen.xlsmapper.fieldprocessor.AbstractFieldProcessor;
 import com.gh.mygreen.xlsmapper.fieldprocessor.CellAddress;
 import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.ColumnBindingPlan;
+import com.gh.mygreen.xlsmapper.fieldprocessor.ColumnBindingPlan.ColumnBinding;
 import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
 import com.gh.mygreen.xlsmapper.fieldprocessor.MergedRecord;
 import com.gh.mygreen.xlsmapper.fieldprocessor.NestMergedSizeException;
@@ -75,7 +77,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         // ラベルの設定
         if(Utils.isNotEmpty(anno.tableLabel())) {
             try {
-                final Cell tableLabelCell = Utils.getCell(sheet, anno.tableLabel(), 0, config);
+                final Cell tableLabelCell = work.getLabelIndex(sheet, config).getCell(anno.tableLabel(), 0, true);
                 Utils.setLabel(POIUtils.getCellContents(tableLabelCell, config.getCellFormatter()), beansObj, adaptor.getName());
             } catch(CellNotFoundException e) {
                 
@@ -126,7 +128,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
            final Class<?> recordClass, final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
         
         // get table starting position
-        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config);
+        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config, work.getLabelIndex(sheet, config));
         if(initPosition == null) {
             return null;
         }
@@ -166,7 +168,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                 rangeCount = 1;
                 
                 // 結合しているセルの場合は、はじめのセルだけ取得して、後は結合分スキップする。
-                CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+                CellRangeAddress mergedRange = work.getMergedRegionIndex(sheet).getMergedRegion(cell.getRowIndex(), cell.getColumnIndex());
                 if(mergedRange != null) {
                     hRow = hRow + (mergedRange.getLastRow() - mergedRange.getFirstRow());
                 }
@@ -208,10 +210,17 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             terminal = RecordTerminal.Empty;
         }
         
-        final int startHeaderIndex = getStartHeaderIndexForLoading(headers, recordClass, work.getAnnoReader(), config);
+        // 終端のラベルは、セルごとに比較するため事前に準備する。
+        final LabelMatcher terminateMatcher = anno.terminateLabel().isEmpty() ? null : LabelMatcher.compile(anno.terminateLabel(), config);
+        
+        // 見出しとプロパティの対応付けは、表ごとに1度だけ作成する。
+        ColumnBindingPlan bindingPlan = ColumnBindingPlan.createForLoading(recordClass, headers, work.getAnnoReader(), config);
+        final int startHeaderIndex = bindingPlan.getStartHeaderIndex();
+        
+        final SheetDimension dimension = work.getSheetDimension(sheet);
         
         // get records
-        while(hColumn < POIUtils.getColumns(sheet)){
+        while(hColumn < dimension.getColumns()){
             
             if(parentMergedSize > 0 && hColumn >= maxColumn) {
                 // ネストしている処理のとき、最大の処理レコード数をチェックする。
@@ -226,30 +235,25 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             work.getErrors().pushNestedPath(adaptor.getName(), result.size());
             
             // execute PreProcess listener
-            final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(record.getClass(), XlsListener.class);
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreLoad.class);
-                    if(preProcessAnno != null) {
-                        Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
-                    }
-                }
+            final RecordLifeCycle lifeCycle = work.getRecordLifeCycle(record.getClass(), config);
+            for(Method method : lifeCycle.getListenerPreMethods()) {
+                work.invokeNeedProcessMethod(lifeCycle.getListener(), method, record, sheet, config);
             }
             
             // execute PreProcess method
-            for(Method method : record.getClass().getMethods()) {
-                final XlsPreLoad preProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPreLoad.class);
-                if(preProcessAnno != null) {
-                    Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());
-                }
+            for(Method method : lifeCycle.getPreMethods()) {
+                work.invokeNeedProcessMethod(record, method, record, sheet, config);
             }
             
             final List<MergedRecord> mergedRecords = new ArrayList<>();
             
+            if(!bindingPlan.isTarget(record.getClass())) {
+                bindingPlan = ColumnBindingPlan.createForLoading(record.getClass(), headers, work.getAnnoReader(), config);
+            }
+            
             loadMapColumns(sheet, headers, mergedRecords, new CellAddress(initRow, hColumn), record, config, work);
             
-            for(int i=0; i < headers.size() && hColumn < POIUtils.getColumns(sheet); i++){
+            for(int i=0; i < headers.size() && hColumn < dimension.getColumns(); i++){
                 final RecordHeader headerInfo = headers.get(i);
                 int hRow = initRow + headerInfo.getInterval();
                 final Cell cell = POIUtils.getCell(sheet, hColumn, hRow);
@@ -269,19 +273,18 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                     }
                 }
                 
-                if(!anno.terminateLabel().equals("")){
-                    if(Utils.matches(POIUtils.getCellContents(cell, config.getCellFormatter()), anno.terminateLabel(), config)){
+                if(terminateMatcher != null){
+                    if(terminateMatcher.matches(POIUtils.getCellContents(cell, config.getCellFormatter()))){
                         emptyFlag = true;
                         break;
                     }
                 }
                 
                 // mapping from Excel columns to Object properties.
-                final List<FieldAdaptor> propeties = Utils.getLoadingColumnProperties(
-                        record.getClass(), headerInfo.getLabel(), work.getAnnoReader(), config);
-                for(FieldAdaptor property : propeties) {
+                for(ColumnBinding binding : bindingPlan.getBindings(i)) {
+                    final FieldAdaptor property = binding.getProperty();
                     Cell valueCell = cell;
-                    final XlsColumn column = property.getLoadingAnnotation(XlsColumn.class);
+                    final XlsColumn column = binding.getColumn();
                     
                     if(column.headerMerged() > 0){
                         hRow = hRow + column.headerMerged();
@@ -313,7 +316,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                         hRow = hRow - column.headerMerged();
                     }
                     
-                    CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, valueCell.getRowIndex(), valueCell.getColumnIndex());
+                    CellRangeAddress mergedRange = work.getMergedRegionIndex(sheet).getMergedRegion(valueCell.getRowIndex(), valueCell.getColumnIndex());
                     if(mergedRange != null) {
                         int mergedSize =  mergedRange.getLastColumn() - mergedRange.getFirstColumn() + 1;
                         mergedRecords.add(new MergedRecord(headerInfo, mergedRange, mergedSize));
@@ -324,7 +327,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                     // set for value
                     Utils.setPosition(valueCell.getColumnIndex(), valueCell.getRowIndex(), record, property.getName());
                     Utils.setLabel(headerInfo.getLabel(), record, property.getName());
-                    final CellConverter<?> converter = getLoadingCellConverter(property, config.getConverterRegistry(), config);
+                    final CellConverter<?> converter = getLoadingCellConverter(binding, config.getConverterRegistry(), config);
                     try {
                         final Object value = converter.toObject(valueCell, property, config);
                         property.setValue(record, value);
@@ -359,23 +362,13 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             }
             
             // set PostProcess listener
-            if(listenerAnno != null) {
-                Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                for(Method method : listenerObj.getClass().getMethods()) {
-                    
-                    final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostLoad.class);
-                    if(postProcessAnno != null) {
-                        work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
-                    }
-                }
+            for(Method method : lifeCycle.getListenerPostMethods()) {
+                work.addNeedPostProcess(new NeedProcess(record, lifeCycle.getListener(), method));
             }
             
             // set PostProcess method
-            for(Method method : record.getClass().getMethods()) {
-                final XlsPostLoad postProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPostLoad.class);
-                if(postProcessAnno != null) {
-                    work.addNeedPostProcess(new NeedProcess(record, record, method));
-                }
+            for(Method method : lifeCycle.getPostMethods()) {
+                work.addNeedPostProcess(new NeedProcess(record, record, method));
             }
             
             // パスの位置の変更
@@ -404,7 +397,8 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
      * @throws CellNotFoundException 指定したラベルが見つからない場合。
      */
     private CellAddress getHeaderPosition(final Sheet sheet, final XlsVerticalRecords anno,
-            final FieldAdaptor adaptor, final XlsMapperConfig config) throws AnnotationInvalidException, CellNotFoundException {
+            final FieldAdaptor adaptor, final XlsMapperConfig config, final CellLabelIndex labelIndex)
+                    throws AnnotationInvalidException, CellNotFoundException {
         
         if(Utils.isNotEmpty(anno.headerAddress())) {
             Point address = Utils.parseCellAddress(anno.headerAddress());
@@ -417,7 +411,8 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             
         } else if(Utils.isNotEmpty(anno.tableLabel())) {
             try {
-                Cell labelCell = Utils.getCell(sheet, anno.tableLabel(), 0, config);
+                Cell labelCell = labelIndex != null ? labelIndex.getCell(anno.tableLabel(), 0, true)
+                        : Utils.getCell(sheet, anno.tableLabel(), 0, config);
                 
                 if(anno.tableLabelAbove()) {
                     // 表の見出しが上にある場合。HorizontalRecordsを同じ。
@@ -450,36 +445,6 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         }
     }
     
-    /**
-     * 表の見出しから、レコードのJavaクラスの定義にあるカラムの定義で初めて見つかるリストのインデックスを取得する。
-     * <p>カラムの定義とは、アノテーション「@XlsColumn」が付与されたもの。
-     * @param headers 表の見出し情報。
-     * @param recordClass アノテーション「@XlsColumn」が定義されたフィールドを持つレコード用のクラス。
-     * @param annoReader {@link AnnotationReader}
-     * @param config システム設定
-     * @return 引数「headers」の該当する要素のインデックス番号。不明な場合は0を返す。
-     */
-    private int getStartHeaderIndexForLoading(final List<RecordHeader> headers, Class<?> recordClass, 
-            final AnnotationReader annoReader,  final XlsMapperConfig config) {
-        
-        // レコードクラスが不明の場合、0を返す。
-        if((recordClass == null || recordClass.equals(Object.class))) {
-            return 0;
-        }
-        
-        for(int i=0; i < headers.size(); i++) {
-            RecordHeader headerInfo = headers.get(i);
-            final List<FieldAdaptor> propeties = Utils.getLoadingColumnProperties(
-                    recordClass, headerInfo.getLabel(), annoReader, config);
-            if(!propeties.isEmpty()) {
-                return i;
-            }
-        }
-        
-        return 0;
-        
-    }
-    
     private void loadMapColumns(final Sheet sheet, final List<RecordHeader> headers, final List<MergedRecord> mergedRecords,
             final CellAddress beginPosition, final Object record, final XlsMapperConfig config, final LoadingWorkObject work) throws XlsMapperException {
         
@@ -518,7 +483,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                     Utils.setPositionWithMapColumn(cell.getColumnIndex(), cell.getRowIndex(), record, property.getName(), headerInfo.getLabel());
                     Utils.setLabelWithMapColumn(headerInfo.getLabel(), record, property.getName(), headerInfo.getLabel());
                     
-                    CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+                    CellRangeAddress mergedRange = work.getMergedRegionIndex(sheet).getMergedRegion(cell.getRowIndex(), cell.getColumnIndex());
                     if(mergedRange != null) {
                         int mergedSize =  mergedRange.getLastColumn() - mergedRange.getFirstColumn() + 1;
                         mergedRecords.add(new MergedRecord(headerInfo, mergedRange, mergedSize));
@@ -709,7 +674,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         RecordsProcessorUtil.checkSavingNestedRecordClass(recordClass, adaptor, work.getAnnoReader());
         
         // get table starting position
-        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config);
+        final CellAddress initPosition = getHeaderPosition(sheet, anno, adaptor, config, null);
         if(initPosition == null) {
             return;
         }
@@ -741,7 +706,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                 rangeCount = 1;
                 
                 // 結合しているセルの場合は、はじめのセルだけ取得して、後は結合分スキップする。
-                CellRangeAddress mergedRange = POIUtils.getMergedRegion(sheet, cell.getRowIndex(), cell.getColumnIndex());
+                CellRangeAddress mergedRange = work.getMergedRegionIndex(sheet).getMergedRegion(cell.getRowIndex(), cell.getColumnIndex());
                 if(mergedRange != null) {
                     hRow = hRow + (mergedRange.getLastRow() - mergedRange.getFirstRow());
                 }
@@ -813,10 +778,17 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             terminal = RecordTerminal.Border;
         }
         
-        final int startHeaderIndex = getStartHeaderIndexForSaving(headers, recordClass, work.getAnnoReader(), config);
+        // 終端のラベルは、セルごとに比較するため事前に準備する。
+        final LabelMatcher terminateMatcher = anno.terminateLabel().isEmpty() ? null : LabelMatcher.compile(anno.terminateLabel(), config);
+        
+        // 見出しとプロパティの対応付けは、表ごとに1度だけ作成する。
+        ColumnBindingPlan bindingPlan = ColumnBindingPlan.createForSaving(recordClass, headers, work.getAnnoReader(), config);
+        final int startHeaderIndex = bindingPlan.getStartHeaderIndex();
+        
+        final SheetDimension dimension = work.getSheetDimension(sheet);
         
         // get records
-        for(int r=0; r < POIUtils.getColumns(sheet); r++) {
+        for(int r=0; r < dimension.getColumns(); r++) {
             
             boolean emptyFlag = true;
             
@@ -830,24 +802,20 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             work.getErrors().pushNestedPath(adaptor.getName(), r);
             
             if(record != null) {
-             // execute PreProcess/ listner
-                final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(record.getClass(), XlsListener.class);
-                if(listenerAnno != null) {
-                    Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                    for(Method method : listenerObj.getClass().getMethods()) {
-                        final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPreSave.class);
-                        if(preProcessAnno != null) {
-                            Utils.invokeNeedProcessMethod(listenerObj, method, record, sheet, config, work.getErrors());
-                        }
-                    }
+                
+                if(!bindingPlan.isTarget(record.getClass())) {
+                    bindingPlan = ColumnBindingPlan.createForSaving(record.getClass(), headers, work.getAnnoReader(), config);
+                }
+                
+                // execute PreProcess/ listner
+                final RecordLifeCycle lifeCycle = work.getRecordLifeCycle(record.getClass(), config);
+                for(Method method : lifeCycle.getListenerPreMethods()) {
+                    Utils.invokeNeedProcessMethod(lifeCycle.getListener(), method, record, sheet, config, work.getErrors());
                 }
                 
                 // execute PreProcess/PostProcess method
-                for(Method method : record.getClass().getMethods()) {
-                    final XlsPreSave preProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPreSave.class);
-                    if(preProcessAnno != null) {
-                        Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());                    
-                    }
+                for(Method method : lifeCycle.getPreMethods()) {
+                    Utils.invokeNeedProcessMethod(record, method, record, sheet, config, work.getErrors());
                 }
             }
             
@@ -883,8 +851,8 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                     }
                 }
                 
-                if(!anno.terminateLabel().equals("")){
-                    if(Utils.matches(POIUtils.getCellContents(cell, config.getCellFormatter()), anno.terminateLabel(), config)){
+                if(terminateMatcher != null){
+                    if(terminateMatcher.matches(POIUtils.getCellContents(cell, config.getCellFormatter()))){
                         emptyFlag = true;
 //                            break;
                     }
@@ -892,11 +860,10 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                 
                 // mapping from Excel columns to Object properties.
                 if(record != null) {
-                    final List<FieldAdaptor> propeties = Utils.getSavingColumnProperties(
-                            record.getClass(), headerInfo.getLabel(), work.getAnnoReader(), config);
-                    for(FieldAdaptor property : propeties) {
+                    for(ColumnBinding binding : bindingPlan.getBindings(i)) {
+                        final FieldAdaptor property = binding.getProperty();
                         Cell valueCell = cell;
-                        final XlsColumn column = property.getSavingAnnotation(XlsColumn.class);
+                        final XlsColumn column = binding.getColumn();
                         
                         //TODO: マージを考慮する必要はないかも
                         if(column.headerMerged() > 0) {
@@ -955,7 +922,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                         // set for cell value
                         Utils.setPosition(valueCell.getColumnIndex(), valueCell.getRowIndex(), record, property.getName());
                         Utils.setLabel(headerInfo.getLabel(), record, property.getName());
-                        final CellConverter converter = getSavingCellConverter(property, config.getConverterRegistry(), config);
+                        final CellConverter converter = getSavingCellConverter(binding, config.getConverterRegistry(), config);
                         try {
                             converter.toCell(property, property.getValue(record), sheet, valueCell.getColumnIndex(), valueCell.getRowIndex(), config);
                         } catch(TypeBindException e) {
@@ -969,7 +936,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                         
                         // セルをマージする
                         if(column.merged() && (r > 0) && config.isMergeCellOnSave()) {
-                            processSavingMergedCell(valueCell, sheet, mergedRanges, config);
+                            processSavingMergedCell(valueCell, sheet, mergedRanges, config, work.getMergedRegionIndex(sheet));
                         }
                     }
                 }
@@ -1010,25 +977,14 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             if(record != null) {
                 
                 // set PostProcess listener
-                final XlsListener listenerAnno = work.getAnnoReader().getAnnotation(record.getClass(), XlsListener.class);
-                if(listenerAnno != null) {
-                    Object listenerObj = config.createBean(listenerAnno.listenerClass());
-                    for(Method method : listenerObj.getClass().getMethods()) {
-                        
-                        final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(listenerAnno.listenerClass(), method, XlsPostSave.class);
-                        if(postProcessAnno != null) {
-                            work.addNeedPostProcess(new NeedProcess(record, listenerObj, method));
-                        }
-                    }
+                final RecordLifeCycle lifeCycle = work.getRecordLifeCycle(record.getClass(), config);
+                for(Method method : lifeCycle.getListenerPostMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, lifeCycle.getListener(), method));
                 }
                 
                 // set PostProcess method
-                for(Method method : record.getClass().getMethods()) {
-                    
-                    final XlsPostSave postProcessAnno = work.getAnnoReader().getAnnotation(record.getClass(), method, XlsPostSave.class);
-                    if(postProcessAnno != null) {
-                        work.addNeedPostProcess(new NeedProcess(record, record, method));
-                    }
+                for(Method method : lifeCycle.getPostMethods()) {
+                    work.addNeedPostProcess(new NeedProcess(record, record, method));
                 }
                 
             }
@@ -1042,6 +998,11 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                 hColumn++;
             }
             
+            // 書き込んだ列までシートの列数が増えるため、反映する。
+            if(!headers.isEmpty()) {
+                dimension.extendColumns(hColumn);
+            }
+            
             if(emptyFlag == true && (r > result.size())) {
                 // セルが空で、書き込むデータがない場合。
                 break;
@@ -1050,36 +1011,6 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         
     }
     
-    /**
-     * 表の見出しから、レコードのJavaクラスの定義にあるカラムの定義で初めて見つかるリストのインデックスを取得する。
-     * ・カラムの定義とは、アノテーション「@XlsColumn」が付与されたもの。
-     * @param headers 表の見出し情報。
-     * @param recordClass アノテーション「@XlsColumn」が定義されたフィールドを持つレコード用のクラス。
-     * @param annoReader AnnotationReader
-     * @param config システム設定
-     * @return 引数「headers」の該当する要素のインデックス番号。不明な場合は、0を返す。
-     */
-    private int getStartHeaderIndexForSaving(final List<RecordHeader> headers, Class<?> recordClass,
-            final AnnotationReader annoReader, final XlsMapperConfig config) {
-        
-        // レコードクラスが不明の場合、0を返す。
-        if((recordClass == null || recordClass.equals(Object.class))) {
-            return 0;
-        }
-        
-        for(int i=0; i < headers.size(); i++) {
-            RecordHeader headerInfo = headers.get(i);
-            final List<FieldAdaptor> propeties = Utils.getSavingColumnProperties(
-                    recordClass, headerInfo.getLabel(), annoReader, config);
-            if(!propeties.isEmpty()) {
-                return i;
-            }
-        }
-        
-        return 0;
-        
-    }
-    
     /**
      * 上部のセルと同じ値の場合マージする
      * @param currentCell
@@ -1088,7 +1019,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
      * @return
      */
     private boolean processSavingMergedCell(final Cell currentCell, final Sheet sheet,
-            final List<CellRangeAddress> mergedRanges, final XlsMapperConfig config) {
+            final List<CellRangeAddress> mergedRanges, final XlsMapperConfig config, final MergedRegionIndex mergedIndex) {
         
         final int row = currentCell.getRowIndex();
         final int column = currentCell.getColumnIndex();
@@ -1128,10 +1059,10 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
         // 既に結合済みの場合は一端解除する
         if(currentMergedRange != null) {
             startColumn = currentMergedRange.getFirstColumn();
-            POIUtils.removeMergedRange(sheet, currentMergedRange);
+            mergedIndex.removeMergedRange(currentMergedRange);
         }
         
-        final CellRangeAddress newRange = POIUtils.mergeCells(sheet, startColumn, row, column, row);
+        final CellRangeAddress newRange = mergedIndex.mergeCells(startColumn, row, column, row);
         mergedRanges.add(newRange);
         return true;
         
@@ -1273,7 +1204,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                     }
                 }
                 
-                processSavingNestedMergedRecord(sheet, skipSize, valueCellPositions);
+                processSavingNestedMergedRecord(sheet, skipSize, valueCellPositions, work.getMergedRegionIndex(sheet));
                 
             } else if(clazz.isArray()) {
                 
@@ -1301,7 +1232,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
                     skipSize = list.size();
                 }
                 
-                processSavingNestedMergedRecord(sheet, skipSize, valueCellPositions);
+                processSavingNestedMergedRecord(sheet, skipSize, valueCellPositions, work.getMergedRegionIndex(sheet));
                 
             } else {
                 
@@ -1341,7 +1272,7 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
      * @param valueCellPositions 結合する開始位置のセルのアドレス
      */
     private void processSavingNestedMergedRecord(final Sheet sheet, final int mergedSize,
-            final List<CellAddress> valueCellPositions) {
+            final List<CellAddress> valueCellPositions, final MergedRegionIndex mergedIndex) {
         
         // ネストした場合、上のセルのスタイルをコピーして、結合する
         for(CellAddress position : valueCellPositions) {
@@ -1365,13 +1296,13 @@ public class VerticalRecordsProcessor extends AbstractFieldProcessor<XlsVertical
             
             // 既に結合済みのセルがある場合、外す。
             for(int colIdx=range.getFirstColumn(); colIdx <= range.getLastColumn(); colIdx++) {
-                CellRangeAddress r = POIUtils.getMergedRegion(sheet, position.getRow(), colIdx);
+                CellRangeAddress r = mergedIndex.getMergedRegion(position.getRow(), colIdx);
                 if(r != null) {
-                    POIUtils.removeMergedRange(sheet, r);
+                    mergedIndex.removeMergedRange(r);
                 }
             }
             
-            sheet.addMergedRegion(range);
+            mergedIndex.addMergedRegion(range);
         }
         
     }
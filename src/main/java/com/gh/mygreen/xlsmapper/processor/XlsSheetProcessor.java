@@ -0,0 +1,465 @@
+package com.gh.mygreen.xlsmapper.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import com.gh.mygreen.xlsmapper.SheetMapper;
+import com.gh.mygreen.xlsmapper.SheetMappingDescriptor;
+import com.gh.mygreen.xlsmapper.XlsMapperException;
+import com.gh.mygreen.xlsmapper.fieldprocessor.PropertyAccessor;
+
+
+/**
+ * アノテーション{@link com.gh.mygreen.xlsmapper.annotation.XlsSheet}が付与されたクラスに対して、
+ * {@link SheetMapper}の実装クラスを生成するアノテーションプロセッサ。
+ * <p>実行時にクラスの全てのフィールドとメソッドを走査する代わりに、アノテーションが付与されたメンバーのみを登録するようになる。
+ * <p>値の取得/設定は、リフレクションを介さずに、生成したクラスから直接行う。
+ *    ただし、privateなフィールドなど、生成したクラスからアクセスできないメンバーは、従来通りMethodHandleなどを利用する。
+ * <p>対象とするのは、パッケージ「com.gh.mygreen.xlsmapper.annotation」以下のアノテーションが付与されたメンバーのみ。
+ *    {@link com.gh.mygreen.xlsmapper.fieldprocessor.FieldProcessorRegstry}に独自のアノテーションを登録している場合は、
+ *    そのパッケージをオプション「-A{@value #OPTION_ANNOTATION_PACKAGES}」でカンマ区切りで指定する。
+ * <p>次のクラスは、同じパッケージからアクセスできないため生成せず、実行時にリフレクションで走査する。
+ * <ul>
+ *   <li>privateなクラスと、privateなクラスの中にネストしたクラス。</li>
+ *   <li>ローカルクラスと匿名クラス。</li>
+ *   <li>publicメソッドの引数に、同じパッケージからアクセスできないクラスを含むクラス。</li>
+ * </ul>
+ * <p>自動では登録しないため、利用する場合はコンパイラのオプション「-processor」などで指定する。
+ * <pre class="highlight"><code class="xml">
+ * &lt;plugin&gt;
+ *     &lt;groupId&gt;org.apache.maven.plugins&lt;/groupId&gt;
+ *     &lt;artifactId&gt;maven-compiler-plugin&lt;/artifactId&gt;
+ *     &lt;configuration&gt;
+ *         &lt;annotationProcessors&gt;
+ *             &lt;annotationProcessor&gt;com.gh.mygreen.xlsmapper.processor.XlsSheetProcessor&lt;/annotationProcessor&gt;
+ *         &lt;/annotationProcessors&gt;
+ *     &lt;/configuration&gt;
+ * &lt;/plugin&gt;
+ * </code></pre>
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+@SupportedAnnotationTypes("com.gh.mygreen.xlsmapper.annotation.XlsSheet")
+@SupportedOptions(XlsSheetProcessor.OPTION_ANNOTATION_PACKAGES)
+public class XlsSheetProcessor extends AbstractProcessor {
+    
+    /**
+     * 対象とするアノテーションのパッケージを追加するオプション名
+     */
+    public static final String OPTION_ANNOTATION_PACKAGES = "xlsmapper.annotationPackages";
+    
+    /**
+     * 標準で対象とするアノテーションのパッケージ
+     */
+    private static final String DEFAULT_ANNOTATION_PACKAGE = "com.gh.mygreen.xlsmapper.annotation";
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        
+        for(TypeElement annotation : annotations) {
+            for(Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if(element.getKind() != ElementKind.CLASS) {
+                    continue;
+                }
+                
+                final TypeElement type = (TypeElement) element;
+                if(!isAccessible(type)) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                            String.format("skip generate %s : the class is not accessible from the package.",
+                                    SheetMapper.class.getSimpleName()), type);
+                    continue;
+                }
+                
+                try {
+                    writeMapper(type);
+                } catch(IOException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            String.format("fail generate %s : %s", SheetMapper.class.getSimpleName(), e.getMessage()), type);
+                }
+            }
+        }
+        
+        return false;
+    }
+    
+    private void writeMapper(final TypeElement type) throws IOException {
+        
+        final Types typeUtils = processingEnv.getTypeUtils();
+        final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        final String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        
+        // ネストしたクラスと、名前に「_」を含むクラスで重複しないよう、バイナリ名を元にする。
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        final String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + SheetMapper.CLASS_NAME_SUFFIX;
+        
+        final String beanName = typeUtils.erasure(type.asType()).toString();
+        final DeclaredType beanType = (DeclaredType) type.asType();
+        final List<String> annotationPackages = getAnnotationPackages();
+        
+        // メソッドは、親クラスから継承したpublicメソッドも含む
+        final List<ExecutableElement> publicMethods = new ArrayList<>();
+        for(Element member : processingEnv.getElementUtils().getAllMembers(type)) {
+            if(member.getKind() == ElementKind.METHOD && member.getModifiers().contains(Modifier.PUBLIC)) {
+                publicMethods.add((ExecutableElement) member);
+            }
+        }
+        
+        final List<String> methodLines = new ArrayList<>();
+        for(ExecutableElement method : publicMethods) {
+            if(!hasTargetAnnotation(method.getAnnotationMirrors(), annotationPackages)) {
+                continue;
+            }
+            
+            final StringBuilder line = new StringBuilder();
+            line.append("builder.method(clazz.getMethod(\"").append(method.getSimpleName()).append("\", new Class<?>[]{");
+            
+            boolean first = true;
+            for(VariableElement param : method.getParameters()) {
+                final TypeMirror paramType = typeUtils.erasure(param.asType());
+                if(!isAccessible(paramType, packageElement)) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                            String.format("skip generate %s : the parameter type of '%s' is not accessible from the package.",
+                                    SheetMapper.class.getSimpleName(), method.getSimpleName()), type);
+                    return;
+                }
+                
+                if(!first) {
+                    line.append(", ");
+                }
+                line.append(paramType.toString()).append(".class");
+                first = false;
+            }
+            line.append("})");
+            
+            final String accessor = createMethodAccessor(beanType, beanName, method, publicMethods, packageElement);
+            if(accessor != null) {
+                line.append(", ").append(accessor);
+            }
+            
+            line.append(");");
+            methodLines.add(line.toString());
+        }
+        
+        // フィールドは、クラスに宣言されているもののみ
+        final List<String> fieldLines = new ArrayList<>();
+        for(Element member : type.getEnclosedElements()) {
+            if(member.getKind() != ElementKind.FIELD || !hasTargetAnnotation(member.getAnnotationMirrors(), annotationPackages)) {
+                continue;
+            }
+            
+            final String fieldName = member.getSimpleName().toString();
+            final TypeMirror fieldType = typeUtils.erasure(member.asType());
+            final Set<Modifier> modifiers = member.getModifiers();
+            if(modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC)
+                    || !isAccessible(fieldType, packageElement)) {
+                fieldLines.add("builder.field(clazz.getDeclaredField(\"" + fieldName + "\"));");
+                continue;
+            }
+            
+            // private以外のフィールドは、直接アクセスする
+            final String target = "((" + beanName + ") targetObj)." + fieldName;
+            fieldLines.add("builder.field(clazz.getDeclaredField(\"" + fieldName + "\"), "
+                    + createAccessor("return " + target + ";", target + " = (" + getCastType(fieldType) + ") value;") + ");");
+        }
+        
+        final JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? simpleName : packageName + "." + simpleName, type);
+        try(Writer writer = file.openWriter()) {
+            if(!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("/** Generated by " + XlsSheetProcessor.class.getName() + " for {@link " + beanName + "}. */\n");
+            writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+            writer.write("public final class " + simpleName + " implements " + SheetMapper.class.getName() + " {\n\n");
+            writer.write("    @Override\n");
+            writer.write("    public Class<?> getBeanClass() {\n");
+            writer.write("        return " + beanName + ".class;\n");
+            writer.write("    }\n\n");
+            writer.write("    @Override\n");
+            writer.write("    public void describe(final " + SheetMappingDescriptor.Builder.class.getCanonicalName() + " builder)\n");
+            writer.write("            throws ReflectiveOperationException, " + XlsMapperException.class.getName() + " {\n\n");
+            writer.write("        final Class<?> clazz = " + beanName + ".class;\n");
+            for(String line : methodLines) {
+                writer.write("        " + line + "\n");
+            }
+            for(String line : fieldLines) {
+                writer.write("        " + line + "\n");
+            }
+            writer.write("    }\n");
+            writer.write("}\n");
+        }
+    
+    }
+    
+    /**
+     * Setter/Getterメソッドに対して、メソッドを直接呼び出す{@link PropertyAccessor}のソースを作成する。
+     * <p>対となるGetter/Setterメソッドも、publicメソッドから探して呼び出す。
+     * @param beanType マッピング対象のクラスの型
+     * @param beanName マッピング対象のクラスの名前
+     * @param method アノテーションが付与されたメソッド
+     * @param publicMethods マッピング対象のクラスのpublicメソッド
+     * @param packageElement 生成するクラスのパッケージ
+     * @return Setter/Getterメソッドでない場合や、プロパティの型にアクセスできない場合はnullを返す。
+     */
+    private String createMethodAccessor(final DeclaredType beanType, final String beanName, final ExecutableElement method,
+            final List<ExecutableElement> publicMethods, final PackageElement packageElement) {
+        
+        final String propertyName = getPropertyName(method);
+        if(propertyName == null || method.getModifiers().contains(Modifier.STATIC)) {
+            return null;
+        }
+        
+        final TypeMirror propertyType = getPropertyType(beanType, method);
+        if(!isAccessible(propertyType, packageElement)) {
+            return null;
+        }
+        
+        ExecutableElement getter = null;
+        ExecutableElement setter = null;
+        for(ExecutableElement candidate : publicMethods) {
+            if(candidate.getModifiers().contains(Modifier.STATIC) || !propertyName.equals(getPropertyName(candidate))) {
+                continue;
+            }
+            
+            if(!processingEnv.getTypeUtils().isSameType(getPropertyType(beanType, candidate), propertyType)) {
+                continue;
+            }
+            
+            if(candidate.getParameters().isEmpty()) {
+                getter = getter == null ? candidate : getter;
+            } else {
+                setter = setter == null ? candidate : setter;
+            }
+        }
+        
+        final String target = "((" + beanName + ") targetObj)";
+        final String getterCode = getter != null ? "return " + target + "." + getter.getSimpleName() + "();"
+                : "throw new UnsupportedOperationException(\"not found getter of '" + propertyName + "'.\");";
+        final String setterCode = setter != null ? target + "." + setter.getSimpleName() + "((" + getCastType(propertyType) + ") value);"
+                : "throw new UnsupportedOperationException(\"not found setter of '" + propertyName + "'.\");";
+        
+        return createAccessor(getterCode, setterCode);
+    }
+    
+    /**
+     * Setter/Getterメソッドのプロパティ名を取得する。
+     * <p>{@link com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor}と同じ規則で判定する。
+     * @param method メソッド
+     * @return Setter/Getterメソッドでない場合はnullを返す。
+     */
+    private String getPropertyName(final ExecutableElement method) {
+        
+        final String name = method.getSimpleName().toString();
+        final String suffix;
+        if(name.startsWith("get") && method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID) {
+            suffix = name.substring(3);
+        } else if(name.startsWith("is") && method.getParameters().isEmpty() && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+            suffix = name.substring(2);
+        } else if(name.startsWith("set") && method.getParameters().size() == 1) {
+            suffix = name.substring(3);
+        } else {
+            return null;
+        }
+        
+        if(suffix.isEmpty()) {
+            return null;
+        }
+        
+        return Character.toLowerCase(suffix.charAt(0)) + suffix.substring(1);
+    }
+    
+    /**
+     * Setter/Getterメソッドのプロパティの型を、マッピング対象のクラスのメンバーとして型消去した状態で取得する。
+     * @param beanType マッピング対象のクラスの型
+     * @param method Setter/Getterメソッド
+     * @return プロパティの型
+     */
+    private TypeMirror getPropertyType(final DeclaredType beanType, final ExecutableElement method) {
+        
+        final ExecutableType methodType = (ExecutableType) processingEnv.getTypeUtils().asMemberOf(beanType, method);
+        final TypeMirror type = method.getParameters().isEmpty() ? methodType.getReturnType() : methodType.getParameterTypes().get(0);
+        return processingEnv.getTypeUtils().erasure(type);
+    }
+    
+    /**
+     * 値を設定するときにキャストする型の名前を取得する。
+     * <p>プリミティブ型の場合は、ラッパークラスにキャストする。
+     * @param type 型消去後の型
+     * @return キャストする型の名前
+     */
+    private String getCastType(final TypeMirror type) {
+        if(type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+    
+    /**
+     * {@link PropertyAccessor}の匿名クラスのソースを作成する。
+     * <p>{@link PropertyAccessor}の他の実装と同様に、失敗した場合は、例外{@link RuntimeException}でラップしてスローする。
+     *    プリミティブ型にnullを設定する場合も同様。
+     * @param getterCode 値を取得する処理
+     * @param setterCode 値を設定する処理
+     * @return 匿名クラスのソース
+     */
+    private String createAccessor(final String getterCode, final String setterCode) {
+        
+        return "new " + PropertyAccessor.class.getName() + "() {\n"
+                + "            @Override\n"
+                + "            public Object get(final Object targetObj) {\n"
+                + "                try {\n"
+                + "                    " + getterCode + "\n"
+                + "                } catch(Exception e) {\n"
+                + "                    throw new RuntimeException(\"fail get field value.\", e);\n"
+                + "                }\n"
+                + "            }\n"
+                + "            @Override\n"
+                + "            public void set(final Object targetObj, final Object value) {\n"
+                + "                try {\n"
+                + "                    " + setterCode + "\n"
+                + "                } catch(Exception e) {\n"
+                + "                    throw new RuntimeException(\"fail set field value.\", e);\n"
+                + "                }\n"
+                + "            }\n"
+                + "        }";
+    }
+    
+    /**
+     * 対象とするアノテーションのパッケージを取得する。
+     * @return 標準のパッケージと、オプションで指定したパッケージ。
+     */
+    private List<String> getAnnotationPackages() {
+        
+        final List<String> packages = new ArrayList<>();
+        packages.add(DEFAULT_ANNOTATION_PACKAGE);
+        
+        final String option = processingEnv.getOptions().get(OPTION_ANNOTATION_PACKAGES);
+        if(option != null) {
+            for(String name : option.split(",")) {
+                if(!name.trim().isEmpty()) {
+                    packages.add(name.trim());
+                }
+            }
+        }
+        
+        return packages;
+    }
+    
+    /**
+     * 対象のパッケージ以下のアノテーションを含むかどうか。
+     * <p>「@Deprecated」や、「java.lang.Object#getClass()」の「@IntrinsicCandidate」などの、
+     *    マッピングに関係しないアノテーションは除外する。
+     * @param mirrors メンバーに付与されたアノテーション
+     * @param annotationPackages 対象とするアノテーションのパッケージ
+     * @return true:対象のアノテーションを含む場合。
+     */
+    private boolean hasTargetAnnotation(final List<? extends AnnotationMirror> mirrors, final List<String> annotationPackages) {
+        
+        for(AnnotationMirror mirror : mirrors) {
+            final TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            final String packageName = processingEnv.getElementUtils().getPackageOf(annotationType).getQualifiedName().toString();
+            for(String annotationPackage : annotationPackages) {
+                if(packageName.equals(annotationPackage) || packageName.startsWith(annotationPackage + ".")) {
+                    return true;
+                }
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * 生成するクラスと同じパッケージから、クラスにアクセスできるかどうか。
+     * @param type クラス
+     * @return true:アクセスできる場合。
+     */
+    private boolean isAccessible(final TypeElement type) {
+        
+        if(type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            return false;
+        }
+        
+        Element element = type;
+        while(element instanceof TypeElement) {
+            if(element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        
+        return true;
+    }
+    
+    /**
+     * 生成するクラスと同じパッケージから、型にアクセスできるかどうか。
+     * <p>他のパッケージのクラスは、publicなクラスのみアクセスできるとみなす。
+     * @param type 型消去後の型
+     * @param packageElement 生成するクラスのパッケージ
+     * @return true:アクセスできる場合。
+     */
+    private boolean isAccessible(final TypeMirror type, final PackageElement packageElement) {
+        
+        if(type.getKind() == TypeKind.ARRAY) {
+            return isAccessible(((ArrayType) type).getComponentType(), packageElement);
+        }
+        
+        if(type.getKind() != TypeKind.DECLARED) {
+            return type.getKind().isPrimitive();
+        }
+        
+        final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        if(!isAccessible(element)) {
+            return false;
+        }
+        
+        if(processingEnv.getElementUtils().getPackageOf(element).equals(packageElement)) {
+            return true;
+        }
+        
+        // 他のパッケージのクラスは、ネストしている場合も含めて全てpublicである必要がある
+        Element current = element;
+        while(current instanceof TypeElement) {
+            if(!current.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        
+        return true;
+    }
+}
@@ -3,17 +3,25 @@ package com.gh.mygreen.xlsmapper.validation;
 import java.awt.Point;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Stack;
+import java.util.TreeMap;
 
 import com.gh.mygreen.xlsmapper.Utils;
 
 
 /**
  * シートのエラー情報を処理するためのクラス。
+ * <p>フィールドエラーは、追加時にフィールドのパスごとに索引を作成するため、
+ *    パスを指定した取得は、エラーの件数によらず高速に行える。
+ * <p>エラーの件数の上限を、全体とフィールドごとに設定できる。
+ *    上限を超えたエラーは保持せず、件数のみを{@link #getOverflowErrorCount()}で数える。
  * 
- * @version 0.5
+ * @version 1.5
  * @author T.TSUCHIE
  *
  */
@@ -37,6 +45,36 @@ public class SheetBindingErrors {
     /** エラーオブジェクト */
     private final List<ObjectError> errors = new ArrayList<ObjectError>();
     
+    /**
+     * フィールドエラーの索引
+     * ・key = フィールドのパス
+     * ・value = {@link #errors}中の位置。追加した順に並ぶ。
+     * ・ワイルドカードによる前方一致の検索のため、キーの順に並ぶMapで保持する。
+     */
+    private final NavigableMap<String, List<Integer>> fieldErrorIndex = new TreeMap<String, List<Integer>>();
+    
+    /**
+     * サブクラスで{@link #isMatchingFieldError(String, FieldError)}をオーバーライドしているかどうか。
+     * ・オーバーライドしている場合は、索引を使わずに全てのフィールドエラーと比較する。
+     */
+    private final boolean customMatching = overridesMatchingFieldError(getClass());
+    
+    /** 保持するエラーの件数の上限。0以下の場合は制限しない。*/
+    private int maxErrors = 0;
+    
+    /** フィールドごとに保持するエラーの件数の上限。0以下の場合は制限しない。*/
+    private int maxFieldErrors = 0;
+    
+    /**
+     * フィールドごとに保持しているエラーの件数
+     * ・key = インデックスを除いたフィールドのパス
+     * ・value = 保持しているエラーの件数
+     */
+    private final Map<String, Integer> fieldErrorCounts = new HashMap<String, Integer>();
+    
+    /** 上限を超えたため、保持しなかったエラーの件数 */
+    private int overflowErrorCount = 0;
+    
     /** エラーコードの候補を生成するクラス */
     private MessageCodeGenerator messageCodeGenerator = new MessageCodeGenerator();
     
@@ -201,14 +239,100 @@ public class SheetBindingErrors {
      */
     public void clearAllErrors() {
         this.errors.clear();
+        this.fieldErrorIndex.clear();
+        this.fieldErrorCounts.clear();
+        this.overflowErrorCount = 0;
     }
     
     /**
      * エラーを追加する
+     * <p>エラーの件数の上限を超える場合は追加せず、{@link #getOverflowErrorCount()}の件数のみを数える。
      * @param error
      */
     public void addError(final ObjectError error) {
-        this.errors.add(error);
+        
+        if(maxErrors > 0 && errors.size() >= maxErrors) {
+            this.overflowErrorCount++;
+            return;
+        }
+        
+        if(error instanceof FieldError) {
+            final String fieldPath = ((FieldError) error).getFieldPath();
+            final String fieldKey = removeIndex(fieldPath);
+            final Integer fieldCount = fieldErrorCounts.get(fieldKey);
+            if(maxFieldErrors > 0 && fieldCount != null && fieldCount >= maxFieldErrors) {
+                this.overflowErrorCount++;
+                return;
+            }
+            fieldErrorCounts.put(fieldKey, fieldCount == null ? 1 : fieldCount + 1);
+            
+            List<Integer> positions = fieldErrorIndex.get(fieldPath);
+            if(positions == null) {
+                positions = new ArrayList<Integer>(1);
+                fieldErrorIndex.put(fieldPath, positions);
+            }
+            
+            this.errors.add(error);
+            positions.add(errors.size() - 1);
+            
+        } else {
+            this.errors.add(error);
+        }
+    }
+    
+    /**
+     * フィールドエラーを追加すると、件数の上限を超えるかどうか判定する。
+     * <p>超える場合は、追加しなかったエラーとして{@link #getOverflowErrorCount()}の件数を数える。
+     *    エラーを作成する前に呼び出すことで、保持しないエラーの作成を省くことができる。
+     * @since 1.5
+     * @param field フィールド名。現在のパスからの相対パス。
+     * @return true:上限を超えるため、エラーを追加しない場合。
+     */
+    public boolean checkOverflowFieldError(final String field) {
+        
+        if(maxErrors > 0 && errors.size() >= maxErrors) {
+            this.overflowErrorCount++;
+            return true;
+        }
+        
+        if(maxFieldErrors > 0) {
+            final Integer fieldCount = fieldErrorCounts.get(removeIndex(buildFieldPath(field)));
+            if(fieldCount != null && fieldCount >= maxFieldErrors) {
+                this.overflowErrorCount++;
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * パスから、「[0]」などのインデックスやキーを除く。
+     * <p>フィールドごとのエラーの件数は、レコードが異なっても同じフィールドとして数えるため。
+     * @since 1.5
+     * @param path フィールドのパス
+     * @return インデックスを除いたパス。例えば、「records[12].value」の場合は「records.value」。
+     */
+    private static String removeIndex(final String path) {
+        
+        if(path.indexOf('[') < 0) {
+            return path;
+        }
+        
+        final StringBuilder sb = new StringBuilder(path.length());
+        int depth = 0;
+        for(int i=0; i < path.length(); i++) {
+            final char c = path.charAt(i);
+            if(c == '[') {
+                depth++;
+            } else if(c == ']' && depth > 0) {
+                depth--;
+            } else if(depth == 0) {
+                sb.append(c);
+            }
+        }
+        
+        return sb.toString();
     }
     
     /**
@@ -216,7 +340,9 @@ public class SheetBindingErrors {
      * @param errors
      */
     public void addAllErrors(final Collection<ObjectError> errors) {
-        this.errors.addAll(errors);
+        for(ObjectError error : errors) {
+            addError(error);
+        }
     }
     
     /**
@@ -232,7 +358,7 @@ public class SheetBindingErrors {
      * @return true:エラーがある。
      */
     public boolean hasErrors() {
-        return !getAllErrors().isEmpty();
+        return !errors.isEmpty();
     }
     
     /**
@@ -374,12 +500,10 @@ public class SheetBindingErrors {
      * @return
      */
     public List<FieldError> getFieldErrors(final String path) {
-        final String fullPath = buildFieldPath(path);
-        final List<FieldError> list = new ArrayList<FieldError>();
-        for(ObjectError item : this.errors) {
-            if(item instanceof FieldError && isMatchingFieldError(fullPath, (FieldError) item)) {
-                list.add((FieldError) item);
-            }
+        final List<Integer> positions = findFieldErrorPositions(buildFieldPath(path));
+        final List<FieldError> list = new ArrayList<FieldError>(positions.size());
+        for(int position : positions) {
+            list.add((FieldError) errors.get(position));
         }
         
         return list;
@@ -392,13 +516,16 @@ public class SheetBindingErrors {
      */
     public FieldError getFirstFieldError(final String path) {
         final String fullPath = buildFieldPath(path);
-        for(ObjectError item : this.errors) {
-            if(item instanceof FieldError && isMatchingFieldError(fullPath, (FieldError) item)) {
-                return (FieldError) item;
+        
+        int first = -1;
+        for(List<Integer> positions : findFieldErrorIndex(fullPath)) {
+            final int position = positions.get(0);
+            if(first < 0 || position < first) {
+                first = position;
             }
         }
         
-        return null;
+        return first < 0 ? null : (FieldError) errors.get(first);
     }
     
     /**
@@ -407,7 +534,7 @@ public class SheetBindingErrors {
      * @return true:エラーがある場合。
      */
     public boolean hasFieldErrors(final String path) {
-        return !getFieldErrors(path).isEmpty();
+        return !findFieldErrorIndex(buildFieldPath(path)).isEmpty();
     }
     
     /**
@@ -416,7 +543,12 @@ public class SheetBindingErrors {
      * @return
      */
     public int getFieldErrorCount(final String path) {
-        return getFieldErrors(path).size();
+        int count = 0;
+        for(List<Integer> positions : findFieldErrorIndex(buildFieldPath(path))) {
+            count += positions.size();
+        }
+        
+        return count;
     }
     
     /**
@@ -470,10 +602,10 @@ public class SheetBindingErrors {
      * @return
      */
     public List<CellFieldError> getCellFieldErrors(final String path) {
-        final String fullPath = buildFieldPath(path);
         final List<CellFieldError> list = new ArrayList<CellFieldError>();
-        for(ObjectError item : this.errors) {
-            if(item instanceof CellFieldError && isMatchingFieldError(fullPath, (CellFieldError) item)) {
+        for(int position : findFieldErrorPositions(buildFieldPath(path))) {
+            final ObjectError item = errors.get(position);
+            if(item instanceof CellFieldError) {
                 list.add((CellFieldError) item);
             }
         }
@@ -487,9 +619,9 @@ public class SheetBindingErrors {
      * @return エラーがない場合はnullを返す。
      */
     public CellFieldError getFirstCellFieldError(final String path) {
-        final String fullPath = buildFieldPath(path);
-        for(ObjectError item : this.errors) {
-            if(item instanceof CellFieldError && isMatchingFieldError(fullPath, (CellFieldError) item)) {
+        for(int position : findFieldErrorPositions(buildFieldPath(path))) {
+            final ObjectError item = errors.get(position);
+            if(item instanceof CellFieldError) {
                 return (CellFieldError) item;
             }
         }
@@ -517,7 +649,7 @@ public class SheetBindingErrors {
      * @return true:エラーがある場合。
      */
     public boolean hasCellFieldErrors(final String path) {
-        return !getCellFieldErrors(path).isEmpty();
+        return getFirstCellFieldError(path) != null;
     }
     
     /**
@@ -531,6 +663,8 @@ public class SheetBindingErrors {
     
     /**
      * 指定したパスがフィールドエラーのパスと一致するかチェックするかどうか。
+     * <p>パスを指定した検索は、通常は索引を利用するため、このメソッドは呼び出さない。
+     *    サブクラスでオーバーライドした場合は、索引を使わずに全てのフィールドエラーに対してこのメソッドで比較する。
      * @param path 
      * @param fieldError
      * @return true: 一致する場合。
@@ -549,6 +683,151 @@ public class SheetBindingErrors {
         return false;
     }
     
+    /**
+     * 索引から、指定したパスに一致するフィールドエラーの位置の一覧を取得する。
+     * <p>一致の条件は{@link #isMatchingFieldError(String, FieldError)}と同じ。
+     * @since 1.5
+     * @param path フィールドのパス。最後に'*'を付けるとワイルドカードとなる。
+     * @return 一致するパスごとの位置の一覧。一致するものがない場合は空のリストを返す。
+     */
+    private List<List<Integer>> findFieldErrorIndex(final String path) {
+        
+        if(customMatching) {
+            final List<Integer> positions = new ArrayList<Integer>();
+            for(int i=0; i < errors.size(); i++) {
+                final ObjectError item = errors.get(i);
+                if(item instanceof FieldError && isMatchingFieldError(path, (FieldError) item)) {
+                    positions.add(i);
+                }
+            }
+            
+            if(positions.isEmpty()) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(positions);
+        }
+        
+        if(!path.endsWith("*")) {
+            final List<Integer> positions = fieldErrorIndex.get(path);
+            if(positions == null) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(positions);
+        }
+        
+        // 前方一致するキーは、キーの順で連続して並ぶ
+        final String subPath = path.substring(0, path.length()-1);
+        final List<List<Integer>> list = new ArrayList<List<Integer>>();
+        for(Map.Entry<String, List<Integer>> entry : fieldErrorIndex.tailMap(subPath, true).entrySet()) {
+            if(!entry.getKey().startsWith(subPath)) {
+                break;
+            }
+            list.add(entry.getValue());
+        }
+        
+        return list;
+    }
+    
+    /**
+     * クラスが{@link #isMatchingFieldError(String, FieldError)}をオーバーライドしているかどうか。
+     * @since 1.5
+     * @param clazz 判定対象のクラス
+     * @return true:オーバーライドしている場合。
+     */
+    private static boolean overridesMatchingFieldError(final Class<?> clazz) {
+        
+        for(Class<?> type = clazz; type != null && type != SheetBindingErrors.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("isMatchingFieldError", String.class, FieldError.class);
+                return true;
+            } catch(NoSuchMethodException e) {
+                // 親クラスを確認する
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * 索引から、指定したパスに一致するフィールドエラーの位置を、追加した順に取得する。
+     * @since 1.5
+     * @param path フィールドのパス。最後に'*'を付けるとワイルドカードとなる。
+     * @return 一致するものがない場合は空のリストを返す。
+     */
+    private List<Integer> findFieldErrorPositions(final String path) {
+        
+        final List<List<Integer>> index = findFieldErrorIndex(path);
+        if(index.isEmpty()) {
+            return Collections.emptyList();
+        } else if(index.size() == 1) {
+            return index.get(0);
+        }
+        
+        final List<Integer> positions = new ArrayList<Integer>();
+        for(List<Integer> item : index) {
+            positions.addAll(item);
+        }
+        Collections.sort(positions);
+        
+        return positions;
+    }
+    
+    /**
+     * 保持するエラーの件数の上限を取得する。
+     * @since 1.5
+     * @return 0以下の場合は制限しない。
+     */
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+    
+    /**
+     * 保持するエラーの件数の上限を設定する。
+     * @since 1.5
+     * @param maxErrors 0以下の場合は制限しない。
+     */
+    public void setMaxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+    
+    /**
+     * フィールドごとに保持するエラーの件数の上限を取得する。
+     * @since 1.5
+     * @return 0以下の場合は制限しない。
+     */
+    public int getMaxFieldErrors() {
+        return maxFieldErrors;
+    }
+    
+    /**
+     * フィールドごとに保持するエラーの件数の上限を設定する。
+     * <p>フィールドは、インデックスなどを除いたパスで区別する。
+     *    例えば、「records[0].value」と「records[1].value」は、同じフィールドとして数える。
+     * @since 1.5
+     * @param maxFieldErrors 0以下の場合は制限しない。
+     */
+    public void setMaxFieldErrors(int maxFieldErrors) {
+        this.maxFieldErrors = maxFieldErrors;
+    }
+    
+    /**
+     * 件数の上限を超えたため、保持しなかったエラーの件数を取得する。
+     * @since 1.5
+     * @return
+     */
+    public int getOverflowErrorCount() {
+        return overflowErrorCount;
+    }
+    
+    /**
+     * 件数の上限を超えたため、保持しなかったエラーがあるかどうか。
+     * @since 1.5
+     * @return true:保持しなかったエラーがある場合。
+     */
+    public boolean hasOverflowErrors() {
+        return overflowErrorCount > 0;
+    }
+    
     /**
      * 現在のシート名を取得する。
      * @return
@@ -3,7 +3,9 @@ package com.gh.mygreen.xlsmapper.xml;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 import com.gh.mygreen.xlsmapper.xml.bind.AnnotationInfo;
@@ -35,6 +37,13 @@ public class AnnotationReader {
      */
     private DynamicAnnotationBuilder annotationBuilder = DynamicAnnotationBuilder.getInstance();
     
+    /**
+     * XMLの定義から組み立てたアノテーションのキャッシュ。
+     * ・key = XMLのアノテーションの定義。クラス、メンバー、アノテーションのタイプごとにインスタンスが異なる。
+     * ・value = 組み立てたアノテーション
+     */
+    private final Map<AnnotationInfo, Annotation> annotationCache = Collections.synchronizedMap(new IdentityHashMap<AnnotationInfo, Annotation>());
+    
     /**
      * XMLで定義した情報を指定するコンストラクタ。
      * @param xmlInfo XMLで定義したアノテーションの情報。{@link XmlIO}で読み込んで取得した値。指定しない場合はnull。
@@ -63,12 +72,7 @@ public class AnnotationReader {
             }
             
             for(AnnotationInfo annInfo: classInfo.getAnnotationInfos()) {
-                try {
-                    map.put(annInfo.getClassName(),
-                            annotationBuilder.buildAnnotation(Class.forName(annInfo.getClassName()), annInfo));
-                } catch (ClassNotFoundException e) {
-                    throw new AnnotationReadException(String.format("not found class '%s'", annInfo.getClassName()), e);
-                }
+                map.put(annInfo.getClassName(), buildAnnotation(annInfo));
             }
             
             return map.values().toArray(new Annotation[map.size()]);
@@ -93,11 +97,7 @@ public class AnnotationReader {
             
             if(classInfo.containsAnnotationInfo(annClass.getName())) {
                 AnnotationInfo annInfo = classInfo.getAnnotationInfo(annClass.getName());
-                try {
-                    return (A)annotationBuilder.buildAnnotation(Class.forName(annInfo.getClassName()), annInfo);
-                } catch (ClassNotFoundException e) {
-                    throw new AnnotationReadException(String.format("not found class '%s'", annInfo.getClassName()), e);
-                }
+                return (A)buildAnnotation(annInfo);
             }
         }
         
@@ -122,11 +122,7 @@ public class AnnotationReader {
                 MethodInfo methodInfo = classInfo.getMethodInfo(method.getName());
                 if(methodInfo != null && methodInfo.containsAnnotationInfo(annClas.getName())) {
                     AnnotationInfo annInfo = methodInfo.getAnnotationInfo(annClas.getName());
-                    try {
-                        return (A)annotationBuilder.buildAnnotation(Class.forName(annInfo.getClassName()), annInfo);
-                    } catch (ClassNotFoundException e) {
-                        throw new AnnotationReadException(String.format("not found class '%s'", annInfo.getClassName()), e);
-                    }
+                    return (A)buildAnnotation(annInfo);
                 }
             }
         }
@@ -156,12 +152,7 @@ public class AnnotationReader {
                 }
                 
                 for(AnnotationInfo annInfo: methodInfo.getAnnotationInfos()){
-                    try {
-                        map.put(annInfo.getClassName(),
-                                annotationBuilder.buildAnnotation(Class.forName(annInfo.getClassName()), annInfo));
-                    } catch (ClassNotFoundException e) {
-                        throw new AnnotationReadException(String.format("not found class '%s'", annInfo.getClassName()), e);
-                    }
+                    map.put(annInfo.getClassName(), buildAnnotation(annInfo));
                 }
                 
                 return map.values().toArray(new Annotation[map.size()]);
@@ -187,11 +178,7 @@ public class AnnotationReader {
                 FieldInfo fieldInfo = classInfo.getFieldInfo(field.getName());
                 if(fieldInfo != null && fieldInfo.containsAnnotationInfo(annClass.getName())){
                     AnnotationInfo annInfo = fieldInfo.getAnnotationInfo(annClass.getName());
-                    try {
-                        return (A)annotationBuilder.buildAnnotation(Class.forName(annInfo.getClassName()), annInfo);
-                    } catch (ClassNotFoundException e) {
-                        throw new AnnotationReadException(String.format("not found class '%s'", annInfo.getClassName()), e);
-                    }
+                    return (A)buildAnnotation(annInfo);
                 }
             }
         }
@@ -220,12 +207,7 @@ public class AnnotationReader {
                 }
                 
                 for(AnnotationInfo annInfo: fieldInfo.getAnnotationInfos()){
-                    try {
-                        map.put(annInfo.getClassName(), 
-                                annotationBuilder.buildAnnotation(Class.forName(annInfo.getClassName()), annInfo));
-                    } catch (ClassNotFoundException e) {
-                        throw new AnnotationReadException(String.format("not found class '%s'", annInfo.getClassName()), e);
-                    }
+                    map.put(annInfo.getClassName(), buildAnnotation(annInfo));
                 }
                 return map.values().toArray(new Annotation[map.size()]);
             }
@@ -233,12 +215,47 @@ public class AnnotationReader {
         return field.getAnnotations();
     }
     
+    /**
+     * XMLの定義からアノテーションを組み立てる。
+     * <p>組み立てたアノテーションはキャッシュし、同じ定義に対しては同じインスタンスを返す。
+     * @since 1.5
+     * @param annInfo XMLのアノテーションの定義
+     * @return 組み立てたアノテーション
+     * @throws AnnotationReadException アノテーションのクラスが見つからない場合など。
+     */
+    Annotation buildAnnotation(final AnnotationInfo annInfo) throws AnnotationReadException {
+        
+        Annotation annotation = annotationCache.get(annInfo);
+        if(annotation != null) {
+            return annotation;
+        }
+        
+        try {
+            annotation = annotationBuilder.buildAnnotation(Class.forName(annInfo.getClassName()), annInfo);
+        } catch (ClassNotFoundException e) {
+            throw new AnnotationReadException(String.format("not found class '%s'", annInfo.getClassName()), e);
+        }
+        
+        annotationCache.put(annInfo, annotation);
+        return annotation;
+    }
+    
+    /**
+     * XMLで定義した情報を取得する。
+     * @since 1.5
+     * @return XMLで定義していない場合はnullを返す。
+     */
+    public XmlInfo getXmlInfo() {
+        return xmlInfo;
+    }
+    
     public DynamicAnnotationBuilder getAnnotationBuilder() {
         return annotationBuilder;
     }
     
     public void setAnnotationBuilder(DynamicAnnotationBuilder annotationBuilder) {
         this.annotationBuilder = annotationBuilder;
+        this.annotationCache.clear();
     }
     
 }
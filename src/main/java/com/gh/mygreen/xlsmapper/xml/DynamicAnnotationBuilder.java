@@ -4,9 +4,12 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.gh.mygreen.xlsmapper.expression.ObjectCache;
 import com.gh.mygreen.xlsmapper.xml.bind.AnnotationInfo;
 
 import ognl.DefaultMemberAccess;
@@ -36,6 +39,20 @@ public class DynamicAnnotationBuilder {
     
     private OgnlContext ognlContext;
     
+    /**
+     * 解析したOGNLの式のキャッシュ
+     * ・key = 式
+     * ・value = 解析した式
+     */
+    private final ObjectCache<String, Object> expressionCache = new ObjectCache<>();
+    
+    /**
+     * アノテーションの属性の初期値のキャッシュ
+     * ・key = アノテーションのクラス
+     * ・value = 属性名と初期値のマップ
+     */
+    private final Map<Class<?>, Map<String, Object>> defaultValuesCache = new ConcurrentHashMap<>();
+    
     private DynamicAnnotationBuilder() {
         this.ognlContext = new OgnlContext();
         this.ognlContext.setMemberAccess(new DefaultMemberAccess(true));
@@ -89,18 +106,12 @@ public class DynamicAnnotationBuilder {
      */
     public Annotation buildAnnotation(final Class<?> annoClass, final AnnotationInfo info) throws AnnotationReadException {
         
-        final Map<String, Object> defaultValues = new HashMap<>();
-        for(Method method : annoClass.getMethods()) {
-            Object defaultValue = method.getDefaultValue();
-            if(defaultValue != null) {
-                defaultValues.put(method.getName(), defaultValue);
-            }
-        }
+        final Map<String, Object> defaultValues = getDefaultValues(annoClass);
         
         final Map<String, Object> xmlValues = new HashMap<>();
         for(String key : info.getAttributeKeys()) {
             try {
-                Object value = Ognl.getValue(info.getAttribute(key), ognlContext, new Object());
+                Object value = Ognl.getValue(parseExpression(info.getAttribute(key)), ognlContext, new Object());
                 xmlValues.put(key, value);
             } catch(OgnlException e) {
                 throw new AnnotationReadException(String.format("fail annotation attribute %s with ognl.", key), e);
@@ -130,4 +141,51 @@ public class DynamicAnnotationBuilder {
         return (Annotation) obj;
     }
     
+    /**
+     * アノテーションの属性の初期値を取得する。
+     * <p>アノテーションのクラスごとにキャッシュする。
+     * @since 1.5
+     * @param annoClass アノテーションのクラス
+     * @return 属性名と初期値のマップ。
+     */
+    private Map<String, Object> getDefaultValues(final Class<?> annoClass) {
+        
+        Map<String, Object> defaultValues = defaultValuesCache.get(annoClass);
+        if(defaultValues != null) {
+            return defaultValues;
+        }
+        
+        defaultValues = new HashMap<>();
+        for(Method method : annoClass.getMethods()) {
+            Object defaultValue = method.getDefaultValue();
+            if(defaultValue != null) {
+                defaultValues.put(method.getName(), defaultValue);
+            }
+        }
+        
+        defaultValues = Collections.unmodifiableMap(defaultValues);
+        defaultValuesCache.put(annoClass, defaultValues);
+        return defaultValues;
+    }
+    
+    /**
+     * OGNLの式を解析する。
+     * <p>解析した結果は、式ごとにキャッシュする。
+     * @since 1.5
+     * @param expression OGNLの式
+     * @return 解析した式
+     * @throws OgnlException 式の解析に失敗した場合。
+     */
+    private Object parseExpression(final String expression) throws OgnlException {
+        
+        Object tree = expressionCache.get(expression);
+        if(tree != null) {
+            return tree;
+        }
+        
+        tree = Ognl.parseExpression(expression);
+        expressionCache.put(expression, tree);
+        return tree;
+    }
+
 }
@@ -11,11 +11,10 @@ import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 
-import javax.xml.bind.DataBindingException;
-import javax.xml.bind.JAXB;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
+import javax.xml.transform.stream.StreamSource;
 
 import com.gh.mygreen.xlsmapper.ArgUtils;
 import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
@@ -23,13 +22,50 @@ import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
 /**
  * XMLの読み込み、書き込みなどを行うユーティリティクラス。
  * 
- * @version 1.1
+ * @version 1.5
  * @since 0.5
  * @author T.TSUCHIE
  *
  */
 public class XmlIO {
     
+    /**
+     * {@link XmlInfo}用のJAXBのコンテキスト。
+     * <p>作成にコストがかかるため、初めて利用するときに作成して使い回す。
+     */
+    private static JAXBContext jaxbContext;
+    
+    /**
+     * {@link XmlInfo}用のJAXBのコンテキストを取得する。
+     * @since 1.5
+     * @return 作成済みの場合は、そのインスタンスを返す。
+     * @throws XmlOperateException コンテキストの作成に失敗した場合。
+     */
+    private static synchronized JAXBContext getJaxbContext() throws XmlOperateException {
+        if(jaxbContext == null) {
+            try {
+                jaxbContext = JAXBContext.newInstance(XmlInfo.class);
+            } catch (JAXBException e) {
+                throw new XmlOperateException("fail setting JAXB context.", e);
+            }
+        }
+        
+        return jaxbContext;
+    }
+    
+    /**
+     * 整形して出力する{@link Marshaller}を作成する。
+     * @since 1.5
+     * @return
+     * @throws JAXBException
+     * @throws XmlOperateException
+     */
+    private static Marshaller createMarshaller() throws JAXBException, XmlOperateException {
+        final Marshaller marshaller = getJaxbContext().createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        return marshaller;
+    }
+    
     /**
      * XMLを読み込み、{@link XmlInfo}として取得する。
      * @param in
@@ -43,8 +79,8 @@ public class XmlIO {
         final XmlInfo xmlInfo;
         
         try {
-            xmlInfo = JAXB.unmarshal(in, XmlInfo.class);
-        } catch (DataBindingException e) {
+            xmlInfo = getJaxbContext().createUnmarshaller().unmarshal(new StreamSource(in), XmlInfo.class).getValue();
+        } catch (JAXBException e) {
             throw new XmlOperateException("fail load xml with JAXB.", e);
         }
         
@@ -65,8 +101,8 @@ public class XmlIO {
         final XmlInfo xmlInfo;
         
         try {
-            xmlInfo = JAXB.unmarshal(reader, XmlInfo.class);
-        } catch (DataBindingException e) {
+            xmlInfo = getJaxbContext().createUnmarshaller().unmarshal(new StreamSource(reader), XmlInfo.class).getValue();
+        } catch (JAXBException e) {
             throw new XmlOperateException("fail load xml with JAXB.", e);
         }
         
@@ -111,9 +147,9 @@ public class XmlIO {
         ArgUtils.notNull(out, "out");
         
         try {
-            JAXB.marshal(xmlInfo, out);
+            createMarshaller().marshal(xmlInfo, out);
             
-        } catch (DataBindingException e) {
+        } catch (JAXBException e) {
             throw new XmlOperateException("fail save xml with JAXB.", e);
         }
         
@@ -133,9 +169,9 @@ public class XmlIO {
         ArgUtils.notNull(writer, "writer");
         
         try {
-            JAXB.marshal(xmlInfo, writer);
+            createMarshaller().marshal(xmlInfo, writer);
             
-        } catch (DataBindingException e) {
+        } catch (JAXBException e) {
             throw new XmlOperateException("fail save xml with JAXB.", e);
         }
         
@@ -158,10 +194,8 @@ public class XmlIO {
         
         final Marshaller marshaller;
         try {
-            JAXBContext context = JAXBContext.newInstance(xmlInfo.getClass());
-            marshaller = context.createMarshaller();
+            marshaller = createMarshaller();
             marshaller.setProperty(Marshaller.JAXB_ENCODING, encoding);
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
             
         } catch (JAXBException e) {
             throw new XmlOperateException("fail setting JAXB context.", e);
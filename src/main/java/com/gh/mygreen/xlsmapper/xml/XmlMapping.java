@@ -0,0 +1,88 @@
+package com.gh.mygreen.xlsmapper.xml;
+
+import com.gh.mygreen.xlsmapper.ArgUtils;
+import com.gh.mygreen.xlsmapper.xml.bind.AnnotationInfo;
+import com.gh.mygreen.xlsmapper.xml.bind.ClassInfo;
+import com.gh.mygreen.xlsmapper.xml.bind.FieldInfo;
+import com.gh.mygreen.xlsmapper.xml.bind.MethodInfo;
+import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
+
+
+/**
+ * XMLで定義したアノテーションの情報を、事前に組み立てて保持するクラス。
+ * <p>XMLの読み込みとアノテーションの組み立てを1度だけ行い、
+ *    {@link com.gh.mygreen.xlsmapper.XlsLoader#setXmlMapping(XmlMapping)}、
+ *    {@link com.gh.mygreen.xlsmapper.XlsSaver#setXmlMapping(XmlMapping)}に設定して、複数のファイルの処理で使い回す。
+ * <p>アノテーションは作成時に全て組み立てるため、作成後は複数のスレッドから共有できる。
+ *    ただし、作成後に元の{@link XmlInfo}を変更してはいけない。
+ * <pre class="highlight"><code class="java">
+ * XmlMapping xmlMapping = XmlMapping.compile(XmlIO.load(new File("anno.xml"), "UTF-8"));
+ *
+ * XlsLoader loader = new XlsLoader();
+ * loader.setXmlMapping(xmlMapping);
+ * </code></pre>
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class XmlMapping {
+    
+    private final XmlInfo xmlInfo;
+    
+    private final AnnotationReader annotationReader;
+    
+    private XmlMapping(final XmlInfo xmlInfo, final AnnotationReader annotationReader) {
+        this.xmlInfo = xmlInfo;
+        this.annotationReader = annotationReader;
+    }
+    
+    /**
+     * XMLの情報から、アノテーションを組み立てる。
+     * @param xmlInfo XMLで定義した情報
+     * @return 組み立てた情報
+     * @throws AnnotationReadException アノテーションのクラスが見つからない場合など、組み立てに失敗した場合。
+     * @throws IllegalArgumentException xmlInfo is null.
+     */
+    public static XmlMapping compile(final XmlInfo xmlInfo) throws AnnotationReadException {
+        ArgUtils.notNull(xmlInfo, "xmlInfo");
+        
+        final AnnotationReader annotationReader = new AnnotationReader(xmlInfo);
+        for(ClassInfo classInfo : xmlInfo.getClassInfos()) {
+            for(AnnotationInfo annInfo : classInfo.getAnnotationInfos()) {
+                annotationReader.buildAnnotation(annInfo);
+            }
+            
+            for(MethodInfo methodInfo : classInfo.getMethodInfos()) {
+                for(AnnotationInfo annInfo : methodInfo.getAnnotationInfos()) {
+                    annotationReader.buildAnnotation(annInfo);
+                }
+            }
+            
+            for(FieldInfo fieldInfo : classInfo.getFieldInfos()) {
+                for(AnnotationInfo annInfo : fieldInfo.getAnnotationInfos()) {
+                    annotationReader.buildAnnotation(annInfo);
+                }
+            }
+        }
+        
+        return new XmlMapping(xmlInfo, annotationReader);
+    }
+    
+    /**
+     * XMLで定義した情報を取得する。
+     * @return
+     */
+    public XmlInfo getXmlInfo() {
+        return xmlInfo;
+    }
+    
+    /**
+     * 組み立てたアノテーションを保持している{@link AnnotationReader}を取得する。
+     * @return
+     */
+    public AnnotationReader getAnnotationReader() {
+        return annotationReader;
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.annotation.RecordTerminal;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+
+
+/**
+ * {@link CellContentsCache}のテスタ。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class CellContentsCacheTest {
+    
+    /**
+     * キャッシュ中は、同じセルを1度だけフォーマットする
+     */
+    @Test
+    public void test_getCellContents() {
+        
+        final Sheet sheet = new XSSFWorkbook().createSheet();
+        POIUtils.getCell(sheet, 0, 0).setCellValue("abc");
+        POIUtils.getCell(sheet, 1, 0).setCellValue(123);
+        
+        final CountingCellFormatter formatter = new CountingCellFormatter();
+        final CellContentsCache cache = CellContentsCache.begin(sheet, formatter, 10);
+        try {
+            for(int i=0; i < 5; i++) {
+                assertThat(POIUtils.getCellContents(POIUtils.getCell(sheet, 0, 0), formatter), is("abc"));
+                assertThat(POIUtils.getCellContents(POIUtils.getCell(sheet, 1, 0), formatter), is("123"));
+                assertThat(POIUtils.isEmptyCellContents(POIUtils.getCell(sheet, 2, 0), formatter), is(true));
+            }
+            
+            assertThat(formatter.counts.get("A1"), is(1));
+            assertThat(formatter.counts.get("B1"), is(1));
+            assertThat(formatter.counts.get("C1"), is(1));
+            
+            // 異なるフォーマッタの場合は、キャッシュしない
+            final CountingCellFormatter other = new CountingCellFormatter();
+            POIUtils.getCellContents(POIUtils.getCell(sheet, 0, 0), other);
+            POIUtils.getCellContents(POIUtils.getCell(sheet, 0, 0), other);
+            assertThat(other.counts.get("A1"), is(2));
+        
+        } finally {
+            cache.end();
+        }
+        
+        // 終了後はキャッシュしない
+        assertThat(CellContentsCache.current(), is(nullValue()));
+        POIUtils.getCellContents(POIUtils.getCell(sheet, 0, 0), formatter);
+        assertThat(formatter.counts.get("A1"), is(2));
+    
+    }
+    
+    /**
+     * 件数の上限を超えた場合は、最も参照されていないものから破棄する
+     */
+    @Test
+    public void test_maxSize() {
+        
+        final Sheet sheet = new XSSFWorkbook().createSheet();
+        final CountingCellFormatter formatter = new CountingCellFormatter();
+        
+        assertThat(CellContentsCache.begin(sheet, formatter, 0), is(nullValue()));
+        
+        final CellContentsCache cache = CellContentsCache.begin(sheet, formatter, 3);
+        try {
+            for(int i=0; i < 4; i++) {
+                POIUtils.getCellContents(POIUtils.getCell(sheet, i, 0), formatter);
+            }
+            assertThat(cache.size(), is(3));
+            
+            // A1は破棄されているため、再度フォーマットする
+            POIUtils.getCellContents(POIUtils.getCell(sheet, 0, 0), formatter);
+            assertThat(formatter.counts.get("A1"), is(2));
+            
+            POIUtils.getCellContents(POIUtils.getCell(sheet, 3, 0), formatter);
+            assertThat(formatter.counts.get("D1"), is(1));
+        
+        } finally {
+            cache.end();
+        }
+    
+    }
+    
+    /**
+     * 標準ではキャッシュしない
+     */
+    @Test
+    public void test_defaultSize() {
+        
+        assertThat(new XlsMapperConfig().getCellContentsCacheSize(), is(0));
+    
+    }
+    
+    /**
+     * キャッシュを有効にした場合、シートの読み込み中は同じセルを1度だけフォーマットする
+     */
+    @Test
+    public void test_load() throws Exception {
+        
+        final CountingCellFormatter formatter = new CountingCellFormatter();
+        final XlsLoader loader = new XlsLoader(new XlsMapperConfig().setCellFormatter(formatter)
+                .setCellContentsCacheSize(10000));
+        
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            final Workbook book = WorkbookFactory.create(in);
+            final RecordsSheet sheet = loader.load(book, RecordsSheet.class);
+            assertThat(sheet.records, hasSize(3));
+        }
+        
+        assertThat(formatter.counts.isEmpty(), is(false));
+        for(Integer count : formatter.counts.values()) {
+            assertThat(count, is(1));
+        }
+    
+    }
+    
+    /**
+     * フォーマットしたセルごとの回数を数えるフォーマッタ。
+     */
+    private static class CountingCellFormatter extends DefaultCellFormatter {
+        
+        private final Map<String, Integer> counts = new HashMap<>();
+        
+        @Override
+        public String format(final Cell cell) {
+            final String ref = new CellReference(cell.getRowIndex(), cell.getColumnIndex()).formatAsString();
+            final Integer count = counts.get(ref);
+            counts.put(ref, count == null ? 1 : count + 1);
+            return super.format(cell);
+        }
+    }
+    
+    @XlsSheet(name="終了位置の指定")
+    private static class RecordsSheet {
+        
+        @XlsHorizontalRecords(tableLabel="終端レコードの指定（Border）", terminal=RecordTerminal.Border)
+        private List<NormalRecord> records;
+    
+    }
+    
+    private static class NormalRecord {
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        @XlsColumn(columnName="名称")
+        private String name;
+    
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.util.Map;
+
+import org.junit.Test;
+
+
+/**
+ * {@link CellInfoSetter}のテスタ。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class CellInfoSetterTest {
+    
+    /**
+     * フィールド「positions」「labels」に設定する
+     */
+    @Test
+    public void test_mapField() {
+        
+        final MapRecord record = new MapRecord();
+        Utils.setPosition(1, 2, record, "name");
+        Utils.setLabel("名称", record, "name");
+        Utils.setPositionWithMapColumn(3, 4, record, "attended", "4月");
+        Utils.setLabelWithMapColumn("4月", record, "attended", "4月");
+        
+        assertThat(record.positions, hasEntry("name", new Point(1, 2)));
+        assertThat(record.positions, hasEntry("attended[4月]", new Point(3, 4)));
+        assertThat(record.labels, hasEntry("name", "名称"));
+        assertThat(record.labels, hasEntry("attended[4月]", "4月"));
+        
+        assertThat(CellInfoSetter.getInstance(MapRecord.class), is(sameInstance(CellInfoSetter.getInstance(MapRecord.class))));
+    
+    }
+    
+    /**
+     * setterメソッド、フィールドに設定する
+     */
+    @Test
+    public void test_methodAndField() {
+        
+        // 2回目以降は、保持している設定先を利用する
+        for(int i=0; i < 2; i++) {
+            final PropertyRecord record = new PropertyRecord();
+            Utils.setPosition(1, i, record, "no");
+            Utils.setPosition(2, i, record, "name");
+            Utils.setLabel("No.", record, "no");
+            Utils.setLabel("名称", record, "name");
+            
+            assertThat(record.noPosition, is(new Point(1, i)));
+            assertThat(record.namePosition, is(new Point(2, i)));
+            assertThat(record.noLabel, is("No."));
+            assertThat(record.nameLabel, is("名称"));
+        }
+        
+        // 設定先がない場合
+        final PropertyRecord record = new PropertyRecord();
+        Utils.setPosition(1, 1, record, "other");
+        Utils.setLabel("その他", record, "other");
+    
+    }
+    
+    private static class MapRecord {
+        
+        private Map<String, Point> positions;
+        
+        private Map<String, String> labels;
+    
+    }
+    
+    private static class PropertyRecord {
+        
+        private Point noPosition;
+        
+        private String noLabel;
+        
+        private Point namePosition;
+        
+        private String nameLabel;
+        
+        @SuppressWarnings("unused")
+        private void setNamePosition(int x, int y) {
+            this.namePosition = new Point(x, y);
+        }
+        
+        @SuppressWarnings("unused")
+        private void setNameLabel(String nameLabel) {
+            this.nameLabel = nameLabel;
+        }
+    
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
+
+
+/**
+ * {@link CellLabelIndex}のテスタ。
+ * <p>{@link Utils#getCell(Sheet, String, int, XlsMapperConfig)}などで検索した結果と比較する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class CellLabelIndexTest {
+    
+    private static final String[] LABELS = {"位置（右側）", "位置（左側）", "位置（下側）", "見出し１", "見出し２", "ラベル名"};
+    
+    /**
+     * 列、行の順に検索する場合
+     */
+    @Test
+    public void test_getCell_columnOrder() throws Exception {
+        
+        final XlsMapperConfig config = new XlsMapperConfig();
+        final Sheet sheet = loadSheet();
+        final CellLabelIndex index = new CellLabelIndex(sheet, config);
+        
+        for(String label : LABELS) {
+            assertCell(index.getCell(label, 0, true), Utils.getCell(sheet, label, 0, config));
+            assertCell(index.getCell(label, 10, false), Utils.getCell(sheet, label, 10, false, config));
+        }
+        
+        assertThat(index.getCell("見つからない", 0, false), is(nullValue()));
+    
+    }
+    
+    /**
+     * 行、列の順に検索する場合
+     */
+    @Test
+    public void test_getCell_rowOrder() throws Exception {
+        
+        final XlsMapperConfig config = new XlsMapperConfig();
+        final Sheet sheet = loadSheet();
+        final CellLabelIndex index = new CellLabelIndex(sheet, config);
+        
+        for(String label : LABELS) {
+            assertCell(index.getCell(label, 0, 0, true), Utils.getCell(sheet, label, 0, 0, config));
+            assertCell(index.getCell(label, 2, 5, false), Utils.getCell(sheet, label, 2, 5, false, config));
+            
+            final Cell after = Utils.getCell(sheet, label, 0, 0, config);
+            assertCell(index.getCell(label, after, false, false), Utils.getCell(sheet, label, after, false, false, config));
+            assertCell(index.getCell(label, after, true, false), Utils.getCell(sheet, label, after, true, false, config));
+        }
+    
+    }
+    
+    /**
+     * 正規表現で検索する場合
+     */
+    @Test
+    public void test_getCell_regex() throws Exception {
+        
+        final XlsMapperConfig config = new XlsMapperConfig();
+        config.setRegexLabelText(true);
+        final Sheet sheet = loadSheet();
+        final CellLabelIndex index = new CellLabelIndex(sheet, config);
+        
+        assertCell(index.getCell("/位置.+/", 0, true), Utils.getCell(sheet, "/位置.+/", 0, config));
+        assertCell(index.getCell("/見出し[0-9０-９]+/", 0, 0, true), Utils.getCell(sheet, "/見出し[0-9０-９]+/", 0, 0, config));
+    
+    }
+    
+    /**
+     * 正規表現が有効で、ラベルが「/」のみの場合は、通常のラベルとして検索する
+     */
+    @Test
+    public void test_getCell_regexSlashOnly() throws Exception {
+        
+        final XlsMapperConfig config = new XlsMapperConfig();
+        config.setRegexLabelText(true);
+        final Sheet sheet = loadSheet();
+        final CellLabelIndex index = new CellLabelIndex(sheet, config);
+        
+        assertThat(index.getCell("/", 0, false), is(nullValue()));
+        assertThat(index.getCell("/", 0, 0, false), is(nullValue()));
+    
+    }
+    
+    /**
+     * セルが見つからない場合
+     */
+    @Test(expected=CellNotFoundException.class)
+    public void test_getCell_notFound() throws Exception {
+        
+        final CellLabelIndex index = new CellLabelIndex(loadSheet(), new XlsMapperConfig());
+        index.getCell("見つからない", 0, 0, true);
+        
+        fail();
+    
+    }
+    
+    /**
+     * 見つかった行までの索引のみを作成し、存在しないセルは作成しない
+     */
+    @Test
+    public void test_getCell_lazy() throws Exception {
+        
+        final Workbook workbook = new XSSFWorkbook();
+        final Sheet sheet = workbook.createSheet();
+        for(int i=0; i < 100; i++) {
+            // 1列おきにセルを作成する
+            final Row row = sheet.createRow(i);
+            row.createCell(0).setCellValue("値" + i);
+            row.createCell(2).setCellValue("値" + i);
+        }
+        
+        final AtomicInteger count = new AtomicInteger();
+        final XlsMapperConfig config = new XlsMapperConfig();
+        config.setCellFormatter(new DefaultCellFormatter() {
+            
+            @Override
+            public String format(final Cell cell) {
+                count.incrementAndGet();
+                return super.format(cell);
+            }
+        });
+        
+        final CellLabelIndex index = new CellLabelIndex(sheet, config);
+        assertThat(count.get(), is(0));
+        
+        final Cell cell = index.getCell("値2", 0, 0, true);
+        assertThat(cell.getRowIndex(), is(2));
+        assertThat(cell.getColumnIndex(), is(0));
+        
+        // 3行分のセルのみをフォーマットする
+        assertThat(count.get(), is(6));
+        
+        // 索引の作成済みの行から、さらに下の行を検索する
+        final Cell nextCell = index.getCell("値5", cell, false, true);
+        assertThat(nextCell.getRowIndex(), is(5));
+        assertThat(count.get(), is(12));
+        
+        for(int i=0; i < 100; i++) {
+            assertThat(sheet.getRow(i).getCell(1), is(nullValue()));
+        }
+    
+    }
+    
+    private Sheet loadSheet() throws Exception {
+        try(InputStream in = new FileInputStream("src/test/data/anno_LabelledCell.xlsx")) {
+            final Workbook workbook = WorkbookFactory.create(in);
+            return workbook.getSheet("LabelledCell(通常)");
+        }
+    }
+    
+    private void assertCell(final Cell actual, final Cell expected) {
+        if(expected == null) {
+            assertThat(actual, is(nullValue()));
+            return;
+        }
+        
+        assertThat(actual, is(not(nullValue())));
+        assertThat(actual.getRowIndex(), is(expected.getRowIndex()));
+        assertThat(actual.getColumnIndex(), is(expected.getColumnIndex()));
+    }
+}
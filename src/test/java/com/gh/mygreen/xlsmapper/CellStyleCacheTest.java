@@ -0,0 +1,119 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+
+/**
+ * {@link CellStyleCache}のテスタ。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class CellStyleCacheTest {
+    
+    /**
+     * 同じ書式を設定する場合は、スタイルを共有する
+     */
+    @Test
+    public void test_getStyle_dataFormat() {
+        
+        for(Workbook workbook : new Workbook[]{new XSSFWorkbook(), new HSSFWorkbook()}) {
+            final Sheet sheet = workbook.createSheet();
+            final short numStyles = workbook.getNumCellStyles();
+            final short dataFormat = POIUtils.getDataFormatIndex(sheet, "#,##0");
+            
+            final CellStyleCache cache = new CellStyleCache();
+            cache.begin();
+            try {
+                for(int i=0; i < 100; i++) {
+                    final Cell cell = POIUtils.getCell(sheet, 0, i);
+                    cell.setCellStyle(CellStyleCache.getStyle(workbook, cell.getCellStyle(), dataFormat));
+                }
+                
+                assertThat(workbook.getNumCellStyles(), is((short)(numStyles + 1)));
+                assertThat(POIUtils.getCell(sheet, 0, 99).getCellStyle().getDataFormatString(), is("#,##0"));
+                
+                // 別の書式の場合
+                final Cell cell = POIUtils.getCell(sheet, 1, 0);
+                cell.setCellStyle(CellStyleCache.getStyle(workbook, cell.getCellStyle(), POIUtils.getDataFormatIndex(sheet, "0.00")));
+                assertThat(workbook.getNumCellStyles(), is((short)(numStyles + 2)));
+                
+            } finally {
+                cache.end();
+            }
+        }
+    
+    }
+    
+    /**
+     * キャッシュを開始していない場合は、呼び出すたびにスタイルを作成する
+     */
+    @Test
+    public void test_getStyle_noCache() {
+        
+        final Workbook workbook = new XSSFWorkbook();
+        final Sheet sheet = workbook.createSheet();
+        final short numStyles = workbook.getNumCellStyles();
+        final short dataFormat = POIUtils.getDataFormatIndex(sheet, "#,##0");
+        
+        for(int i=0; i < 3; i++) {
+            final Cell cell = POIUtils.getCell(sheet, 0, i);
+            cell.setCellStyle(CellStyleCache.getStyle(workbook, cell.getCellStyle(), dataFormat));
+        }
+        
+        assertThat(workbook.getNumCellStyles(), is((short)(numStyles + 3)));
+    
+    }
+    
+    /**
+     * 折り返し設定と縮小表示設定を変更する場合
+     */
+    @Test
+    public void test_wrapAndShrink() {
+        
+        final Workbook workbook = new XSSFWorkbook();
+        final Sheet sheet = workbook.createSheet();
+        final short numStyles = workbook.getNumCellStyles();
+        final CellStyle defaultStyle = POIUtils.getCell(sheet, 0, 0).getCellStyle();
+        
+        final CellStyleCache cache = new CellStyleCache();
+        cache.begin();
+        try {
+            for(int i=0; i < 10; i++) {
+                POIUtils.wrapCellText(POIUtils.getCell(sheet, 0, i), true);
+                POIUtils.shrinkToFit(POIUtils.getCell(sheet, 1, i), true);
+            }
+        } finally {
+            cache.end();
+        }
+        
+        assertThat(workbook.getNumCellStyles(), is((short)(numStyles + 2)));
+        
+        final CellStyle wrapStyle = POIUtils.getCell(sheet, 0, 9).getCellStyle();
+        assertThat(wrapStyle.getWrapText(), is(true));
+        assertThat(wrapStyle.getShrinkToFit(), is(false));
+        
+        final CellStyle shrinkStyle = POIUtils.getCell(sheet, 1, 9).getCellStyle();
+        assertThat(shrinkStyle.getWrapText(), is(false));
+        assertThat(shrinkStyle.getShrinkToFit(), is(true));
+        
+        // 元のスタイルは変更しない
+        assertThat(defaultStyle.getWrapText(), is(false));
+        assertThat(defaultStyle.getShrinkToFit(), is(false));
+        
+        // 既に設定済みの場合は、同じスタイルを返す
+        assertThat(CellStyleCache.getStyle(workbook, wrapStyle, true, null), is(sameInstance(wrapStyle)));
+    
+    }
+
+}
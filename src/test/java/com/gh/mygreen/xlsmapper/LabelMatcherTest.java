@@ -0,0 +1,108 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+
+/**
+ * {@link LabelMatcher}のテスタ。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class LabelMatcherTest {
+    
+    /**
+     * 正規化 - 正規表現で置換した結果と同じになる
+     */
+    @Test
+    public void test_normalize() {
+        
+        final String[] texts = {
+                "", " ", "abc", " abc ", "a bc　\t  de\nfg   h  ", "　a　", "a \n b", "a\r\n\tb",
+                "\t\n", "a  b", "a\u0001b", "  　 a", "日本　　語\n ラベル"
+        };
+        
+        for(String text : texts) {
+            final String expected = text.trim().replaceAll("[\n\r]", "").replaceAll("[\t 　]+", " ");
+            assertThat(text, LabelMatcher.normalize(text), is(expected));
+        }
+        
+        assertThat(LabelMatcher.normalize(null), is(nullValue()));
+    
+    }
+    
+    /**
+     * 比較 - 正規化
+     */
+    @Test
+    public void test_matches_normalize() {
+        
+        final XlsMapperConfig config = new XlsMapperConfig().setNormalizeLabelText(true);
+        final LabelMatcher matcher = LabelMatcher.compile(" a bc\n de ", config);
+        
+        assertThat(matcher.isRegex(), is(false));
+        assertThat(matcher.matches("a bc de"), is(true));
+        assertThat(matcher.matches("a　bc\t\tde"), is(true));
+        assertThat(matcher.matches("a bcde"), is(false));
+        assertThat(matcher.matches(null), is(false));
+        
+        // 同じ設定の場合は、作成済みのインスタンスを返す
+        assertThat(LabelMatcher.compile(" a bc\n de ", config), is(sameInstance(matcher)));
+        
+        // 設定が異なる場合は、作成し直す
+        config.setNormalizeLabelText(false);
+        final LabelMatcher other = LabelMatcher.compile(" a bc\n de ", config);
+        assertThat(other, is(not(sameInstance(matcher))));
+        assertThat(other.matches("a bc de"), is(false));
+        assertThat(other.matches(" a bc\n de "), is(true));
+    
+    }
+    
+    /**
+     * 比較 - 正規表現
+     */
+    @Test
+    public void test_matches_regex() {
+        
+        final XlsMapperConfig config = new XlsMapperConfig().setRegexLabelText(true).setNormalizeLabelText(true);
+        final LabelMatcher matcher = LabelMatcher.compile("/test.*/", config);
+        
+        assertThat(matcher.isRegex(), is(true));
+        assertThat(matcher.matches("test_data"), is(true));
+        assertThat(matcher.matches(" test\ndata "), is(true));
+        assertThat(matcher.matches("data_test"), is(false));
+        assertThat(matcher.matches(null), is(false));
+        
+        // 正規表現が無効の場合は、そのままの値と比較する
+        config.setRegexLabelText(false);
+        final LabelMatcher other = LabelMatcher.compile("/test.*/", config);
+        assertThat(other.isRegex(), is(false));
+        assertThat(other.matches("test_data"), is(false));
+        assertThat(other.matches("/test.*/"), is(true));
+        
+        // 「/」のみの場合は、正規表現とみなさない
+        config.setRegexLabelText(true);
+        assertThat(LabelMatcher.compile("/", config).matches("/"), is(true));
+    
+    }
+    
+    /**
+     * 比較 - 正規表現のみ
+     */
+    @Test
+    public void test_compileRegex() {
+        
+        final LabelMatcher matcher = LabelMatcher.compileRegex("Sheet[0-9]+");
+        assertThat(matcher.matches("Sheet12"), is(true));
+        assertThat(matcher.matches(" Sheet12"), is(false));
+        assertThat(matcher.matches("Sheet"), is(false));
+        
+        assertThat(LabelMatcher.compileRegex("Sheet[0-9]+"), is(sameInstance(matcher)));
+    
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+
+/**
+ * {@link MergedRegionIndex}のテスタ。
+ * <p>{@link POIUtils#getMergedRegion(Sheet, int, int)}で検索した結果と比較する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class MergedRegionIndexTest {
+    
+    /**
+     * シート中の全てのセルに対して検索する
+     */
+    @Test
+    public void test_getMergedRegion() throws Exception {
+        
+        final Workbook workbook = loadWorkbook();
+        for(int i=0; i < workbook.getNumberOfSheets(); i++) {
+            final Sheet sheet = workbook.getSheetAt(i);
+            final MergedRegionIndex index = new MergedRegionIndex(sheet);
+            assertSameRegions(index, sheet);
+        }
+    
+    }
+    
+    /**
+     * 結合の追加、解除を行う場合
+     */
+    @Test
+    public void test_addAndRemove() throws Exception {
+        
+        final Sheet sheet = loadWorkbook().createSheet("merged");
+        final MergedRegionIndex index = new MergedRegionIndex(sheet);
+        
+        assertThat(index.getMergedRegion(1, 1), is(nullValue()));
+        
+        final CellRangeAddress range1 = index.mergeCells(1, 1, 2, 3);
+        index.addMergedRegion(new CellRangeAddress(5, 6, 1, 1));
+        
+        assertThat(POIUtils.equalsRange(index.getMergedRegion(2, 2), range1), is(true));
+        assertThat(index.getMergedRegion(6, 1).formatAsString(), is("B6:B7"));
+        assertThat(index.getMergedRegion(4, 1), is(nullValue()));
+        assertSameRegions(index, sheet);
+        
+        assertThat(index.removeMergedRange(new CellRangeAddress(1, 3, 1, 2)), is(true));
+        assertThat(index.getMergedRegion(2, 2), is(nullValue()));
+        assertThat(index.removeMergedRange(range1), is(false));
+        assertSameRegions(index, sheet);
+    
+    }
+    
+    /**
+     * 行を挿入/削除して、結合範囲がずれた場合
+     */
+    @Test
+    public void test_invalidate() throws Exception {
+        
+        final Sheet sheet = loadWorkbook().createSheet("merged");
+        final MergedRegionIndex index = new MergedRegionIndex(sheet);
+        index.mergeCells(0, 3, 1, 4);
+        POIUtils.getCell(sheet, 0, 10);
+        
+        assertThat(index.getMergedRegion(3, 0), is(not(nullValue())));
+        
+        POIUtils.insertRow(sheet, 1);
+        index.invalidate();
+        assertThat(index.getMergedRegion(3, 0), is(nullValue()));
+        assertThat(index.getMergedRegion(4, 0).formatAsString(), is("A5:B6"));
+        assertSameRegions(index, sheet);
+        
+        POIUtils.removeRow(sheet, 1);
+        index.invalidate();
+        assertThat(index.getMergedRegion(3, 0).formatAsString(), is("A4:B5"));
+        assertSameRegions(index, sheet);
+    
+    }
+    
+    /**
+     * 索引を経由して行を挿入/削除し、索引の中で結合範囲をずらす場合
+     */
+    @Test
+    public void test_shiftRows() throws Exception {
+        
+        assertShiftRows(new HSSFWorkbook().createSheet("merged"));
+        assertShiftRows(new XSSFWorkbook().createSheet("merged"));
+    
+    }
+    
+    private void assertShiftRows(final Sheet sheet) {
+        
+        final MergedRegionIndex index = new MergedRegionIndex(sheet);
+        index.addMergedRegion(CellRangeAddress.valueOf("A2:B3"));
+        index.addMergedRegion(CellRangeAddress.valueOf("C2:C4"));
+        index.addMergedRegion(CellRangeAddress.valueOf("C6:D7"));
+        index.addMergedRegion(CellRangeAddress.valueOf("A9:A10"));
+        index.addMergedRegion(CellRangeAddress.valueOf("C9:C11"));
+        index.addMergedRegion(CellRangeAddress.valueOf("E13:F13"));
+        POIUtils.getCell(sheet, 0, 15);
+        
+        // 索引を作成する
+        assertThat(index.getMergedRegion(5, 2).formatAsString(), is("C6:D7"));
+        
+        index.insertRow(5);
+        assertThat(index.getMergedRegion(5, 2), is(nullValue()));
+        assertThat(index.getMergedRegion(6, 2).formatAsString(), is("C7:D8"));
+        assertSameRegions(index, sheet);
+        
+        index.insertRows(2, 3);
+        assertThat(index.getMergedRegion(1, 0).formatAsString(), is("A2:B3"));
+        assertSameRegions(index, sheet);
+        
+        index.removeRows(9, 2);
+        assertSameRegions(index, sheet);
+        
+        index.removeRows(0, 1);
+        assertSameRegions(index, sheet);
+        
+        // シート上の並び順も一致していること
+        for(int i=sheet.getNumMergedRegions()-1; i >= 0; i--) {
+            final CellRangeAddress range = sheet.getMergedRegion(i);
+            assertThat(index.removeMergedRange(range), is(true));
+            assertThat(sheet.getNumMergedRegions(), is(i));
+            assertSameRegions(index, sheet);
+        }
+        assertThat(sheet.getNumMergedRegions(), is(0));
+        
+        // 索引を作成し直していないこと
+        sheet.addMergedRegion(CellRangeAddress.valueOf("A1:B1"));
+        assertThat(index.getMergedRegion(0, 0), is(nullValue()));
+        
+    }
+    
+    /**
+     * 指定した行以降に掛かる結合を解除する場合
+     */
+    @Test
+    public void test_removeMergedRegionsFrom() throws Exception {
+        
+        final Sheet sheet = new XSSFWorkbook().createSheet("merged");
+        final MergedRegionIndex index = new MergedRegionIndex(sheet);
+        index.mergeCells(0, 1, 1, 2);
+        index.mergeCells(2, 2, 2, 4);
+        index.mergeCells(0, 5, 3, 5);
+        
+        index.removeMergedRegionsFrom(3);
+        assertThat(sheet.getNumMergedRegions(), is(1));
+        assertThat(index.getMergedRegion(1, 0).formatAsString(), is("A2:B3"));
+        assertThat(index.getMergedRegion(2, 2), is(nullValue()));
+        assertSameRegions(index, sheet);
+        
+        // シートの結合を直接変更した場合は、シートを走査して解除する
+        sheet.removeMergedRegion(0);
+        sheet.addMergedRegion(CellRangeAddress.valueOf("A2:B3"));
+        sheet.addMergedRegion(CellRangeAddress.valueOf("A8:B8"));
+        index.removeMergedRegionsFrom(1);
+        assertThat(sheet.getNumMergedRegions(), is(0));
+        assertSameRegions(index, sheet);
+    
+    }
+    
+    private Workbook loadWorkbook() throws Exception {
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            return WorkbookFactory.create(in);
+        }
+    }
+    
+    private void assertSameRegions(final MergedRegionIndex index, final Sheet sheet) {
+        
+        final int maxRow = POIUtils.getRows(sheet) + 1;
+        final int maxColumn = POIUtils.getColumns(sheet) + 1;
+        for(int r=0; r < maxRow; r++) {
+            for(int c=0; c < maxColumn; c++) {
+                final CellRangeAddress expected = POIUtils.getMergedRegion(sheet, r, c);
+                final CellRangeAddress actual = index.getMergedRegion(r, c);
+                if(expected == null) {
+                    assertThat(actual, is(nullValue()));
+                } else {
+                    assertThat(actual, is(not(nullValue())));
+                    assertThat(POIUtils.equalsRange(actual, expected), is(true));
+                }
+            }
+        }
+    }
+}
@@ -7,12 +7,14 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.util.List;
 
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.DataValidation;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellRangeAddressList;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -31,6 +33,69 @@ public class POIUtilsTest {
     public void tearDown() throws Exception {
     }
     
+    /**
+     * {@link POIUtils#removeRows(Sheet, int, int)}
+     * ・1行ずつ削除した場合と同じ結果になること
+     * @since 1.5
+     */
+    @Test
+    public void testRemoveRows() throws Exception {
+        
+        for(int[] args : new int[][]{{2, 3}, {7, 3}, {0, 10}}) {
+            Sheet expected = createRowsSheet();
+            for(int i=0; i < args[1]; i++) {
+                POIUtils.removeRow(expected, args[0]);
+            }
+            
+            Sheet actual = createRowsSheet();
+            POIUtils.removeRows(actual, args[0], args[1]);
+            
+            assertThat(actual.getLastRowNum(), is(expected.getLastRowNum()));
+            for(int i=0; i <= expected.getLastRowNum(); i++) {
+                assertThat(POIUtils.getCellContents(POIUtils.getCell(actual, 0, i), new DefaultCellFormatter()),
+                        is(POIUtils.getCellContents(POIUtils.getCell(expected, 0, i), new DefaultCellFormatter())));
+            }
+        }
+    
+    }
+    
+    /**
+     * {@link POIUtils#removeRows(Sheet, int, int)}
+     * ・データが何もない行（null）も、削除する行数に含めて上に詰めること
+     * @since 1.5
+     */
+    @Test
+    public void testRemoveRows_nullRow() throws Exception {
+        
+        Sheet sheet = createRowsSheet();
+        sheet.removeRow(sheet.getRow(3));
+        assertThat(sheet.getRow(3), is(nullValue()));
+        
+        POIUtils.removeRows(sheet, 2, 3);
+        
+        assertThat(sheet.getLastRowNum(), is(6));
+        for(int i=0; i <= sheet.getLastRowNum(); i++) {
+            final String expected = (i < 2) ? "row" + i : "row" + (i + 3);
+            assertThat(POIUtils.getCellContents(POIUtils.getCell(sheet, 0, i), new DefaultCellFormatter()), is(expected));
+        }
+        
+        // 1行ずつ削除する場合は、データが何もない行は削除しない
+        Sheet single = createRowsSheet();
+        single.removeRow(single.getRow(3));
+        POIUtils.removeRow(single, 3);
+        assertThat(single.getLastRowNum(), is(9));
+        assertThat(single.getRow(3), is(nullValue()));
+    
+    }
+    
+    private Sheet createRowsSheet() {
+        Sheet sheet = new XSSFWorkbook().createSheet();
+        for(int i=0; i < 10; i++) {
+            POIUtils.getCell(sheet, 0, i).setCellValue("row" + i);
+        }
+        return sheet;
+    }
+    
     @Test
     public void testJudgeLinkType() {
         
@@ -189,6 +254,26 @@ public class POIUtilsTest {
         
     }
     
+    /**
+     * {@link POIUtils#isDate1904(Workbook)}
+     * @since 1.5
+     */
+    @Test
+    public void testIsDate1904() throws Exception {
+        
+        // HSSF形式
+        assertThat(POIUtils.isDate1904(new HSSFWorkbook()), is(false));
+        assertThat(POIUtils.isDate1904(WorkbookFactory.create(new FileInputStream("src/test/data/utils.xls"))), is(false));
+        
+        // XSSF形式
+        final XSSFWorkbook workbook = new XSSFWorkbook();
+        assertThat(POIUtils.isDate1904(workbook), is(false));
+        
+        workbook.getCTWorkbook().getWorkbookPr().setDate1904(true);
+        assertThat(POIUtils.isDate1904(workbook), is(true));
+        
+    }
+    
 //    /**
 //     * {@link POIUtils#removeDataValidationRegion(Sheet, CellRangeAddressList)}
 //     * ・HSSF形式
@@ -0,0 +1,131 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.annotation.XlsListener;
+import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
+import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsPreSave;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+
+
+/**
+ * {@link RecordLifeCycle}のテスタ。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class RecordLifeCycleTest {
+    
+    /**
+     * 読み込み用のメソッドの走査
+     */
+    @Test
+    public void test_createForLoading() throws Exception {
+        
+        final RecordLifeCycle lifeCycle = RecordLifeCycle.createForLoading(
+                SampleRecord.class, new AnnotationReader(null), new XlsMapperConfig());
+        
+        assertThat(lifeCycle.getRecordClass(), is((Object)SampleRecord.class));
+        assertThat(lifeCycle.getListener(), is(instanceOf(SampleListener.class)));
+        
+        assertThat(names(lifeCycle.getPreMethods()), contains("preLoad"));
+        assertThat(names(lifeCycle.getPostMethods()), contains("postLoad"));
+        assertThat(names(lifeCycle.getListenerPreMethods()), contains("listenerPreLoad"));
+        assertThat(names(lifeCycle.getListenerPostMethods()), contains("listenerPostLoad"));
+    
+    }
+    
+    /**
+     * 書き込み用のメソッドの走査
+     */
+    @Test
+    public void test_createForSaving() throws Exception {
+        
+        final RecordLifeCycle lifeCycle = RecordLifeCycle.createForSaving(
+                SampleRecord.class, new AnnotationReader(null), new XlsMapperConfig());
+        
+        assertThat(names(lifeCycle.getPreMethods()), contains("preSave"));
+        assertThat(names(lifeCycle.getPostMethods()), contains("postSave"));
+        assertThat(names(lifeCycle.getListenerPreMethods()), contains("listenerPreSave"));
+        assertThat(names(lifeCycle.getListenerPostMethods()), is(empty()));
+        
+        // リスナーの指定がない場合
+        final RecordLifeCycle noListener = RecordLifeCycle.createForSaving(
+                SampleListener.class, new AnnotationReader(null), new XlsMapperConfig());
+        assertThat(noListener.getListener(), is(nullValue()));
+        assertThat(noListener.getListenerPreMethods(), is(empty()));
+    
+    }
+    
+    /**
+     * 作業用のオブジェクトでは、クラスごとに同じインスタンスを返す
+     */
+    @Test
+    public void test_workObject() throws Exception {
+        
+        final XlsMapperConfig config = new XlsMapperConfig();
+        final LoadingWorkObject work = new LoadingWorkObject();
+        work.setAnnoReader(new AnnotationReader(null));
+        
+        final RecordLifeCycle lifeCycle = work.getRecordLifeCycle(SampleRecord.class, config);
+        assertThat(work.getRecordLifeCycle(SampleRecord.class, config), is(sameInstance(lifeCycle)));
+        assertThat(work.getRecordLifeCycle(SampleListener.class, config), is(not(sameInstance(lifeCycle))));
+    
+    }
+    
+    private static List<String> names(final List<Method> methods) {
+        final List<String> names = new ArrayList<>();
+        for(Method method : methods) {
+            names.add(method.getName());
+        }
+        return names;
+    }
+    
+    @XlsListener(listenerClass=SampleListener.class)
+    public static class SampleRecord {
+        
+        @XlsPreLoad
+        public void preLoad() {
+        }
+        
+        @XlsPostLoad
+        public void postLoad() {
+        }
+        
+        @XlsPreSave
+        public void preSave() {
+        }
+        
+        @XlsPostSave
+        public void postSave() {
+        }
+    
+    }
+    
+    public static class SampleListener {
+        
+        @XlsPreLoad
+        public void listenerPreLoad(final Object record) {
+        }
+        
+        @XlsPostLoad
+        public void listenerPostLoad(final Object record) {
+        }
+        
+        @XlsPreSave
+        public void listenerPreSave(final Object record) {
+        }
+    
+    }
+
+}
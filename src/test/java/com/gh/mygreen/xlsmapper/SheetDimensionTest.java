@@ -0,0 +1,68 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+
+/**
+ * {@link SheetDimension}のテスタ。
+ * <p>{@link POIUtils#getColumns(Sheet)}、{@link POIUtils#getRows(Sheet)}の結果と比較する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class SheetDimensionTest {
+    
+    /**
+     * 列数を保持し、破棄した場合は計算し直す
+     */
+    @Test
+    public void test_getColumns() {
+        
+        final Sheet sheet = new XSSFWorkbook().createSheet();
+        POIUtils.getCell(sheet, 2, 5);
+        
+        final SheetDimension dimension = new SheetDimension(sheet);
+        assertThat(dimension.getColumns(), is(POIUtils.getColumns(sheet)));
+        assertThat(dimension.getRows(), is(POIUtils.getRows(sheet)));
+        
+        // 計算済みの値を返す
+        POIUtils.getCell(sheet, 4, 1);
+        assertThat(dimension.getColumns(), is(3));
+        
+        dimension.invalidate();
+        assertThat(dimension.getColumns(), is(POIUtils.getColumns(sheet)));
+        assertThat(dimension.getColumns(), is(5));
+    
+    }
+    
+    /**
+     * 書き込んだ列数を反映する
+     */
+    @Test
+    public void test_extendColumns() {
+        
+        final Sheet sheet = new XSSFWorkbook().createSheet();
+        POIUtils.getCell(sheet, 2, 5);
+        
+        final SheetDimension dimension = new SheetDimension(sheet);
+        
+        // 未計算の場合は、反映しない
+        dimension.extendColumns(10);
+        assertThat(dimension.getColumns(), is(3));
+        
+        dimension.extendColumns(2);
+        assertThat(dimension.getColumns(), is(3));
+        
+        POIUtils.getCell(sheet, 5, 0);
+        dimension.extendColumns(6);
+        assertThat(dimension.getColumns(), is(POIUtils.getColumns(sheet)));
+    
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.gh.mygreen.xlsmapper;
+
+
+/**
+ * {@link SheetMappingDescriptorTest.BrokenSheet}に対する、テスト用の{@link SheetMapper}の実装クラス。
+ * <p>クラスを変更した後に再生成していない場合を想定し、存在しないフィールドを登録する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public final class SheetMappingDescriptorTest$BrokenSheet_XlsMapper implements SheetMapper {
+    
+    @Override
+    public Class<?> getBeanClass() {
+        return SheetMappingDescriptorTest.BrokenSheet.class;
+    }
+    
+    @Override
+    public void describe(final SheetMappingDescriptor.Builder builder) throws ReflectiveOperationException, XlsMapperException {
+        
+        final Class<?> clazz = SheetMappingDescriptorTest.BrokenSheet.class;
+        builder.field(clazz.getDeclaredField("sheetName"));
+        builder.field(clazz.getDeclaredField("removed"));
+    }
+
+}
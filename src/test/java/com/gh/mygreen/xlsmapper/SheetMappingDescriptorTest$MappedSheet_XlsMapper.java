@@ -0,0 +1,40 @@
+package com.gh.mygreen.xlsmapper;
+
+import com.gh.mygreen.xlsmapper.fieldprocessor.PropertyAccessor;
+
+
+/**
+ * {@link SheetMappingDescriptorTest.MappedSheet}に対する、テスト用の{@link SheetMapper}の実装クラス。
+ * <p>アノテーションプロセッサで生成するクラスの代わりに、意図的にフィールド「label」を除き、
+ *    フィールド「sheetName」には値を加工して設定するアクセサを指定している。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public final class SheetMappingDescriptorTest$MappedSheet_XlsMapper implements SheetMapper {
+    
+    @Override
+    public Class<?> getBeanClass() {
+        return SheetMappingDescriptorTest.MappedSheet.class;
+    }
+    
+    @Override
+    public void describe(final SheetMappingDescriptor.Builder builder) throws ReflectiveOperationException, XlsMapperException {
+        
+        final Class<?> clazz = SheetMappingDescriptorTest.MappedSheet.class;
+        builder.field(clazz.getDeclaredField("sheetName"), new PropertyAccessor() {
+            
+            @Override
+            public Object get(final Object targetObj) {
+                return ((SheetMappingDescriptorTest.MappedSheet) targetObj).sheetName;
+            }
+            
+            @Override
+            public void set(final Object targetObj, final Object value) {
+                ((SheetMappingDescriptorTest.MappedSheet) targetObj).sheetName = "[" + value + "]";
+            }
+        });
+    }
+
+}
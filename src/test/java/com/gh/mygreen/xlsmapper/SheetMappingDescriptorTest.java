@@ -0,0 +1,117 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.annotation.LabelledCellType;
+import com.gh.mygreen.xlsmapper.annotation.XlsLabelledCell;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheetName;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldProcessorRegstry;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
+
+
+/**
+ * {@link SheetMappingDescriptor}のテスタ。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class SheetMappingDescriptorTest {
+    
+    /**
+     * {@link SheetMapper}の実装クラスがある場合は、登録したメンバーのみを利用する。
+     * <p>実装クラス{@link SheetMappingDescriptorTest$MappedSheet_XlsMapper}は、フィールド「label」を登録しない。
+     */
+    @Test
+    public void test_withMapper() throws Exception {
+        
+        final SheetMappingDescriptor descriptor = SheetMappingDescriptor.createForLoading(
+                MappedSheet.class, new AnnotationReader(null), new FieldProcessorRegstry());
+        assertThat(names(descriptor), contains("sheetName"));
+        
+        // 実装クラスが指定したアクセサで値を設定する
+        final MappedSheet sheet = new MappedSheet();
+        descriptor.getAdaptorProxies().get(0).getAdaptor().setValue(sheet, "シート名");
+        assertThat(sheet.sheetName, is("[シート名]"));
+        
+        // XMLの定義がある場合は、全てのメンバーを走査する
+        final SheetMappingDescriptor xmlDescriptor = SheetMappingDescriptor.createForLoading(
+                MappedSheet.class, new AnnotationReader(new XmlInfo()), new FieldProcessorRegstry());
+        assertThat(names(xmlDescriptor), containsInAnyOrder("sheetName", "label"));
+    
+    }
+    
+    /**
+     * {@link SheetMapper}の実装クラスがメンバーを見つけられない場合は、全てのメンバーを走査する。
+     */
+    @Test
+    public void test_withBrokenMapper() throws Exception {
+        
+        final SheetMappingDescriptor descriptor = SheetMappingDescriptor.createForSaving(
+                BrokenSheet.class, new AnnotationReader(null), new FieldProcessorRegstry());
+        assertThat(names(descriptor), containsInAnyOrder("sheetName", "label"));
+    
+    }
+    
+    /**
+     * {@link SheetMapper}の実装クラスがない場合は、全てのメンバーを走査する。
+     */
+    @Test
+    public void test_withoutMapper() throws Exception {
+        
+        final SheetMappingDescriptor descriptor = SheetMappingDescriptor.createForSaving(
+                NormalSheet.class, new AnnotationReader(null), new FieldProcessorRegstry());
+        assertThat(names(descriptor), containsInAnyOrder("sheetName", "label"));
+    
+    }
+    
+    private static List<String> names(final SheetMappingDescriptor descriptor) {
+        final List<String> names = new ArrayList<>();
+        for(FieldAdaptorProxy proxy : descriptor.getAdaptorProxies()) {
+            names.add(proxy.getAdaptor().getName());
+        }
+        return names;
+    }
+    
+    @XlsSheet(name="シート")
+    public static class MappedSheet {
+        
+        @XlsSheetName
+        String sheetName;
+        
+        @XlsLabelledCell(label="ラベル", type=LabelledCellType.Right)
+        private String label;
+    
+    }
+    
+    @XlsSheet(name="シート")
+    public static class BrokenSheet {
+        
+        @XlsSheetName
+        private String sheetName;
+        
+        @XlsLabelledCell(label="ラベル", type=LabelledCellType.Right)
+        private String label;
+    
+    }
+    
+    @XlsSheet(name="シート")
+    public static class NormalSheet {
+        
+        @XlsSheetName
+        private String sheetName;
+        
+        @XlsLabelledCell(label="ラベル", type=LabelledCellType.Right)
+        private String label;
+    
+    }
+
+}
@@ -0,0 +1,691 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.annotation.LabelledCellType;
+import com.gh.mygreen.xlsmapper.annotation.RecordTerminal;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsLabelledCell;
+import com.gh.mygreen.xlsmapper.annotation.XlsPostLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsPreLoad;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheetName;
+import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+import com.gh.mygreen.xlsmapper.xml.XmlMapping;
+import com.gh.mygreen.xlsmapper.xml.bind.AnnotationInfo;
+import com.gh.mygreen.xlsmapper.xml.bind.ClassInfo;
+import com.gh.mygreen.xlsmapper.xml.bind.FieldInfo;
+import com.gh.mygreen.xlsmapper.xml.bind.XmlInfo;
+
+
+/**
+ * {@link XlsLoader}のテスタ。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class XlsLoaderTest {
+    
+    /**
+     * 読み込み済みのワークブックを複数のクラスにマッピングする
+     */
+    @Test
+    public void test_load_workbook() throws Exception {
+        
+        XlsLoader loader = new XlsLoader();
+        
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            final Workbook book = WorkbookFactory.create(in);
+            
+            SheetBindingErrors errors = new SheetBindingErrors(RecordsSheet.class);
+            RecordsSheet recordsSheet = loader.load(book, RecordsSheet.class, errors);
+            assertThat(recordsSheet.records, hasSize(3));
+            assertThat(recordsSheet.records.get(0).no, is(1));
+            
+            LabelSheet labelSheet = loader.load(book, LabelSheet.class);
+            assertThat(labelSheet.sheetName, is("終了位置の指定"));
+            assertThat(labelSheet.label, is(notNullValue()));
+            
+            Object[] sheets = loader.loadMultiple(book, new Class[]{RecordsSheet.class, LabelSheet.class});
+            assertThat(sheets, arrayWithSize(2));
+            assertThat(((RecordsSheet)sheets[0]).records, hasSize(3));
+            assertThat(((LabelSheet)sheets[1]).label, is(labelSheet.label));
+        }
+    
+    }
+    
+    /**
+     * 複数のシートを並列に読み込む
+     */
+    @Test
+    public void test_loadMultiple_parallel() throws Exception {
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            final Workbook book = WorkbookFactory.create(in);
+            
+            final AllSheet[] expected = new XlsLoader().loadMultiple(book, AllSheet.class);
+            
+            XlsLoader loader = new XlsLoader();
+            loader.getConfig().setLoadingExecutor(executor);
+            
+            SheetBindingErrorsContainer errorsContainer = new SheetBindingErrorsContainer(AllSheet.class);
+            final AllSheet[] actual = loader.loadMultiple(book, AllSheet.class, errorsContainer);
+            
+            assertThat(actual.length, is(book.getNumberOfSheets()));
+            assertThat(actual.length, is(greaterThan(1)));
+            for(int i=0; i < actual.length; i++) {
+                assertThat(actual[i].sheetName, is(expected[i].sheetName));
+                assertThat(errorsContainer.getBindingResult(i).getSheetName(), is(book.getSheetName(i)));
+            }
+        
+        } finally {
+            executor.shutdown();
+        }
+    
+    }
+    
+    /**
+     * 書式や数式を含む多数のシートを並列に読み込む
+     */
+    @Test
+    public void test_loadMultiple_parallel_mixedFormats() throws Exception {
+        
+        final byte[] data = createMixedFormatBook(32, 50);
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final MixedSheet[] expected = new XlsLoader().loadMultiple(new ByteArrayInputStream(data), MixedSheet.class);
+            
+            XlsLoader loader = new XlsLoader();
+            loader.getConfig().setLoadingExecutor(executor);
+            
+            // 数式を評価するとセルを書き換えるため、別のワークブックとして読み込む
+            final MixedSheet[] actual = loader.loadMultiple(new ByteArrayInputStream(data), MixedSheet.class);
+            
+            assertThat(actual.length, is(32));
+            for(int i=0; i < actual.length; i++) {
+                assertThat(actual[i].sheetName, is(expected[i].sheetName));
+                assertThat(actual[i].records, hasSize(50));
+                
+                for(int j=0; j < actual[i].records.size(); j++) {
+                    final MixedRecord actualRecord = actual[i].records.get(j);
+                    final MixedRecord expectedRecord = expected[i].records.get(j);
+                    
+                    assertThat(actualRecord.no, is(expectedRecord.no));
+                    assertThat(actualRecord.number, is(expectedRecord.number));
+                    assertThat(actualRecord.date, is(expectedRecord.date));
+                    assertThat(actualRecord.calc, is(expectedRecord.number * 2));
+                    assertThat(actualRecord.rate, is(expectedRecord.rate));
+                    assertThat(actualRecord.rate, endsWith("%"));
+                }
+            }
+        
+        } finally {
+            executor.shutdown();
+        }
+    
+    }
+    
+    /**
+     * 異なるシートは同時に読み込み、同じシートは同時に読み込まないことを確認する
+     */
+    @Test
+    public void test_loadMultiple_parallel_concurrent() throws Exception {
+        
+        final byte[] data = createMixedFormatBook(4, 50);
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final MixedSheet[] expected = new XlsLoader().loadMultiple(new ByteArrayInputStream(data), MixedSheet.class);
+            
+            XlsLoader loader = new XlsLoader();
+            loader.getConfig().setLoadingExecutor(executor);
+            
+            // 4シートの読み込みが全て開始されるまで待つため、並列に実行されていないと待ち合わせがタイムアウトする。
+            ConcurrentSheet.startLatch = new CountDownLatch(4);
+            ConcurrentSheet.loadingSheets.clear();
+            ConcurrentSheet.overlapped.set(false);
+            
+            // 同じクラスを2回指定し、同じシートを2回ずつ読み込む
+            final Object[] actual = loader.loadMultiple(new ByteArrayInputStream(data),
+                    new Class[]{ConcurrentSheet.class, ConcurrentSheet.class},
+                    new SheetBindingErrorsContainer(ConcurrentSheet.class));
+            
+            assertThat(actual.length, is(8));
+            assertThat(ConcurrentSheet.overlapped.get(), is(false));
+            
+            for(int i=0; i < actual.length; i++) {
+                final ConcurrentSheet actualSheet = (ConcurrentSheet) actual[i];
+                final MixedSheet expectedSheet = expected[i % 4];
+                
+                assertThat(actualSheet.concurrent, is(true));
+                assertThat(actualSheet.sheetName, is(expectedSheet.sheetName));
+                assertThat(actualSheet.records, hasSize(50));
+                
+                for(int j=0; j < actualSheet.records.size(); j++) {
+                    final MixedRecord actualRecord = actualSheet.records.get(j);
+                    final MixedRecord expectedRecord = expectedSheet.records.get(j);
+                    
+                    assertThat(actualRecord.no, is(expectedRecord.no));
+                    assertThat(actualRecord.number, is(expectedRecord.number));
+                    assertThat(actualRecord.date, is(expectedRecord.date));
+                    assertThat(actualRecord.calc, is(expectedRecord.number * 2));
+                    assertThat(actualRecord.rate, is(expectedRecord.rate));
+                }
+            }
+        
+        } finally {
+            ConcurrentSheet.startLatch = null;
+            executor.shutdown();
+        }
+    
+    }
+    
+    /**
+     * 数値、日付、数式、書式付きの数値の列を持つシートを作成する。
+     * @param sheetSize シート数
+     * @param recordSize シートごとのレコード数
+     * @return 作成したワークブックのデータ
+     */
+    private byte[] createMixedFormatBook(final int sheetSize, final int recordSize) throws Exception {
+        
+        final Workbook book = new XSSFWorkbook();
+        final DataFormat dataFormat = book.createDataFormat();
+        
+        final CellStyle numberStyle = book.createCellStyle();
+        numberStyle.setDataFormat(dataFormat.getFormat("#,##0.00"));
+        
+        final CellStyle dateStyle = book.createCellStyle();
+        dateStyle.setDataFormat(dataFormat.getFormat("yyyy/m/d"));
+        
+        final CellStyle rateStyle = book.createCellStyle();
+        rateStyle.setDataFormat(dataFormat.getFormat("0.0%"));
+        
+        final Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2016, 0, 1);
+        
+        for(int i=0; i < sheetSize; i++) {
+            final Sheet sheet = book.createSheet("シート" + i);
+            
+            final Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("No.");
+            header.createCell(1).setCellValue("数値");
+            header.createCell(2).setCellValue("日付");
+            header.createCell(3).setCellValue("計算");
+            header.createCell(4).setCellValue("割合");
+            
+            for(int j=1; j <= recordSize; j++) {
+                final Row row = sheet.createRow(j);
+                row.createCell(0).setCellValue(j);
+                
+                final Cell numberCell = row.createCell(1);
+                numberCell.setCellValue(i * 1000 + j + 0.25);
+                numberCell.setCellStyle(numberStyle);
+                
+                final Cell dateCell = row.createCell(2);
+                calendar.set(Calendar.DAY_OF_YEAR, i + j);
+                dateCell.setCellValue(calendar.getTime());
+                dateCell.setCellStyle(dateStyle);
+                
+                row.createCell(3).setCellFormula("B" + (j+1) + "*2");
+                
+                final Cell rateCell = row.createCell(4);
+                rateCell.setCellValue(j / 1000.0);
+                rateCell.setCellStyle(rateStyle);
+            }
+        }
+        
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        book.write(out);
+        return out.toByteArray();
+    
+    }
+    
+    /**
+     * クラスごとのマッピング情報をキャッシュする
+     */
+    @Test
+    public void test_load_cacheDescriptor() throws Exception {
+        
+        XlsLoader loader = new XlsLoader();
+        
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            final Workbook book = WorkbookFactory.create(in);
+            
+            RecordsSheet sheet1 = loader.load(book, RecordsSheet.class);
+            final SheetMappingDescriptor descriptor = loader.getConfig().getMappingDescriptorCache()
+                    .getLoadingDescriptor(RecordsSheet.class, new AnnotationReader(null), loader.getConfig().getFieldProcessorRegistry());
+            assertThat(descriptor.getAdaptorProxies(), hasSize(1));
+            
+            RecordsSheet sheet2 = loader.load(book, RecordsSheet.class);
+            assertThat(loader.getConfig().getMappingDescriptorCache()
+                    .getLoadingDescriptor(RecordsSheet.class, new AnnotationReader(null), loader.getConfig().getFieldProcessorRegistry()),
+                    is(sameInstance(descriptor)));
+            
+            assertThat(sheet2.records, hasSize(sheet1.records.size()));
+            
+            // XMLの定義が異なる場合は、別の情報を保持する
+            final SheetMappingDescriptor xmlDescriptor = loader.getConfig().getMappingDescriptorCache()
+                    .getLoadingDescriptor(RecordsSheet.class, new AnnotationReader(new XmlInfo()), loader.getConfig().getFieldProcessorRegistry());
+            assertThat(xmlDescriptor, is(not(sameInstance(descriptor))));
+        }
+    
+    }
+    
+    /**
+     * XMLの定義は、インスタンスごとにマッピング情報のキャッシュを保持する
+     */
+    @Test
+    public void test_load_cacheDescriptor_xmlInstance() throws Exception {
+        
+        XlsLoader loader = new XlsLoader();
+        final SheetMappingDescriptorCache cache = loader.getConfig().getMappingDescriptorCache();
+        
+        final XmlInfo xmlInfo = createLabelXmlInfo("終端レコードの指定（Border）");
+        final SheetMappingDescriptor descriptor = cache.getLoadingDescriptor(XmlSheet.class,
+                new AnnotationReader(xmlInfo), loader.getConfig().getFieldProcessorRegistry());
+        assertThat(descriptor.getAdaptorProxies(), hasSize(2));
+        
+        // 同じXMLの定義のインスタンスの場合は、同じ情報を利用する
+        assertThat(cache.getLoadingDescriptor(XmlSheet.class,
+                new AnnotationReader(xmlInfo), loader.getConfig().getFieldProcessorRegistry()),
+                is(sameInstance(descriptor)));
+        
+        // XMLの定義のインスタンスが異なる場合は、別の情報を保持する
+        assertThat(cache.getLoadingDescriptor(XmlSheet.class,
+                new AnnotationReader(createLabelXmlInfo("終端レコードの指定（Border）")), loader.getConfig().getFieldProcessorRegistry()),
+                is(not(sameInstance(descriptor))));
+    
+    }
+    
+    /**
+     * {@link XmlSheet}のラベルを定義したXMLの情報を作成する。
+     * @param label ラベル
+     * @return XMLの情報
+     */
+    private XmlInfo createLabelXmlInfo(final String label) {
+        return XmlInfo.builder()
+                .classInfo(ClassInfo.builder().name(XmlSheet.class)
+                        .field(FieldInfo.builder().name("label")
+                                .annotation(AnnotationInfo.builder().name(XlsLabelledCell.class)
+                                        .attribute("label", label)
+                                        .attribute("type", LabelledCellType.Bottom)
+                                        .buildAnnotation())
+                                .buildField())
+                        .buildClass())
+                .buildXml();
+    }
+    
+    /**
+     * 事前に組み立てたXMLの定義を利用する
+     */
+    @Test
+    public void test_load_xmlMapping() throws Exception {
+        
+        final XmlInfo xmlInfo = XmlInfo.builder()
+                .classInfo(ClassInfo.builder().name(XmlSheet.class)
+                        .field(FieldInfo.builder().name("label")
+                                .annotation(AnnotationInfo.builder().name(XlsLabelledCell.class)
+                                        .attribute("label", "終端レコードの指定（Border）")
+                                        .attribute("type", LabelledCellType.Bottom)
+                                        .buildAnnotation())
+                                .buildField())
+                        .buildClass())
+                .buildXml();
+        
+        final XmlMapping xmlMapping = XmlMapping.compile(xmlInfo);
+        
+        XlsLoader loader = new XlsLoader();
+        loader.setXmlMapping(xmlMapping);
+        
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            final Workbook book = WorkbookFactory.create(in);
+            
+            final LabelSheet expected = loader.load(book, LabelSheet.class);
+            
+            // 複数回読み込んでも同じ定義を利用する
+            for(int i=0; i < 2; i++) {
+                final XmlSheet sheet = loader.load(book, XmlSheet.class);
+                assertThat(sheet.label, is(expected.label));
+            }
+            
+            // 定義を設定しない場合は、マッピングされない
+            assertThat(new XlsLoader().load(book, XmlSheet.class).label, is(nullValue()));
+        }
+    
+    }
+    
+    /**
+     * エラーの件数の上限を設定して読み込む
+     */
+    @Test
+    public void test_load_errorLimit() throws Exception {
+        
+        XlsLoader loader = new XlsLoader();
+        loader.getConfig().setContinueTypeBindFailure(true)
+            .setMaxBindingErrors(1);
+        
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            final Workbook book = WorkbookFactory.create(in);
+            
+            // 上限を超えたエラーは件数のみを数える
+            SheetBindingErrors errors = new SheetBindingErrors(TypeErrorSheet.class);
+            TypeErrorSheet sheet = loader.load(book, TypeErrorSheet.class, errors);
+            assertThat(sheet.records, hasSize(3));
+            assertThat(errors.getFieldErrorCount(), is(1));
+            assertThat(errors.getOverflowErrorCount(), is(1));
+            
+            // 上限を超えたときに中断する
+            loader.getConfig().setAbortOnBindingErrorLimit(true);
+            try {
+                loader.load(book, TypeErrorSheet.class);
+                fail();
+            } catch(ErrorLimitExceededException e) {
+                assertThat(e.getErrors().getFieldErrorCount(), is(1));
+                assertThat(e.getErrors().hasOverflowErrors(), is(true));
+            }
+        }
+    
+    }
+    
+    /**
+     * 読み込み後は、エラーの件数の上限が呼び出し元の設定に戻る。
+     * <p>読み込み後に入力値の検証などで追加したエラーは、上限を超えたエラーとして数えない。
+     */
+    @Test
+    public void test_load_errorLimit_restore() throws Exception {
+        
+        XlsLoader loader = new XlsLoader();
+        loader.getConfig().setContinueTypeBindFailure(true)
+            .setMaxBindingErrors(1)
+            .setMaxBindingErrorsPerField(1);
+        
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            final Workbook book = WorkbookFactory.create(in);
+            
+            SheetBindingErrors errors = new SheetBindingErrors(TypeErrorSheet.class);
+            loader.load(book, TypeErrorSheet.class, errors);
+            assertThat(errors.getFieldErrorCount(), is(1));
+            assertThat(errors.getOverflowErrorCount(), is(1));
+            
+            assertThat(errors.getMaxErrors(), is(0));
+            assertThat(errors.getMaxFieldErrors(), is(0));
+            
+            // 読み込み後に追加したエラーは、全て保持する
+            errors.reject("error.check1");
+            errors.reject("error.check2");
+            assertThat(errors.getAllErrors(), hasSize(3));
+            assertThat(errors.getOverflowErrorCount(), is(1));
+        }
+    
+    }
+    
+    /**
+     * ライフサイクルのコールバック用のメソッドで追加したエラーが上限を超えたときも、処理を中断する。
+     */
+    @Test
+    public void test_load_errorLimit_postLoad() throws Exception {
+        
+        final Workbook book = new XSSFWorkbook();
+        book.createSheet("エラー");
+        
+        XlsLoader loader = new XlsLoader();
+        loader.getConfig().setMaxBindingErrors(1)
+            .setAbortOnBindingErrorLimit(true);
+        
+        SheetBindingErrors errors = new SheetBindingErrors(PostLoadErrorSheet.class);
+        try {
+            loader.load(book, PostLoadErrorSheet.class, errors);
+            fail();
+        } catch(ErrorLimitExceededException e) {
+            assertThat(e.getErrors().getAllErrors(), hasSize(1));
+            assertThat(e.getErrors().getOverflowErrorCount(), is(1));
+        }
+        
+        // 中断した場合も、上限は呼び出し元の設定に戻る
+        assertThat(errors.getMaxErrors(), is(0));
+    
+    }
+    
+    /**
+     * 表の列ごとにエラーの件数の上限を設定して読み込む。
+     * <p>レコードのインデックスが異なっても、同じ列は同じフィールドとして数える。
+     */
+    @Test
+    public void test_load_errorLimitPerField() throws Exception {
+        
+        final Workbook book = new XSSFWorkbook();
+        final Sheet sheet = book.createSheet("エラー");
+        
+        final Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("No.");
+        header.createCell(1).setCellValue("値");
+        
+        // 列「値」は、全てのレコードで型変換エラーとなる
+        for(int i=1; i <= 20; i++) {
+            final Row row = sheet.createRow(i);
+            row.createCell(0).setCellValue(i);
+            row.createCell(1).setCellValue("abc" + i);
+        }
+        
+        XlsLoader loader = new XlsLoader();
+        loader.getConfig().setContinueTypeBindFailure(true)
+            .setMaxBindingErrorsPerField(3);
+        
+        SheetBindingErrors errors = new SheetBindingErrors(ErrorRecordsSheet.class);
+        ErrorRecordsSheet errorSheet = loader.load(book, ErrorRecordsSheet.class, errors);
+        assertThat(errorSheet.records, hasSize(20));
+        
+        assertThat(errors.getFieldErrorCount(), is(3));
+        assertThat(errors.getFieldErrorCount("records[*"), is(3));
+        assertThat(errors.getFirstFieldError().getFieldPath(), is("records[0].value"));
+        assertThat(errors.getFieldErrors().get(2).getFieldPath(), is("records[2].value"));
+        assertThat(errors.getOverflowErrorCount(), is(17));
+    
+    }
+    
+    @XlsSheet
+    private static class AllSheet {
+        
+        @XlsSheetName
+        private String sheetName;
+    
+    }
+    
+    @XlsSheet(regex="シート.+")
+    private static class MixedSheet {
+        
+        @XlsSheetName
+        private String sheetName;
+        
+        @XlsHorizontalRecords(headerAddress="A1")
+        private List<MixedRecord> records;
+    
+    }
+    
+    /**
+     * 読み込みの開始と終了を記録するシート
+     */
+    @XlsSheet(regex="シート.+")
+    private static class ConcurrentSheet {
+        
+        /** 全てのシートの読み込みの開始を待ち合わせる */
+        static volatile CountDownLatch startLatch;
+        
+        /** 読み込み中のシート名 */
+        static final Set<String> loadingSheets = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        
+        /** 同じシートを同時に読み込んだかどうか */
+        static final AtomicBoolean overlapped = new AtomicBoolean(false);
+        
+        @XlsSheetName
+        private String sheetName;
+        
+        @XlsHorizontalRecords(headerAddress="A1")
+        private List<MixedRecord> records;
+        
+        /** 他のシートの読み込みと同時に実行されたかどうか */
+        private boolean concurrent;
+        
+        @XlsPreLoad
+        public void onPreLoad(final Sheet sheet) throws InterruptedException {
+            if(!loadingSheets.add(sheet.getSheetName())) {
+                overlapped.set(true);
+            }
+            
+            startLatch.countDown();
+            this.concurrent = startLatch.await(10, TimeUnit.SECONDS);
+        }
+        
+        @XlsPostLoad
+        public void onPostLoad(final Sheet sheet) {
+            loadingSheets.remove(sheet.getSheetName());
+        }
+    
+    }
+    
+    @XlsSheet(name="エラー")
+    private static class ErrorRecordsSheet {
+        
+        @XlsHorizontalRecords(headerAddress="A1")
+        private List<ErrorRecord> records;
+    
+    }
+    
+    /**
+     * 読み込み後に、入力値の検証としてエラーを追加するシート
+     */
+    @XlsSheet(name="エラー")
+    private static class PostLoadErrorSheet {
+        
+        @XlsSheetName
+        private String sheetName;
+        
+        @XlsPostLoad
+        public void onPostLoad(final SheetBindingErrors errors) {
+            errors.reject("error.check1");
+            errors.reject("error.check2");
+        }
+    
+    }
+    
+    @XlsSheet(name="終了位置の指定")
+    private static class RecordsSheet {
+        
+        @XlsHorizontalRecords(tableLabel="終端レコードの指定（Border）", terminal=RecordTerminal.Border)
+        private List<NormalRecord> records;
+    
+    }
+    
+    @XlsSheet(name="終了位置の指定")
+    private static class XmlSheet {
+        
+        @XlsSheetName
+        private String sheetName;
+        
+        private String label;
+    
+    }
+    
+    @XlsSheet(name="終了位置の指定")
+    private static class LabelSheet {
+        
+        @XlsSheetName
+        private String sheetName;
+        
+        @XlsLabelledCell(label="終端レコードの指定（Border）", type=LabelledCellType.Bottom)
+        private String label;
+    
+    }
+    
+    @XlsSheet(name="終了位置の指定")
+    private static class TypeErrorSheet {
+        
+        @XlsHorizontalRecords(tableLabel="終端レコードの指定（Border）", terminal=RecordTerminal.Border)
+        private List<TypeErrorRecord> records;
+    
+    }
+    
+    private static class NormalRecord {
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        @XlsColumn(columnName="名称")
+        private String name;
+    
+    }
+    
+    private static class MixedRecord {
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        @XlsColumn(columnName="数値")
+        private Double number;
+        
+        @XlsColumn(columnName="日付")
+        private Date date;
+        
+        @XlsColumn(columnName="計算")
+        private Double calc;
+        
+        /** 書式を適用した文字列として読み込む */
+        @XlsColumn(columnName="割合")
+        private String rate;
+    
+    }
+    
+    private static class ErrorRecord {
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        @XlsColumn(columnName="値")
+        private Integer value;
+    
+    }
+    
+    private static class TypeErrorRecord {
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        /** 文字列を数値として読み込み、型変換エラーとする */
+        @XlsColumn(columnName="名称")
+        private Integer name;
+    
+    }
+}
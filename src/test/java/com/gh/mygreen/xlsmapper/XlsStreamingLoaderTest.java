@@ -0,0 +1,335 @@
+package com.gh.mygreen.xlsmapper;
+
+import static com.gh.mygreen.xlsmapper.TestUtils.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.gh.mygreen.xlsmapper.annotation.LabelledCellType;
+import com.gh.mygreen.xlsmapper.annotation.RecordTerminal;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsLabelledCell;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheetName;
+import com.gh.mygreen.xlsmapper.annotation.XlsVerticalRecords;
+import com.gh.mygreen.xlsmapper.fieldprocessor.CellNotFoundException;
+import com.gh.mygreen.xlsmapper.validation.SheetBindingErrors;
+
+
+/**
+ * {@link XlsStreamingLoader}のテスタ。
+ * <p>{@link XlsLoader}で読み込んだ結果と比較する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class XlsStreamingLoaderTest {
+    
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    
+    /**
+     * 読み込みテスト - ラベル指定のセル
+     */
+    @Test
+    public void test_load_labelledCell() throws Exception {
+        
+        XlsStreamingLoader loader = new XlsStreamingLoader();
+        loader.getConfig().setContinueTypeBindFailure(true);
+        
+        try(InputStream in = new FileInputStream("src/test/data/anno_LabelledCell.xlsx")) {
+            SheetBindingErrors errors = new SheetBindingErrors(LabelledCellSheet.class);
+            
+            LabelledCellSheet sheet = loader.load(in, LabelledCellSheet.class, errors);
+            
+            assertThat(sheet.sheetName, is("LabelledCell(通常)"));
+            
+            assertThat(sheet.posRight, is("右側の値です。"));
+            assertThat(sheet.posLeft, is("左側の値です。"));
+            assertThat(sheet.posBottom, is("下側の値です。"));
+            
+            assertThat(sheet.foundNo, is(nullValue()));
+            
+            assertThat(cellFieldError(errors, cellAddress(sheet.positions.get("wrongFormat"))).isTypeBindFailure(), is(true));
+            
+            assertThat(sheet.header, is(toUtilDate(toTimestamp("2015-05-09 00:00:00.000"))));
+            assertThat(sheet.headerSkip, is(toUtilDate(toTimestamp("2015-04-02 00:00:00.000"))));
+            assertThat(sheet.headerRange, is(toUtilDate(toTimestamp("2015-06-13 00:00:00.000"))));
+            
+            assertThat(sheet.address1, is("右側の値です。"));
+            assertThat(sheet.address2, is("下側の値です。"));
+            
+            assertThat(sheet.blank, is(nullValue()));
+            assertThat(sheet.labels.get("posRight"), is("位置（右側）"));
+        }
+    
+    }
+    
+    /**
+     * 読み込みテスト - 表
+     */
+    @Test
+    public void test_load_horizontalRecords() throws Exception {
+        
+        XlsMapperConfig config = new XlsMapperConfig();
+        config.setContinueTypeBindFailure(true);
+        
+        final RecordsSheet expected;
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            expected = new XlsLoader(config).load(in, RecordsSheet.class);
+        }
+        
+        final RecordsSheet actual;
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            actual = new XlsStreamingLoader(config).load(in, RecordsSheet.class);
+        }
+        
+        assertRecords(actual.records1, expected.records1);
+        assertRecords(actual.records2, expected.records2);
+        assertRecords(actual.records3, expected.records3);
+        assertRecords(actual.records4, expected.records4);
+        
+        assertThat(actual.records2, hasSize(3));
+        assertThat(actual.records3, hasSize(2));
+    
+    }
+    
+    /**
+     * 読み込みテスト - ファイルを指定する場合
+     */
+    @Test
+    public void test_load_file() throws Exception {
+        
+        XlsMapperConfig config = new XlsMapperConfig();
+        config.setContinueTypeBindFailure(true);
+        
+        final RecordsSheet expected;
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            expected = new XlsLoader(config).load(in, RecordsSheet.class);
+        }
+        
+        final RecordsSheet actual = new XlsStreamingLoader(config).load(new File("src/test/data/anno_HorizonalRecords.xlsx"), RecordsSheet.class);
+        
+        assertRecords(actual.records1, expected.records1);
+        assertRecords(actual.records2, expected.records2);
+        assertRecords(actual.records3, expected.records3);
+        assertRecords(actual.records4, expected.records4);
+    
+    }
+    
+    /**
+     * 読み込みテスト - 外部エンティティを参照するXMLは、参照先を読み込まない
+     */
+    @Test
+    public void test_load_externalEntity() throws Exception {
+        
+        final File secretFile = tempFolder.newFile("secret.txt");
+        Files.write(secretFile.toPath(), "SECRET".getBytes(StandardCharsets.UTF_8));
+        
+        // 共有文字列のXMLに、外部エンティティの参照を埋め込む
+        final XSSFWorkbook workbook = new XSSFWorkbook();
+        final Sheet sheet = workbook.createSheet("外部エンティティ");
+        POIUtils.getCell(sheet, 0, 0).setCellValue("ラベル");
+        POIUtils.getCell(sheet, 1, 0).setCellValue("値");
+        
+        final ByteArrayOutputStream original = new ByteArrayOutputStream();
+        workbook.write(original);
+        
+        final ByteArrayOutputStream modified = new ByteArrayOutputStream();
+        try(ZipInputStream zipIn = new ZipInputStream(new ByteArrayInputStream(original.toByteArray()));
+                ZipOutputStream zipOut = new ZipOutputStream(modified)) {
+            
+            ZipEntry entry;
+            while((entry = zipIn.getNextEntry()) != null) {
+                zipOut.putNextEntry(new ZipEntry(entry.getName()));
+                if(entry.getName().equals("xl/sharedStrings.xml")) {
+                    final String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                            + "<!DOCTYPE sst [<!ENTITY xxe SYSTEM \"" + secretFile.toURI() + "\">]>"
+                            + "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"2\" uniqueCount=\"2\">"
+                            + "<si><t>ラベル</t></si><si><t>値&xxe;</t></si></sst>";
+                    zipOut.write(xml.getBytes(StandardCharsets.UTF_8));
+                } else {
+                    final byte[] buf = new byte[1024];
+                    int len;
+                    while((len = zipIn.read(buf)) > 0) {
+                        zipOut.write(buf, 0, len);
+                    }
+                }
+                zipOut.closeEntry();
+            }
+        }
+        
+        final XlsStreamingLoader loader = new XlsStreamingLoader();
+        try {
+            final EntitySheet entitySheet = loader.load(new ByteArrayInputStream(modified.toByteArray()), EntitySheet.class);
+            assertThat(entitySheet.value, not(containsString("SECRET")));
+            
+        } catch(XlsMapperException e) {
+            // 参照を拒否した場合
+            assertThat(e.getMessage(), not(containsString("SECRET")));
+        }
+    
+    }
+    
+    /**
+     * 読み込みテスト - 表の見出しが見つからない場合
+     */
+    @Test(expected=CellNotFoundException.class)
+    public void test_load_horizontalRecords_notFound() throws Exception {
+        
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            new XlsStreamingLoader().load(in, NotFoundSheet.class);
+            
+            fail();
+        }
+    
+    }
+    
+    /**
+     * 読み込みテスト - 対応していないアノテーションの場合
+     */
+    @Test(expected=AnnotationInvalidException.class)
+    public void test_load_notSupported() throws Exception {
+        
+        try(InputStream in = new FileInputStream("src/test/data/anno_VerticalRecords.xlsx")) {
+            new XlsStreamingLoader().load(in, NotSupportedSheet.class);
+            
+            fail();
+        }
+    
+    }
+    
+    private void assertRecords(final List<NormalRecord> actual, final List<NormalRecord> expected) {
+        
+        assertThat(actual, hasSize(expected.size()));
+        for(int i=0; i < expected.size(); i++) {
+            assertThat(actual.get(i).no, is(expected.get(i).no));
+            assertThat(actual.get(i).name, is(expected.get(i).name));
+            assertThat(actual.get(i).value, is(expected.get(i).value));
+            assertThat(actual.get(i).positions, is(expected.get(i).positions));
+        }
+    }
+    
+    @XlsSheet(name="LabelledCell(通常)")
+    private static class LabelledCellSheet {
+        
+        private Map<String, Point> positions;
+        
+        private Map<String, String> labels;
+        
+        @XlsSheetName
+        private String sheetName;
+        
+        @XlsLabelledCell(label="位置（右側）", type=LabelledCellType.Right)
+        private String posRight;
+        
+        @XlsLabelledCell(label="位置（左側）", type=LabelledCellType.Left)
+        private String posLeft;
+        
+        @XlsLabelledCell(label="位置（下側）", type=LabelledCellType.Bottom)
+        private String posBottom;
+        
+        @XlsLabelledCell(label="見つからない", type=LabelledCellType.Right, optional=true)
+        private Integer foundNo;
+        
+        @XlsLabelledCell(label="不正なフォーマット", type=LabelledCellType.Right)
+        private Double wrongFormat;
+        
+        @XlsLabelledCell(label="ラベル名", type=LabelledCellType.Bottom, headerLabel="見出し１")
+        private Date header;
+        
+        @XlsLabelledCell(label="ラベル名", type=LabelledCellType.Right, headerLabel="見出し２", skip=2)
+        private Date headerSkip;
+        
+        @XlsLabelledCell(label="ラベル名", type=LabelledCellType.Left, headerLabel="見出し３", range=2)
+        private Date headerRange;
+        
+        @XlsLabelledCell(labelAddress="B26", type=LabelledCellType.Right)
+        private String address1;
+        
+        @XlsLabelledCell(labelColumn=1, labelRow=25, type=LabelledCellType.Bottom)
+        private String address2;
+        
+        @XlsLabelledCell(label="値が空の場合", type=LabelledCellType.Right)
+        private String blank;
+    
+    }
+    
+    @XlsSheet(name="終了位置の指定")
+    private static class RecordsSheet {
+        
+        @XlsHorizontalRecords(tableLabel="終端レコードの指定（Empty）", terminal=RecordTerminal.Empty)
+        private List<NormalRecord> records1;
+        
+        @XlsHorizontalRecords(tableLabel="終端レコードの指定（Border）", terminal=RecordTerminal.Border)
+        private List<NormalRecord> records2;
+        
+        @XlsHorizontalRecords(tableLabel="終端セルの指定", terminal=RecordTerminal.Border, terminateLabel="合計")
+        private List<NormalRecord> records3;
+        
+        @XlsHorizontalRecords(tableLabel="見出しセルの個数指定", terminal=RecordTerminal.Border, headerLimit=3)
+        private List<NormalRecord> records4;
+    
+    }
+    
+    @XlsSheet(name="外部エンティティ")
+    private static class EntitySheet {
+        
+        @XlsLabelledCell(label="ラベル", type=LabelledCellType.Right)
+        private String value;
+    
+    }
+    
+    @XlsSheet(name="終了位置の指定")
+    private static class NotFoundSheet {
+        
+        @XlsHorizontalRecords(tableLabel="存在しない", optional=false)
+        private List<NormalRecord> records;
+    
+    }
+    
+    @XlsSheet(number=0)
+    private static class NotSupportedSheet {
+        
+        @XlsVerticalRecords(tableLabel="存在しない", optional=true)
+        private List<NormalRecord> records;
+    
+    }
+    
+    private static class NormalRecord {
+        
+        private Map<String, Point> positions;
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        @XlsColumn(columnName="名称")
+        private String name;
+        
+        @XlsColumn(columnName="値")
+        private Double value;
+    
+    }
+}
@@ -0,0 +1,243 @@
+package com.gh.mygreen.xlsmapper;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.annotation.LabelledCellType;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.annotation.XlsConverter;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsLabelledCell;
+import com.gh.mygreen.xlsmapper.annotation.XlsPostSave;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+import com.gh.mygreen.xlsmapper.annotation.XlsVerticalRecords;
+import com.gh.mygreen.xlsmapper.cellconvert.converter.StringCellConverter;
+
+
+/**
+ * {@link XlsStreamingSaver}のテスタ。
+ * <p>出力したファイルを{@link XlsLoader}で読み込んだ結果と比較する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class XlsStreamingSaverTest {
+    
+    /**
+     * 書き込みテスト - メモリ上に保持する行数よりも多いレコード
+     */
+    @Test
+    public void test_save_horizontalRecords() throws Exception {
+        
+        final RecordsSheet outSheet = new RecordsSheet();
+        outSheet.title = "一覧のタイトル";
+        outSheet.records = new ArrayList<>();
+        for(int i=0; i < 500; i++) {
+            final NormalRecord record = new NormalRecord();
+            record.no = i + 1;
+            record.name = "名称" + i;
+            record.value = i * 10.5;
+            outSheet.records.add(record);
+        }
+        
+        final XlsMapperConfig config = new XlsMapperConfig().setStreamingWindowSize(10);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try(InputStream template = createTemplate()) {
+            new XlsStreamingSaver(config).save(template, out, outSheet);
+        }
+        
+        final RecordsSheet inSheet = new XlsLoader().load(new ByteArrayInputStream(out.toByteArray()), RecordsSheet.class);
+        final Workbook book = WorkbookFactory.create(new ByteArrayInputStream(out.toByteArray()));
+        
+        assertThat(inSheet.title, is(outSheet.title));
+        assertThat(inSheet.records, hasSize(500));
+        for(int i=0; i < 500; i++) {
+            assertThat(inSheet.records.get(i).no, is(outSheet.records.get(i).no));
+            assertThat(inSheet.records.get(i).name, is(outSheet.records.get(i).name));
+            assertThat(inSheet.records.get(i).value, is(outSheet.records.get(i).value));
+        }
+        
+        // 見出しとレコードの書式は、テンプレートのものを引き継ぐ
+        final Sheet sheet = book.getSheet("一覧");
+        final CellStyle headerStyle = POIUtils.getCell(sheet, 0, 3).getCellStyle();
+        assertThat(book.getFontAt(headerStyle.getFontIndex()).getBoldweight(), is(Font.BOLDWEIGHT_BOLD));
+        
+        final CellStyle recordStyle = POIUtils.getCell(sheet, 2, 503).getCellStyle();
+        assertThat(recordStyle.getBorderLeft(), is(CellStyle.BORDER_THIN));
+        assertThat(recordStyle.getDataFormatString(), is("#,##0.00"));
+        
+        // テンプレートのレコード以降の行は出力しない
+        assertThat(sheet.getLastRowNum(), is(503));
+    
+    }
+    
+    /**
+     * 書き込みテスト - {@link XlsConverter}で指定したConverterと、{@link XlsPostSave}のメソッド
+     * ・Converterのインスタンスは、フィールドごとに1つだけ作成する。
+     */
+    @Test
+    public void test_save_converterAndPostSave() throws Exception {
+        
+        final ConverterSheet outSheet = new ConverterSheet();
+        outSheet.records = new ArrayList<>();
+        for(int i=0; i < 50; i++) {
+            final ConverterRecord record = new ConverterRecord();
+            record.no = i + 1;
+            record.name = "名称" + i;
+            outSheet.records.add(record);
+        }
+        
+        final AtomicInteger created = new AtomicInteger();
+        final XlsMapperConfig config = new XlsMapperConfig().setStreamingWindowSize(10);
+        config.setBeanFactory(new DefaultBeanFactory() {
+            
+            @Override
+            public Object create(final Class<?> clazz) {
+                if(clazz.equals(StringCellConverter.class)) {
+                    created.incrementAndGet();
+                }
+                return super.create(clazz);
+            }
+        });
+        
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try(InputStream template = createTemplate()) {
+            new XlsStreamingSaver(config).save(template, out, outSheet);
+        }
+        
+        assertThat(created.get(), is(1));
+        for(ConverterRecord record : outSheet.records) {
+            assertThat(record.postSaved, is(true));
+        }
+        
+        final ConverterSheet inSheet = new XlsLoader().load(new ByteArrayInputStream(out.toByteArray()), ConverterSheet.class);
+        assertThat(inSheet.records, hasSize(50));
+        for(int i=0; i < 50; i++) {
+            assertThat(inSheet.records.get(i).name, is(outSheet.records.get(i).name));
+        }
+    
+    }
+    
+    /**
+     * 書き込みテスト - サポートしていないアノテーション
+     */
+    @Test(expected=AnnotationInvalidException.class)
+    public void test_save_notSupported() throws Exception {
+        
+        try(InputStream template = createTemplate()) {
+            new XlsStreamingSaver().save(template, new ByteArrayOutputStream(), new NotSupportedSheet());
+        }
+    
+    }
+    
+    /**
+     * テンプレートを作成する。
+     * <p>見出しは太字、レコードの1行目は罫線と書式を設定し、レコードの下に合計の行を設ける。
+     */
+    private InputStream createTemplate() throws Exception {
+        
+        final Workbook book = new XSSFWorkbook();
+        final Sheet sheet = book.createSheet("一覧");
+        
+        POIUtils.getCell(sheet, 0, 0).setCellValue("タイトル");
+        POIUtils.getCell(sheet, 0, 2).setCellValue("レコード");
+        
+        final Font font = book.createFont();
+        font.setBoldweight(Font.BOLDWEIGHT_BOLD);
+        final CellStyle headerStyle = book.createCellStyle();
+        headerStyle.setFont(font);
+        
+        final CellStyle recordStyle = book.createCellStyle();
+        recordStyle.setBorderLeft(CellStyle.BORDER_THIN);
+        recordStyle.setBorderRight(CellStyle.BORDER_THIN);
+        
+        final CellStyle valueStyle = book.createCellStyle();
+        valueStyle.cloneStyleFrom(recordStyle);
+        valueStyle.setDataFormat(POIUtils.getDataFormatIndex(sheet, "#,##0.00"));
+        
+        final String[] headers = {"No.", "名称", "値"};
+        for(int i=0; i < headers.length; i++) {
+            final Cell headerCell = POIUtils.getCell(sheet, i, 3);
+            headerCell.setCellValue(headers[i]);
+            headerCell.setCellStyle(headerStyle);
+            
+            POIUtils.getCell(sheet, i, 4).setCellStyle(i == 2 ? valueStyle : recordStyle);
+        }
+        
+        POIUtils.getCell(sheet, 0, 6).setCellValue("合計");
+        
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        book.write(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+    
+    @XlsSheet(name="一覧")
+    private static class RecordsSheet {
+        
+        @XlsLabelledCell(label="タイトル", type=LabelledCellType.Right)
+        private String title;
+        
+        @XlsHorizontalRecords(tableLabel="レコード")
+        private List<NormalRecord> records;
+    }
+    
+    @XlsSheet(name="一覧")
+    private static class ConverterSheet {
+        
+        @XlsHorizontalRecords(tableLabel="レコード")
+        private List<ConverterRecord> records;
+    }
+    
+    @XlsSheet(name="一覧")
+    private static class NotSupportedSheet {
+        
+        @XlsVerticalRecords(tableLabel="レコード", optional=true)
+        private List<NormalRecord> records;
+    }
+    
+    private static class NormalRecord {
+        
+        @XlsColumn(columnName="No.")
+        private Integer no;
+        
+        @XlsColumn(columnName="名称")
+        private String name;
+        
+        @XlsColumn(columnName="値")
+        private Double value;
+    }
+    
+    private static class ConverterRecord {
+        
+        @XlsColumn(columnName="No.")
+        private Integer no;
+        
+        @XlsConverter(converterClass=StringCellConverter.class)
+        @XlsColumn(columnName="名称")
+        private String name;
+        
+        private boolean postSaved;
+        
+        @XlsPostSave
+        public void onPostSave() {
+            this.postSaved = true;
+        }
+    }
+}
@@ -99,4 +99,82 @@ public class ExpresionLanguageTest {
         
     }
 
+    /**
+     * 解析した式をキャッシュして、変数を変えて評価する
+     * @since 1.5
+     */
+    @Test
+    public void testEL3_cache() {
+        
+        ExpressionLanguageELImpl el = new ExpressionLanguageELImpl();
+        
+        String expression = "empty label ? '空です' : label";
+        
+        for(int i=0; i < 3; i++) {
+            Map<String, Object> vars = new HashMap<>();
+            vars.put("label", "label" + i);
+            
+            String eval = (String) el.evaluateWithEL3(expression, vars);
+            assertThat(eval, is("label" + i));
+        }
+        
+        // 変数が無い場合はnullとして評価する
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("other", "abc");
+        assertThat((String) el.evaluateWithEL3(expression, vars), is("空です"));
+        
+        assertThat(el.getExpressionCache().size(), is(1));
+        assertThat(el.getExpressionCache().getMissCount(), is(1L));
+        assertThat(el.getExpressionCache().getHitCount(), is(3L));
+    
+    }
+    
+    /**
+     * 式中で代入した変数は、次の評価に影響しない
+     * @since 1.5
+     */
+    @Test
+    public void testEL3_assignNotShared() {
+        
+        ExpressionLanguageELImpl el = new ExpressionLanguageELImpl();
+        
+        String expression = "sum=0;list.stream().forEach(x->(sum=sum+x));sum";
+        
+        Map<String, Object> vars1 = new HashMap<>();
+        vars1.put("list", Arrays.asList(1, 2, 3));
+        assertThat((long) el.evaluateWithEL3(expression, vars1), is(6L));
+        assertThat(vars1.containsKey("sum"), is(false));
+        
+        Map<String, Object> vars2 = new HashMap<>();
+        vars2.put("list", Arrays.asList(10, 20));
+        assertThat((long) el.evaluateWithEL3(expression, vars2), is(30L));
+    
+    }
+    
+    /**
+     * EL2.x形式での評価
+     * @since 1.5
+     */
+    @Test
+    public void testEL2_format() {
+        
+        ExpressionLanguageELImpl el = new ExpressionLanguageELImpl();
+        
+        Date date = Timestamp.valueOf("2015-04-15 10:20:30.000");
+        
+        String expression = "empty label ? formatter.format('%1$tY/%1$tm/%1$td', currentDate) : label";
+        
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("currentDate", date);
+        vars.put("formatter", new FormatterWrapper(Locale.getDefault()));
+        
+        String eval = (String) el.evaluateWithEL2(expression, vars);
+        assertThat(eval, is("2015/04/15"));
+        
+        vars.put("label", "abc");
+        eval = (String) el.evaluateWithEL2(expression, vars);
+        assertThat(eval, is("abc"));
+    
+    }
+
 }
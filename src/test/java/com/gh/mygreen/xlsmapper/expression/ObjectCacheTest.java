@@ -0,0 +1,163 @@
+package com.gh.mygreen.xlsmapper.expression;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * {@link ObjectCache}のテスタ
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class ObjectCacheTest {
+    
+    /**
+     * 上限を超えた場合、最も長い間参照されていないものから破棄する
+     */
+    @Test
+    public void test_lru() {
+        
+        final ObjectCache<String, Integer> cache = new ObjectCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        
+        // aを参照して、bを最も古くする
+        assertThat(cache.get("a"), is(1));
+        
+        cache.put("d", 4);
+        assertThat(cache.size(), is(3));
+        assertThat(cache.contains("a"), is(true));
+        assertThat(cache.contains("b"), is(false));
+        assertThat(cache.contains("c"), is(true));
+        assertThat(cache.contains("d"), is(true));
+        
+        assertThat(cache.getEvictionCount(), is(1L));
+    
+    }
+    
+    /**
+     * 統計情報
+     */
+    @Test
+    public void test_stats() {
+        
+        final ObjectCache<String, Integer> cache = new ObjectCache<>();
+        assertThat(cache.getMaxSize(), is(ObjectCache.DEFAULT_MAX_SIZE));
+        
+        assertThat(cache.get("a"), is(nullValue()));
+        cache.put("a", 1);
+        assertThat(cache.get("a"), is(1));
+        assertThat(cache.get("a"), is(1));
+        
+        assertThat(cache.getHitCount(), is(2L));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getEvictionCount(), is(0L));
+        
+        cache.clear();
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getHitCount(), is(2L));
+    
+    }
+    
+    /**
+     * 領域を分割する場合でも、上限を超えない
+     */
+    @Test
+    public void test_segments() {
+        
+        final ObjectCache<Integer, Integer> cache = new ObjectCache<>(100);
+        for(int i=0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+        
+        assertThat(cache.size(), is(lessThanOrEqualTo(112)));
+        assertThat(cache.getEvictionCount(), is((long)(1000 - cache.size())));
+        assertThat(cache.get(999), is(999));
+    
+    }
+    
+    /**
+     * 複数のスレッドからの利用
+     */
+    @Test
+    public void test_concurrent() throws Exception {
+        
+        final ObjectCache<Integer, Integer> cache = new ObjectCache<>(200);
+        final int threadCount = 8;
+        final int loop = 10000;
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<Void>> futures = new ArrayList<>();
+            for(int t=0; t < threadCount; t++) {
+                futures.add(executor.submit(new Callable<Void>() {
+                    
+                    @Override
+                    public Void call() throws Exception {
+                        for(int i=0; i < loop; i++) {
+                            final int key = i % 500;
+                            final Integer value = cache.get(key);
+                            if(value == null) {
+                                cache.put(key, key);
+                            } else {
+                                assertThat(value, is(key));
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            
+            for(Future<Void> future : futures) {
+                future.get();
+            }
+        
+        } finally {
+            executor.shutdown();
+        }
+        
+        assertThat(cache.getHitCount() + cache.getMissCount(), is((long)(threadCount * loop)));
+        assertThat(cache.size(), is(lessThanOrEqualTo(208)));
+    
+    }
+    
+    /**
+     * 上限に0以下を指定した場合は、標準の上限とする
+     */
+    @Test
+    public void test_maxSize_zero() {
+        
+        assertThat(new ObjectCache<String, Object>(0).getMaxSize(), is(ObjectCache.DEFAULT_MAX_SIZE));
+        assertThat(new ObjectCache<String, Object>(-1).getMaxSize(), is(ObjectCache.DEFAULT_MAX_SIZE));
+    
+    }
+    
+    /**
+     * キーにnullを指定した場合
+     */
+    @Test
+    public void test_nullKey() {
+        
+        final ObjectCache<String, String> cache = new ObjectCache<>();
+        assertThat(cache.contains(null), is(false));
+        assertThat(cache.get(null), is(nullValue()));
+        
+        cache.put(null, "null value");
+        assertThat(cache.contains(null), is(true));
+        assertThat(cache.get(null), is("null value"));
+        assertThat(cache.size(), is(1));
+    
+    }
+
+}
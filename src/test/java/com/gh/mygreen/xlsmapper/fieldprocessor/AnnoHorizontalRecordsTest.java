@@ -218,7 +218,95 @@ public class AnnoHorizontalRecordsTest {
                     assertRecord(record, errors);
                 }
             }
+        
+        }
+    }
+    
+    /**
+     * レコードを1件ずつ処理するハンドラ
+     * @since 1.5
+     */
+    @Test
+    public void test_load_hr_recordHandler() throws Exception {
+        
+        XlsMapper mapper = new XlsMapper();
+        mapper.getConig().setContinueTypeBindFailure(true);
+        
+        final List<NormalRecord> handled = new ArrayList<>();
+        final RecordHandlerRegistry handlers = new RecordHandlerRegistry();
+        handlers.registerHandler(EndPositionSheet.class, "normalRecords2",
+                new RecordHandler<NormalRecord>() {
+                    
+                    @Override
+                    public void handle(final NormalRecord record, final int index, final SheetBindingErrors errors) {
+                        assertThat(index, is(handled.size()));
+                        assertThat(errors.getCurrentPath(), is("normalRecords2[" + index + "]"));
+                        handled.add(record);
+                    }
+                });
+        
+        try(InputStream in = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            SheetBindingErrors errors = new SheetBindingErrors(EndPositionSheet.class);
+            
+            EndPositionSheet sheet = mapper.load(in, EndPositionSheet.class, null, errors, handlers);
+            
+            // ハンドラを登録したフィールドには値が設定されない
+            assertThat(sheet.normalRecords2, is(nullValue()));
+            assertThat(sheet.normalRecords1, hasSize(2));
+            
+            assertThat(handled, hasSize(3));
+            for(NormalRecord record : handled) {
+                assertRecord(record, errors);
+            }
+            
+        }
+    }
+    
+    /**
+     * レコードを1件ずつ処理するハンドラ - 読み込みごとに異なるハンドラを指定する
+     * @since 1.5
+     */
+    @Test
+    public void test_load_hr_recordHandler_perLoad() throws Exception {
+        
+        final XlsMapper mapper = new XlsMapper();
+        mapper.getConig().setContinueTypeBindFailure(true);
+        
+        final List<NormalRecord> handled1 = new ArrayList<>();
+        final RecordHandlerRegistry handlers1 = new RecordHandlerRegistry();
+        handlers1.registerHandler(EndPositionSheet.class, "normalRecords2", new RecordHandler<NormalRecord>() {
+            
+            @Override
+            public void handle(final NormalRecord record, final int index, final SheetBindingErrors errors) {
+                handled1.add(record);
+            }
+        });
+        
+        final List<NormalRecord> handled2 = new ArrayList<>();
+        final RecordHandlerRegistry handlers2 = new RecordHandlerRegistry();
+        handlers2.registerHandler(EndPositionSheet.class, "normalRecords2", new RecordHandler<NormalRecord>() {
+            
+            @Override
+            public void handle(final NormalRecord record, final int index, final SheetBindingErrors errors) {
+                handled2.add(record);
+            }
+        });
+        
+        try(InputStream in1 = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx");
+                InputStream in2 = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx");
+                InputStream in3 = new FileInputStream("src/test/data/anno_HorizonalRecords.xlsx")) {
+            
+            mapper.load(in1, EndPositionSheet.class, null, new SheetBindingErrors(EndPositionSheet.class), handlers1);
+            mapper.load(in2, EndPositionSheet.class, null, new SheetBindingErrors(EndPositionSheet.class), handlers2);
+            
+            assertThat(handled1, hasSize(3));
+            assertThat(handled2, hasSize(3));
             
+            // ハンドラを指定しない場合は、リストに設定される
+            EndPositionSheet sheet = mapper.load(in3, EndPositionSheet.class, new SheetBindingErrors(EndPositionSheet.class));
+            assertThat(sheet.normalRecords2, hasSize(3));
+            assertThat(handled1, hasSize(3));
+            assertThat(handled2, hasSize(3));
         }
     }
     
@@ -0,0 +1,92 @@
+package com.gh.mygreen.xlsmapper.fieldprocessor;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.XlsMapperConfig;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.fieldprocessor.ColumnBindingPlan.ColumnBinding;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+
+/**
+ * {@link ColumnBindingPlan}のテスタ
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class ColumnBindingPlanTest {
+    
+    private final List<RecordHeader> headers = Arrays.asList(
+            new RecordHeader("備考", 0),
+            new RecordHeader("No.", 1),
+            new RecordHeader("名称", 2),
+            new RecordHeader("住所", 3));
+    
+    /**
+     * 読み込み時の対応付け
+     */
+    @Test
+    public void test_createForLoading() {
+        
+        final ColumnBindingPlan plan = ColumnBindingPlan.createForLoading(
+                SampleRecord.class, headers, new AnnotationReader(null), new XlsMapperConfig());
+        
+        assertThat(plan.isTarget(SampleRecord.class), is(true));
+        assertThat(plan.isTarget(Object.class), is(false));
+        
+        assertThat(plan.getBindings(0), is(empty()));
+        assertThat(plan.getBindings(3), is(empty()));
+        
+        final List<ColumnBinding> noBindings = plan.getBindings(1);
+        assertThat(noBindings, hasSize(1));
+        assertThat(noBindings.get(0).getProperty().getName(), is("no"));
+        assertThat(noBindings.get(0).getColumn().columnName(), is("No."));
+        assertThat(noBindings.get(0).getConverter(), is(nullValue()));
+        
+        final List<ColumnBinding> nameBindings = plan.getBindings(2);
+        assertThat(nameBindings, hasSize(1));
+        assertThat(nameBindings.get(0).getProperty().getName(), is("name"));
+        assertThat(nameBindings.get(0).getColumn().merged(), is(true));
+        
+        // 最初にプロパティが対応する見出し
+        assertThat(plan.getStartHeaderIndex(), is(1));
+    
+    }
+    
+    /**
+     * 書き込み時の対応付け
+     */
+    @Test
+    public void test_createForSaving() {
+        
+        final ColumnBindingPlan plan = ColumnBindingPlan.createForSaving(
+                SampleRecord.class, headers, new AnnotationReader(null), new XlsMapperConfig());
+        
+        assertThat(plan.getBindings(1), hasSize(1));
+        assertThat(plan.getBindings(2), hasSize(1));
+        assertThat(plan.getStartHeaderIndex(), is(1));
+        
+        // 対応するプロパティがない場合
+        final ColumnBindingPlan emptyPlan = ColumnBindingPlan.createForSaving(
+                Object.class, headers, new AnnotationReader(null), new XlsMapperConfig());
+        assertThat(emptyPlan.getStartHeaderIndex(), is(0));
+    
+    }
+    
+    private static class SampleRecord {
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        @XlsColumn(columnName="名称", merged=true)
+        private String name;
+    
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.gh.mygreen.xlsmapper.fieldprocessor;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Field;
+
+import org.junit.Test;
+
+/**
+ * {@link PropertyAccessor}のテスタ
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class PropertyAccessorTest {
+    
+    /**
+     * フィールドへのアクセス
+     */
+    @Test
+    public void test_field() throws Exception {
+        
+        final Field field = SampleRecord.class.getDeclaredField("no");
+        field.setAccessible(true);
+        
+        final PropertyAccessor accessor = PropertyAccessor.create(field);
+        assertThat(accessor, is(instanceOf(PropertyAccessor.HandleAccessor.class)));
+        
+        final SampleRecord record = new SampleRecord();
+        accessor.set(record, 10);
+        assertThat(record.no, is(10));
+        assertThat(accessor.get(record), is((Object)10));
+        
+        // プリミティブ型にnullを設定する場合
+        try {
+            accessor.set(record, null);
+            fail();
+        } catch(RuntimeException e) {
+            assertThat(e.getMessage(), is("fail set field value."));
+        }
+    
+    }
+    
+    /**
+     * Getter/Setterへのアクセス
+     */
+    @Test
+    public void test_method() throws Exception {
+        
+        final PropertyAccessor accessor = PropertyAccessor.create(
+                SampleRecord.class.getMethod("getName"), SampleRecord.class.getMethod("setName", String.class));
+        assertThat(accessor, is(instanceOf(PropertyAccessor.HandleAccessor.class)));
+        
+        final SampleRecord record = new SampleRecord();
+        accessor.set(record, "abc");
+        assertThat(record.getName(), is("abc"));
+        assertThat(accessor.get(record), is((Object)"abc"));
+        
+        // Setterで例外がスローされた場合
+        try {
+            accessor.set(record, "");
+            fail();
+        } catch(RuntimeException e) {
+            assertThat(e.getMessage(), is("fail set field value."));
+            assertThat(e.getCause(), is(instanceOf(IllegalArgumentException.class)));
+        }
+    
+    }
+    
+    /**
+     * FieldAdaptor経由でのアクセス
+     */
+    @Test
+    public void test_fieldAdaptor() throws Exception {
+        
+        final FieldAdaptor adaptor = new FieldAdaptor(SampleRecord.class, SampleRecord.class.getDeclaredField("no"));
+        final SampleRecord record = new SampleRecord();
+        
+        adaptor.setValue(record, 5);
+        assertThat(adaptor.getValue(record), is((Object)5));
+    
+    }
+    
+    public static class SampleRecord {
+        
+        private int no;
+        
+        private String name;
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            if(name != null && name.isEmpty()) {
+                throw new IllegalArgumentException("name is empty.");
+            }
+            this.name = name;
+        }
+    
+    }
+
+}
@@ -0,0 +1,326 @@
+package com.gh.mygreen.xlsmapper.fieldprocessor.processor;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import com.gh.mygreen.xlsmapper.DefaultCellFormatter;
+import com.gh.mygreen.xlsmapper.MergedRegionIndex;
+import com.gh.mygreen.xlsmapper.POIUtils;
+import com.gh.mygreen.xlsmapper.XlsMapper;
+import com.gh.mygreen.xlsmapper.annotation.OverRecordOperate;
+import com.gh.mygreen.xlsmapper.annotation.RecordTerminal;
+import com.gh.mygreen.xlsmapper.annotation.XlsColumn;
+import com.gh.mygreen.xlsmapper.annotation.XlsHorizontalRecords;
+import com.gh.mygreen.xlsmapper.annotation.XlsSheet;
+
+
+/**
+ * {@link RowInserter}のテスタ。
+ * <p>{@link POIUtils#insertRow(Sheet, int)}で1行ずつ挿入した結果と比較する。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class RowInserterTest {
+    
+    /**
+     * 見込みの行数と同じ行数を挿入する場合
+     */
+    @Test
+    public void test_insertRow() {
+        
+        final Sheet expected = createSheet();
+        final Sheet actual = createSheet();
+        final RowInserter inserter = new RowInserter(actual, new MergedRegionIndex(actual));
+        
+        for(int i=0; i < 5; i++) {
+            POIUtils.insertRow(expected, 3 + i);
+            inserter.insertRow(3 + i, 5 - i);
+            POIUtils.getCell(expected, 0, 2 + i).setCellValue("record" + i);
+            POIUtils.getCell(actual, 0, 2 + i).setCellValue("record" + i);
+        }
+        inserter.flush();
+        
+        assertSameSheet(actual, expected);
+        assertThat(inserter.isInsertedRow(3), is(true));
+        assertThat(inserter.isInsertedRow(8), is(false));
+    
+    }
+    
+    /**
+     * 見込みの行数と異なる行数を挿入する場合
+     */
+    @Test
+    public void test_insertRow_unexpectedSize() {
+        
+        // 見込みよりも少ない場合
+        {
+            final Sheet expected = createSheet();
+            final Sheet actual = createSheet();
+            final RowInserter inserter = new RowInserter(actual, new MergedRegionIndex(actual));
+            
+            for(int i=0; i < 3; i++) {
+                POIUtils.insertRow(expected, 3 + i);
+                inserter.insertRow(3 + i, 10);
+            }
+            inserter.flush();
+            
+            assertSameSheet(actual, expected);
+        }
+        
+        // 見込みよりも多い場合
+        {
+            final Sheet expected = createSheet();
+            final Sheet actual = createSheet();
+            final RowInserter inserter = new RowInserter(actual, new MergedRegionIndex(actual));
+            
+            for(int i=0; i < 7; i++) {
+                POIUtils.insertRow(expected, 3 + i);
+                inserter.insertRow(3 + i, 2);
+            }
+            inserter.flush();
+            
+            assertSameSheet(actual, expected);
+        }
+    
+    }
+    
+    /**
+     * 使用していない空行よりも下の位置に挿入する場合
+     * <p>使用していない空行を削除してから、削除した空行の分だけ上にずれた位置に挿入する。
+     */
+    @Test
+    public void test_insertRow_belowReservedRows() {
+        
+        final Sheet sheet = createSheet();
+        final RowInserter inserter = new RowInserter(sheet, new MergedRegionIndex(sheet));
+        assertThat(inserter.insertRow(3, 3), is(3));
+        
+        // 空行（4～5行目）を含むシート上で、「row5」の行の位置を指定する。
+        assertThat(POIUtils.getCell(sheet, 0, 8).getStringCellValue(), is("row5"));
+        assertThat(inserter.insertRow(8, 1), is(6));
+        inserter.flush();
+        
+        final Sheet expected = createSheet();
+        POIUtils.insertRow(expected, 3);
+        POIUtils.insertRow(expected, 6);
+        
+        assertSameSheet(sheet, expected);
+        assertThat(POIUtils.getCell(sheet, 0, 7).getStringCellValue(), is("row5"));
+        assertThat(inserter.isInsertedRow(6), is(true));
+        assertThat(inserter.isInsertedRow(8), is(false));
+    
+    }
+    
+    /**
+     * 使用していない空行の途中の位置に挿入する場合
+     * <p>使用していない空行の先頭に挿入する。
+     */
+    @Test
+    public void test_insertRow_insideReservedRows() {
+        
+        final Sheet sheet = createSheet();
+        final RowInserter inserter = new RowInserter(sheet, new MergedRegionIndex(sheet));
+        inserter.insertRow(3, 3);
+        assertThat(inserter.insertRow(5, 1), is(4));
+        inserter.flush();
+        
+        final Sheet expected = createSheet();
+        POIUtils.insertRow(expected, 3);
+        POIUtils.insertRow(expected, 4);
+        
+        assertSameSheet(sheet, expected);
+    
+    }
+    
+    /**
+     * 使用していない空行よりも上の位置に挿入する場合
+     */
+    @Test
+    public void test_insertRow_aboveReservedRows() {
+        
+        final Sheet sheet = createSheet();
+        final RowInserter inserter = new RowInserter(sheet, new MergedRegionIndex(sheet));
+        inserter.insertRow(3, 3);
+        inserter.insertRow(2, 1);
+        
+        final Sheet expected = createSheet();
+        POIUtils.insertRow(expected, 3);
+        POIUtils.insertRow(expected, 2);
+        
+        inserter.flush();
+        assertSameSheet(sheet, expected);
+    
+    }
+    
+    /**
+     * テンプレートに、足りないレコードを挿入して書き込む場合
+     */
+    @Test
+    public void test_save_overRecordInsert() throws Exception {
+        
+        final InsertSheet outSheet = new InsertSheet();
+        outSheet.add(new InsertRecord(1, "A", "山田太郎"));
+        outSheet.add(new InsertRecord(2, "A", "鈴木次郎"));
+        outSheet.add(new InsertRecord(3, "B", "山本花子"));
+        outSheet.add(new InsertRecord(4, "B", "田中三郎"));
+        outSheet.add(new InsertRecord(5, "C", "佐藤四郎"));
+        
+        final XlsMapper mapper = new XlsMapper();
+        mapper.getConig().setMergeCellOnSave(true);
+        
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try(InputStream template = createTemplate()) {
+            mapper.save(template, out, outSheet);
+        }
+        
+        final Sheet sheet = WorkbookFactory.create(new ByteArrayInputStream(out.toByteArray())).getSheet("挿入");
+        
+        // レコードは見出しの直後から詰めて書き込まれ、表の下の行は挿入した行数分ずれる。
+        for(int i=0; i < outSheet.records.size(); i++) {
+            final InsertRecord record = outSheet.records.get(i);
+            assertThat(getCellContents(sheet, 0, 2 + i), is(String.valueOf(record.no)));
+            assertThat(getCellContents(sheet, 1, 2 + i), is(record.category));
+            assertThat(getCellContents(sheet, 2, 2 + i), is(record.name));
+        }
+        assertThat(getCellContents(sheet, 0, 7), is(""));
+        assertThat(getCellContents(sheet, 0, 8), is("合計"));
+        assertThat(getCellContents(sheet, 3, 9), is("備考"));
+        assertThat(sheet.getLastRowNum(), is(10));
+        
+        // 挿入した行には、1つ上の行の書式がコピーされる。
+        final CellStyle recordStyle = POIUtils.getCell(sheet, 2, 2).getCellStyle();
+        assertThat(recordStyle.getFillForegroundColor(), is(IndexedColors.YELLOW.getIndex()));
+        for(int i=0; i < outSheet.records.size(); i++) {
+            final CellStyle style = POIUtils.getCell(sheet, 2, 2 + i).getCellStyle();
+            assertThat(style.getIndex(), is(recordStyle.getIndex()));
+        }
+        
+        // 同じ値のセルの結合と、表の下の結合
+        final List<String> mergedRegions = new ArrayList<>();
+        for(int i=0; i < sheet.getNumMergedRegions(); i++) {
+            mergedRegions.add(sheet.getMergedRegion(i).formatAsString());
+        }
+        assertThat(mergedRegions, containsInAnyOrder("A9:B9", "D10:E11", "B3:B4", "B5:B6"));
+    
+    }
+    
+    /**
+     * 見出し、書式付きのレコード1行、空行、表の下の結合セルを持つテンプレートを作成する。
+     */
+    private InputStream createTemplate() throws Exception {
+        
+        final Workbook workbook = new XSSFWorkbook();
+        final Sheet sheet = workbook.createSheet("挿入");
+        
+        final CellStyle headerStyle = workbook.createCellStyle();
+        setBorder(headerStyle);
+        
+        final CellStyle recordStyle = workbook.createCellStyle();
+        setBorder(recordStyle);
+        recordStyle.setFillForegroundColor(IndexedColors.YELLOW.getIndex());
+        recordStyle.setFillPattern(CellStyle.SOLID_FOREGROUND);
+        
+        POIUtils.getCell(sheet, 0, 0).setCellValue("一覧");
+        final String[] headers = {"No.", "区分", "氏名"};
+        for(int i=0; i < headers.length; i++) {
+            final Cell header = POIUtils.getCell(sheet, i, 1);
+            header.setCellValue(headers[i]);
+            header.setCellStyle(headerStyle);
+            
+            POIUtils.getCell(sheet, i, 2).setCellStyle(recordStyle);
+        }
+        
+        POIUtils.getCell(sheet, 0, 4).setCellValue("合計");
+        sheet.addMergedRegion(CellRangeAddress.valueOf("A5:B5"));
+        POIUtils.getCell(sheet, 3, 5).setCellValue("備考");
+        sheet.addMergedRegion(CellRangeAddress.valueOf("D6:E7"));
+        POIUtils.getCell(sheet, 0, 6);
+        
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+    
+    private void setBorder(final CellStyle style) {
+        style.setBorderTop(CellStyle.BORDER_THIN);
+        style.setBorderBottom(CellStyle.BORDER_THIN);
+        style.setBorderLeft(CellStyle.BORDER_THIN);
+        style.setBorderRight(CellStyle.BORDER_THIN);
+    }
+    
+    private String getCellContents(final Sheet sheet, final int column, final int row) {
+        return POIUtils.getCellContents(POIUtils.getCell(sheet, column, row), new DefaultCellFormatter());
+    }
+    
+    private Sheet createSheet() {
+        final Workbook workbook = new XSSFWorkbook();
+        final Sheet sheet = workbook.createSheet();
+        for(int i=0; i < 6; i++) {
+            POIUtils.getCell(sheet, 0, i).setCellValue("row" + i);
+        }
+        return sheet;
+    }
+    
+    private void assertSameSheet(final Sheet actual, final Sheet expected) {
+        assertThat(actual.getLastRowNum(), is(expected.getLastRowNum()));
+        for(int i=0; i <= expected.getLastRowNum(); i++) {
+            assertThat(POIUtils.getCellContents(POIUtils.getCell(actual, 0, i), new DefaultCellFormatter()),
+                    is(POIUtils.getCellContents(POIUtils.getCell(expected, 0, i), new DefaultCellFormatter())));
+        }
+    }
+    
+    @XlsSheet(name="挿入")
+    private static class InsertSheet {
+        
+        @XlsHorizontalRecords(tableLabel="一覧", terminal=RecordTerminal.Border,
+                overRecord=OverRecordOperate.Insert)
+        private List<InsertRecord> records;
+        
+        public void add(InsertRecord record) {
+            if(records == null) {
+                this.records = new ArrayList<>();
+            }
+            this.records.add(record);
+        }
+    }
+    
+    private static class InsertRecord {
+        
+        @XlsColumn(columnName="No.")
+        private int no;
+        
+        @XlsColumn(columnName="区分", merged=true)
+        private String category;
+        
+        @XlsColumn(columnName="氏名")
+        private String name;
+        
+        public InsertRecord() {
+            
+        }
+        
+        public InsertRecord(int no, String category, String name) {
+            this.no = no;
+            this.category = category;
+            this.name = name;
+        }
+    }
+}
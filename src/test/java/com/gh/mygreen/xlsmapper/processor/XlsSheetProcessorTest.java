@@ -0,0 +1,226 @@
+package com.gh.mygreen.xlsmapper.processor;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.gh.mygreen.xlsmapper.FieldAdaptorProxy;
+import com.gh.mygreen.xlsmapper.SheetMapper;
+import com.gh.mygreen.xlsmapper.SheetMappingDescriptor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldAdaptor;
+import com.gh.mygreen.xlsmapper.fieldprocessor.FieldProcessorRegstry;
+import com.gh.mygreen.xlsmapper.xml.AnnotationReader;
+
+
+/**
+ * {@link XlsSheetProcessor}のテスタ。
+ *
+ * @since 1.5
+ * @author T.TSUCHIE
+ *
+ */
+public class XlsSheetProcessorTest {
+    
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    
+    /**
+     * アノテーションが付与されたメンバーを登録するクラスを生成する
+     */
+    @Test
+    public void test_process() throws Exception {
+        
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeThat(compiler, is(notNullValue()));
+        
+        final File srcDir = tempFolder.newFolder("src");
+        final File outDir = tempFolder.newFolder("out");
+        
+        final File pkgDir = new File(srcDir, "sample");
+        pkgDir.mkdirs();
+        final File srcFile = new File(pkgDir, "SampleSheet.java");
+        Files.write(srcFile.toPath(), Arrays.asList(
+                "package sample;",
+                "import java.util.List;",
+                "import com.gh.mygreen.xlsmapper.annotation.*;",
+                "@XlsSheet(name=\"シート\")",
+                "public class SampleSheet {",
+                "    @XlsSheetName private String sheetName;",
+                "    @Deprecated private String memo;",
+                "    @XlsLabelledCell(label=\"ラベル\", type=LabelledCellType.Right) String label;",
+                "    @XlsLabelledCell(label=\"数値\", type=LabelledCellType.Right) int number;",
+                "    private List<String> names;",
+                "    @XlsPostLoad public void postLoad() {}",
+                "    @XlsLabelledCell(label=\"名前\", type=LabelledCellType.Right) public void setNames(List<String> names) { this.names = names; }",
+                "    public List<String> getNames() { return names; }",
+                "    @XlsSheet(name=\"入れ子\")",
+                "    public static class Nested {",
+                "        @XlsSheetName private String sheetName;",
+                "    }",
+                "    @XlsSheet(name=\"非公開\")",
+                "    private static class Hidden {",
+                "        @XlsSheetName private String sheetName;",
+                "    }",
+                "}"
+                ), StandardCharsets.UTF_8);
+        
+        // ネストしたクラスと、生成するクラス名が重複しないこと
+        final File otherFile = new File(pkgDir, "SampleSheet_Nested.java");
+        Files.write(otherFile.toPath(), Arrays.asList(
+                "package sample;",
+                "import com.gh.mygreen.xlsmapper.annotation.*;",
+                "@XlsSheet(name=\"別シート\")",
+                "public class SampleSheet_Nested {",
+                "    @XlsSheetName private String name;",
+                "}"
+                ), StandardCharsets.UTF_8);
+        
+        final int result = compiler.run(null, null, null,
+                "-encoding", "UTF-8",
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", XlsSheetProcessor.class.getName(),
+                "-d", outDir.getAbsolutePath(),
+                "-s", outDir.getAbsolutePath(),
+                srcFile.getAbsolutePath(), otherFile.getAbsolutePath());
+        assertThat(result, is(0));
+        
+        // private以外のフィールドは、直接アクセスする
+        final String source = new String(Files.readAllBytes(new File(outDir, "sample/SampleSheet_XlsMapper.java").toPath()),
+                StandardCharsets.UTF_8);
+        assertThat(source, containsString("((sample.SampleSheet) targetObj).label = (java.lang.String) value;"));
+        assertThat(source, containsString("((sample.SampleSheet) targetObj).number = (java.lang.Integer) value;"));
+        assertThat(source, containsString("builder.field(clazz.getDeclaredField(\"sheetName\"));"));
+        assertThat(source, not(containsString("\"memo\"")));
+        assertThat(source, not(containsString("\"getClass\"")));
+        
+        // Setter/Getterメソッドは、直接呼び出す
+        assertThat(source, containsString("((sample.SampleSheet) targetObj).setNames((java.util.List) value);"));
+        assertThat(source, containsString("return ((sample.SampleSheet) targetObj).getNames();"));
+        
+        assertThat(new File(outDir, "sample/SampleSheet$Nested_XlsMapper.java").exists(), is(true));
+        assertThat(new File(outDir, "sample/SampleSheet_Nested_XlsMapper.java").exists(), is(true));
+        assertThat(new File(outDir, "sample/SampleSheet$Hidden_XlsMapper.java").exists(), is(false));
+        
+        try(URLClassLoader loader = new URLClassLoader(new URL[]{outDir.toURI().toURL()}, getClass().getClassLoader())) {
+            
+            final Class<?> beanClass = loader.loadClass("sample.SampleSheet");
+            final SheetMapper mapper = (SheetMapper) loader.loadClass("sample.SampleSheet_XlsMapper").newInstance();
+            assertThat(mapper.getBeanClass() == beanClass, is(true));
+            
+            final SheetMappingDescriptor descriptor = SheetMappingDescriptor.createForLoading(
+                    beanClass, new AnnotationReader(null), new FieldProcessorRegstry());
+            assertThat(names(descriptor), containsInAnyOrder("sheetName", "label", "number", "names"));
+            assertThat(descriptor.getPostMethods(), hasSize(1));
+            
+            // 生成したアクセサで値を設定/取得する
+            final Object bean = beanClass.newInstance();
+            final FieldAdaptor numberAdaptor = find(descriptor, "number");
+            numberAdaptor.setValue(bean, 12);
+            assertThat(numberAdaptor.getValue(bean), is((Object) 12));
+            
+            // プリミティブ型にnullを設定した場合は、他のアクセサと同様にRuntimeExceptionでラップする
+            try {
+                numberAdaptor.setValue(bean, null);
+                fail();
+            } catch(RuntimeException e) {
+                assertThat(e.getMessage(), is("fail set field value."));
+                assertThat(e.getCause(), is(instanceOf(NullPointerException.class)));
+            }
+            
+            final FieldAdaptor namesAdaptor = find(descriptor, "names");
+            namesAdaptor.setValue(bean, Arrays.asList("a", "b"));
+            assertThat(namesAdaptor.getValue(bean), is((Object) Arrays.asList("a", "b")));
+            
+            final SheetMapper nestedMapper = (SheetMapper) loader.loadClass("sample.SampleSheet$Nested_XlsMapper").newInstance();
+            assertThat(nestedMapper.getBeanClass().getName(), is("sample.SampleSheet$Nested"));
+        }
+    
+    }
+    
+    /**
+     * 独自のアノテーションのパッケージをオプションで指定する
+     */
+    @Test
+    public void test_process_annotationPackages() throws Exception {
+        
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeThat(compiler, is(notNullValue()));
+        
+        final File srcDir = tempFolder.newFolder("src");
+        final File outDir = tempFolder.newFolder("out");
+        
+        final File annoDir = new File(srcDir, "sample/anno");
+        annoDir.mkdirs();
+        final File annoFile = new File(annoDir, "CustomCell.java");
+        Files.write(annoFile.toPath(), Arrays.asList(
+                "package sample.anno;",
+                "import java.lang.annotation.*;",
+                "@Retention(RetentionPolicy.RUNTIME) @Target(ElementType.FIELD)",
+                "public @interface CustomCell {}"
+                ), StandardCharsets.UTF_8);
+        
+        final File srcFile = new File(srcDir, "sample/CustomSheet.java");
+        Files.write(srcFile.toPath(), Arrays.asList(
+                "package sample;",
+                "import com.gh.mygreen.xlsmapper.annotation.*;",
+                "import sample.anno.CustomCell;",
+                "@XlsSheet(name=\"シート\")",
+                "public class CustomSheet {",
+                "    @XlsSheetName private String sheetName;",
+                "    @CustomCell private String custom;",
+                "    @Deprecated private String memo;",
+                "}"
+                ), StandardCharsets.UTF_8);
+        
+        final int result = compiler.run(null, null, null,
+                "-encoding", "UTF-8",
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", XlsSheetProcessor.class.getName(),
+                "-A" + XlsSheetProcessor.OPTION_ANNOTATION_PACKAGES + "=sample.anno",
+                "-d", outDir.getAbsolutePath(),
+                "-s", outDir.getAbsolutePath(),
+                annoFile.getAbsolutePath(), srcFile.getAbsolutePath());
+        assertThat(result, is(0));
+        
+        final String source = new String(Files.readAllBytes(new File(outDir, "sample/CustomSheet_XlsMapper.java").toPath()),
+                StandardCharsets.UTF_8);
+        assertThat(source, containsString("\"sheetName\""));
+        assertThat(source, containsString("\"custom\""));
+        assertThat(source, not(containsString("\"memo\"")));
+    
+    }
+    
+    private static List<String> names(final SheetMappingDescriptor descriptor) {
+        final List<String> names = new ArrayList<>();
+        for(FieldAdaptorProxy proxy : descriptor.getAdaptorProxies()) {
+            names.add(proxy.getAdaptor().getName());
+        }
+        return names;
+    }
+    
+    private static FieldAdaptor find(final SheetMappingDescriptor descriptor, final String name) {
+        for(FieldAdaptorProxy proxy : descriptor.getAdaptorProxies()) {
+            if(proxy.getAdaptor().getName().equals(name)) {
+                return proxy.getAdaptor();
+            }
+        }
+        throw new AssertionError("not found adaptor : " + name);
+    }
+
+}
@@ -5,6 +5,7 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
 import java.util.HashMap;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -468,4 +469,146 @@ public class SheetBindingErrorsTest {
         assertThat(fieldError001.getFieldType(), is(typeCompatibleWith(String.class)));
     }
     
+    
+    /**
+     * パスの索引による検索
+     * @since 1.5
+     */
+    @Test
+    public void test_getFieldErrors_index() {
+        
+        SheetBindingErrors errors = new SheetBindingErrors("SampleSheet");
+        errors.setSheetName("名簿用シート");
+        
+        errors.rejectSheetValue("name[1]", toPointAddress("A3"), "error.1");
+        errors.rejectValue("age", "error.2");
+        errors.rejectSheetValue("name[0]", toPointAddress("A2"), "error.3");
+        errors.reject("error.global");
+        errors.rejectValue("name[1]", "error.4");
+        errors.rejectValue("names", "error.5");
+        
+        // 完全一致
+        assertThat(errors.getFieldErrorCount("name[1]"), is(2));
+        assertThat(errors.getFirstFieldError("name[1]").getCodes(), is(hasItemInArray("error.1")));
+        assertThat(errors.getCellFieldErrorCount("name[1]"), is(1));
+        assertThat(errors.hasFieldErrors("name"), is(false));
+        assertThat(errors.getFirstFieldError("name"), is(nullValue()));
+        
+        // ワイルドカード。追加した順に取得できる。
+        List<FieldError> list = errors.getFieldErrors("name*");
+        assertThat(list, hasSize(4));
+        assertThat(list.get(0).getCodes(), is(hasItemInArray("error.1")));
+        assertThat(list.get(1).getCodes(), is(hasItemInArray("error.3")));
+        assertThat(list.get(2).getCodes(), is(hasItemInArray("error.4")));
+        assertThat(list.get(3).getCodes(), is(hasItemInArray("error.5")));
+        assertThat(errors.getFirstFieldError("name[*").getFieldPath(), is("name[1]"));
+        assertThat(errors.getFieldErrorCount("name[*"), is(3));
+        assertThat(errors.getCellFieldErrorCount("name[*"), is(2));
+        assertThat(errors.getFieldErrorCount("*"), is(5));
+        
+        // ネストしたパスからの検索
+        errors.pushNestedPath("name", 0);
+        errors.rejectValue("first", "error.6");
+        assertThat(errors.getFirstFieldError("first").getFieldPath(), is("name[0].first"));
+        errors.popNestedPath();
+        assertThat(errors.getFieldErrors("name[0]*"), hasSize(2));
+        
+        // エラーの全件追加
+        SheetBindingErrors copied = new SheetBindingErrors("SampleSheet");
+        copied.addAllErrors(errors.getAllErrors());
+        assertThat(copied.getFieldErrorCount("name*"), is(5));
+        
+        // リセット
+        errors.clearAllErrors();
+        assertThat(errors.hasErrors(), is(false));
+        assertThat(errors.hasFieldErrors("name*"), is(false));
+    }
+    
+    /**
+     * サブクラスでパスの比較方法を変更した場合は、索引を使わずに比較する
+     * @since 1.5
+     */
+    @Test
+    public void test_getFieldErrors_customMatching() {
+        
+        SheetBindingErrors errors = new SheetBindingErrors("SampleSheet") {
+            
+            @Override
+            protected boolean isMatchingFieldError(final String path, final FieldError fieldError) {
+                // 大文字・小文字を区別しない
+                return fieldError.getFieldPath().equalsIgnoreCase(path);
+            }
+        };
+        
+        errors.rejectValue("name", "error.1");
+        errors.rejectValue("age", "error.2");
+        errors.rejectValue("NAME", "error.3");
+        
+        assertThat(errors.getFieldErrorCount("Name"), is(2));
+        assertThat(errors.getFirstFieldError("Name").getCodes(), is(hasItemInArray("error.1")));
+        assertThat(errors.getFieldErrors("name").get(1).getCodes(), is(hasItemInArray("error.3")));
+        assertThat(errors.hasFieldErrors("AGE"), is(true));
+        assertThat(errors.hasFieldErrors("name*"), is(false));
+    }
+    
+    /**
+     * エラーの件数の上限
+     * @since 1.5
+     */
+    @Test
+    public void test_maxErrors() {
+        
+        SheetBindingErrors errors = new SheetBindingErrors("SampleSheet");
+        errors.setMaxErrors(4);
+        errors.setMaxFieldErrors(2);
+        
+        errors.rejectValue("name", "error.1");
+        errors.rejectValue("name", "error.2");
+        errors.rejectValue("name", "error.3");
+        assertThat(errors.getFieldErrorCount("name"), is(2));
+        assertThat(errors.getOverflowErrorCount(), is(1));
+        
+        errors.reject("error.global");
+        errors.rejectValue("age", "error.4");
+        errors.rejectValue("age", "error.5");
+        
+        assertThat(errors.getAllErrors(), hasSize(4));
+        assertThat(errors.getFieldErrorCount("age"), is(1));
+        assertThat(errors.hasOverflowErrors(), is(true));
+        assertThat(errors.getOverflowErrorCount(), is(2));
+        
+        errors.clearAllErrors();
+        assertThat(errors.hasOverflowErrors(), is(false));
+    }
+    
+    /**
+     * フィールドごとのエラーの件数の上限は、インデックスを除いたパスで数える
+     * @since 1.5
+     */
+    @Test
+    public void test_maxFieldErrors_indexedPath() {
+        
+        SheetBindingErrors errors = new SheetBindingErrors("SampleSheet");
+        errors.setMaxFieldErrors(2);
+        
+        for(int i=0; i < 5; i++) {
+            errors.pushNestedPath("records", i);
+            if(!errors.checkOverflowFieldError("value")) {
+                errors.rejectValue("value", "error.1");
+            }
+            errors.rejectValue("name", "error.2");
+            errors.popNestedPath();
+        }
+        
+        assertThat(errors.getFieldErrorCount("records[*"), is(4));
+        assertThat(errors.getFieldErrors("records[*").get(0).getFieldPath(), is("records[0].value"));
+        assertThat(errors.getFieldErrors("records[*").get(3).getFieldPath(), is("records[1].name"));
+        assertThat(errors.getOverflowErrorCount(), is(6));
+        
+        errors.clearAllErrors();
+        errors.pushNestedPath("records", 10);
+        assertThat(errors.checkOverflowFieldError("value"), is(false));
+        assertThat(errors.getOverflowErrorCount(), is(0));
+    }
+    
 }
@@ -264,6 +264,42 @@ public class AnnotationReaderTest {
         
     }
     
+    /**
+     * XMLから組み立てたアノテーションのキャッシュ
+     * ・同じ定義に対しては、同じインスタンスを返す。
+     * @since 1.5
+     */
+    @Test
+    public void test_readAnnotation_cache() throws Exception {
+        
+        XmlInfo xmlInfo = new XmlInfo();
+        
+        ClassInfo classInfo = new ClassInfo();
+        classInfo.setClassName(SimpleSheet.class.getName());
+        xmlInfo.addClassInfo(classInfo);
+        
+        AnnotationInfo sheetAnnoInfo = new AnnotationInfo();
+        sheetAnnoInfo.setClassName(XlsSheet.class.getName());
+        sheetAnnoInfo.addAttribute("name", "\"シート名\"");
+        classInfo.addAnnotationInfo(sheetAnnoInfo);
+        
+        AnnotationReader reader = new AnnotationReader(xmlInfo);
+        
+        XlsSheet sheetAnno = reader.getAnnotation(SimpleSheet.class, XlsSheet.class);
+        assertThat(sheetAnno.name(), is("シート名"));
+        assertThat(sheetAnno.number(), is(-1));
+        
+        assertThat(reader.getAnnotation(SimpleSheet.class, XlsSheet.class), is(sameInstance(sheetAnno)));
+        assertThat(select(reader.getAnnotations(SimpleSheet.class), XlsSheet.class), is(sameInstance(sheetAnno)));
+        
+        // 別のインスタンスの場合は、組み立て直す
+        AnnotationReader otherReader = new AnnotationReader(xmlInfo);
+        XlsSheet otherAnno = otherReader.getAnnotation(SimpleSheet.class, XlsSheet.class);
+        assertThat(otherAnno, is(not(sameInstance(sheetAnno))));
+        assertThat(otherAnno.name(), is("シート名"));
+    
+    }
+    
     private <A extends Annotation> A select(Annotation[] annos, Class<A> clazz) {
         
         for(Annotation anno : annos) {